@@ -3,6 +3,8 @@ package alerts;
 import commands.AlertCommand;
 import commands.Command;
 import exceptions.BudgetTrackerException;
+import util.CommandTokenizer;
+import util.Money;
 
 /**
  * Parser for alert-related commands.
@@ -20,15 +22,15 @@ public class AlertParser {
     public static Command parse(String fullCommand, FundsAlert fundsAlert) throws BudgetTrackerException {
         assert fundsAlert != null : "FundsAlert object cannot be null in AlertParser";
         
-        String[] parts = fullCommand.split(" ", 3);
+        CommandTokenizer tokens = new CommandTokenizer(fullCommand);
         
-        if (parts.length < 3) {
+        if (tokens.remainingWords() < 3) {
             throw new BudgetTrackerException("Invalid alert command format. Use: alert set <amount>");
         }
         
-        if (parts[0].equalsIgnoreCase("alert") && parts[1].equalsIgnoreCase("set")) {
+        if (tokens.skipWord("alert", true) && tokens.skipWord("set", true)) {
             try {
-                double threshold = Double.parseDouble(parts[2]);
+                double threshold = Money.toDollars(tokens.readCents(tokens.length()));
                 return new AlertCommand(threshold, fundsAlert);
             } catch (NumberFormatException e) {
                 throw new BudgetTrackerException("Please provide a valid number for the threshold.");
@@ -1,5 +1,7 @@
 package alerts;
 
+import expenses.Expense;
+
 /**
  * Interface for classes that want to observe changes in financial data.
  */
@@ -13,4 +15,15 @@ public interface FinancialObserver {
      * @param totalSavings Current total savings
      */
     void update(double availableFunds, double totalIncome, double totalExpense, double totalSavings);
+
+    /**
+     * Called when the expense total of one category changes, before the matching call to
+     * {@link #update(double, double, double, double)}. Does nothing unless overridden.
+     *
+     * @param category      The category whose total changed
+     * @param change        The amount added to the category, negative if expenses were removed
+     * @param categoryTotal The new total of the category
+     */
+    default void updateCategory(Expense.Category category, double change, double categoryTotal) {
+    }
 }
@@ -6,6 +6,8 @@ import expenses.ExpenseList;
 import summary.Summary;
 import exceptions.BudgetTrackerException;
 
+import java.time.LocalDate;
+
 /**
  * Represents a command to add a new expense to the expense list.
  */
@@ -13,19 +15,36 @@ public class AddExpenseCommand extends Command {
     private double amount;
     private String description;
     private Expense.Category category;
+    private LocalDate date;
     private Summary summary;
 
     /**
-     * Constructs an AddExpenseCommand with the specified amount, description, and summary.
+     * Constructs an AddExpenseCommand for an expense made today.
      *
      * @param amount      The amount of the expense to be added.
      * @param description The description or source of the expense.
+     * @param category    The category of the expense.
      * @param summary     The summary object to update with the new expense.
      */
     public AddExpenseCommand(double amount, String description, Expense.Category category, Summary summary) {
+        this(amount, description, category, LocalDate.now(), summary);
+    }
+
+    /**
+     * Constructs an AddExpenseCommand for an expense made on the given date.
+     *
+     * @param amount      The amount of the expense to be added.
+     * @param description The description or source of the expense.
+     * @param category    The category of the expense.
+     * @param date        The date of the expense.
+     * @param summary     The summary object to update with the new expense.
+     */
+    public AddExpenseCommand(double amount, String description, Expense.Category category, LocalDate date,
+                             Summary summary) {
         this.amount = amount;
         this.description = description;
         this.category = category;
+        this.date = date;
         this.summary = summary;
     }
 
@@ -38,9 +57,9 @@ public class AddExpenseCommand extends Command {
     @Override
     public void execute(ExpenseList expenseList, Ui ui) {
         try {
-            summary.addExpense(amount);
+            summary.addExpense(amount, category, date);
 
-            Expense newExpense = new Expense(amount, description, category);
+            Expense newExpense = new Expense(amount, description, category, date);
             expenseList.addExpense(newExpense);
 
             ui.showMessage("Added expense: [" + category + "] $" + amount + " for " + description);
@@ -95,8 +95,8 @@ public class AddIncomeCommand extends IncomeCommand {
 
         Income income = new Income(amount, source);
         try {
-            IncomeManager.addIncome(income);
-            summary.addIncome(amount);
+            incomeManager.add(income);
+            summary.addIncome(amount, income.getDate());
             ui.showMessage("Added income: " + income);
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error adding income: " + income, e);
@@ -0,0 +1,18 @@
+package commands;
+
+import exceptions.BudgetTrackerException;
+
+/**
+ * Handles one kind of user command, given the full line the user entered.
+ */
+@FunctionalInterface
+public interface CommandHandler {
+    /**
+     * Handles the command.
+     *
+     * @param line The full line the user entered.
+     * @return True if the application should exit afterwards, false otherwise.
+     * @throws BudgetTrackerException If the command is invalid.
+     */
+    boolean handle(String line) throws BudgetTrackerException;
+}
@@ -0,0 +1,124 @@
+package commands;
+
+import java.util.Arrays;
+
+/**
+ * Maps command keywords such as {@code add income} or {@code savings goal update} to the
+ * handlers that run them.
+ *
+ * <p>The keywords are compiled into a trie with one level per word. Resolving a line walks
+ * its words once, comparing them in place against the words at each level, and picks the
+ * handler of the longest keyword the line starts with. No substrings are created.
+ */
+public class CommandRegistry {
+    private final Node root = new Node();
+
+    /**
+     * Registers a handler for every line that starts with the given keywords.
+     *
+     * @param keywords The space-separated keywords, e.g. {@code "add income"}.
+     * @param handler  The handler to run.
+     */
+    public void register(String keywords, CommandHandler handler) {
+        insert(keywords, handler, false);
+    }
+
+    /**
+     * Registers a handler for lines that consist of exactly the given keywords.
+     *
+     * @param keywords The space-separated keywords, e.g. {@code "view summary"}.
+     * @param handler  The handler to run.
+     */
+    public void registerExact(String keywords, CommandHandler handler) {
+        insert(keywords, handler, true);
+    }
+
+    /**
+     * Finds the handler for a line.
+     *
+     * @param line The line the user entered.
+     * @return The handler of the longest matching keywords, or {@code null} if none match.
+     */
+    public CommandHandler resolve(CharSequence line) {
+        Node node = root;
+        CommandHandler match = null;
+        int position = skipSpaces(line, 0);
+        while (position < line.length()) {
+            int end = position;
+            while (end < line.length() && !Character.isWhitespace(line.charAt(end))) {
+                end++;
+            }
+            node = node.child(line, position, end);
+            if (node == null) {
+                break;
+            }
+            position = skipSpaces(line, end);
+            if (node.handler != null && (!node.exact || position == line.length())) {
+                match = node.handler;
+            }
+        }
+        return match;
+    }
+
+    private void insert(String keywords, CommandHandler handler, boolean exact) {
+        assert handler != null : "Cannot register a null command handler";
+        Node node = root;
+        for (String word : keywords.trim().split("\\s+")) {
+            node = node.childOrCreate(word);
+        }
+        if (node.handler != null) {
+            throw new IllegalStateException("A command is already registered for: " + keywords);
+        }
+        node.handler = handler;
+        node.exact = exact;
+    }
+
+    private static int skipSpaces(CharSequence line, int position) {
+        while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * One level of the trie: the words that may follow, and the handler of the keywords so far.
+     */
+    private static class Node {
+        private String[] words = new String[0];
+        private Node[] children = new Node[0];
+        private CommandHandler handler;
+        private boolean exact;
+
+        private Node child(CharSequence line, int start, int end) {
+            int length = end - start;
+            for (int i = 0; i < words.length; i++) {
+                String word = words[i];
+                if (word.length() == length && matches(word, line, start)) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node childOrCreate(String word) {
+            Node existing = child(word, 0, word.length());
+            if (existing != null) {
+                return existing;
+            }
+            words = Arrays.copyOf(words, words.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            words[words.length - 1] = word;
+            children[children.length - 1] = new Node();
+            return children[children.length - 1];
+        }
+
+        private static boolean matches(String word, CharSequence line, int start) {
+            for (int i = 0; i < word.length(); i++) {
+                if (word.charAt(i) != line.charAt(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
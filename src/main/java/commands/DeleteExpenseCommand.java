@@ -1,10 +1,15 @@
 package commands;
 
+import expenses.Expense;
 import expenses.ExpenseList;
 import expenses.Ui;
-import expenses.Expense;
+import expenses.ExpenseStore;
 import summary.Summary;
 import exceptions.BudgetTrackerException;
+import util.Dates;
+import util.Money;
+
+import java.time.LocalDate;
 
 /**
  * Represents a command to delete an expense from the expense list.
@@ -34,18 +39,20 @@ public class DeleteExpenseCommand extends Command {
     public void execute(ExpenseList expenseList, Ui ui) {
         try {
             // Check if the expense number is valid
-            if (expenseNumber <= 0 || expenseNumber > expenseList.getExpenses().size()) {
+            ExpenseStore store = expenseList.getStore();
+            if (expenseNumber <= 0 || expenseNumber > store.size()) {
                 ui.showMessage("Invalid index. Please use an index from the list.");
                 return;
             }
             
             // Get the expense amount before deleting it
-            Expense expenseToDelete = expenseList.getExpenses().get(expenseNumber - 1);
-            double amountToRemove = expenseToDelete.getAmount();
+            double amountToRemove = Money.toDollars(store.getCents(expenseNumber - 1));
+            Expense.Category category = store.getCategory(expenseNumber - 1);
+            LocalDate date = Dates.toDate(store.getDay(expenseNumber - 1));
             
             // Delete the expense from the list
             if (expenseList.deleteExpense(expenseNumber)) {
-                summary.removeExpense(amountToRemove);
+                summary.removeExpense(amountToRemove, category, date);
                 ui.showMessage("Deleted expense number " + expenseNumber + ".");
             } else {
                 ui.showMessage("Invalid index. Please use an index from the list.");
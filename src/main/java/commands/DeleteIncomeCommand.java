@@ -20,12 +20,27 @@ public class DeleteIncomeCommand extends IncomeCommand {
     private final Summary summary;
 
     /**
-     * Creates a new DeleteIncomeCommand with the specified index and summary.
+     * Creates a new DeleteIncomeCommand with the specified index and summary, for the
+     * default income list.
      *
      * @param index   The index of the income entry to delete.
      * @param summary The summary to update.
      */
     public DeleteIncomeCommand(int index, Summary summary) throws BudgetTrackerException {
+        this(index, summary, IncomeManager.getInstance());
+    }
+
+    /**
+     * Creates a new DeleteIncomeCommand with the specified index and summary, checking the
+     * index against the given income list.
+     *
+     * @param index         The index of the income entry to delete.
+     * @param summary       The summary to update.
+     * @param incomeManager The income list the entry will be deleted from.
+     */
+    public DeleteIncomeCommand(int index, Summary summary, IncomeManager incomeManager)
+            throws BudgetTrackerException {
+        assert incomeManager != null : "Income manager cannot be null";
         if (index < 1) {
             logger.log(Level.SEVERE, "Invalid income index: {0}", index);
             throw new BudgetTrackerException("Index must be at least 1.");
@@ -35,13 +50,14 @@ public class DeleteIncomeCommand extends IncomeCommand {
             throw new BudgetTrackerException("Summary instance is required.");
         }
 
-        if (IncomeManager.getIncomeList().isEmpty()) {
+        int size = incomeManager.size();
+        if (size == 0) {
             throw new BudgetTrackerException("There are no income entries to delete.");
         }
 
-        if (index > IncomeManager.getIncomeList().size()) {
+        if (index > size) {
             throw new BudgetTrackerException("Invalid index. Please provide a valid income index between 1 and "
-                    + IncomeManager.getIncomeList().size() + ".");
+                    + size + ".");
         }
         this.index = index;
         this.summary = summary;
@@ -92,19 +108,20 @@ public class DeleteIncomeCommand extends IncomeCommand {
             throw new BudgetTrackerException("Ui instance cannot be null.");
         }
         // Check if the income list is empty
-        if (IncomeManager.getIncomeList().isEmpty()) {
+        int size = incomeManager.size();
+        if (size == 0) {
             throw new BudgetTrackerException("There are no income entries to delete.");
         }
 
         // Check if the index is within bounds
-        if (index > IncomeManager.getIncomeList().size()) {
+        if (index > size) {
             logger.log(Level.SEVERE, "Invalid index: {0}, valid range: 1 to {1}",
-                    new Object[]{index, IncomeManager.getIncomeList().size()});
+                    new Object[]{index, size});
             throw new BudgetTrackerException("Invalid index. Please provide a valid income index between 1 and "
-                    + IncomeManager.getIncomeList().size() + ".");
+                    + size + ".");
         }
 
-        Income incomeToDelete = IncomeManager.getIncomeList().get(index - 1);
+        Income incomeToDelete = incomeManager.get(index - 1);
         double amountToRemove = incomeToDelete.getAmount();
 
         double availableBalanceAfterRemoval = summary.getAvailableFunds() - amountToRemove;
@@ -112,12 +129,12 @@ public class DeleteIncomeCommand extends IncomeCommand {
             logger.log(Level.SEVERE, "Cannot remove this income as it would result in negative available funds. " +
                             "Current expenses: {0}, Available balance after removal would be: {1}",
                     new Object[]{summary.getTotalExpense(), availableBalanceAfterRemoval});
-            System.out.println("Cannot remove this income as it would result in negative available funds. " +
+            Ui.out().println("Cannot remove this income as it would result in negative available funds. " +
                     "Current expenses: " + summary.getTotalExpense() +
                     ", Available balance after removal would be: " + availableBalanceAfterRemoval);
         } else {
-            IncomeManager.deleteIncome(index - 1);
-            summary.removeIncome(amountToRemove);
+            incomeManager.delete(index - 1);
+            summary.removeIncome(amountToRemove, incomeToDelete.getDate());
             ui.showMessage("Deleted income entry at index " + index);
         }
     }
@@ -0,0 +1,66 @@
+package commands;
+
+import expenses.ExpenseList;
+import expenses.ExpenseStore;
+import expenses.Ui;
+
+/**
+ * Represents a command to list the expenses whose description contains every given word.
+ * The expenses are found through the store's index of description words, so none are scanned.
+ */
+public class FindExpenseCommand extends Command {
+    private static final String HEADER = "===== MATCHING EXPENSES =====";
+    private static final int WRITE_CHUNK_CHARS = 8192;
+
+    private final String query;
+
+    /**
+     * Constructs a FindExpenseCommand for the given words.
+     *
+     * @param query The words to look for, separated by spaces or punctuation.
+     */
+    public FindExpenseCommand(String query) {
+        assert query != null && !query.isBlank() : "Query must contain a word";
+        this.query = query;
+    }
+
+    /**
+     * Executes the command to display the matching expenses, numbered as in the full list
+     * so they can be deleted by that number.
+     *
+     * @param expenseList The list of expenses to search.
+     * @param ui          The UI component used to display messages to the user.
+     */
+    @Override
+    public void execute(ExpenseList expenseList, Ui ui) {
+        ExpenseStore store = expenseList.getStore();
+        int[] found = store.find(query);
+        if (found.length == 0) {
+            Ui.out().println("No expenses match \"" + query + "\".");
+            return;
+        }
+        Ui.out().println(HEADER);
+        StringBuilder chunk = new StringBuilder(WRITE_CHUNK_CHARS + 128);
+        for (int position : found) {
+            store.appendRow(position, chunk);
+            chunk.append(System.lineSeparator());
+            if (chunk.length() >= WRITE_CHUNK_CHARS) {
+                Ui.out().append(chunk);
+                chunk.setLength(0);
+            }
+        }
+        Ui.out().append(chunk);
+        Ui.out().println("=".repeat(HEADER.length()));
+        Ui.out().println(found.length == 1 ? "1 matching expense." : found.length + " matching expenses.");
+    }
+
+    /**
+     * Checks if the command is an exit command.
+     *
+     * @return {@code false} as this command does not cause the program to exit.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
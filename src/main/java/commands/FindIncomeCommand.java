@@ -0,0 +1,58 @@
+package commands;
+
+import expenses.Ui;
+import income.IncomeManager;
+
+import java.io.PrintWriter;
+
+/**
+ * Command to list the income entries whose source contains every given word. The entries
+ * are found through the IncomeManager's index of source words, so none are scanned.
+ */
+public class FindIncomeCommand {
+    private static final String HEADER = "===== MATCHING INCOME =====";
+
+    private final String query;
+    private final IncomeManager incomeManager;
+
+    /**
+     * Creates a new FindIncomeCommand for the given words, searching the default income list.
+     *
+     * @param query The words to look for, separated by spaces or punctuation.
+     */
+    public FindIncomeCommand(String query) {
+        this(query, IncomeManager.getInstance());
+    }
+
+    /**
+     * Creates a new FindIncomeCommand for the given words.
+     *
+     * @param query         The words to look for, separated by spaces or punctuation.
+     * @param incomeManager The income list to search.
+     */
+    public FindIncomeCommand(String query, IncomeManager incomeManager) {
+        assert query != null && !query.isBlank() : "Query must contain a word";
+        assert incomeManager != null : "Income manager cannot be null";
+        this.query = query;
+        this.incomeManager = incomeManager;
+    }
+
+    /**
+     * Executes the command to display the matching income entries, numbered as in the full
+     * list so they can be deleted by that number.
+     */
+    public void execute() {
+        int[] found = incomeManager.find(query);
+        PrintWriter out = Ui.out();
+        if (found.length == 0) {
+            out.println("No income entries match \"" + query + "\".");
+            return;
+        }
+        out.println(HEADER);
+        for (int position : found) {
+            out.println((position + 1) + ". " + incomeManager.get(position));
+        }
+        out.println("=".repeat(HEADER.length()));
+        out.println(found.length == 1 ? "1 matching income entry." : found.length + " matching income entries.");
+    }
+}
@@ -1,9 +1,12 @@
 package commands;
 
-import income.Income;
+import exceptions.BudgetTrackerException;
+import expenses.Ui;
 import income.IncomeManager;
 import summary.Summary;
+import util.Page;
 
+import java.io.PrintWriter;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Handler;
 import java.util.logging.Level;
@@ -17,20 +20,49 @@ import java.util.logging.Logger;
  */
 public class ListIncomeCommand {
     private static final Logger logger = Logger.getLogger(ListIncomeCommand.class.getName());
+    private static final int MAX_CACHED_ROWS = 1_000;
     private final Summary summary;
+    private final Page page;
+    private final IncomeManager incomeManager;
 
     /**
-     * Creates a new ListIncomeCommand with the specified summary.
+     * Creates a new ListIncomeCommand that lists every income entry.
      *
      * @param summary The summary to retrieve the total income from.
      * @throws IllegalArgumentException If the summary is null.
      */
     public ListIncomeCommand(Summary summary) {
+        this(summary, null);
+    }
+
+    /**
+     * Creates a new ListIncomeCommand that lists one page of the default income entries.
+     *
+     * @param summary The summary to retrieve the total income from.
+     * @param page    The page to list, or {@code null} to list every entry.
+     * @throws IllegalArgumentException If the summary is null.
+     */
+    public ListIncomeCommand(Summary summary, Page page) {
+        this(summary, page, IncomeManager.getInstance());
+    }
+
+    /**
+     * Creates a new ListIncomeCommand that lists one page of the given income entries.
+     *
+     * @param summary       The summary to retrieve the total income from.
+     * @param page          The page to list, or {@code null} to list every entry.
+     * @param incomeManager The income entries to list.
+     * @throws IllegalArgumentException If the summary is null.
+     */
+    public ListIncomeCommand(Summary summary, Page page, IncomeManager incomeManager) {
         if (summary == null) {
             logger.severe("Summary object is null.");
             throw new IllegalArgumentException("Summary cannot be null.");
         }
+        assert incomeManager != null : "Income manager cannot be null";
         this.summary = summary;
+        this.page = page;
+        this.incomeManager = incomeManager;
     }
 
     static {
@@ -63,28 +95,40 @@ public class ListIncomeCommand {
     /**
      * Executes the command to list all income entries and display the total income.
      * If there are no income entries, a message is displayed indicating so.
+     * The rows of a full listing of up to {@value #MAX_CACHED_ROWS} entries are only rendered
+     * again once the income list has changed since it was last shown. Longer listings and
+     * pages are written straight from the list, without copying it.
      */
     public void execute() {
         try {
-            if (IncomeManager.getIncomeList().isEmpty()) {
+            int total = incomeManager.size();
+            if (total == 0) {
                 logger.info("No income entries found.");
-                System.out.println("No income entries available.");
+                Ui.out().println("No income entries available.");
                 return;
             }
 
-            System.out.println("===== INCOME RECORDS =====");
-            for (int i = 0; i < IncomeManager.getIncomeList().size(); i++) {
-                Income income = IncomeManager.getIncomeList().get(i);
-                System.out.println((i + 1) + ". $" + income.getAmount() + " from " + income.getSource());
-            }
+            int from = page == null ? 0 : page.start(total);
+            int to = page == null ? total : page.end(total);
+            PrintWriter out = Ui.out();
 
-            System.out.println("=========================");
-            System.out.println("Total Income: $" + summary.getTotalIncome());
+            out.println("===== INCOME RECORDS =====");
+            if (page == null && total <= MAX_CACHED_ROWS) {
+                out.print(incomeManager.renderRows());
+            } else {
+                incomeManager.writeRows(from, to, out);
+            }
+            out.println("=========================");
+            out.println("Total Income: $" + summary.getTotalIncome());
+            if (page != null) {
+                out.println(page.describe(total, "income entries"));
+            }
 
+        } catch (BudgetTrackerException e) {
+            Ui.out().println(e.getMessage());
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error while listing income entries.", e);
-            System.out.println("An error occurred while retrieving income entries.");
+            Ui.out().println("An error occurred while retrieving income entries.");
         }
     }
 }
-
@@ -0,0 +1,53 @@
+package commands;
+
+import expenses.ExpenseList;
+import expenses.Ui;
+import util.StringDictionary;
+
+/**
+ * Represents a command to show how well the ledger's string dictionary is sharing
+ * the descriptions, income sources and savings goals of the entries.
+ */
+public class MemoryStatsCommand extends Command {
+    private static final String HEADER = "===== MEMORY STATS =====";
+
+    private final StringDictionary dictionary;
+
+    /**
+     * Constructs a MemoryStatsCommand for the dictionary of one ledger.
+     *
+     * @param dictionary The string dictionary of the ledger.
+     */
+    public MemoryStatsCommand(StringDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Executes the command to display the number of distinct strings, how often a string
+     * was found already stored, and the estimated bytes stored and saved.
+     *
+     * @param expenseList The list of expenses, which is not used.
+     * @param ui          The UI component used to display messages to the user.
+     */
+    @Override
+    public void execute(ExpenseList expenseList, Ui ui) {
+        StringBuilder text = new StringBuilder(HEADER).append(System.lineSeparator());
+        text.append(String.format("%-20s %d%n", "Distinct strings:", dictionary.size()));
+        text.append(String.format("%-20s %d%n", "Lookups:", dictionary.getHits() + dictionary.getMisses()));
+        text.append(String.format("%-20s %.1f%%%n", "Hit rate:", 100 * dictionary.getHitRate()));
+        text.append(String.format("%-20s %d bytes%n", "Strings stored:", dictionary.getStoredBytes()));
+        text.append(String.format("%-20s %d bytes%n", "Bytes saved:", dictionary.getSavedBytes()));
+        text.append("=".repeat(HEADER.length()));
+        Ui.out().println(text);
+    }
+
+    /**
+     * Checks if the command is an exit command.
+     *
+     * @return {@code false} as this command does not cause the program to exit.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
@@ -1,32 +1,51 @@
 package commands;
 
+import exceptions.BudgetTrackerException;
 import expenses.ExpenseList;
 import expenses.Ui;
+import util.Page;
 
 /**
- * Represents a command to view all recorded expenses in the expense list.
+ * Represents a command to view the recorded expenses in the expense list, either all of them or one page.
  */
 public class ViewExpenseCommand extends Command {
     private ExpenseList expenseList;
+    private final Page page;
 
     /**
-     * Constructs a ViewExpenseCommand with the specified expense list.
+     * Constructs a ViewExpenseCommand that shows every expense in the specified expense list.
      *
      * @param expenseList The list of expenses to be displayed.
      */
     public ViewExpenseCommand(ExpenseList expenseList) {
+        this(expenseList, null);
+    }
+
+    /**
+     * Constructs a ViewExpenseCommand that shows one page of the specified expense list.
+     *
+     * @param expenseList The list of expenses to be displayed.
+     * @param page        The page to display, or {@code null} to display every expense.
+     */
+    public ViewExpenseCommand(ExpenseList expenseList, Page page) {
         this.expenseList = expenseList;
+        this.page = page;
     }
 
     /**
-     * Executes the command to display all expenses in the given expense list.
+     * Executes the command to display the expenses in the given expense list.
      *
      * @param expenseList The list of expenses to be shown.
      * @param ui          The UI component used to display messages to the user.
+     * @throws BudgetTrackerException If the requested page does not exist.
      */
     @Override
-    public void execute(ExpenseList expenseList, Ui ui) {
-        expenseList.showExpenses();
+    public void execute(ExpenseList expenseList, Ui ui) throws BudgetTrackerException {
+        if (page == null) {
+            expenseList.showExpenses();
+        } else {
+            expenseList.showExpenses(page);
+        }
     }
 
     /**
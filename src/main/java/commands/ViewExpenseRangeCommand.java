@@ -0,0 +1,67 @@
+package commands;
+
+import expenses.Expense;
+import expenses.ExpenseList;
+import expenses.ExpenseStore;
+import expenses.Ui;
+import util.Dates;
+import util.Money;
+
+/**
+ * Represents a command to view the total expenses of each category between two dates.
+ * The totals come from the store's per-category date index, so no expenses are scanned.
+ */
+public class ViewExpenseRangeCommand extends Command {
+    private static final String TOTAL_LABEL = "Total Expenses:";
+
+    private final int fromDay;
+    private final int toDay;
+
+    /**
+     * Constructs a ViewExpenseRangeCommand for the given dates.
+     *
+     * @param fromDay The day number of the first date, inclusive.
+     * @param toDay   The day number of the last date, inclusive.
+     */
+    public ViewExpenseRangeCommand(int fromDay, int toDay) {
+        assert fromDay <= toDay : "Range must not end before it starts";
+        this.fromDay = fromDay;
+        this.toDay = toDay;
+    }
+
+    /**
+     * Executes the command to display the totals of the expenses dated within the range.
+     *
+     * @param expenseList The list of expenses to total.
+     * @param ui          The UI component used to display messages to the user.
+     */
+    @Override
+    public void execute(ExpenseList expenseList, Ui ui) {
+        ExpenseStore store = expenseList.getStore();
+        String header = "===== EXPENSES FROM " + Dates.toDate(fromDay) + " TO " + Dates.toDate(toDay) + " =====";
+        StringBuilder text = new StringBuilder(header).append(System.lineSeparator());
+        long totalCents = 0;
+        for (Expense.Category category : Expense.Category.values()) {
+            long cents = store.totalCents(category, fromDay, toDay);
+            totalCents += cents;
+            appendLine(text, category + ":", cents);
+        }
+        appendLine(text, TOTAL_LABEL, totalCents);
+        text.append("=".repeat(header.length()));
+        Ui.out().println(text);
+    }
+
+    private static void appendLine(StringBuilder text, String label, long cents) {
+        text.append(String.format("%-20s $%.2f%n", label, Money.toDollars(cents)));
+    }
+
+    /**
+     * Checks if the command is an exit command.
+     *
+     * @return {@code false} as this command does not cause the program to exit.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
@@ -0,0 +1,65 @@
+package commands;
+
+import expenses.Expense;
+import expenses.ExpenseList;
+import expenses.ExpenseStore;
+import expenses.Ui;
+import util.Money;
+import util.TDigest;
+
+/**
+ * Represents a command to view the median, 90th and 99th percentile expense of each category
+ * and of all expenses. The percentiles are estimated from the store's per-category sketches,
+ * which stay the same size however many expenses there are, and the sketches of the categories
+ * are merged for the overall line.
+ */
+public class ViewExpenseStatsCommand extends Command {
+    private static final String HEADER = "===== EXPENSE PERCENTILES =====";
+    private static final String ROW_FORMAT = "%-10s %8s %11s %11s %11s%n";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    /**
+     * Executes the command to display the percentiles.
+     *
+     * @param expenseList The list of expenses to describe.
+     * @param ui          The UI component used to display messages to the user.
+     */
+    @Override
+    public void execute(ExpenseList expenseList, Ui ui) {
+        ExpenseStore store = expenseList.getStore();
+        StringBuilder text = new StringBuilder(HEADER).append(System.lineSeparator());
+        text.append(String.format(ROW_FORMAT, "Category", "Count", "p50", "p90", "p99"));
+        TDigest all = new TDigest();
+        int allCount = 0;
+        for (Expense.Category category : Expense.Category.values()) {
+            int count = store.count(category);
+            TDigest digest = store.amountDigest(category);
+            appendRow(text, category.toString(), count, digest);
+            all.add(digest);
+            allCount += count;
+        }
+        appendRow(text, "All", allCount, all);
+        text.append("=".repeat(HEADER.length()));
+        Ui.out().println(text);
+    }
+
+    private static void appendRow(StringBuilder text, String label, int count, TDigest digest) {
+        String[] percentiles = new String[QUANTILES.length];
+        for (int i = 0; i < QUANTILES.length; i++) {
+            percentiles[i] = count == 0
+                    ? "-"
+                    : String.format("$%.2f", Money.toDollars(Math.round(digest.quantile(QUANTILES[i]))));
+        }
+        text.append(String.format(ROW_FORMAT, label, count, percentiles[0], percentiles[1], percentiles[2]));
+    }
+
+    /**
+     * Checks if the command is an exit command.
+     *
+     * @return {@code false} as this command does not cause the program to exit.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
@@ -0,0 +1,63 @@
+package commands;
+
+import expenses.Expense;
+import expenses.ExpenseList;
+import expenses.ExpenseStore;
+import expenses.Ui;
+
+/**
+ * Represents a command to list the expenses with the largest amounts, in all categories or
+ * in one. The expenses come from the store's heaps of amounts, so the list is not sorted.
+ */
+public class ViewExpenseTopCommand extends Command {
+    private final int count;
+    private final Expense.Category category;
+
+    /**
+     * Constructs a ViewExpenseTopCommand.
+     *
+     * @param count    The number of expenses to list.
+     * @param category The category to list them from, or {@code null} for every category.
+     */
+    public ViewExpenseTopCommand(int count, Expense.Category category) {
+        assert count > 0 : "At least one expense must be asked for";
+        this.count = count;
+        this.category = category;
+    }
+
+    /**
+     * Executes the command to display the largest expenses, largest first, numbered as in
+     * the full list so they can be deleted by that number.
+     *
+     * @param expenseList The list of expenses to rank.
+     * @param ui          The UI component used to display messages to the user.
+     */
+    @Override
+    public void execute(ExpenseList expenseList, Ui ui) {
+        ExpenseStore store = expenseList.getStore();
+        int[] found = store.top(count, category);
+        String kind = category == null ? "EXPENSES" : category + " EXPENSES";
+        if (found.length == 0) {
+            Ui.out().println(category == null ? "No expenses recorded." : "No " + category + " expenses recorded.");
+            return;
+        }
+        String header = "===== TOP " + found.length + " " + kind + " =====";
+        StringBuilder text = new StringBuilder(header).append(System.lineSeparator());
+        for (int position : found) {
+            store.appendRow(position, text);
+            text.append(System.lineSeparator());
+        }
+        text.append("=".repeat(header.length()));
+        Ui.out().println(text);
+    }
+
+    /**
+     * Checks if the command is an exit command.
+     *
+     * @return {@code false} as this command does not cause the program to exit.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
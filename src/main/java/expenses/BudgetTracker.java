@@ -10,12 +10,26 @@ import income.IncomeManager;
  */
 public class BudgetTracker {
     private ExpenseList expenseList;
+    private final IncomeManager incomeManager;
 
     /**
-     * Constructs a BudgetTracker with an empty expense list.
+     * Constructs a BudgetTracker with an empty expense list that runs income commands
+     * against the default income list.
      */
     public BudgetTracker() {
+        this(IncomeManager.getInstance());
+    }
+
+    /**
+     * Constructs a BudgetTracker with an empty expense list that runs income commands
+     * against the given income list.
+     *
+     * @param incomeManager The income entries of the ledger this tracker works on.
+     */
+    public BudgetTracker(IncomeManager incomeManager) {
+        assert incomeManager != null : "Income manager cannot be null";
         expenseList = new ExpenseList();
+        this.incomeManager = incomeManager;
     }
 
     /**
@@ -28,7 +42,7 @@ public class BudgetTracker {
         try {
             command.execute(expenseList, ui);
         } catch (BudgetTrackerException e) {
-            System.out.println("Error: " + e.getMessage());
+            Ui.out().println("Error: " + e.getMessage());
         }
     }
 
@@ -37,12 +51,15 @@ public class BudgetTracker {
      *
      * @param incomeCommand The income command to execute.
      * @param ui            The UI component for displaying messages.
+     * @return True if the command ran, false if it failed with an error.
      */
-    public void executeincomeCommand(IncomeCommand incomeCommand, Ui ui) {
+    public boolean executeincomeCommand(IncomeCommand incomeCommand, Ui ui) {
         try {
-            incomeCommand.incomeExecute(new IncomeManager(), ui);
+            incomeCommand.incomeExecute(incomeManager, ui);
+            return true;
         } catch (BudgetTrackerException e) {
-            System.out.println("Error: " + e.getMessage());
+            Ui.out().println("Error: " + e.getMessage());
+            return false;
         }
     }
 
@@ -1,8 +1,11 @@
 package expenses;
 import exceptions.BudgetTrackerException;
+import util.Money;
+
+import java.time.LocalDate;
 
 /**
- * Represents an expense with an amount and a description.
+ * Represents an expense with an amount, a description, a category and the date it was made on.
  */
 public class Expense {
 
@@ -10,14 +13,51 @@ public class Expense {
         FOOD, TRANSPORT, BILLS, OTHERS
     }
 
-    private double amount;
+    private long amountCents;
     private String description;
     private Category category;
+    private LocalDate date;
 
+    /**
+     * Creates an expense made today.
+     *
+     * @param amount      The amount of the expense.
+     * @param description The description of the expense.
+     * @param category    The category of the expense.
+     */
     public Expense(double amount, String description, Category category) {
-        this.amount = amount;
+        this(amount, description, category, LocalDate.now());
+    }
+
+    /**
+     * Creates an expense made on the given date.
+     *
+     * @param amount      The amount of the expense.
+     * @param description The description of the expense.
+     * @param category    The category of the expense.
+     * @param date        The date of the expense.
+     */
+    public Expense(double amount, String description, Category category, LocalDate date) {
+        assert date != null : "Expense date cannot be null";
+        this.amountCents = Money.toCents(amount);
+        this.description = description;
+        this.category = category;
+        this.date = date;
+    }
+
+    /**
+     * Creates an expense from the columns of an {@link ExpenseStore}, sharing its description.
+     *
+     * @param amountCents The amount of the expense in cents.
+     * @param description The description of the expense, as held by the store's dictionary.
+     * @param category    The category of the expense.
+     * @param date        The date of the expense.
+     */
+    Expense(long amountCents, String description, Category category, LocalDate date) {
+        this.amountCents = amountCents;
         this.description = description;
         this.category = category;
+        this.date = date;
     }
 
     /**
@@ -26,7 +66,16 @@ public class Expense {
      * @return The expense amount.
      */
     public double getAmount() {
-        return amount;
+        return Money.toDollars(amountCents);
+    }
+
+    /**
+     * Retrieves the amount of the expense in cents.
+     *
+     * @return The expense amount in cents.
+     */
+    public long getAmountCents() {
+        return amountCents;
     }
 
     /**
@@ -42,6 +91,15 @@ public class Expense {
         return category;
     }
 
+    /**
+     * Retrieves the date of the expense.
+     *
+     * @return The date the expense was made on.
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+
     /**
      * Returns a string representation of the expense.
      *
@@ -49,18 +107,30 @@ public class Expense {
      */
     @Override
     public String toString() {
-        return "[" + category + "] $" + amount + " for " + description;
+        StringBuilder text = new StringBuilder().append('[').append(category).append("] $");
+        return Money.append(text, amountCents).append(" for ").append(description).toString();
     }
 
     public static Category getCategoryFromInput(String input) throws BudgetTrackerException {
-        switch (input.toUpperCase()) {
-        case "F":
+        return getCategoryFromCode(input.length() == 1 ? input.charAt(0) : 0);
+    }
+
+    /**
+     * Returns the category for a one-letter code, ignoring case.
+     *
+     * @param code The code entered by the user: F, T, B or O.
+     * @return The matching category.
+     * @throws BudgetTrackerException If the code does not name a category.
+     */
+    public static Category getCategoryFromCode(char code) throws BudgetTrackerException {
+        switch (Character.toUpperCase(code)) {
+        case 'F':
             return Category.FOOD;
-        case "T":
+        case 'T':
             return Category.TRANSPORT;
-        case "B":
+        case 'B':
             return Category.BILLS;
-        case "O":
+        case 'O':
             return Category.OTHERS;
         default:
             throw new BudgetTrackerException("Invalid category! Use: F (Food), T (Transport), B (Bills), O (Others).");
@@ -1,13 +1,22 @@
 package expenses;
 
-import java.util.ArrayList;
+import exceptions.BudgetTrackerException;
+import storage.LedgerJournal;
+import util.Dates;
+import util.Page;
+import util.StringDictionary;
+
+import java.util.AbstractList;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Represents a list of expenses with operations to add, delete, and display expenses.
+ * The expenses are held column by column in an {@link ExpenseStore}.
  */
 public class ExpenseList {
     private static final Logger logger = Logger.getLogger(ExpenseList.class.getName());
@@ -20,36 +29,97 @@ public class ExpenseList {
         logger.setLevel(Level.WARNING); // Set global level to WARNING
     }
 
-    private List<Expense> expenses;
+    private final ExpenseStore store;
+    private final List<Expense> expenses;
+    private Consumer<ExpenseStore> pendingLoad;
+    private LedgerJournal journal;
 
     /**
-     * Constructs an empty ExpenseList.
+     * Constructs an empty ExpenseList with a string dictionary of its own.
      */
     public ExpenseList() {
-        this.expenses = new ArrayList<>();
+        this(new StringDictionary());
+    }
+
+    /**
+     * Constructs an empty ExpenseList that keeps its descriptions in the given dictionary.
+     *
+     * @param dictionary The string dictionary of the ledger the list belongs to.
+     */
+    public ExpenseList(StringDictionary dictionary) {
+        this.store = new ExpenseStore(dictionary);
+        this.expenses = new ExpenseView();
         assert expenses.isEmpty() : "Expense list should be empty upon initialization.";
     }
 
+    /**
+     * Defers loading of previously saved expenses until they are first used.
+     *
+     * @param loader Appends the saved expenses, in order, to the store when they are first needed.
+     */
+    public void loadLazily(Consumer<ExpenseStore> loader) {
+        assert store.size() == 0 : "Saved expenses must be loaded into an empty list.";
+        this.pendingLoad = loader;
+    }
+
+    /**
+     * Moves the saved expenses into memory the first time the list is used.
+     */
+    private void ensureLoaded() {
+        if (pendingLoad != null) {
+            pendingLoad.accept(store);
+            pendingLoad = null;
+        }
+    }
+
+    /**
+     * Returns the column store backing this list, for bulk reads that should not
+     * create an {@link Expense} per entry.
+     *
+     * @return The expense store.
+     */
+    public ExpenseStore getStore() {
+        ensureLoaded();
+        return store;
+    }
+
+    /**
+     * Attaches the journal that every later change to this list is recorded in.
+     *
+     * @param journal The journal to append to, or {@code null} to stop journaling.
+     */
+    public void setJournal(LedgerJournal journal) {
+        this.journal = journal;
+    }
+
     /**
      * Adds a new expense to the expense list.
      *
      * @param expense The expense to be added.
      */
     public void addExpense(Expense expense) {
-        int prevSize = expenses.size();
-        expenses.add(expense);
-        logger.info("Added new expense: " + expense);
+        ensureLoaded();
+        int prevSize = store.size();
+        store.add(expense.getAmountCents(), expense.getCategory(), expense.getDescription(),
+                Dates.toDay(expense.getDate()));
+        logger.info(() -> "Added new expense: " + expense);
+        if (journal != null) {
+            journal.appendAddExpense(expense);
+        }
 
-        assert expenses.size() == prevSize + 1 : "Expense list size should increase after adding an expense.";
-        assert expenses.contains(expense) : "Expense list should contain the added expense.";
+        assert store.size() == prevSize + 1 : "Expense list size should increase after adding an expense.";
+        assert store.getDescription(prevSize).equals(expense.getDescription())
+                : "Expense list should contain the added expense.";
     }
 
     /**
-     * Retrieves the list of expenses.
+     * Retrieves a read-only view of the expenses. Each {@link Expense} is assembled
+     * from the store's columns when it is accessed.
      *
      * @return A list of recorded expenses.
      */
     public List<Expense> getExpenses() {
+        ensureLoaded();
         return expenses;
     }
 
@@ -57,24 +127,42 @@ public class ExpenseList {
      * Displays all recorded expenses. If no expenses exist, a message is displayed.
      */
     public void showExpenses() {
-        if (expenses.isEmpty()) {
-            System.out.println("No expenses recorded.");
-            assert expenses.isEmpty() : "Expense list should be empty if 'No expenses recorded' is displayed.";
+        ensureLoaded();
+        if (store.size() == 0) {
+            Ui.out().println("No expenses recorded.");
         } else {
-            StringBuilder expenseMessage = new StringBuilder();
             logger.info("Displaying expenses.");
 
-            for (int i = 0; i < expenses.size(); i++) {
-                expenseMessage.append((i + 1)).append(". ").append(expenses.get(i));
-                if (i < expenses.size() - 1) { // Add newline only if it's not the last item
-                    expenseMessage.append("\n");
-                }
-            }
-            Ui.showList(expenseMessage.toString());
-            assert !expenses.isEmpty() : "Expense list should not be empty when expenses are displayed.";
+            Ui.showListHeader();
+            store.writeRows(0, store.size(), Ui.out());
+            Ui.showListFooter();
+            assert store.size() > 0 : "Expense list should not be empty when expenses are displayed.";
         }
     }
 
+    /**
+     * Displays one page of the recorded expenses, numbered as in the full list.
+     * If no expenses exist, a message is displayed.
+     *
+     * @param page The page to display.
+     * @throws BudgetTrackerException If the list does not have that many pages.
+     */
+    public void showExpenses(Page page) throws BudgetTrackerException {
+        ensureLoaded();
+        if (store.size() == 0) {
+            Ui.out().println("No expenses recorded.");
+            return;
+        }
+        int total = store.size();
+        int from = page.start(total);
+        logger.info(() -> "Displaying page " + page.getNumber() + " of expenses.");
+
+        Ui.showListHeader();
+        store.writeRows(from, page.end(total), Ui.out());
+        Ui.showListFooter();
+        Ui.out().println(page.describe(total, "expenses"));
+    }
+
     /**
      * Deletes an expense from the list based on its index.
      *
@@ -82,15 +170,37 @@ public class ExpenseList {
      * @return {@code true} if the expense was successfully deleted, {@code false} otherwise.
      */
     public boolean deleteExpense(int expenseNumber) {
-        int prevSize = expenses.size();
-        if (expenseNumber > 0 && expenseNumber <= expenses.size()) {
-            expenses.remove(expenseNumber - 1); // List is 0-indexed, so subtract 1
+        ensureLoaded();
+        int prevSize = store.size();
+        if (expenseNumber > 0 && expenseNumber <= store.size()) {
+            store.remove(expenseNumber - 1); // List is 0-indexed, so subtract 1
+            if (journal != null) {
+                journal.appendDeleteExpense(expenseNumber - 1);
+            }
 
-            assert expenses.size() == prevSize - 1 : "Expense list size did not decrease after deleting an expense.";
+            assert store.size() == prevSize - 1 : "Expense list size did not decrease after deleting an expense.";
             return true;
         }
         logger.warning("Failed to delete expense. Invalid index: " + expenseNumber);
-        assert expenses.size() == prevSize : "Expense list size should remain the same if deletion fails.";
+        assert store.size() == prevSize : "Expense list size should remain the same if deletion fails.";
         return false;
     }
+
+    /**
+     * Read-only list view over the store's columns.
+     */
+    private class ExpenseView extends AbstractList<Expense> implements RandomAccess {
+        @Override
+        public Expense get(int index) {
+            ensureLoaded();
+            return new Expense(store.getCents(index), store.getDescription(index),
+                    store.getCategory(index), Dates.toDate(store.getDay(index)));
+        }
+
+        @Override
+        public int size() {
+            ensureLoaded();
+            return store.size();
+        }
+    }
 }
@@ -2,15 +2,31 @@ package expenses;
 
 import commands.AddExpenseCommand;
 import commands.DeleteExpenseCommand;
+import commands.FindExpenseCommand;
 import commands.ViewExpenseCommand;
+import commands.ViewExpenseRangeCommand;
+import commands.ViewExpenseStatsCommand;
+import commands.ViewExpenseTopCommand;
 import commands.Command;
 import exceptions.BudgetTrackerException;
 import summary.Summary;
+import util.CommandTokenizer;
+import util.Dates;
+import util.Money;
+import util.Page;
+import util.TextIndex;
 
 /**
  * Parses user input for expense-related commands and returns the corresponding command objects.
  */
 public class ExpenseParser {
+    private static final String VIEW_USAGE = "Invalid format! Use: view expense [page <N>] [size <M>]";
+    private static final String ADD_USAGE = "Invalid format! Use: add expense <AMOUNT> / <DESCRIPTION> / "
+            + "<CATEGORY> [/ d:<YYYY-MM-DD>]";
+    private static final String RANGE_USAGE = "Invalid format! Use: view expense from <YYYY-MM-DD> to <YYYY-MM-DD>";
+    private static final String TOP_USAGE = "Invalid format! Use: view expense top <K> [<CATEGORY>]";
+    private static final String STATS_USAGE = "Invalid format! Use: view expense stats";
+    private static final String FIND_USAGE = "Invalid format! Use: find expense <KEYWORDS>";
 
     /**
      * Parses a given user command string and returns the corresponding Command object.
@@ -26,78 +42,171 @@ public class ExpenseParser {
                                 ExpenseList expenseList) throws BudgetTrackerException {
         assert fullCommand != null : "User command should not be null.";
         assert !fullCommand.trim().isEmpty() : "User command should not be empty.";
-        String[] words = fullCommand.split(" ", 2);  // Split the command into words
-        String commandWord = words[0].toLowerCase(); // First word is the command
-        String argument = words.length > 1 ? words[1] : ""; // Remaining part is the argument
+        CommandTokenizer tokens = new CommandTokenizer(fullCommand);
 
-        switch (commandWord) {
-        case "add":
-            if (argument.startsWith("expense ")) {
-                return parseAddExpense(argument.substring(8).trim(), summary);
+        if (tokens.skipWord("add", true)) {
+            if (tokens.skipText(" expense ")) {
+                return parseAddExpense(tokens, summary);
             } else {
-                throw new BudgetTrackerException("Invalid format! Use: add expense <AMOUNT> / <DESCRIPTION> / " +
-                        "<CATEGORY>");
+                throw new BudgetTrackerException(ADD_USAGE);
             }
-
-        case "view":
-            if (argument.equalsIgnoreCase("expense")) {
-                return new ViewExpenseCommand(expenseList);
+        } else if (tokens.skipWord("view", true)) {
+            if (tokens.skipText(" ") && tokens.skipWord("expense", true)) {
+                if (tokens.skipWord("from", true)) {
+                    return parseViewExpenseRange(tokens);
+                }
+                if (tokens.skipWord("top", true)) {
+                    return parseViewExpenseTop(tokens);
+                }
+                if (tokens.skipWord("stats", true)) {
+                    if (!tokens.isBlank()) {
+                        throw new BudgetTrackerException(STATS_USAGE);
+                    }
+                    return new ViewExpenseStatsCommand();
+                }
+                return new ViewExpenseCommand(expenseList, Page.parse(tokens, VIEW_USAGE));
             }
-            break;
-
-        case "delete":
-            if (argument.startsWith("expense ")) {
-                return parseDeleteExpense(argument.substring(8).trim(), summary);
+            return null;
+        } else if (tokens.skipWord("delete", true)) {
+            if (tokens.skipText(" expense ")) {
+                return parseDeleteExpense(tokens, summary);
             }
-            break;
-
-        default:
-            throw new BudgetTrackerException("Invalid command! Please enter a valid command.");
+            return null;
+        } else if (tokens.skipWord("find", true)) {
+            if (tokens.skipText(" ") && tokens.skipWord("expense", true)) {
+                return parseFindExpense(tokens);
+            }
+            return null;
         }
-        return null;
+        throw new BudgetTrackerException("Invalid command! Please enter a valid command.");
     }
 
     /**
      * Parses the arguments for adding an expense.
      *
-     * @param argument The user input containing the amount and description.
-     * @param summary  The summary object to update with the new expense.
-     * @return An AddExpenseCommand object if the input is valid.
-     * @throws BudgetTrackerException If the format is incorrect or amount is invalid.
+     * @param tokens  The user input, positioned at the amount.
+     * @param summary The summary object to update with the new expense.
+     * @return An AddExpenseCommand object if the input is valid, dated today unless a date follows the category.
+     * @throws BudgetTrackerException If the format is incorrect or the amount or date is invalid.
      */
-    private static Command parseAddExpense(String argument, Summary summary) throws BudgetTrackerException {
-        if (argument.isEmpty()) {
-            throw new BudgetTrackerException("Invalid format! Use: add expense <AMOUNT> / <DESCRIPTION> / <CATEGORY>");
+    private static Command parseAddExpense(CommandTokenizer tokens, Summary summary) throws BudgetTrackerException {
+        if (tokens.isBlank()) {
+            throw new BudgetTrackerException(ADD_USAGE);
         }
 
-        String[] parts = argument.split(" / ", 3);
-        if (parts.length < 3) {
-            throw new BudgetTrackerException("Invalid format! Use: add expense <AMOUNT> / <DESCRIPTION> / <CATEGORY>");
+        int amountStart = tokens.position();
+        int amountEnd = tokens.indexOf(" / ");
+        if (amountEnd < 0) {
+            throw new BudgetTrackerException(ADD_USAGE);
+        }
+        tokens.moveTo(amountEnd + 3);
+        int descriptionEnd = tokens.indexOf(" / ");
+        if (descriptionEnd < 0) {
+            throw new BudgetTrackerException(ADD_USAGE);
+        }
+
+        tokens.moveTo(descriptionEnd + 3);
+        int categoryEnd = tokens.indexOf(" / ");
+        int day = Dates.today();
+        if (categoryEnd >= 0) {
+            tokens.moveTo(categoryEnd + 3);
+            if (!tokens.skipText("d:")) {
+                throw new BudgetTrackerException(ADD_USAGE);
+            }
+            day = Dates.parse(tokens.readText(tokens.length()));
+        } else {
+            categoryEnd = tokens.length();
         }
 
         try {
-            double amount = Double.parseDouble(parts[0].trim());
-            String description = parts[1].trim();
-            Expense.Category category = Expense.getCategoryFromInput(parts[2].trim());
-            return new AddExpenseCommand(amount, description, category, summary);
+            tokens.moveTo(amountStart);
+            double amount = Money.toDollars(tokens.readCents(amountEnd));
+            tokens.moveTo(amountEnd + 3);
+            String description = tokens.readText(descriptionEnd);
+            tokens.moveTo(descriptionEnd + 3);
+            Expense.Category category = Expense.getCategoryFromCode(tokens.readCode(categoryEnd));
+            return new AddExpenseCommand(amount, description, category, Dates.toDate(day), summary);
         } catch (NumberFormatException e) {
             throw new BudgetTrackerException("Invalid amount! Please enter a valid number.");
-        } catch (IllegalArgumentException e) {
-            throw new BudgetTrackerException(e.getMessage());
         }
     }
 
+    /**
+     * Parses the dates of a query for the expenses between two dates.
+     *
+     * @param tokens The user input, positioned after {@code from}.
+     * @return A ViewExpenseRangeCommand for the dates, both inclusive.
+     * @throws BudgetTrackerException If the format is incorrect, a date is invalid or the range is reversed.
+     */
+    private static Command parseViewExpenseRange(CommandTokenizer tokens) throws BudgetTrackerException {
+        if (tokens.remainingWords() != 3) {
+            throw new BudgetTrackerException(RANGE_USAGE);
+        }
+        int fromDay = Dates.parse(tokens.readText(tokens.nextWordEnd()));
+        if (!tokens.skipWord("to", true)) {
+            throw new BudgetTrackerException(RANGE_USAGE);
+        }
+        int toDay = Dates.parse(tokens.readText(tokens.nextWordEnd()));
+        if (fromDay > toDay) {
+            throw new BudgetTrackerException("The start date must not be after the end date.");
+        }
+        return new ViewExpenseRangeCommand(fromDay, toDay);
+    }
+
+    /**
+     * Parses the number of expenses and the optional category of a query for the largest expenses.
+     *
+     * @param tokens The user input, positioned after {@code top}.
+     * @return A ViewExpenseTopCommand for the number and category.
+     * @throws BudgetTrackerException If the format is incorrect, the number is not positive or the category is invalid.
+     */
+    private static Command parseViewExpenseTop(CommandTokenizer tokens) throws BudgetTrackerException {
+        int words = tokens.remainingWords();
+        if (words < 1 || words > 2) {
+            throw new BudgetTrackerException(TOP_USAGE);
+        }
+        int count;
+        try {
+            count = tokens.readInt(tokens.nextWordEnd());
+        } catch (NumberFormatException e) {
+            throw new BudgetTrackerException(TOP_USAGE);
+        }
+        if (count <= 0) {
+            throw new BudgetTrackerException("The number of expenses must be positive.");
+        }
+        Expense.Category category = null;
+        if (words == 2) {
+            category = Expense.getCategoryFromCode(tokens.readCode(tokens.nextWordEnd()));
+        }
+        return new ViewExpenseTopCommand(count, category);
+    }
+
+    /**
+     * Parses the words to look for in expense descriptions.
+     *
+     * @param tokens The user input, positioned after {@code find expense}.
+     * @return A FindExpenseCommand for the words.
+     * @throws BudgetTrackerException If no word follows the command.
+     */
+    private static Command parseFindExpense(CommandTokenizer tokens) throws BudgetTrackerException {
+        String query = tokens.readText(tokens.length());
+        if (TextIndex.tokens(query).isEmpty()) {
+            throw new BudgetTrackerException(FIND_USAGE);
+        }
+        return new FindExpenseCommand(query);
+    }
+
     /**
      * Parses the arguments for deleting an expense.
      *
-     * @param argument The user input containing the expense index.
-     * @param summary  The summary object to update after deleting the expense.
+     * @param tokens  The user input, positioned at the expense index.
+     * @param summary The summary object to update after deleting the expense.
      * @return A DeleteExpenseCommand object if the input is valid.
      * @throws BudgetTrackerException If the format is incorrect or the index is invalid.
      */
-    private static Command parseDeleteExpense(String argument, Summary summary) throws BudgetTrackerException {
+    private static Command parseDeleteExpense(CommandTokenizer tokens, Summary summary) throws BudgetTrackerException {
         try {
-            int expenseNumber = Integer.parseInt(argument.trim());
+            int expenseNumber = tokens.readInt(tokens.length());
 
             return new DeleteExpenseCommand(expenseNumber, summary);
         } catch (NumberFormatException e) {
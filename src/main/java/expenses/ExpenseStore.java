@@ -0,0 +1,402 @@
+package expenses;
+
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+import util.Dates;
+import util.DayTotals;
+import util.IndexedMaxHeap;
+import util.Money;
+import util.RankIndex;
+import util.StringDictionary;
+import util.TDigest;
+import util.TextIndex;
+
+/**
+ * Column-oriented storage for expenses. Instead of one {@link Expense} object per entry,
+ * each field is kept in its own growable primitive array: the amount in cents, the
+ * category ordinal, the day number of its date and the id of the description in the
+ * {@link StringDictionary} of the ledger the store belongs to. Scanning a column touches
+ * contiguous memory and creates no garbage.
+ *
+ * <p>Rows are addressed by position, as the user numbers them. A {@link RankIndex} maps
+ * positions to the slots the rows occupy in the columns, so removing a row only marks
+ * its slot dead instead of shifting every later row.
+ *
+ * <p>A {@link DayTotals} tree per category keeps the amounts by date, so the total spent
+ * between two dates is found in O(log d) without scanning the rows.
+ *
+ * <p>The first search builds a {@link TextIndex} over the descriptions, which every later
+ * addition and removal keeps up to date. The first query for the largest expenses likewise
+ * builds an {@link IndexedMaxHeap} of amounts per category, and the first query for
+ * percentiles a {@link TDigest} per category.
+ */
+public class ExpenseStore {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int WRITE_CHUNK_CHARS = 8192;
+    /** A digest is rebuilt once more than 1 in this many of its values were deleted. */
+    private static final int DIGEST_REBUILD_RATIO = 20;
+    private static final Expense.Category[] CATEGORIES = Expense.Category.values();
+
+    private long[] cents = new long[INITIAL_CAPACITY];
+    private byte[] categories = new byte[INITIAL_CAPACITY];
+    private int[] days = new int[INITIAL_CAPACITY];
+    private int[] descriptionIds = new int[INITIAL_CAPACITY];
+    private final RankIndex rows = new RankIndex();
+
+    private final StringDictionary dictionary;
+    private final DayTotals[] dayTotals = new DayTotals[CATEGORIES.length];
+    private TextIndex descriptionIndex;
+    private IndexedMaxHeap[] amountHeaps;
+    private final int[] categoryCounts = new int[CATEGORIES.length];
+    private TDigest[] amountDigests;
+    private int[] deletedSinceDigest;
+
+    /**
+     * Creates an empty store with a dictionary of its own.
+     */
+    public ExpenseStore() {
+        this(new StringDictionary());
+    }
+
+    /**
+     * Creates an empty store that keeps its descriptions in the given dictionary.
+     *
+     * @param dictionary The string dictionary of the ledger the store belongs to.
+     */
+    public ExpenseStore(StringDictionary dictionary) {
+        this.dictionary = dictionary;
+        for (int i = 0; i < dayTotals.length; i++) {
+            dayTotals[i] = new DayTotals();
+        }
+    }
+
+    /**
+     * Appends an expense made today.
+     *
+     * @param amountCents The amount in cents.
+     * @param category    The category of the expense.
+     * @param description The description of the expense.
+     */
+    public void add(long amountCents, Expense.Category category, String description) {
+        add(amountCents, category, description, Dates.today());
+    }
+
+    /**
+     * Appends an expense.
+     *
+     * @param amountCents The amount in cents.
+     * @param category    The category of the expense.
+     * @param description The description of the expense.
+     * @param day         The day number of the date of the expense.
+     */
+    public void add(long amountCents, Expense.Category category, String description, int day) {
+        int descriptionId = dictionary.intern(description);
+        int slot = rows.append();
+        if (slot == cents.length) {
+            int capacity = slot * 2;
+            cents = Arrays.copyOf(cents, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            days = Arrays.copyOf(days, capacity);
+            descriptionIds = Arrays.copyOf(descriptionIds, capacity);
+        }
+        cents[slot] = amountCents;
+        categories[slot] = (byte) category.ordinal();
+        days[slot] = day;
+        descriptionIds[slot] = descriptionId;
+        dayTotals[category.ordinal()].add(day, amountCents);
+        if (descriptionIndex != null) {
+            descriptionIndex.add(dictionary.get(descriptionId));
+        }
+        if (amountHeaps != null) {
+            amountHeaps[category.ordinal()].add(slot, amountCents);
+        }
+        categoryCounts[category.ordinal()]++;
+        if (amountDigests != null && amountDigests[category.ordinal()] != null) {
+            amountDigests[category.ordinal()].add(amountCents);
+        }
+    }
+
+    /**
+     * Removes the expense at the given position. Later expenses move up by one position
+     * without being copied.
+     *
+     * @param index The zero-based position of the expense.
+     */
+    public void remove(int index) {
+        int slot = rows.remove(index);
+        dayTotals[categories[slot]].add(days[slot], -cents[slot]);
+        if (descriptionIndex != null) {
+            descriptionIndex.remove(index, dictionary.get(descriptionIds[slot]));
+        }
+        if (amountHeaps != null) {
+            amountHeaps[categories[slot]].remove(slot);
+        }
+        categoryCounts[categories[slot]]--;
+        if (amountDigests != null) {
+            deletedSinceDigest[categories[slot]]++;
+        }
+        cents[slot] = 0; // dead slots add nothing to a scan of the column
+        if (rows.needsCompaction()) {
+            compact();
+        }
+    }
+
+    /**
+     * Returns the number of stored expenses.
+     *
+     * @return The number of expenses.
+     */
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Returns the amount of an expense in cents.
+     *
+     * @param index The zero-based position of the expense.
+     * @return The amount in cents.
+     */
+    public long getCents(int index) {
+        return cents[rows.slotOf(index)];
+    }
+
+    /**
+     * Returns the category of an expense.
+     *
+     * @param index The zero-based position of the expense.
+     * @return The category.
+     */
+    public Expense.Category getCategory(int index) {
+        return CATEGORIES[categories[rows.slotOf(index)]];
+    }
+
+    /**
+     * Returns the dictionary the descriptions are kept in.
+     *
+     * @return The string dictionary of the store's ledger.
+     */
+    public StringDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Returns the day number of the date of an expense.
+     *
+     * @param index The zero-based position of the expense.
+     * @return The number of days since 1970-01-01.
+     */
+    public int getDay(int index) {
+        return days[rows.slotOf(index)];
+    }
+
+    /**
+     * Returns the description of an expense. Equal descriptions share one {@code String}.
+     *
+     * @param index The zero-based position of the expense.
+     * @return The description.
+     */
+    public String getDescription(int index) {
+        return dictionary.get(descriptionIds[rows.slotOf(index)]);
+    }
+
+    /**
+     * Returns the dictionary id of the description of an expense.
+     *
+     * @param index The zero-based position of the expense.
+     * @return The id in the store's dictionary.
+     */
+    public int getDescriptionId(int index) {
+        return descriptionIds[rows.slotOf(index)];
+    }
+
+    /**
+     * Returns the sum of all stored amounts, in cents.
+     *
+     * @return The total in cents.
+     */
+    public long totalCents() {
+        long total = 0;
+        for (int slot = 0; slot < rows.slotCount(); slot++) {
+            total += cents[slot];
+        }
+        return total;
+    }
+
+    /**
+     * Returns the sum of the amounts of one category dated within a range of days, in O(log d)
+     * where d is the number of days between the earliest and latest expense.
+     *
+     * @param category The category to total.
+     * @param fromDay  The day number of the first date in the range.
+     * @param toDay    The day number of the last date in the range, inclusive.
+     * @return The total in cents.
+     */
+    public long totalCents(Expense.Category category, int fromDay, int toDay) {
+        return dayTotals[category.ordinal()].sum(fromDay, toDay);
+    }
+
+    /**
+     * Returns the positions of the expenses whose description contains every word of the
+     * query, ignoring case.
+     *
+     * @param query The words to look for.
+     * @return The zero-based positions of the matching expenses, in increasing order.
+     */
+    public int[] find(String query) {
+        if (descriptionIndex == null) {
+            descriptionIndex = new TextIndex();
+            for (int slot = rows.nextLive(0); slot >= 0; slot = rows.nextLive(slot + 1)) {
+                descriptionIndex.add(dictionary.get(descriptionIds[slot]));
+            }
+        }
+        return descriptionIndex.find(query);
+    }
+
+    /**
+     * Returns the positions of the expenses with the largest amounts, in O(K log n) for K
+     * expenses. Equal amounts are listed in the order they were added.
+     *
+     * @param k        The number of expenses wanted.
+     * @param category The category to take them from, or {@code null} for every category.
+     * @return The zero-based positions of up to {@code k} expenses, largest amount first.
+     */
+    public int[] top(int k, Expense.Category category) {
+        if (amountHeaps == null) {
+            amountHeaps = new IndexedMaxHeap[CATEGORIES.length];
+            for (int i = 0; i < amountHeaps.length; i++) {
+                amountHeaps[i] = new IndexedMaxHeap();
+            }
+            for (int slot = rows.nextLive(0); slot >= 0; slot = rows.nextLive(slot + 1)) {
+                amountHeaps[categories[slot]].add(slot, cents[slot]);
+            }
+        }
+        int[] found = category == null
+                ? IndexedMaxHeap.top(k, amountHeaps)
+                : IndexedMaxHeap.top(k, amountHeaps[category.ordinal()]);
+        for (int i = 0; i < found.length; i++) {
+            found[i] = rows.positionOf(found[i]);
+        }
+        return found;
+    }
+
+    /**
+     * Returns the number of expenses in a category.
+     *
+     * @param category The category to count.
+     * @return The number of expenses.
+     */
+    public int count(Expense.Category category) {
+        return categoryCounts[category.ordinal()];
+    }
+
+    /**
+     * Returns a sketch of the distribution of the amounts of one category, in cents, for
+     * estimating percentiles in bounded memory. Deleted amounts stay in the sketch until
+     * they make up more than 1 in {@value #DIGEST_REBUILD_RATIO} of it; the sketch is then
+     * rebuilt from the amounts column, so an estimate is off by at most that share of ranks
+     * beyond the sketch's own error.
+     *
+     * @param category The category to describe.
+     * @return The sketch, which the caller must not change.
+     */
+    public TDigest amountDigest(Expense.Category category) {
+        if (amountDigests == null) {
+            amountDigests = new TDigest[CATEGORIES.length];
+            deletedSinceDigest = new int[CATEGORIES.length];
+        }
+        int ordinal = category.ordinal();
+        if (amountDigests[ordinal] == null
+                || (long) deletedSinceDigest[ordinal] * DIGEST_REBUILD_RATIO > amountDigests[ordinal].size()) {
+            TDigest digest = new TDigest();
+            for (int slot = rows.nextLive(0); slot >= 0; slot = rows.nextLive(slot + 1)) {
+                if (categories[slot] == ordinal) {
+                    digest.add(cents[slot]);
+                }
+            }
+            amountDigests[ordinal] = digest;
+            deletedSinceDigest[ordinal] = 0;
+        }
+        return amountDigests[ordinal];
+    }
+
+    /**
+     * Appends the numbered, human-readable form of an expense, identical to
+     * {@link Expense#toString()}, without creating an {@link Expense}.
+     *
+     * @param index The zero-based position of the expense.
+     * @param out   The builder to append to.
+     */
+    public void appendRow(int index, StringBuilder out) {
+        appendSlot(rows.slotOf(index), index + 1, out);
+    }
+
+    /**
+     * Appends the numbered, human-readable form of every expense, one per line, walking
+     * the columns once in order.
+     *
+     * @param out The builder to append to.
+     */
+    public void appendRows(StringBuilder out) {
+        int number = 1;
+        for (int slot = rows.nextLive(0); slot >= 0; slot = rows.nextLive(slot + 1)) {
+            if (number > 1) {
+                out.append("\n");
+            }
+            appendSlot(slot, number++, out);
+        }
+    }
+
+    /**
+     * Writes the numbered, human-readable form of the expenses at the given positions, one
+     * per line, a chunk at a time, so the memory used does not grow with the number of rows.
+     *
+     * @param from The zero-based position of the first expense to write.
+     * @param to   The zero-based position just after the last expense to write.
+     * @param out  The writer to write to.
+     */
+    public void writeRows(int from, int to, PrintWriter out) {
+        assert from >= 0 && from <= to && to <= size() : "Rows to write must lie within the store";
+        if (from == to) {
+            return;
+        }
+        StringBuilder chunk = new StringBuilder(WRITE_CHUNK_CHARS + 128);
+        int number = from + 1;
+        for (int slot = rows.slotOf(from); number <= to; slot = rows.nextLive(slot + 1)) {
+            appendSlot(slot, number++, chunk);
+            chunk.append(System.lineSeparator());
+            if (chunk.length() >= WRITE_CHUNK_CHARS) {
+                out.append(chunk);
+                chunk.setLength(0);
+            }
+        }
+        out.append(chunk);
+    }
+
+    private void appendSlot(int slot, int number, StringBuilder out) {
+        out.append(number).append(". [").append(CATEGORIES[categories[slot]]).append("] $");
+        Money.append(out, cents[slot]).append(" for ").append(dictionary.get(descriptionIds[slot]));
+    }
+
+    private void compact() {
+        int[] newSlots = amountHeaps == null ? null : new int[rows.slotCount()];
+        int packed = 0;
+        for (int slot = rows.nextLive(0); slot >= 0; slot = rows.nextLive(slot + 1)) {
+            if (newSlots != null) {
+                newSlots[slot] = packed;
+            }
+            cents[packed] = cents[slot];
+            categories[packed] = categories[slot];
+            days[packed] = days[slot];
+            descriptionIds[packed] = descriptionIds[slot];
+            packed++;
+        }
+        Arrays.fill(cents, packed, rows.slotCount(), 0);
+        rows.reset(packed);
+        if (newSlots != null) {
+            for (IndexedMaxHeap heap : amountHeaps) {
+                heap.renumber(newSlots);
+            }
+        }
+    }
+}
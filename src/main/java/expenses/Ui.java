@@ -1,24 +1,158 @@
 package expenses;
 
+import java.io.PrintWriter;
+import java.io.Writer;
+
+/**
+ * Writes everything the application shows to the user. All output goes through one
+ * buffered sink, {@link #out()}, which passes it on to {@code System.out}.
+ *
+ * <p>By default the sink passes each write on at once. Once {@link #setFlushOnPrompt(boolean)}
+ * is turned on, output is held until {@link #flush()} is called before the user is prompted
+ * for the next command, or until {@value #FLUSH_THRESHOLD} characters are pending, so a long
+ * listing reaches the console in a few large writes instead of one per line.
+ *
+ * <p>A thread serving a client over the network can {@linkplain #bind(PrintWriter) bind} its
+ * own sink, so that everything written while it runs commands goes to that client instead.
+ */
 public class Ui {
+    static final int FLUSH_THRESHOLD = 1 << 16;
+
+    private static final ConsoleWriter sink = new ConsoleWriter();
+    private static final PrintWriter out = new PrintWriter(sink, false);
+    private static final ThreadLocal<PrintWriter> boundOut = new ThreadLocal<>();
 
     public void showMessage(String message) {
-        System.out.println(message);
+        out().println(message);
     }
 
     public static void showList(String message) {
-        System.out.println("===== EXPENSE ENTRIES =====");
-        System.out.println(message);
-        System.out.println("============================");
+        showListHeader();
+        out().println(message);
+        showListFooter();
+    }
+
+    /**
+     * Displays the line above a list of expenses, for lists whose rows are written straight to {@link #out()}.
+     */
+    public static void showListHeader() {
+        out().println("===== EXPENSE ENTRIES =====");
     }
+
+    /**
+     * Displays the line below a list of expenses.
+     */
+    public static void showListFooter() {
+        out().println("============================");
+    }
+
     /**
      * Displays an alert message with emphasis.
-     * 
+     *
      * @param alertMessage The alert message to display
      */
     public void showAlert(String alertMessage) {
-        System.out.println("\n====== ALERT ======");
-        System.out.println(alertMessage);
-        System.out.println("===================\n");
+        PrintWriter alertOut = out();
+        alertOut.println("\n====== ALERT ======");
+        alertOut.println(alertMessage);
+        alertOut.println("===================\n");
+    }
+
+    /**
+     * Returns the sink that all output to the user is written to.
+     *
+     * @return The sink bound to the current thread, or else the shared output sink.
+     */
+    public static PrintWriter out() {
+        PrintWriter bound = boundOut.get();
+        return bound != null ? bound : out;
+    }
+
+    /**
+     * Sends everything the current thread writes through {@link #out()} to the given sink
+     * until {@link #unbind()} is called.
+     *
+     * @param sink The sink of the client this thread serves.
+     */
+    public static void bind(PrintWriter sink) {
+        assert sink != null : "Cannot bind a null sink";
+        boundOut.set(sink);
+    }
+
+    /**
+     * Returns the current thread to the shared output sink.
+     */
+    public static void unbind() {
+        boundOut.remove();
+    }
+
+    /**
+     * Passes all pending output on to {@code System.out}, or to the sink bound to the current
+     * thread. Called before each prompt.
+     */
+    public static void flush() {
+        out().flush();
+    }
+
+    /**
+     * Sets whether output is held until the next prompt instead of being passed on at once.
+     * Turning it off flushes any pending output.
+     *
+     * @param flushOnPrompt True to hold output until {@link #flush()} or the size limit.
+     */
+    public static void setFlushOnPrompt(boolean flushOnPrompt) {
+        synchronized (sink) {
+            sink.flushOnPrompt = flushOnPrompt;
+        }
+        if (!flushOnPrompt) {
+            flush();
+        }
+    }
+
+    /**
+     * Collects output and passes it on to whatever {@code System.out} is at the time of the flush,
+     * so redirecting {@code System.out} keeps working.
+     */
+    private static final class ConsoleWriter extends Writer {
+        private final StringBuilder pending = new StringBuilder(FLUSH_THRESHOLD);
+        private boolean flushOnPrompt;
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            pending.append(chars, offset, length);
+            flushIfDue();
+        }
+
+        @Override
+        public void write(String text, int offset, int length) {
+            pending.append(text, offset, offset + length);
+            flushIfDue();
+        }
+
+        @Override
+        public void write(int c) {
+            pending.append((char) c);
+            flushIfDue();
+        }
+
+        private void flushIfDue() {
+            if (!flushOnPrompt || pending.length() >= FLUSH_THRESHOLD) {
+                flush();
+            }
+        }
+
+        @Override
+        public void flush() {
+            if (pending.length() > 0) {
+                System.out.append(pending);
+                pending.setLength(0);
+            }
+            System.out.flush();
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
     }
 }
@@ -1,23 +1,48 @@
 package income;
 
+import util.Money;
+import util.StringDictionary;
+
+import java.time.LocalDate;
+
 /**
- * Represents an income entry with a specified amount and source.
+ * Represents an income entry with a specified amount, source and date.
  */
 public class Income {
-    private final double amount;
+    private final long amountCents;
     private final String source;
+    private final LocalDate date;
 
     /**
-     * Creates an Income object with the given amount and source.
+     * Creates an Income object with the given amount and source, received today.
      *
      * @param amount The amount of income.
      * @param source The source of the income.
      */
     public Income(double amount, String source) {
+        this(amount, source, LocalDate.now());
+    }
+
+    /**
+     * Creates an Income object with the given amount and source, received on the given date.
+     *
+     * @param amount The amount of income.
+     * @param source The source of the income.
+     * @param date   The date the income was received.
+     */
+    public Income(double amount, String source, LocalDate date) {
         assert amount > 0 : "Income amount must be positive";
         assert source != null && !source.trim().isEmpty() : "Income source cannot be null or empty";
-        this.amount = amount;
+        assert date != null : "Income date cannot be null";
+        this.amountCents = Money.toCents(amount);
         this.source = source;
+        this.date = date;
+    }
+
+    private Income(long amountCents, String source, LocalDate date) {
+        this.amountCents = amountCents;
+        this.source = source;
+        this.date = date;
     }
 
     /**
@@ -26,7 +51,16 @@ public class Income {
      * @return The amount of this income entry.
      */
     public double getAmount() {
-        return amount;
+        return Money.toDollars(amountCents);
+    }
+
+    /**
+     * Retrieves the income amount in cents.
+     *
+     * @return The amount of this income entry in cents.
+     */
+    public long getAmountCents() {
+        return amountCents;
     }
 
     /**
@@ -38,6 +72,27 @@ public class Income {
         return source;
     }
 
+    /**
+     * Returns this entry with its source replaced by the dictionary's copy of it, so that
+     * entries with the same source share one string.
+     *
+     * @param dictionary The string dictionary of the ledger the entry is added to.
+     * @return This entry if it already holds the dictionary's copy, or an equal entry that does.
+     */
+    Income sharingSource(StringDictionary dictionary) {
+        String shared = dictionary.canonical(source);
+        return shared == source ? this : new Income(amountCents, shared, date);
+    }
+
+    /**
+     * Retrieves the date the income was received.
+     *
+     * @return The date of this income entry.
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+
     /**
      * Returns a string representation of the income entry.
      *
@@ -45,7 +100,7 @@ public class Income {
      */
     @Override
     public String toString() {
-        return "$" + amount + " from " + source;
+        return Money.append(new StringBuilder().append('$'), amountCents).append(" from ").append(source).toString();
     }
 }
 
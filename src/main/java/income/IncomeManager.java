@@ -1,74 +1,407 @@
 package income;
 
-import java.util.ArrayList;
+import java.io.PrintWriter;
 import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 import exceptions.BudgetTrackerException;
+import storage.LedgerJournal;
+import util.IndexedSequence;
+import util.RenderCache;
+import util.StringDictionary;
+import util.TextIndex;
 
 /**
- * Manages the list of income entries. Provides methods to add, delete,
- * retrieve, and clear income entries.
+ * Manages the list of income entries of one ledger. Provides methods to add, delete,
+ * retrieve, clear and search income entries. Deleting by index takes O(log n).
+ *
+ * <p>Each instance owns its entries, so several ledgers can live in one program. An instance
+ * is safe to share between threads: readers share a read-write lock and writers take it
+ * exclusively, so a reader never sees a change half made, and changes reach the journal in
+ * the order they were made. The list itself is never handed out; callers read single entries,
+ * a copy from {@link #entries()}, or rows written under the lock by {@link #writeRows}.
+ *
+ * <p>The static methods act on a {@linkplain #getInstance() default instance}, the ledger of
+ * the interactive program, and are kept for the code that has only ever used that one.
+ *
+ * <p>The first search builds a {@link TextIndex} over the sources, which later additions
+ * and deletions keep up to date. If the list is changed some other way, such as by loading
+ * saved entries, the index is rebuilt on the next search.
  */
 public class IncomeManager {
     private static final IncomeManager instance = new IncomeManager();
-    private static final List<Income> incomeList = new ArrayList<>();
+
+    private final IndexedSequence<Income> incomeList = new IndexedSequence<>();
+    private final StringDictionary dictionary;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock readLock = lock.readLock();
+    private final Lock writeLock = lock.writeLock();
+    private volatile Supplier<List<Income>> pendingLoad;
+    private LedgerJournal journal;
+    private TextIndex sourceIndex;
+    private long indexedVersion;
+    private final RenderCache renderedRows = new RenderCache();
 
     /**
-     * Constructs an IncomeManager instance.
-     * Public constructor allows external instantiation if needed.
+     * Constructs an IncomeManager with an empty income list and a string dictionary of its own.
      */
-    public IncomeManager() {}
+    public IncomeManager() {
+        this(new StringDictionary());
+    }
+
+    /**
+     * Constructs an IncomeManager with an empty income list that keeps its sources in the
+     * given dictionary.
+     *
+     * @param dictionary The string dictionary of the ledger the income list belongs to.
+     */
+    public IncomeManager(StringDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
 
     /**
-     * Retrieves the singleton instance of IncomeManager.
+     * Retrieves the default instance that the static methods act on.
      *
-     * @return The singleton instance of IncomeManager.
+     * @return The default instance of IncomeManager.
      */
     public static IncomeManager getInstance() {
         return instance;
     }
 
     /**
-     * Adds a new income entry to the list.
+     * Returns the dictionary the sources are kept in.
+     *
+     * @return The string dictionary of this income list's ledger.
+     */
+    public StringDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Defers loading of previously saved income entries until they are first used.
+     *
+     * @param loader Supplies the saved income entries, in order, when they are first needed.
+     */
+    public void deferLoad(Supplier<List<Income>> loader) {
+        writeLock.lock();
+        try {
+            assert incomeList.isEmpty() : "Saved income entries must be loaded into an empty list.";
+            pendingLoad = loader;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Moves the saved income entries into memory the first time the list is used.
+     */
+    private void ensureLoaded() {
+        if (pendingLoad == null) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (pendingLoad != null) {
+                for (Income income : pendingLoad.get()) {
+                    incomeList.add(income.sharingSource(dictionary));
+                }
+                pendingLoad = null;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Attaches the journal that every later change to the income list is recorded in.
+     *
+     * @param newJournal The journal to append to, or {@code null} to stop journaling.
+     */
+    public void useJournal(LedgerJournal newJournal) {
+        writeLock.lock();
+        try {
+            journal = newJournal;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds a new income entry to the end of the list.
+     *
+     * @param income The income entry to add.
+     */
+    public void add(Income income) {
+        ensureLoaded();
+        writeLock.lock();
+        try {
+            long previousVersion = incomeList.getVersion();
+            Income stored = income.sharingSource(dictionary);
+            incomeList.add(stored);
+            if (sourceIndex != null && indexedVersion == previousVersion) {
+                sourceIndex.add(stored.getSource());
+                indexedVersion = incomeList.getVersion();
+            }
+            if (journal != null) {
+                journal.appendAddIncome(stored);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the income entry at the specified index.
+     *
+     * @param index The zero-based index of the income entry to delete.
+     * @return The deleted entry.
+     * @throws BudgetTrackerException If the list is empty or the index is out of bounds.
+     */
+    public Income delete(int index) throws BudgetTrackerException {
+        ensureLoaded();
+        writeLock.lock();
+        try {
+            if (incomeList.isEmpty()) {
+                throw new BudgetTrackerException("Cannot delete from an empty income list.");
+            }
+            if (index < 0 || index >= incomeList.size()) {
+                throw new BudgetTrackerException("Invalid index: " + (index + 1)
+                        + ". Index must be between 1 and " + incomeList.size());
+            }
+
+            long previousVersion = incomeList.getVersion();
+            Income removed = incomeList.remove(index);
+            if (sourceIndex != null && indexedVersion == previousVersion) {
+                sourceIndex.remove(index, removed.getSource());
+                indexedVersion = incomeList.getVersion();
+            }
+            if (journal != null) {
+                journal.appendDeleteIncome(index);
+            }
+            return removed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the income entry at the specified index.
+     *
+     * @param index The zero-based index of the entry.
+     * @return The entry.
+     * @throws IndexOutOfBoundsException If the index is out of bounds.
+     */
+    public Income get(int index) {
+        ensureLoaded();
+        readLock.lock();
+        try {
+            return incomeList.get(index);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of income entries.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        ensureLoaded();
+        readLock.lock();
+        try {
+            return incomeList.size();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns a copy of the income entries as of one moment, which later changes do not affect.
+     *
+     * @return An unmodifiable list of the entries, in order.
+     */
+    public List<Income> entries() {
+        ensureLoaded();
+        readLock.lock();
+        try {
+            return List.copyOf(incomeList);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Writes the numbered entries at the given positions, one per line, while holding the read
+     * lock, so every row belongs to the same version of the list and no copy of it is made.
+     * Positions past the end of the list are skipped.
+     *
+     * @param from The zero-based position of the first entry to write.
+     * @param to   The zero-based position just after the last entry to write.
+     * @param out  The writer to write to.
+     */
+    public void writeRows(int from, int to, PrintWriter out) {
+        ensureLoaded();
+        readLock.lock();
+        try {
+            int end = Math.min(to, incomeList.size());
+            for (int i = from; i < end; i++) {
+                out.println((i + 1) + ". " + incomeList.get(i));
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the numbered rows of every entry, as {@link #writeRows} writes them. The text is
+     * kept and only rendered again once the list has changed since it was last returned.
+     *
+     * @return The rows of the whole list.
+     */
+    public String renderRows() {
+        ensureLoaded();
+        readLock.lock();
+        try {
+            return renderedRows.get(incomeList.getVersion(), () -> {
+                StringBuilder rows = new StringBuilder();
+                int number = 1;
+                for (Income income : incomeList) {
+                    rows.append(number++).append(". ").append(income).append(System.lineSeparator());
+                }
+                return rows.toString();
+            });
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the positions of the income entries whose source contains every word of the
+     * query, ignoring case.
+     *
+     * @param query The words to look for.
+     * @return The zero-based positions of the matching entries, in increasing order.
+     */
+    public int[] find(String query) {
+        ensureLoaded();
+        readLock.lock();
+        try {
+            if (sourceIndex != null && indexedVersion == incomeList.getVersion()) {
+                return sourceIndex.find(query);
+            }
+        } finally {
+            readLock.unlock();
+        }
+        writeLock.lock();
+        try {
+            if (sourceIndex == null || indexedVersion != incomeList.getVersion()) {
+                sourceIndex = new TextIndex();
+                for (Income income : incomeList) {
+                    sourceIndex.add(income.getSource());
+                }
+                indexedVersion = incomeList.getVersion();
+            }
+            return sourceIndex.find(query);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the modification version of the income list. It changes whenever an entry is
+     * added or removed.
+     *
+     * @return The current version.
+     */
+    public long version() {
+        ensureLoaded();
+        readLock.lock();
+        try {
+            return incomeList.getVersion();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Removes every income entry, including any not yet loaded.
+     */
+    public void clear() {
+        writeLock.lock();
+        try {
+            pendingLoad = null;
+            incomeList.clear();
+            sourceIndex = null;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Defers loading of the default instance's saved income entries until they are first used.
+     *
+     * @param loader Supplies the saved income entries, in order, when they are first needed.
+     * @see #deferLoad(Supplier)
+     */
+    public static void loadLazily(Supplier<List<Income>> loader) {
+        instance.deferLoad(loader);
+    }
+
+    /**
+     * Attaches the journal that every later change to the default instance is recorded in.
+     *
+     * @param newJournal The journal to append to, or {@code null} to stop journaling.
+     */
+    public static void setJournal(LedgerJournal newJournal) {
+        instance.useJournal(newJournal);
+    }
+
+    /**
+     * Adds a new income entry to the default instance.
      *
      * @param income the income entry to add
      */
     public static void addIncome(Income income) {
-        incomeList.add(income);
+        instance.add(income);
     }
 
     /**
-     * Deletes an income entry at the specified index.
+     * Deletes an income entry of the default instance at the specified index.
      *
      * @param index the index of the income entry to delete
      * @throws BudgetTrackerException if the index is out of bounds
      */
     public static void deleteIncome(int index) throws BudgetTrackerException {
-        if (incomeList.isEmpty()) {
-            throw new BudgetTrackerException("Cannot delete from an empty income list.");
-        }
-
-        if (index < 0 || index >= incomeList.size()) {
-            throw new BudgetTrackerException("Invalid index: " + (index + 1)
-                    + ". Index must be between 1 and " + incomeList.size());
-        }
+        instance.delete(index);
+    }
 
-        incomeList.remove(index);
+    /**
+     * Searches the sources of the default instance.
+     *
+     * @param query The words to look for.
+     * @return The zero-based positions of the matching entries, in increasing order.
+     * @see #find(String)
+     */
+    public static int[] findIncome(String query) {
+        return instance.find(query);
     }
 
     /**
-     * Returns the list of income entries.
+     * Returns the modification version of the default instance's income list. It changes
+     * whenever an entry is added or removed.
      *
-     * @return the list of income entries
+     * @return The current version.
      */
-    public static List<Income> getIncomeList() {
-        return incomeList;
+    public static long getVersion() {
+        return instance.version();
     }
 
     /**
-     * Clears all income entries from the list.
+     * Clears all income entries from the default instance.
      */
     public static void clearIncomeList() {
-        assert incomeList != null : "Income list should not be null";
-        incomeList.clear();
+        instance.clear();
     }
 }
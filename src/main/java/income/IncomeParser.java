@@ -2,13 +2,23 @@ package income;
 
 import commands.AddIncomeCommand;
 import commands.DeleteIncomeCommand;
+import commands.FindIncomeCommand;
+import commands.ListIncomeCommand;
 import exceptions.BudgetTrackerException;
 import summary.Summary;
+import util.CommandTokenizer;
+import util.Money;
+import util.Page;
+import util.TextIndex;
 
 /**
  * Parses user input related to income commands and returns appropriate command objects.
  */
 public class IncomeParser {
+    private static final String VIEW_USAGE = "Invalid format for 'view income' command. " +
+            "Please use 'view income [page <N>] [size <M>]'";
+    private static final String FIND_USAGE = "Invalid format for 'find income' command. " +
+            "Please use 'find income <KEYWORDS>'";
 
     /**
      * Parses the user input for the "add income" command and returns an AddIncomeCommand object.
@@ -20,15 +30,24 @@ public class IncomeParser {
      */
     public static AddIncomeCommand parseAddIncomeCommand(String fullCommand, Summary summary)
             throws BudgetTrackerException {
-        String[] parts = fullCommand.split(" / ");
-        if (parts.length != 2) {
+        CommandTokenizer tokens = new CommandTokenizer(fullCommand);
+        int separator = tokens.indexOf(" / ");
+        if (separator >= 0) {
+            tokens.moveTo(separator + 3);
+        }
+        if (separator < 0 || tokens.position() == tokens.length() || tokens.indexOf(" / ") >= 0) {
             throw new BudgetTrackerException("Invalid format for 'add income' command. " +
                     "Please use 'add income <AMOUNT> / <SOURCE>'");
         }
 
         try {
-            double amount = Double.parseDouble(parts[0].replace("add income", "").trim());
-            String source = parts[1].trim();
+            tokens.moveTo(0);
+            if (tokens.skipWord("add", false)) {
+                tokens.skipWord("income", false);
+            }
+            double amount = Money.toDollars(tokens.readCents(separator));
+            tokens.moveTo(separator + 3);
+            String source = tokens.readText(tokens.length());
             return new AddIncomeCommand(amount, source, summary);
         } catch (NumberFormatException e) {
             throw new BudgetTrackerException("Invalid amount format. Please provide a valid number.");
@@ -45,17 +64,99 @@ public class IncomeParser {
      */
     public static DeleteIncomeCommand parseDeleteIncomeCommand(String fullCommand, Summary summary)
             throws BudgetTrackerException {
-        String[] parts = fullCommand.split(" ");
-        if (parts.length != 3 || !parts[1].equalsIgnoreCase("income")) {
+        return parseDeleteIncomeCommand(fullCommand, summary, IncomeManager.getInstance());
+    }
+
+    /**
+     * Parses the user input for the "delete income" command against the given income list.
+     *
+     * @param fullCommand   The full user input string containing the command and parameters.
+     * @param summary       The Summary object to update after deleting the income entry.
+     * @param incomeManager The income list the index refers to.
+     * @return A DeleteIncomeCommand object containing the parsed index to delete.
+     * @throws BudgetTrackerException If the input format is incorrect or contains an invalid index.
+     */
+    public static DeleteIncomeCommand parseDeleteIncomeCommand(String fullCommand, Summary summary,
+                                                               IncomeManager incomeManager)
+            throws BudgetTrackerException {
+        CommandTokenizer tokens = new CommandTokenizer(fullCommand);
+        if (tokens.remainingWords() == 3) {
+            tokens.moveTo(tokens.nextWordEnd());
+        }
+        if (tokens.position() == 0 || !tokens.skipWord("income", true)) {
             throw new BudgetTrackerException("Invalid format for 'delete income' command. " +
                     "Please use 'delete income <INDEX>'");
         }
 
         try {
-            int index = Integer.parseInt(parts[2].trim());
-            return new DeleteIncomeCommand(index, summary);
+            int index = tokens.readInt(tokens.length());
+            return new DeleteIncomeCommand(index, summary, incomeManager);
         } catch (NumberFormatException e) {
             throw new BudgetTrackerException("Invalid index format. Please provide a valid number.");
         }
     }
+
+    /**
+     * Parses the user input for the "view income" command and returns a ListIncomeCommand object.
+     *
+     * @param fullCommand The full user input string, optionally followed by {@code page <N>} and {@code size <M>}.
+     * @param summary     The Summary object to retrieve the total income from.
+     * @return A ListIncomeCommand listing every entry, or the requested page.
+     * @throws BudgetTrackerException If the page options are malformed.
+     */
+    public static ListIncomeCommand parseListIncomeCommand(String fullCommand, Summary summary)
+            throws BudgetTrackerException {
+        return parseListIncomeCommand(fullCommand, summary, IncomeManager.getInstance());
+    }
+
+    /**
+     * Parses the user input for the "view income" command, listing the given income list.
+     *
+     * @param fullCommand   The full user input string, optionally followed by {@code page <N>} and {@code size <M>}.
+     * @param summary       The Summary object to retrieve the total income from.
+     * @param incomeManager The income entries to list.
+     * @return A ListIncomeCommand listing every entry, or the requested page.
+     * @throws BudgetTrackerException If the page options are malformed.
+     */
+    public static ListIncomeCommand parseListIncomeCommand(String fullCommand, Summary summary,
+                                                           IncomeManager incomeManager)
+            throws BudgetTrackerException {
+        CommandTokenizer tokens = new CommandTokenizer(fullCommand);
+        if (!tokens.skipWord("view", true) || !tokens.skipWord("income", true)) {
+            throw new BudgetTrackerException(VIEW_USAGE);
+        }
+        return new ListIncomeCommand(summary, Page.parse(tokens, VIEW_USAGE), incomeManager);
+    }
+
+    /**
+     * Parses the user input for the "find income" command and returns a FindIncomeCommand object.
+     *
+     * @param fullCommand The full user input string, followed by the words to look for.
+     * @return A FindIncomeCommand for the words.
+     * @throws BudgetTrackerException If no word follows the command.
+     */
+    public static FindIncomeCommand parseFindIncomeCommand(String fullCommand) throws BudgetTrackerException {
+        return parseFindIncomeCommand(fullCommand, IncomeManager.getInstance());
+    }
+
+    /**
+     * Parses the user input for the "find income" command, searching the given income list.
+     *
+     * @param fullCommand   The full user input string, followed by the words to look for.
+     * @param incomeManager The income list to search.
+     * @return A FindIncomeCommand for the words.
+     * @throws BudgetTrackerException If no word follows the command.
+     */
+    public static FindIncomeCommand parseFindIncomeCommand(String fullCommand, IncomeManager incomeManager)
+            throws BudgetTrackerException {
+        CommandTokenizer tokens = new CommandTokenizer(fullCommand);
+        if (!tokens.skipWord("find", true) || !tokens.skipWord("income", true)) {
+            throw new BudgetTrackerException(FIND_USAGE);
+        }
+        String query = tokens.readText(tokens.length());
+        if (TextIndex.tokens(query).isEmpty()) {
+            throw new BudgetTrackerException(FIND_USAGE);
+        }
+        return new FindIncomeCommand(query, incomeManager);
+    }
 }
@@ -1,31 +1,159 @@
 package savings;
 
-import java.util.ArrayList;
+import java.time.LocalDate;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 import exceptions.BudgetTrackerException;
+import expenses.Ui;
+import storage.LedgerJournal;
+import summary.RollupCube;
 import summary.Summary;
+import util.CentsMultimap;
+import util.IndexedSequence;
+import util.Money;
+import util.RankIndex;
+import util.RenderCache;
+import util.StringDictionary;
 
 /**
  * The Saving class manages savings records, allowing users to add, delete,
  * view, and set goals for their savings.
+ *
+ * <p>Each record is given an id in order of addition. The ids of the records are indexed
+ * by amount, and the total of all records is kept as they change, so setting a goal by
+ * amount and showing the savings indicator take O(1) however many records there are.
  */
 public class Saving {
 
-    private final List<SavingsRecord> savingsRecords = new ArrayList<>();
+    private final IndexedSequence<SavingsRecord> savingsRecords = new IndexedSequence<>();
+    private final RankIndex recordIds = new RankIndex();
+    private final CentsMultimap recordsByAmount = new CentsMultimap();
+    private long totalSavingsCents;
+    private long indexedVersion = -1;
     private final Summary summary;
+    private final StringDictionary dictionary;
+    private Supplier<List<SavingsRecord>> pendingLoad;
+    private LedgerJournal journal;
+    private long version;
+    private final RenderCache rendered = new RenderCache();
 
     /**
-     * Constructor that accepts a Summary instance.
+     * Constructor that accepts a Summary instance, with a string dictionary of its own.
      * @param summary the shared Summary instance
      */
     public Saving(Summary summary) {
+        this(summary, new StringDictionary());
+    }
+
+    /**
+     * Constructor that accepts a Summary instance and the dictionary to keep the goals in.
+     * @param summary the shared Summary instance
+     * @param dictionary the string dictionary of the ledger the records belong to
+     */
+    public Saving(Summary summary, StringDictionary dictionary) {
         this.summary = summary;
+        this.dictionary = dictionary;
     }
 
+    /**
+     * Returns the savings records, in order. The list cannot be changed through the view;
+     * every change goes through this class so the amount index and the total stay correct.
+     * @return A read-only view of the records.
+     */
     public List<SavingsRecord> getSavingsRecords() {
-        return savingsRecords;
+        ensureLoaded();
+        return Collections.unmodifiableList(savingsRecords);
+    }
+
+    /**
+     * Returns the modification version of the savings records. It increases with every change
+     * made through this class.
+     * @return The current version.
+     */
+    public long getVersion() {
+        ensureLoaded();
+        return version;
+    }
+
+    /**
+     * Defers loading of previously saved savings records until they are first used.
+     * @param loader Supplies the saved records, in order, when they are first needed.
+     */
+    public void loadLazily(Supplier<List<SavingsRecord>> loader) {
+        assert savingsRecords.isEmpty() : "Saved records must be loaded into an empty list.";
+        this.pendingLoad = loader;
+    }
+
+    /**
+     * Moves the saved savings records into memory the first time they are used.
+     */
+    private void ensureLoaded() {
+        if (pendingLoad != null) {
+            for (SavingsRecord record : pendingLoad.get()) {
+                record.setGoal(dictionary.canonical(record.getGoal()));
+                savingsRecords.add(record);
+            }
+            pendingLoad = null;
+            version++;
+        }
+        if (indexedVersion != savingsRecords.getVersion()) {
+            reindex();
+        }
+    }
+
+    /**
+     * Rebuilds the amount index and the total from the records after they were loaded.
+     */
+    private void reindex() {
+        recordIds.clear();
+        recordsByAmount.clear();
+        totalSavingsCents = 0;
+        for (SavingsRecord record : savingsRecords) {
+            record.id = recordIds.append();
+            recordsByAmount.put(record.amountCents, record.id);
+            totalSavingsCents += record.amountCents;
+        }
+        indexedVersion = savingsRecords.getVersion();
+    }
+
+    private void indexAdded(SavingsRecord record) {
+        record.id = recordIds.append();
+        recordsByAmount.put(record.amountCents, record.id);
+        totalSavingsCents += record.amountCents;
+        indexedVersion = savingsRecords.getVersion();
+    }
+
+    private void indexRemoved(int zeroBasedIndex, SavingsRecord record) {
+        recordIds.remove(zeroBasedIndex);
+        recordsByAmount.remove(record.amountCents, record.id);
+        totalSavingsCents -= record.amountCents;
+        if (recordIds.needsCompaction()) {
+            // Renumbering keeps ids in the order of the records, so the earliest record
+            // with an amount still has the smallest id.
+            reindex();
+        }
+        indexedVersion = savingsRecords.getVersion();
+    }
+
+    /**
+     * Moves a record in the amount index after its amount changed from the given one.
+     */
+    private void indexAmountChanged(SavingsRecord record, long originalAmountCents) {
+        recordsByAmount.remove(originalAmountCents, record.id);
+        recordsByAmount.put(record.amountCents, record.id);
+        totalSavingsCents += record.amountCents - originalAmountCents;
+    }
+
+    /**
+     * Attaches the journal that every later change to the savings records is recorded in.
+     *
+     * @param journal The journal to append to, or {@code null} to stop journaling.
+     */
+    public void setJournal(LedgerJournal journal) {
+        this.journal = journal;
     }
 
     /**
@@ -33,14 +161,21 @@ public class Saving {
      * @param amount The amount to save.
      */
     public void addSavings(double amount, String goal) throws BudgetTrackerException {
+        ensureLoaded();
         assert amount > 0 : "Savings amount must be positive";
 
         if (goal == null || goal.trim().isEmpty()) {
             goal = "(savings goal not provided)";
         }
-        savingsRecords.add(new SavingsRecord(amount, goal));
-        System.out.printf("Added to savings: $%.2f for %s%n", amount, goal);
-        summary.addSavings(amount);
+        SavingsRecord record = new SavingsRecord(amount, dictionary.canonical(goal));
+        savingsRecords.add(record);
+        indexAdded(record);
+        version++;
+        Ui.out().printf("Added to savings: $%.2f for %s%n", amount, goal);
+        summary.addSavings(amount, record.getDate());
+        if (journal != null) {
+            journal.appendAddSavings(amount, goal, record.getDate());
+        }
     }
 
     /**
@@ -48,12 +183,13 @@ public class Saving {
      * @param index The index of the savings record to delete.
      */
     public void deleteSavings(int index) throws BudgetTrackerException {
+        ensureLoaded();
         if (savingsRecords.isEmpty()) {
-            System.out.println("No saving records.");
+            Ui.out().println("No saving records.");
             return;
         }
         if (index < 0 || index > savingsRecords.size()){
-            System.out.println("Invalid index.");
+            Ui.out().println("Invalid index.");
             return;
         }
 
@@ -62,42 +198,62 @@ public class Saving {
             throw new BudgetTrackerException("Invalid index.");
         }
         SavingsRecord removedRecord = savingsRecords.remove(zeroBasedIndex);
-        System.out.printf("Deleted savings: $%.2f for %s%n", removedRecord.getAmount(), removedRecord.getGoal());
-        summary.removeSavings(removedRecord.getAmount());
+        indexRemoved(zeroBasedIndex, removedRecord);
+        version++;
+        Ui.out().printf("Deleted savings: $%.2f for %s%n", removedRecord.getAmount(), removedRecord.getGoal());
+        summary.removeSavings(removedRecord.getAmount(), removedRecord.getDate());
+        if (journal != null) {
+            journal.appendDeleteSavings(zeroBasedIndex);
+        }
     }
 
     /**
-     * Displays all savings records.
+     * Displays all savings records. The listing is only rendered again once the records
+     * or the total income have changed since it was last shown.
      */
     public void viewSavings() {
+        ensureLoaded();
         if (savingsRecords.isEmpty()) {
-            System.out.println("No savings records.");
+            Ui.out().println("No savings records.");
             return;
         }
+        Ui.out().print(rendered.get(version, summary.getVersion(), this::renderSavings));
+    }
 
-        System.out.println("===== SAVINGS RECORDS =====");
-        for (int i = 0; i < savingsRecords.size(); i++) {
-            SavingsRecord record = savingsRecords.get(i);
-            System.out.printf("%d. \t$%.2f for %s%n", i + 1, record.getAmount(), record.getGoal());
+    private String renderSavings() {
+        StringBuilder rows = new StringBuilder("===== SAVINGS RECORDS =====").append(System.lineSeparator());
+        int number = 1;
+        for (SavingsRecord record : savingsRecords) {
+            rows.append(number++).append(". \t$");
+            Money.appendFixed(rows, record.amountCents).append(" for ").append(record.getGoal())
+                    .append(System.lineSeparator());
         }
-        System.out.println("===========================");
-        System.out.println("Savings Indicator: " + getSavingsIndicator());
+        rows.append("===========================").append(System.lineSeparator());
+        rows.append("Savings Indicator: ").append(getSavingsIndicator()).append(System.lineSeparator());
+        return rows.toString();
     }
 
     /**
-     * Sets a savings goal for a specific amount.
+     * Sets a savings goal for the earliest record with a specific amount.
      * @param amount The savings amount to associate with the goal.
      * @param newSavingGoal The new goal description.
      */
     public void setSavingsGoal(double amount, String newSavingGoal) {
-        for (SavingsRecord record : savingsRecords) {
-            if (record.amount == amount) {
-                record.setGoal(newSavingGoal);
-                System.out.printf("Savings goal set: $%.2f for %s%n", amount, newSavingGoal);
-                return;
-            }
+        ensureLoaded();
+        int id = recordsByAmount.first(Money.toCents(amount));
+        if (id == CentsMultimap.NONE) {
+            Ui.out().println("Invalid amount.");
+            return;
+        }
+        int zeroBasedIndex = recordIds.positionOf(id);
+        SavingsRecord record = savingsRecords.get(zeroBasedIndex);
+        assert record.id == id : "Record ids must follow the order of the records";
+        record.setGoal(dictionary.canonical(newSavingGoal));
+        version++;
+        Ui.out().printf("Savings goal set: $%.2f for %s%n", amount, newSavingGoal);
+        if (journal != null) {
+            journal.appendSetSavings(zeroBasedIndex, record.getAmount(), newSavingGoal);
         }
-        System.out.println("Invalid amount.");
     }
 
     /**
@@ -105,17 +261,22 @@ public class Saving {
      * @param oneBasedIndex The index of the savings record.
      */
     public void deleteSavingsGoal(int oneBasedIndex) throws BudgetTrackerException {
+        ensureLoaded();
         int zeroBasedIndex = oneBasedIndex - 1;
         if (oneBasedIndex > 0 && oneBasedIndex <= savingsRecords.size()) {
-            if (Objects.equals(savingsRecords.get(zeroBasedIndex).goal, "(savings goal not provided)")) {
-                System.out.println("Saving goal for this saving entry already does not exist");
+            if (Objects.equals(savingsRecords.get(zeroBasedIndex).getGoal(), "(savings goal not provided)")) {
+                Ui.out().println("Saving goal for this saving entry already does not exist");
                 return;
             }
-            Double originalSavingAmount = savingsRecords.get(zeroBasedIndex).amount;
-            String originalSavingGoal = savingsRecords.get(zeroBasedIndex).goal;
-            savingsRecords.get(zeroBasedIndex).goal = "(savings goal not provided)";
-            System.out.printf("Deleted savings goal: $%.2f for %s(now the saving " +
+            double originalSavingAmount = savingsRecords.get(zeroBasedIndex).getAmount();
+            String originalSavingGoal = savingsRecords.get(zeroBasedIndex).getGoal();
+            savingsRecords.get(zeroBasedIndex).setGoal(dictionary.canonical("(savings goal not provided)"));
+            version++;
+            Ui.out().printf("Deleted savings goal: $%.2f for %s(now the saving " +
                     "goal for this entry is empty)%n", originalSavingAmount, originalSavingGoal);
+            if (journal != null) {
+                journal.appendSetSavings(zeroBasedIndex, originalSavingAmount, "(savings goal not provided)");
+            }
         } else {
             throw new BudgetTrackerException("Invalid index.");
         }
@@ -128,28 +289,34 @@ public class Saving {
      * @param newSavingGoal The new goal description.
      */
     public void updateSavingsGoal(int index, double amount, String newSavingGoal) throws BudgetTrackerException {
+        ensureLoaded();
         if (amount < 0) {
             throw new BudgetTrackerException("Invalid amount. Amount cannot be less than 0.");
         }
 
         if (index >= 0 && index < savingsRecords.size()) {
             SavingsRecord record = savingsRecords.get(index);
-            double originalAmount = record.amount;
-            record.amount = amount;
-            record.goal = newSavingGoal;
-            System.out.printf("Updated savings goal: $%.2f for %s%n", amount, newSavingGoal);
+            long originalAmountCents = record.amountCents;
+            record.setAmount(amount);
+            record.setGoal(dictionary.canonical(newSavingGoal));
+            indexAmountChanged(record, originalAmountCents);
+            version++;
+            Ui.out().printf("Updated savings goal: $%.2f for %s%n", amount, newSavingGoal);
 
-            double difference = amount - originalAmount;
+            long differenceCents = Money.subtract(record.amountCents, originalAmountCents);
 
             // Update summary only once with the net change
-            if (difference > 0) {
-                summary.addSavings(difference);
-            } else if (difference < 0) {
-                summary.removeSavings(-difference);
+            if (differenceCents > 0) {
+                summary.addSavings(Money.toDollars(differenceCents), record.getDate());
+            } else if (differenceCents < 0) {
+                summary.removeSavings(Money.toDollars(-differenceCents), record.getDate());
+            }
+            if (journal != null) {
+                journal.appendSetSavings(index, amount, newSavingGoal);
             }
 
         } else {
-            System.out.println("Invalid index.");
+            Ui.out().println("Invalid index.");
         }
     }
 
@@ -160,20 +327,21 @@ public class Saving {
      * @param amount The amount to transfer.
      */
     public void transferSavings(int fromIndex, int toIndex, double amount) {
+        ensureLoaded();
         if (fromIndex > savingsRecords.size() || toIndex > savingsRecords.size()) {
-            System.out.println("There is no enough saving records.");
+            Ui.out().println("There is no enough saving records.");
             return;
         } else if (fromIndex <= 0 || toIndex <= 0) {
-            System.out.println("Invalid index.");
+            Ui.out().println("Invalid index.");
             return;
         }
         // Prevent transferring to the same record
         if (fromIndex == toIndex) {
-            System.out.println("Cannot transfer to the same savings record.");
+            Ui.out().println("Cannot transfer to the same savings record.");
             return;
         }
         if (amount < 0) {
-            System.out.println("Transferred amount cannot be less than 0.");
+            Ui.out().println("Transferred amount cannot be less than 0.");
             return;
         }
 
@@ -184,16 +352,116 @@ public class Saving {
         SavingsRecord toRecord = savingsRecords.get(toIndex);
 
         // Check for sufficient funds
-        if (fromRecord.getAmount() < amount) {
-            System.out.println("Insufficient funds in the source savings.");
+        long amountCents = Money.toCents(amount);
+        if (fromRecord.amountCents < amountCents) {
+            Ui.out().println("Insufficient funds in the source savings.");
+            return;
+        }
+
+        // Perform the transfer, moving whole cents from one record to the other
+        try {
+            toRecord.amountCents = Money.add(toRecord.amountCents, amountCents);
+        } catch (BudgetTrackerException e) {
+            Ui.out().println(e.getMessage());
             return;
         }
+        fromRecord.amountCents -= amountCents;
+        indexAmountChanged(toRecord, toRecord.amountCents - amountCents);
+        indexAmountChanged(fromRecord, fromRecord.amountCents + amountCents);
+        version++;
+        moveMonthlySavings(fromRecord, toRecord, amountCents);
 
-        // Perform the transfer using setters
-        fromRecord.setAmount(fromRecord.getAmount() - amount);
-        toRecord.setAmount(toRecord.getAmount() + amount);
+        Ui.out().printf("Transferred $%.2f from %s to %s%n", amount, fromRecord.getGoal(), toRecord.getGoal());
+        if (journal != null) {
+            journal.appendTransferSavings(fromIndex, toIndex, amount);
+        }
+    }
 
-        System.out.printf("Transferred $%.2f from %s to %s%n", amount, fromRecord.getGoal(), toRecord.getGoal());
+    /**
+     * Re-adds a savings record from the journal without printing or journaling it again.
+     * @param amount The saved amount.
+     * @param goal The goal of the record.
+     * @param date The date the record was opened.
+     */
+    public void restoreSavings(double amount, String goal, LocalDate date) throws BudgetTrackerException {
+        ensureLoaded();
+        SavingsRecord record = new SavingsRecord(amount, dictionary.canonical(goal), date);
+        savingsRecords.add(record);
+        indexAdded(record);
+        version++;
+        summary.addSavings(amount, date);
+    }
+
+    /**
+     * Re-applies a savings deletion from the journal without printing or journaling it again.
+     * @param zeroBasedIndex The index of the savings record to remove.
+     */
+    public void restoreDeletion(int zeroBasedIndex) throws BudgetTrackerException {
+        ensureLoaded();
+        SavingsRecord removedRecord = savingsRecords.remove(zeroBasedIndex);
+        indexRemoved(zeroBasedIndex, removedRecord);
+        version++;
+        summary.removeSavings(removedRecord.getAmount(), removedRecord.getDate());
+    }
+
+    /**
+     * Re-applies a change to a savings record from the journal without printing or journaling it again.
+     * @param zeroBasedIndex The index of the savings record.
+     * @param amount The amount of the record after the change.
+     * @param goal The goal of the record after the change.
+     */
+    public void restoreRecord(int zeroBasedIndex, double amount, String goal) throws BudgetTrackerException {
+        ensureLoaded();
+        SavingsRecord record = savingsRecords.get(zeroBasedIndex);
+        long originalAmountCents = record.amountCents;
+        record.setAmount(amount);
+        record.setGoal(dictionary.canonical(goal));
+        indexAmountChanged(record, originalAmountCents);
+        version++;
+        long differenceCents = Money.subtract(record.amountCents, originalAmountCents);
+        if (differenceCents > 0) {
+            summary.addSavings(Money.toDollars(differenceCents), record.getDate());
+        } else if (differenceCents < 0) {
+            summary.removeSavings(Money.toDollars(-differenceCents), record.getDate());
+        }
+    }
+
+    /**
+     * Re-applies a transfer between savings records from the journal without printing or journaling it again.
+     * @param fromIndex The zero-based index of the source record.
+     * @param toIndex The zero-based index of the destination record.
+     * @param amount The amount transferred.
+     */
+    public void restoreTransfer(int fromIndex, int toIndex, double amount) throws BudgetTrackerException {
+        ensureLoaded();
+        SavingsRecord fromRecord = savingsRecords.get(fromIndex);
+        SavingsRecord toRecord = savingsRecords.get(toIndex);
+        long amountCents = Money.toCents(amount);
+        toRecord.amountCents = Money.add(toRecord.amountCents, amountCents);
+        fromRecord.amountCents -= amountCents;
+        indexAmountChanged(toRecord, toRecord.amountCents - amountCents);
+        indexAmountChanged(fromRecord, fromRecord.amountCents + amountCents);
+        version++;
+        moveMonthlySavings(fromRecord, toRecord, amountCents);
+    }
+
+    /**
+     * Moves a transferred amount between the months of the two records in the summary's
+     * monthly totals. The total savings do not change.
+     */
+    private void moveMonthlySavings(SavingsRecord fromRecord, SavingsRecord toRecord, long amountCents) {
+        RollupCube rollup = summary.getRollup();
+        rollup.add(RollupCube.Kind.SAVINGS, null, fromRecord.getDate(), -amountCents);
+        rollup.add(RollupCube.Kind.SAVINGS, null, toRecord.getDate(), amountCents);
+    }
+
+    /**
+     * Returns the total of all savings records.
+     * @return The total in cents.
+     */
+    public long getTotalSavingsCents() {
+        ensureLoaded();
+        return totalSavingsCents;
     }
 
     /**
@@ -201,18 +469,15 @@ public class Saving {
      * @return "Good" if savings are above 80% of income, "Bad" if below 50%, otherwise "Neutral".
      */
     public String getSavingsIndicator() {
-        double totalIncome = summary.getTotalIncome(); // Get total income from Summary
-        double totalSavings = 0;
-
-        for (SavingsRecord record : savingsRecords) {
-            totalSavings += record.amount;
-        }
+        ensureLoaded();
+        long totalIncome = summary.getTotalIncomeCents(); // Get total income from Summary
+        long totalSavings = totalSavingsCents;
 
         if (totalIncome == 0) {
             return "No income recorded.";
         }
 
-        double savingsRatio = totalSavings / totalIncome;
+        double savingsRatio = (double) totalSavings / totalIncome;
 
         if (savingsRatio >= 0.8) {
             return "Good - You are saving well!";
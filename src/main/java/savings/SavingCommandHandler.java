@@ -1,6 +1,9 @@
 package savings;
 
 import exceptions.BudgetTrackerException;
+import expenses.Ui;
+import util.CommandTokenizer;
+import util.Money;
 
 public class SavingCommandHandler {
     private final Saving saving;
@@ -15,24 +18,22 @@ public class SavingCommandHandler {
      */
     public void handleAddSavings(String input){
         try {
-            String amountPart;
-            String goal = "(savings goal not provided)";
+            CommandTokenizer tokens = new CommandTokenizer(input);
+            tokens.skipText("add savings");
+            int separator = tokens.indexOf("/");
+            double amount = Money.toDollars(tokens.readCents(separator < 0 ? tokens.length() : separator));
 
-            if (input.contains("/")) {
-                String[] parts = input.split("/", 2);
-                amountPart = parts[0].replaceFirst("add savings", "").trim();
-                if (parts.length == 2 && !parts[1].trim().isEmpty()) {
-                    goal = parts[1].trim();
+            String goal = "(savings goal not provided)";
+            if (separator >= 0) {
+                tokens.moveTo(separator + 1);
+                if (!tokens.isBlank()) {
+                    goal = tokens.readText(tokens.length());
                 }
-            } else {
-                amountPart = input.replaceFirst("add savings", "").trim();
             }
 
-            double amount = Double.parseDouble(amountPart);
-
             saving.addSavings(amount, goal);
-        } catch (NumberFormatException | ArrayIndexOutOfBoundsException | BudgetTrackerException e) {
-            System.out.println("Invalid format.");
+        } catch (NumberFormatException | BudgetTrackerException e) {
+            Ui.out().println("Invalid format.");
         }
     }
 
@@ -43,23 +44,24 @@ public class SavingCommandHandler {
     public void handleDeleteSavings(String input) {
         try {
             if (saving.getSavingsRecords().isEmpty()) {
-                System.out.println("No saving records.");
+                Ui.out().println("No saving records.");
                 return;
             }
-            String indexStr = input.replaceFirst("delete savings", "").trim();
+            CommandTokenizer tokens = new CommandTokenizer(input);
+            tokens.skipText("delete savings");
 
-            if (indexStr.isEmpty()) {
-                System.out.println("Please provide an index.");
+            if (tokens.isBlank()) {
+                Ui.out().println("Please provide an index.");
                 return;
             }
 
-            int index = Integer.parseInt(indexStr);
+            int index = tokens.readInt(tokens.length());
             saving.deleteSavings(index);
 
         } catch (NumberFormatException e) {
-            System.out.println("Invalid index format.");
+            Ui.out().println("Invalid index format.");
         } catch (Exception e) {
-            System.out.println("An error occurred while deleting savings.");
+            Ui.out().println("An error occurred while deleting savings.");
         }
     }
 
@@ -68,10 +70,12 @@ public class SavingCommandHandler {
      * @param input is user input.
      */
     public void handleViewSavings(String input) {
-        if (input.replaceFirst("view savings", "").trim().isEmpty()) {
+        CommandTokenizer tokens = new CommandTokenizer(input);
+        tokens.skipText("view savings");
+        if (tokens.isBlank()) {
             saving.viewSavings();
         } else {
-            System.out.println("Invalid command.");
+            Ui.out().println("Invalid command.");
         }
     }
 
@@ -82,40 +86,40 @@ public class SavingCommandHandler {
     public void handleSetSavingsGoal(String input) {
         try {
             if (saving.getSavingsRecords().isEmpty()) {
-                System.out.println("No saving records.");
+                Ui.out().println("No saving records.");
                 return;
             }
-            String commandKeyword = "savings goal set";
+            CommandTokenizer tokens = new CommandTokenizer(input);
 
-            if (!input.startsWith(commandKeyword)) {
-                System.out.println("Invalid command format.");
+            if (!tokens.skipText("savings goal set")) {
+                Ui.out().println("Invalid command format.");
                 return;
             }
 
-            String details = input.substring(commandKeyword.length()).trim();
-
-            int separatorIndex = details.indexOf("/");
+            int separatorIndex = tokens.indexOf("/");
 
             if (separatorIndex == -1) {
-                System.out.println("Invalid format. Use: savings goal set <AMOUNT> / <DESCRIPTION>");
+                Ui.out().println("Invalid format. Use: savings goal set <AMOUNT> / <DESCRIPTION>");
                 return;
             }
 
-            String amountStr = details.substring(0, separatorIndex).trim();
-            String description = details.substring(separatorIndex + 1).trim();
+            int amountStart = tokens.position();
+            tokens.moveTo(separatorIndex + 1);
+            String description = tokens.readText(tokens.length());
+            tokens.moveTo(amountStart);
 
-            if (amountStr.isEmpty() || description.isEmpty()) {
-                System.out.println("Invalid format. Use: savings goal set <AMOUNT> / <DESCRIPTION>");
+            if (tokens.isBlank(separatorIndex) || description.isEmpty()) {
+                Ui.out().println("Invalid format. Use: savings goal set <AMOUNT> / <DESCRIPTION>");
                 return;
             }
 
-            double amount = Double.parseDouble(amountStr);
+            double amount = Money.toDollars(tokens.readCents(separatorIndex));
             saving.setSavingsGoal(amount, description);
 
         } catch (NumberFormatException e) {
-            System.out.println("Invalid format. Use: savings goal set <AMOUNT> / <DESCRIPTION>");
+            Ui.out().println("Invalid format. Use: savings goal set <AMOUNT> / <DESCRIPTION>");
         } catch (Exception e) {
-            System.out.println("An error occurred while setting savings goal.");
+            Ui.out().println("An error occurred while setting savings goal.");
         }
     }
 
@@ -126,32 +130,30 @@ public class SavingCommandHandler {
     public void handleDeleteSavingsGoal(String input) {
         try {
             if (saving.getSavingsRecords().isEmpty()) {
-                System.out.println("No saving records.");
+                Ui.out().println("No saving records.");
                 return;
             }
-            String commandKeyword = "savings goal delete";
+            CommandTokenizer tokens = new CommandTokenizer(input);
 
-            if (!input.startsWith(commandKeyword)) {
-                System.out.println("Invalid command format.");
+            if (!tokens.skipText("savings goal delete")) {
+                Ui.out().println("Invalid command format.");
                 return;
             }
 
-            String indexStr = input.substring(commandKeyword.length()).trim();
-
-            if (indexStr.isEmpty()) {
-                System.out.println("Please provide an index.");
+            if (tokens.isBlank()) {
+                Ui.out().println("Please provide an index.");
                 return;
             }
 
-            int index = Integer.parseInt(indexStr);
+            int index = tokens.readInt(tokens.length());
             saving.deleteSavingsGoal(index);
 
         } catch (NumberFormatException e) {
-            System.out.println("Invalid index format.");
+            Ui.out().println("Invalid index format.");
         } catch (BudgetTrackerException e) {
-            System.out.println(e.getMessage());
+            Ui.out().println(e.getMessage());
         } catch (Exception e) {
-            System.out.println("An error occurred while deleting savings goal.");
+            Ui.out().println("An error occurred while deleting savings goal.");
         }
     }
 
@@ -162,17 +164,17 @@ public class SavingCommandHandler {
     public void handleTransferSavings(String input) {
         try {
             if (saving.getSavingsRecords().isEmpty()) {
-                System.out.println("No saving records.");
+                Ui.out().println("No saving records.");
                 return;
             }
-            int trimTransferSavingsInUserCommand = 17;
-            String[] partsTransfer = input.substring(trimTransferSavingsInUserCommand).split(" ");
-            int fromIndex = Integer.parseInt(partsTransfer[0]);
-            int toIndex = Integer.parseInt(partsTransfer[1]);
-            double amount = Double.parseDouble(partsTransfer[2]);
+            CommandTokenizer tokens = new CommandTokenizer(input);
+            tokens.skipText("transfer savings");
+            int fromIndex = tokens.readInt(tokens.nextWordEnd());
+            int toIndex = tokens.readInt(tokens.nextWordEnd());
+            double amount = Money.toDollars(tokens.readCents(tokens.nextWordEnd()));
             saving.transferSavings(fromIndex, toIndex, amount);
         } catch (Exception e) {
-            System.out.println("Invalid format. Use: transfer savings <FROM_INDEX> <TO_INDEX> <AMOUNT>");
+            Ui.out().println("Invalid format. Use: transfer savings <FROM_INDEX> <TO_INDEX> <AMOUNT>");
         }
     }
 
@@ -183,47 +185,44 @@ public class SavingCommandHandler {
     public void handleUpdateSavingsGoal(String input) {
         try {
             if (saving.getSavingsRecords().isEmpty()) {
-                System.out.println("No saving records.");
+                Ui.out().println("No saving records.");
                 return;
             }
 
-            String commandKeyword = "savings goal update";
+            CommandTokenizer tokens = new CommandTokenizer(input);
 
-            if (!input.startsWith(commandKeyword)) {
-                System.out.println("Invalid command format.");
+            if (!tokens.skipText("savings goal update")) {
+                Ui.out().println("Invalid command format.");
                 return;
             }
 
-            String details = input.substring(commandKeyword.length()).trim();
-
-            int separatorIndex = details.indexOf(" / ");
+            int separatorIndex = tokens.indexOf(" / ");
             if (separatorIndex == -1) {
-                System.out.println("Invalid format. Use: savings goal update <INDEX> <AMOUNT> / <DESCRIPTION>");
+                Ui.out().println("Invalid format. Use: savings goal update <INDEX> <AMOUNT> / <DESCRIPTION>");
                 return;
             }
 
-            String indexAmountPart = details.substring(0, separatorIndex).trim();
-            String[] indexAmount = indexAmountPart.split(" ");
-            if (indexAmount.length != 2) {
-                System.out.println("Invalid format. Use: savings goal update <INDEX> <AMOUNT> / <DESCRIPTION>");
+            if (tokens.remainingWords(separatorIndex) != 2) {
+                Ui.out().println("Invalid format. Use: savings goal update <INDEX> <AMOUNT> / <DESCRIPTION>");
                 return;
             }
 
-            int index = Integer.parseInt(indexAmount[0].trim()) - 1;
-            double amount = Double.parseDouble(indexAmount[1].trim());
+            int index = tokens.readInt(tokens.nextWordEnd()) - 1;
+            double amount = Money.toDollars(tokens.readCents(separatorIndex));
 
-            String description = details.substring(separatorIndex + 3).trim();
+            tokens.moveTo(separatorIndex + 3);
+            String description = tokens.readText(tokens.length());
             if (description.isEmpty()) {
-                System.out.println("Description cannot be empty.");
+                Ui.out().println("Description cannot be empty.");
                 return;
             }
 
             saving.updateSavingsGoal(index, amount, description);
 
         } catch (NumberFormatException e) {
-            System.out.println("Invalid format. Use: savings goal update <INDEX> <AMOUNT> / <DESCRIPTION>");
+            Ui.out().println("Invalid format. Use: savings goal update <INDEX> <AMOUNT> / <DESCRIPTION>");
         } catch (Exception e) {
-            System.out.println("An error occurred while updating savings goal.");
+            Ui.out().println("An error occurred while updating savings goal.");
         }
     }
 
@@ -231,7 +230,7 @@ public class SavingCommandHandler {
      * Handles unknown command from user.
      */
     public void handleUnknownCommand() {
-        System.out.println("Unknown command.");
+        Ui.out().println("Unknown command.");
     }
 
     /**
@@ -239,9 +238,8 @@ public class SavingCommandHandler {
      * @param input The Scanner object for user input.
      */
     public void processSavingCommand(String input) throws BudgetTrackerException {
-        String[] parts = input.split(" ", 5);
-        if (parts.length < 2) {
-            System.out.println("Invalid command.");
+        if (input.indexOf(' ') < 0) {
+            Ui.out().println("Invalid command.");
             return;
         }
 
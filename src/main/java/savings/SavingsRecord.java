@@ -1,38 +1,66 @@
 package savings;
 
+import util.Money;
+
+import java.time.LocalDate;
+
 /**
- * Represents a single savings record with an amount and an optional goal.
+ * Represents a single savings record with an amount, an optional goal and the date it was opened.
  */
 public class SavingsRecord {
-    double amount;
+    long amountCents;
+    /** The id {@link Saving} indexes this record under; only Saving assigns it. */
+    int id = -1;
     String goal;
+    private final LocalDate date;
 
     /**
-     * Constructs a SavingsRecord with a specified amount.
+     * Constructs a SavingsRecord with a specified amount, opened today.
      * @param amount The savings amount.
      */
     public SavingsRecord(double amount, String goal) {
-        this.amount = amount;
+        this(amount, goal, LocalDate.now());
+    }
+
+    /**
+     * Constructs a SavingsRecord with a specified amount, opened on the given date.
+     * @param amount The savings amount.
+     * @param goal The goal description.
+     * @param date The date the record was opened.
+     */
+    public SavingsRecord(double amount, String goal, LocalDate date) {
+        assert date != null : "Savings date cannot be null";
+        this.amountCents = Money.toCents(amount);
         this.goal = goal;
+        this.date = date;
     }
 
     public double getAmount() {
-        return amount;
+        return Money.toDollars(amountCents);
+    }
+
+    public long getAmountCents() {
+        return amountCents;
     }
 
     public String getGoal() {
         return goal;
     }
 
-    public void setAmount(double amount) {
-        this.amount = amount;
+    public LocalDate getDate() {
+        return date;
+    }
+
+    void setAmount(double amount) {
+        this.amountCents = Money.toCents(amount);
     }
 
     /**
-     * Sets the goal for this savings record.
+     * Sets the goal for this savings record. Only {@link Saving} changes records, so that
+     * its index of them stays correct.
      * @param goal The goal description.
      */
-    public void setGoal(String goal) {
+    void setGoal(String goal) {
         this.goal = goal;
     }
 }
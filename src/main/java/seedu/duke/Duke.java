@@ -1,12 +1,14 @@
 package seedu.duke;
 
 import commands.Command;
+import commands.CommandHandler;
+import commands.CommandRegistry;
 import commands.IncomeCommand;
-import commands.ListIncomeCommand;
+import commands.MemoryStatsCommand;
 import commands.ExitCommand;
-import commands.ViewExpenseCommand;
 import exceptions.BudgetTrackerException;
 import expenses.Ui;
+import income.IncomeManager;
 import income.IncomeParser;
 import savings.SavingCommandHandler;
 import summary.Summary;
@@ -16,38 +18,96 @@ import expenses.BudgetTracker;
 import expenses.ExpenseParser;
 import expenses.ExpenseList;
 import savings.Saving;
+import alerts.FinancialObserver;
 import alerts.FundsAlert;
 import alerts.AlertParser;
+import storage.LedgerJournal;
+import storage.LedgerStorage;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import util.ChannelLineReader;
 import util.LoggingConfigurator;
+import util.StringDictionary;
 
 public class Duke {
-    private final Scanner in;
+    private static final Path DATA_DIRECTORY = Paths.get("data");
+    private static final int BATCH_SNAPSHOT_INTERVAL = 1_000_000;
+    private static final int BATCH_JOURNAL_BATCH_SIZE = 4096;
+    private static final int BATCH_MAX_IN_FLIGHT = 4096;
     private final Summary summary;
     private final SummaryDisplay summaryDisplay;
     private final HelpDisplay helpDisplay;
     private final Ui ui;
     private final BudgetTracker tracker;
     private final ExpenseList expenseList;
+    private final IncomeManager incomeManager;
+    private final StringDictionary dictionary;
     private final Saving saving;
     private final FundsAlert fundsAlert;
     private final SavingCommandHandler handler;
+    private final CommandRegistry commands;
+    private LedgerStorage storage;
+    private long errorCount;
+    /** Batch lines that failed on the writer thread; counted by the batch thread, apart from errorCount. */
+    private long failedLineCount;
     
     /**
      * Initializes all attributes required for a new Duke construct.
      */
     public Duke() {
-        in = new Scanner(System.in);
+        this(LedgerStorage.DEFAULT_SNAPSHOT_INTERVAL, LedgerJournal.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Initializes all attributes required for a new Duke construct.
+     *
+     * @param snapshotInterval Number of changes after which the ledger is saved as a new snapshot.
+     * @param journalBatchSize Number of changes the ledger journal groups into one write to disk.
+     */
+    private Duke(int snapshotInterval, int journalBatchSize) {
+        this(IncomeManager.getInstance(), true, snapshotInterval, journalBatchSize);
+    }
+
+    /**
+     * Initializes all attributes required for a new Duke construct.
+     *
+     * @param incomeManager    The income entries of the ledger, whose string dictionary the
+     *                         expenses and savings records of the ledger share.
+     * @param isSaved          Whether the ledger is restored from and saved to the data directory,
+     *                         rather than starting empty and kept in memory only.
+     * @param snapshotInterval Number of changes after which the ledger is saved as a new snapshot.
+     * @param journalBatchSize Number of changes the ledger journal groups into one write to disk.
+     */
+    private Duke(IncomeManager incomeManager, boolean isSaved, int snapshotInterval, int journalBatchSize) {
         summary = new Summary();
         summaryDisplay = new SummaryDisplay(summary);
         helpDisplay = new HelpDisplay();
         ui = new Ui();
-        tracker = new BudgetTracker();
-        expenseList = new ExpenseList();
-        saving = new Saving(summary);
+        this.incomeManager = incomeManager;
+        tracker = new BudgetTracker(incomeManager);
+        dictionary = incomeManager.getDictionary();
+        expenseList = new ExpenseList(dictionary);
+        saving = new Saving(summary, dictionary);
         fundsAlert = new FundsAlert(ui);
+        if (isSaved) {
+            restoreLedger(snapshotInterval, journalBatchSize);
+        }
         summary.registerObserver(fundsAlert);
         handler = new SavingCommandHandler(saving);
+        commands = new CommandRegistry();
+        registerCommands();
 
         assert ui != null : "Ui should be initialized";
         assert summary != null : "Summary should be initialized";
@@ -57,128 +117,401 @@ public class Duke {
         assert handler != null : "SavingCommandHandler should be initialized";
     }
 
+    /**
+     * Creates a Duke for one client of the server, with a ledger of its own that starts empty
+     * and is kept in memory only.
+     *
+     * @return The new session.
+     */
+    static Duke newSession() {
+        return new Duke(new IncomeManager(), false, 0, 0);
+    }
+
+    /**
+     * Restores the ledger saved by previous sessions from its snapshot and journal,
+     * and journals every later change. The ledger starts empty if it cannot be read.
+     */
+    private void restoreLedger(int snapshotInterval, int journalBatchSize) {
+        try {
+            storage = LedgerStorage.open(DATA_DIRECTORY, expenseList, incomeManager, saving, summary,
+                    snapshotInterval, journalBatchSize);
+        } catch (IOException e) {
+            System.err.println("Error loading saved ledger, changes will not be saved: " + e.getMessage());
+        }
+    }
+
     /**
      * Main entry-point for the java.duke.Duke application.
+     * With {@code --batch <file> [<output file>]}, runs the commands in the file instead of reading the console.
+     * With {@code --serve <port>}, serves a ledger of its own to each client connecting to that port on localhost.
      */
     public static void main(String[] args) {
         LoggingConfigurator.configureSummaryFileLogging();
         LoggingConfigurator.configureAlertsFileLogging();
-        displayWelcomeMessage();
+        if (args.length >= 2 && args[0].equals("--serve")) {
+            LoggingConfigurator.quietSummaryLogging();
+            serveLedgers(args[1]);
+            return;
+        }
+        if (args.length >= 2 && args[0].equals("--batch")) {
+            Path output = args.length >= 3 ? Paths.get(args[2]) : null;
+            LoggingConfigurator.quietSummaryLogging();
+            try {
+                new Duke(BATCH_SNAPSHOT_INTERVAL, BATCH_JOURNAL_BATCH_SIZE).executeBatch(Paths.get(args[1]), output);
+            } catch (IOException e) {
+                System.err.println("Error running batch file: " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+        displayWelcomeMessage(Ui.out());
         new Duke().execute();
     }
 
+    private static void serveLedgers(String port) {
+        try (LedgerServer server = LedgerServer.open(Integer.parseInt(port))) {
+            Ui.out().println("Serving ledgers on localhost port " + server.getPort() + ".");
+            Ui.flush();
+            server.serve();
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid port: " + port);
+            System.exit(1);
+        } catch (IOException e) {
+            System.err.println("Error serving ledgers: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
     /**
      * Displays the welcome message for the application.
      */
-    private static void displayWelcomeMessage() {
-        System.out.println("Welcome to Common Cents!");
-        System.out.println("Use `help` to see available commands.");
+    private static void displayWelcomeMessage(PrintWriter out) {
+        out.println("Welcome to Common Cents!");
+        out.println("Use `help` to see available commands.");
+    }
+
+    /**
+     * Registers the handler of every command the user can enter.
+     */
+    private void registerCommands() {
+        commands.registerExact("help", line -> {
+            helpDisplay.display();
+            return false;
+        });
+        commands.register("bye", line -> {
+            new ExitCommand().execute(expenseList, ui);
+            return true;
+        });
+
+        commands.register("view income", line -> {
+            IncomeParser.parseListIncomeCommand(line, summary, incomeManager).execute();
+            return false;
+        });
+        commands.register("view expense", line -> runCommand(ExpenseParser.parse(line, summary, expenseList)));
+        commands.register("find income", line -> {
+            IncomeParser.parseFindIncomeCommand(line, incomeManager).execute();
+            return false;
+        });
+        commands.register("find expense", line -> runCommand(ExpenseParser.parse(line, summary, expenseList)));
+        commands.registerExact("view summary", line -> {
+            summaryDisplay.displaySummary();
+            return false;
+        });
+        commands.registerExact("view summary category", line -> {
+            summaryDisplay.displayCategorySummary();
+            return false;
+        });
+        commands.registerExact("report monthly", line -> {
+            summaryDisplay.displayMonthlyReport();
+            return false;
+        });
+        commands.registerExact("stats memory", line -> runCommand(new MemoryStatsCommand(dictionary)));
+        commands.registerExact("report rebuild", line -> {
+            rebuildRollup();
+            ui.showMessage("Monthly totals rebuilt from every entry in the ledger.");
+            return false;
+        });
+
+        commands.register("alert", line -> {
+            try {
+                AlertParser.parse(line.trim(), fundsAlert).execute(expenseList, ui);
+            } catch (BudgetTrackerException e) {
+                errorCount++;
+                ui.showMessage(e.getMessage());
+            }
+            return false;
+        });
+
+        commands.register("add income", line -> runIncomeCommand(IncomeParser.parseAddIncomeCommand(line, summary)));
+        commands.register("delete income",
+                line -> runIncomeCommand(IncomeParser.parseDeleteIncomeCommand(line, summary, incomeManager)));
+        commands.register("add expense", line -> runCommand(ExpenseParser.parse(line, summary, expenseList)));
+        commands.register("delete expense", line -> runCommand(ExpenseParser.parse(line, summary, expenseList)));
+
+        CommandHandler savingsCommand = line -> {
+            handler.processSavingCommand(line);
+            return false;
+        };
+        commands.register("add savings", savingsCommand);
+        commands.register("delete savings", savingsCommand);
+        commands.register("view savings", savingsCommand);
+        commands.register("transfer savings", savingsCommand);
+        commands.register("savings", savingsCommand);
+    }
+
+    /**
+     * Recomputes the monthly rollup of the summary from every expense, income entry and savings record.
+     */
+    private void rebuildRollup() {
+        summary.getRollup().rebuild(expenseList.getStore(), incomeManager.entries(), saving.getSavingsRecords());
+    }
+
+    private boolean runCommand(Command command) throws BudgetTrackerException {
+        if (command == null) {
+            return false;
+        }
+        command.execute(expenseList, ui);
+        return command.isExit();
+    }
+
+    private boolean runIncomeCommand(IncomeCommand incomeCommand) {
+        if (!tracker.executeincomeCommand(incomeCommand, ui)) {
+            errorCount++;
+        }
+        return incomeCommand.isExit();
+    }
+
+    /**
+     * Runs one line of user input, first saving a snapshot of the ledger if one is due.
+     *
+     * @param fullCommand The line entered.
+     * @return True if the line asks the application to exit.
+     */
+    boolean applyLine(String fullCommand) {
+        if (storage != null) {
+            storage.checkpointIfDue();
+        }
+        boolean isExit = runLine(fullCommand);
+        reportWriteFailure();
+        return isExit;
+    }
+
+    /**
+     * Warns the user if recent changes could not be written to disk. They are kept in
+     * memory and written again with the next change.
+     */
+    private void reportWriteFailure() {
+        IOException failure = storage == null ? null : storage.takeWriteFailure();
+        if (failure != null) {
+            Ui.out().println("Warning: recent changes could not be saved (" + failure.getMessage()
+                    + "). They will be saved again with the next change.");
+        }
+    }
+
+    /**
+     * Returns the number of expenses in the ledger.
+     *
+     * @return The number of expenses.
+     */
+    int expenseCount() {
+        return expenseList.getStore().size();
+    }
+
+    /**
+     * Runs one line of user input.
+     *
+     * @param fullCommand The line entered.
+     * @return True if the line asks the application to exit.
+     */
+    boolean runLine(String fullCommand) {
+        try {
+            CommandHandler commandHandler = commands.resolve(fullCommand);
+            if (commandHandler != null) {
+                return commandHandler.handle(fullCommand);
+            } else if (!fullCommand.isBlank()) {
+                errorCount++;
+                Ui.out().println("Oops! I don't recognize that command. Type 'help' to see available commands.");
+            }
+        } catch (BudgetTrackerException e) {
+            errorCount++;
+            Ui.out().println(e.getMessage());
+        }
+        return false;
     }
 
     /**
      * Runs the main program loop, processing user commands until exit.
+     * Output is passed on to the console each time the next command is awaited.
      */
     public void execute() {
-        fundsAlert.displayInitialNotification();
+        Scanner in = new Scanner(System.in);
+        Ui.setFlushOnPrompt(true);
+        try {
+            fundsAlert.displayInitialNotification();
 
-        while (true) {
-            try {
+            while (true) {
+                if (storage != null) {
+                    storage.checkpointIfDue();
+                }
+                Ui.flush();
                 // Check if there's input available before reading
                 if (!in.hasNextLine()) {
-                    System.out.println("No input available. Exiting program.");
+                    Ui.out().println("No input available. Exiting program.");
                     break;
                 }
 
-                String fullCommand = in.nextLine();
-                String trimmedCommand = fullCommand.trim();
-                Command command = null;
-                IncomeCommand incomeCommand = null;
-                boolean commandRecognized = false;
-
-                if (trimmedCommand.equals("help")) {
-                    helpDisplay.display();
-                    commandRecognized = true;
-                    continue;
+                boolean isExit = runLine(in.nextLine());
+                reportWriteFailure();
+                if (isExit) {
+                    break;
                 }
+            }
+        } finally {
+            Ui.setFlushOnPrompt(false);
+        }
 
-                if (fullCommand.startsWith("bye")) {
-                    Command exitCommand = new ExitCommand();
-                    exitCommand.execute(expenseList, ui);
+        shutDown();
+    }
+
+    /**
+     * Runs the commands a client sends, one per line, until it says bye or disconnects.
+     * The commands run on the ledger's own writer thread through a {@link LedgerActor},
+     * and each reply, the welcome message included, ends with a line holding only
+     * {@value LedgerServer#END_OF_REPLY}.
+     *
+     * @param reader The commands sent by the client.
+     * @param writer The replies to the client.
+     * @throws IOException If the commands cannot be read.
+     */
+    void serve(BufferedReader reader, PrintWriter writer) throws IOException {
+        try (LedgerActor ledger = LedgerActor.start(this)) {
+            displayWelcomeMessage(writer);
+            writer.println(LedgerServer.END_OF_REPLY);
+            writer.flush();
+            String fullCommand;
+            while ((fullCommand = reader.readLine()) != null) {
+                LedgerActor.Reply reply = ledger.submit(fullCommand).join();
+                writer.print(reply.getText());
+                writer.println(LedgerServer.END_OF_REPLY);
+                writer.flush();
+                if (reply.isExit() || writer.checkError()) {
                     break;
                 }
+            }
+        } finally {
+            shutDown();
+        }
+    }
 
-                if (fullCommand.trim().equals("view income")) {
-                    ListIncomeCommand listIncomeCommand = new ListIncomeCommand(summary);
-                    listIncomeCommand.execute();
-                    commandRecognized = true;
-                    continue;
-                } else if (fullCommand.trim().equals("view expense")) {
-                    ViewExpenseCommand viewExpenseCommand = new ViewExpenseCommand(expenseList);
-                    viewExpenseCommand.execute(expenseList, ui);
-                    commandRecognized = true;
-                    continue;
-                } else if (trimmedCommand.equals("view summary")) {
-                    summaryDisplay.displaySummary();
-                    commandRecognized = true;
-                    continue;
-                }
+    /**
+     * Runs every command in a file without waiting for the user, then prints how many
+     * commands ran, how fast, how many failed, and the resulting summary.
+     * The output of the commands themselves is written to the output file, or discarded.
+     * The commands run on the ledger's writer thread through a {@link LedgerActor} while
+     * this thread reads ahead, keeping up to {@value #BATCH_MAX_IN_FLIGHT} commands queued.
+     * The whole file is one batch of changes to the summary, so alerts are checked once, at the end.
+     *
+     * @param input  The file of commands, one per line.
+     * @param output The file to write the output of the commands to, or {@code null} to discard it.
+     * @throws IOException If either file cannot be opened.
+     */
+    public void executeBatch(Path input, Path output) throws IOException {
+        PrintStream console = System.out;
+        long commandCount = 0;
+        long startNanos = System.nanoTime();
 
-                if (trimmedCommand.startsWith("alert")) {
-                    try {
-                        Command alertCommand = AlertParser.parse(trimmedCommand, fundsAlert);
-                        alertCommand.execute(expenseList, ui);
-                        commandRecognized = true;
-                        continue;
-                    } catch (BudgetTrackerException e) {
-                        ui.showMessage(e.getMessage());
-                        commandRecognized = true;
+        try (ChannelLineReader reader = ChannelLineReader.open(input);
+                PrintStream sink = new PrintStream(openSink(output), false)) {
+            System.setOut(sink);
+            Ui.setFlushOnPrompt(true);
+            // Observers hear of the totals once the whole file has run, not after every line.
+            // The writer thread only starts after this, and has stopped before the batch ends.
+            summary.beginBatch();
+            try (LedgerActor ledger = LedgerActor.start(this)) {
+                Deque<CompletableFuture<LedgerActor.Reply>> inFlight = new ArrayDeque<>();
+                boolean isExit = false;
+                String fullCommand;
+                while (!isExit && (fullCommand = reader.readLine()) != null) {
+                    if (fullCommand.isBlank()) {
                         continue;
                     }
+                    commandCount++;
+                    inFlight.add(ledger.submit(fullCommand));
+                    if (inFlight.size() == BATCH_MAX_IN_FLIGHT) {
+                        isExit = writeReply(inFlight.remove());
+                    }
                 }
-
-                if (fullCommand.startsWith("add income")) {
-                    incomeCommand = IncomeParser.parseAddIncomeCommand(fullCommand, summary);
-                    commandRecognized = true;
-                } else if (fullCommand.startsWith("delete income")) {
-                    incomeCommand = IncomeParser.parseDeleteIncomeCommand(fullCommand, summary);
-                    commandRecognized = true;
+                while (!isExit && !inFlight.isEmpty()) {
+                    isExit = writeReply(inFlight.remove());
                 }
-
-                if (fullCommand.startsWith("add expense")) {
-                    command = ExpenseParser.parse(fullCommand, summary, expenseList);
-                    commandRecognized = true;
-                } else if (fullCommand.startsWith("delete expense")) {
-                    command = ExpenseParser.parse(fullCommand, summary, expenseList);
-                    commandRecognized = true;
+                if (isExit) {
+                    commandCount -= inFlight.size();
                 }
-
-                if (fullCommand.contains("savings")) {
-                    handler.processSavingCommand(fullCommand);
-                    commandRecognized = true;
+            } finally {
+                try {
+                    summary.endBatch();
+                } finally {
+                    Ui.setFlushOnPrompt(false);
+                    System.setOut(console);
                 }
+            }
+        }
 
-                if (incomeCommand != null) {
-                    tracker.executeincomeCommand(incomeCommand, ui);
-                    if (incomeCommand.isExit()) {
-                        break;
-                    }
-                }
+        double seconds = Math.max(System.nanoTime() - startNanos, 1) / 1e9;
+        Ui.out().printf("Ran %,d commands in %.2f s (%,.0f commands/s), %,d with errors.%n",
+                commandCount, seconds, commandCount / seconds, errorCount + failedLineCount);
+        summaryDisplay.displaySummary();
+        shutDown();
+    }
 
-                if (command != null) {
-                    command.execute(expenseList, ui);
-                    if (command.isExit()) {
-                        break;
-                    }
-                }
+    /**
+     * Writes the output of a command run in a batch, once it has run. A command that failed
+     * with an unexpected exception is reported as an error in its place, and the batch goes on.
+     *
+     * @return True if the command asked to exit.
+     */
+    private boolean writeReply(CompletableFuture<LedgerActor.Reply> pending) {
+        LedgerActor.Reply reply;
+        try {
+            reply = pending.join();
+        } catch (CompletionException e) {
+            failedLineCount++;
+            Ui.out().println("An error occurred while running this command: " + e.getCause());
+            return false;
+        }
+        Ui.out().print(reply.getText());
+        return reply.isExit();
+    }
 
-                // Handle unrecognized commands
-                if (!commandRecognized && !fullCommand.trim().isEmpty()) {
-                    System.out.println("Oops! I don't recognize that command. Type 'help' to see available commands.");
-                }
+    /**
+     * Adds a command to this ledger's registry, for tests that need a command the parsers do not offer.
+     *
+     * @param keywords The space-separated keywords the command starts with.
+     * @param handler  Runs the command.
+     */
+    void registerCommand(String keywords, CommandHandler handler) {
+        commands.register(keywords, handler);
+    }
 
-            } catch (BudgetTrackerException e) {
-                System.out.println(e.getMessage());
-            }
+    /**
+     * Adds an observer to this ledger's summary, for tests that need to see its updates.
+     *
+     * @param observer The observer to notify.
+     */
+    void registerObserver(FinancialObserver observer) {
+        summary.registerObserver(observer);
+    }
+
+    private static OutputStream openSink(Path output) throws IOException {
+        if (output == null) {
+            return OutputStream.nullOutputStream();
+        }
+        return new BufferedOutputStream(Files.newOutputStream(output), 1 << 16);
+    }
+
+    private void shutDown() {
+        if (storage != null) {
+            storage.close();
         }
     }
 
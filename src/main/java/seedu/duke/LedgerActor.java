@@ -0,0 +1,365 @@
+package seedu.duke;
+
+import expenses.Ui;
+import util.MpscQueue;
+import util.VirtualThreads;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs every command of one ledger on a single writer thread, so that the {@code Summary},
+ * {@code ExpenseList}, {@code IncomeManager} and {@code Saving} of the ledger are only ever
+ * touched by that thread and need no locks between them.
+ *
+ * <p>Any thread may {@linkplain #submit(String) submit} a line. Lines are added to an
+ * {@link MpscQueue} and run in the order they arrived; the output of each is captured and
+ * handed back through a {@link CompletableFuture}. The writer takes every line waiting in
+ * the queue, runs them, publishes an immutable {@link View} of the ledger, and only then
+ * completes their futures, so a client always sees its own changes.
+ *
+ * <p>{@code view summary}, {@code view summary category} and {@code view expense} are
+ * answered from the published view, on the submitting thread, whenever every line
+ * submitted so far has already run. The expense listing is rendered into the view only
+ * after someone has asked for it since the last change, and only for up to
+ * {@value #MAX_VIEW_EXPENSES} expenses; other reads queue like any other line.
+ */
+public class LedgerActor implements AutoCloseable {
+    /** The most expenses a published view lists; larger listings are read on the writer thread. */
+    static final int MAX_VIEW_EXPENSES = 1_000;
+
+    private static final Logger logger = Logger.getLogger(LedgerActor.class.getName());
+    private static final int MAX_BATCH = 1_024;
+    private static final String VIEW_SUMMARY = "view summary";
+    private static final String VIEW_CATEGORIES = "view summary category";
+    private static final String VIEW_EXPENSES = "view expense";
+    private static final ExecutorService writers = VirtualThreads.newThreadPerTaskExecutor("ledger-writer");
+
+    private final Duke ledger;
+    private final MpscQueue<Pending> queue = new MpscQueue<>();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private final StringWriter capture = new StringWriter();
+    private final PrintWriter captureOut = new PrintWriter(capture);
+    private volatile View view = new View(0, null, null, null);
+    private volatile boolean isExpenseViewWanted;
+    private volatile boolean isClosing;
+    private volatile boolean isAbandoned;
+    private volatile Thread writer;
+    private long applied;
+    private boolean hasExited;
+    private boolean isChanged;
+
+    private LedgerActor(Duke ledger) {
+        this.ledger = ledger;
+    }
+
+    /**
+     * Starts the writer thread of a ledger. From then on, the ledger must only be used
+     * through the returned actor.
+     *
+     * @param ledger The ledger to run commands on.
+     * @return The running actor.
+     */
+    static LedgerActor start(Duke ledger) {
+        LedgerActor actor = new LedgerActor(ledger);
+        CountDownLatch running = new CountDownLatch(1);
+        writers.execute(() -> {
+            actor.writer = Thread.currentThread();
+            running.countDown();
+            actor.run();
+        });
+        try {
+            running.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return actor;
+    }
+
+    /**
+     * Runs a line on the ledger after every line submitted before it, or answers it from
+     * the published view if it only reads what the view holds and nothing is waiting to run.
+     *
+     * @param line The line, as typed at the console.
+     * @return The reply. It is cancelled if an earlier line asked to exit, or the actor closed.
+     */
+    public CompletableFuture<Reply> submit(String line) {
+        Reply fromView = readView(line.trim());
+        if (fromView != null) {
+            return CompletableFuture.completedFuture(fromView);
+        }
+        // Counted before isClosing is read, so the writer waits for this line if it is not rejected here.
+        submitted.incrementAndGet();
+        if (isClosing) {
+            rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("The ledger is closed."));
+        }
+        Pending pending = new Pending(line);
+        queue.offer(pending);
+        return pending.reply;
+    }
+
+    /**
+     * Returns the reply to a read held by the current view, or {@code null} if the line must
+     * run on the writer thread.
+     */
+    private Reply readView(String line) {
+        View current = view;
+        if (current.appliedCount != submitted.get()) {
+            return null;
+        }
+        String text = null;
+        if (line.equals(VIEW_SUMMARY)) {
+            text = current.summary;
+        } else if (line.equals(VIEW_CATEGORIES)) {
+            text = current.categories;
+        } else if (line.equals(VIEW_EXPENSES)) {
+            text = current.expenses;
+            if (text == null) {
+                isExpenseViewWanted = true;
+            }
+        }
+        return text == null ? null : new Reply(text, false);
+    }
+
+    /**
+     * Returns the most recently published view of the ledger.
+     *
+     * @return The view, as of the end of the last group of lines run.
+     */
+    public View getView() {
+        return view;
+    }
+
+    private void run() {
+        Ui.bind(captureOut);
+        List<Pending> batch = new ArrayList<>();
+        try {
+            while (true) {
+                Pending pending = queue.poll();
+                if (pending != null && isAbandoned) {
+                    reject(pending);
+                    continue;
+                }
+                if (pending != null) {
+                    apply(pending);
+                    batch.add(pending);
+                    if (batch.size() < MAX_BATCH) {
+                        continue;
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    publish();
+                    complete(batch);
+                    continue;
+                }
+                if (isClosing && queue.isEmpty()) {
+                    rejectLate();
+                    return;
+                }
+                queue.await();
+            }
+        } finally {
+            Ui.unbind();
+            stopped.countDown();
+        }
+    }
+
+    /**
+     * Rejects the lines of submitters that saw the actor open just before it closed, waiting
+     * for each to reach the queue, until every line ever submitted has been run or rejected.
+     */
+    private void rejectLate() {
+        while (applied + rejected.get() != submitted.get()) {
+            Pending late = queue.poll();
+            if (late == null) {
+                Thread.onSpinWait();
+            } else {
+                reject(late);
+            }
+        }
+    }
+
+    private void reject(Pending pending) {
+        rejected.incrementAndGet();
+        pending.reply.completeExceptionally(new RejectedExecutionException("The ledger is closed."));
+    }
+
+    private void apply(Pending pending) {
+        applied++;
+        if (hasExited) {
+            pending.text = null;
+            return;
+        }
+        if (!isRead(pending.line.trim())) {
+            isChanged = true;
+        }
+        try {
+            pending.isExit = ledger.applyLine(pending.line);
+            hasExited = pending.isExit;
+            pending.text = takeCapture();
+        } catch (RuntimeException e) {
+            logger.log(Level.SEVERE, "Command failed: " + pending.line, e);
+            takeCapture();
+            pending.failure = e;
+        }
+    }
+
+    private static boolean isRead(String line) {
+        return line.equals(VIEW_SUMMARY) || line.equals(VIEW_CATEGORIES) || line.equals(VIEW_EXPENSES);
+    }
+
+    /**
+     * Publishes a view of the ledger after a group of lines. The reads are rendered again
+     * only if one of the lines may have changed the ledger, and the expense listing only if
+     * a reader found it missing from the last view.
+     */
+    private void publish() {
+        View last = view;
+        String summary = last.summary;
+        String categories = last.categories;
+        String expenses = last.expenses;
+        if (isChanged || summary == null) {
+            summary = render(VIEW_SUMMARY);
+            categories = render(VIEW_CATEGORIES);
+            expenses = null;
+            isChanged = false;
+        }
+        if (expenses == null && isExpenseViewWanted && ledger.expenseCount() <= MAX_VIEW_EXPENSES) {
+            isExpenseViewWanted = false;
+            expenses = render(VIEW_EXPENSES);
+        }
+        view = new View(applied, summary, categories, expenses);
+    }
+
+    private String render(String read) {
+        ledger.runLine(read);
+        return takeCapture();
+    }
+
+    private String takeCapture() {
+        captureOut.flush();
+        String text = capture.toString();
+        capture.getBuffer().setLength(0);
+        return text;
+    }
+
+    private static void complete(List<Pending> batch) {
+        for (Pending pending : batch) {
+            if (pending.failure != null) {
+                pending.reply.completeExceptionally(pending.failure);
+            } else if (pending.text == null) {
+                pending.reply.completeExceptionally(new CancellationException("An earlier command exited."));
+            } else {
+                pending.reply.complete(new Reply(pending.text, pending.isExit));
+            }
+        }
+        batch.clear();
+    }
+
+    /**
+     * Runs every line already submitted, then stops the writer thread. Lines submitted
+     * afterwards are rejected. If the closing thread is interrupted while it waits, the
+     * lines that have not started yet are rejected instead of run. Either way, every reply
+     * is complete once this returns.
+     */
+    @Override
+    public void close() {
+        isClosing = true;
+        LockSupport.unpark(writer);
+        boolean isInterrupted = false;
+        while (true) {
+            try {
+                stopped.await();
+                break;
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+                isAbandoned = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The output of one line, and whether it asked to exit.
+     */
+    public static final class Reply {
+        private final String text;
+        private final boolean isExit;
+
+        private Reply(String text, boolean isExit) {
+            this.text = text;
+            this.isExit = isExit;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public boolean isExit() {
+            return isExit;
+        }
+    }
+
+    /**
+     * The rendered reads of a ledger as of one moment. Never changed once published.
+     */
+    public static final class View {
+        private final long appliedCount;
+        private final String summary;
+        private final String categories;
+        private final String expenses;
+
+        private View(long appliedCount, String summary, String categories, String expenses) {
+            this.appliedCount = appliedCount;
+            this.summary = summary;
+            this.categories = categories;
+            this.expenses = expenses;
+        }
+
+        /**
+         * Returns the number of lines run before this view was taken.
+         *
+         * @return The number of lines.
+         */
+        public long getAppliedCount() {
+            return appliedCount;
+        }
+
+        /**
+         * Returns the output of {@code view summary}.
+         *
+         * @return The text, or {@code null} if no line had run yet.
+         */
+        public String getSummary() {
+            return summary;
+        }
+    }
+
+    private static final class Pending {
+        private final String line;
+        private final CompletableFuture<Reply> reply = new CompletableFuture<>();
+        private String text;
+        private boolean isExit;
+        private RuntimeException failure;
+
+        private Pending(String line) {
+            this.line = line;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package seedu.duke;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import util.VirtualThreads;
+
+/**
+ * Serves ledgers over TCP on localhost, so several people can record entries at once.
+ * Each connection is handled by a thread of its own, a virtual thread where the runtime
+ * has them, and is given a ledger of its own that starts empty and lives as long as the
+ * connection.
+ *
+ * <p>Clients send the same commands as typed at the console, one per line. The output of
+ * each command is sent back followed by a line holding only {@value #END_OF_REPLY}, so a
+ * client knows when to send the next command.
+ */
+public class LedgerServer implements Closeable {
+    /** The line that ends each reply. No command prints it as a line of its own. */
+    public static final String END_OF_REPLY = ".";
+
+    private static final Logger logger = Logger.getLogger(LedgerServer.class.getName());
+    private static final int BACKLOG = 4096;
+    private static final long ACCEPT_RETRY_MILLIS = 50;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = VirtualThreads.newThreadPerTaskExecutor("ledger-connection");
+    private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+
+    private LedgerServer(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+    }
+
+    /**
+     * Starts listening for connections on localhost.
+     *
+     * @param port The port to listen on, or 0 for any free port.
+     * @return The server, which accepts connections once {@link #serve()} is called.
+     * @throws IOException If the port cannot be listened on.
+     */
+    public static LedgerServer open(int port) throws IOException {
+        if (port < 0 || port > 0xFFFF) {
+            throw new IllegalArgumentException("Port out of range: " + port);
+        }
+        return new LedgerServer(new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress()));
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts connections and starts a thread for each, until the server is closed.
+     */
+    public void serve() {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    logger.log(Level.WARNING, "Could not accept a connection", e);
+                    pauseAfterFailedAccept();
+                }
+                continue;
+            }
+            openSockets.add(socket);
+            try {
+                connections.execute(() -> handle(socket));
+            } catch (RejectedExecutionException e) {
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    /**
+     * Waits a moment before accepting again, so that running out of file descriptors does
+     * not turn the accept loop into a busy loop.
+     */
+    private static void pauseAfterFailedAccept() {
+        try {
+            Thread.sleep(ACCEPT_RETRY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                PrintWriter writer = new PrintWriter(new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)), false)) {
+            socket.setTcpNoDelay(true);
+            Duke.newSession().serve(reader, writer);
+        } catch (IOException e) {
+            logger.log(Level.FINE, "Connection ended", e);
+        } finally {
+            openSockets.remove(socket);
+        }
+    }
+
+    /**
+     * Stops accepting connections and closes every open one.
+     */
+    @Override
+    public void close() {
+        closeQuietly(serverSocket);
+        connections.shutdown();
+        for (Socket socket : openSockets) {
+            closeQuietly(socket);
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            logger.log(Level.FINE, "Could not close " + closeable, e);
+        }
+    }
+}
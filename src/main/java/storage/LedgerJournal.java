@@ -0,0 +1,561 @@
+package storage;
+
+import exceptions.BudgetTrackerException;
+import expenses.Expense;
+import expenses.ExpenseList;
+import income.Income;
+import income.IncomeManager;
+import savings.Saving;
+import summary.Summary;
+import util.Dates;
+import util.Money;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary write-ahead journal for every ledger mutation.
+ * Records are buffered in memory and forced to disk in groups, either once enough
+ * records are pending or once the commit window has elapsed, so bulk entry is not
+ * slowed down by one fsync per command. On startup the journal is replayed to
+ * rebuild the expense, income and savings lists together with the summary totals.
+ *
+ * <p>If a group cannot be written, its records stay pending and are written again with the
+ * next group. The failure is kept until {@link #takeCommitFailure()} is called, so it can be
+ * reported to the user.
+ */
+public class LedgerJournal implements AutoCloseable {
+    public static final int DEFAULT_BATCH_SIZE = 64;
+    public static final long DEFAULT_WINDOW_MILLIS = 50;
+
+    private static final Logger logger = Logger.getLogger(LedgerJournal.class.getName());
+    private static final int MAGIC = 0x434A524E; // "CJRN"
+    private static final short VERSION = 2;
+    private static final int HEADER_BYTES = 14; // magic + version + generation
+    private static final int RECORD_OVERHEAD = 8; // payload length + CRC32
+
+    private static final byte ADD_EXPENSE = 1;
+    private static final byte DELETE_EXPENSE = 2;
+    private static final byte ADD_INCOME = 3;
+    private static final byte DELETE_INCOME = 4;
+    private static final byte ADD_SAVINGS = 5;
+    private static final byte DELETE_SAVINGS = 6;
+    private static final byte SET_SAVINGS = 7;
+    private static final byte TRANSFER_SAVINGS = 8;
+
+    private final FileChannel channel;
+    private final int batchSize;
+    private final long windowNanos;
+    private final ScheduledExecutorService flusher;
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer pending = ByteBuffer.allocate(4096);
+    private ByteBuffer record = ByteBuffer.allocate(256);
+    private int pendingRecords;
+    private long lastCommitNanos;
+    private long committedEnd;
+    private IOException commitFailure;
+    private long generation;
+    private int appendedRecords;
+    private boolean closed;
+
+    private LedgerJournal(FileChannel channel, long generation, int batchSize, long windowMillis) {
+        assert batchSize > 0 : "Group commit batch size must be positive";
+        this.channel = channel;
+        this.generation = generation;
+        this.batchSize = batchSize;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.lastCommitNanos = System.nanoTime();
+        this.committedEnd = HEADER_BYTES;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ledger-journal-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::commitIfWindowElapsed, windowMillis, windowMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens the journal at the given path with the default group commit settings,
+     * creating the file and its parent directory if needed.
+     *
+     * @param path Location of the journal file.
+     * @return The opened journal, positioned for appending.
+     * @throws IOException If the file cannot be opened or has an unknown header.
+     */
+    public static LedgerJournal open(Path path) throws IOException {
+        return open(path, DEFAULT_BATCH_SIZE, DEFAULT_WINDOW_MILLIS);
+    }
+
+    /**
+     * Opens the journal at the given path.
+     *
+     * @param path         Location of the journal file.
+     * @param batchSize    Number of pending records that forces a group commit.
+     * @param windowMillis Longest time a record may stay pending before it is committed.
+     * @return The opened journal, positioned for appending.
+     * @throws IOException If the file cannot be opened or has an unknown header.
+     */
+    public static LedgerJournal open(Path path, int batchSize, long windowMillis) throws IOException {
+        Path parentDir = path.toAbsolutePath().getParent();
+        if (parentDir != null && !Files.exists(parentDir)) {
+            Files.createDirectories(parentDir);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return open(channel, batchSize, windowMillis);
+        } catch (IOException e) {
+            throw new IOException(e.getMessage() + ": " + path, e);
+        }
+    }
+
+    /**
+     * Opens the journal held by the given channel.
+     *
+     * @param channel      The journal file, opened for reading and writing.
+     * @param batchSize    Number of pending records that forces a group commit.
+     * @param windowMillis Longest time a record may stay pending before it is committed.
+     * @return The opened journal, positioned for appending.
+     * @throws IOException If the file cannot be read or has an unknown header.
+     */
+    static LedgerJournal open(FileChannel channel, int batchSize, long windowMillis) throws IOException {
+        long generation = 1;
+        try {
+            if (channel.size() < HEADER_BYTES) {
+                writeHeader(channel, generation);
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                channel.read(header, 0);
+                header.flip();
+                if (header.getInt() != MAGIC || header.getShort() != VERSION) {
+                    throw new IOException("Unrecognised journal file");
+                }
+                generation = header.getLong();
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        LedgerJournal journal = new LedgerJournal(channel, generation, batchSize, windowMillis);
+        journal.committedEnd = channel.size();
+        return journal;
+    }
+
+    private static void writeHeader(FileChannel channel, long generation) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putShort(VERSION).putLong(generation);
+        header.flip();
+        channel.truncate(0);
+        channel.write(header, 0);
+        channel.force(true);
+    }
+
+    /**
+     * Returns the generation of this journal. A snapshot taken of generation N
+     * already contains every record of journals up to and including generation N.
+     *
+     * @return The current journal generation.
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns the number of records appended since the journal was opened or last reset.
+     *
+     * @return The number of appended records.
+     */
+    public synchronized int getAppendedRecords() {
+        return appendedRecords;
+    }
+
+    /**
+     * Discards every record and starts the given generation. Called once the
+     * records have been folded into a snapshot.
+     *
+     * @param newGeneration The generation of the emptied journal.
+     * @throws IOException If the journal cannot be truncated.
+     */
+    public synchronized void reset(long newGeneration) throws IOException {
+        assert newGeneration > generation : "Journal generations must increase";
+        pending.clear();
+        pendingRecords = 0;
+        appendedRecords = 0;
+        writeHeader(channel, newGeneration);
+        committedEnd = HEADER_BYTES;
+        commitFailure = null;
+        generation = newGeneration;
+    }
+
+    /**
+     * Replays every intact record in the journal into the given ledger.
+     * A torn or corrupted tail, left behind by a crash mid-write, is cut off so
+     * that later appends continue from the last good record.
+     *
+     * @param expenseList   The expense list to rebuild.
+     * @param incomeManager The income entries to rebuild.
+     * @param saving        The savings manager to rebuild.
+     * @param summary       The summary whose totals are rebuilt alongside the lists.
+     * @return The number of records replayed.
+     * @throws IOException If the journal cannot be read.
+     */
+    public synchronized int replay(ExpenseList expenseList, IncomeManager incomeManager, Saving saving,
+                                   Summary summary) throws IOException {
+        long size = channel.size();
+        ByteBuffer data = ByteBuffer.allocate((int) (size - HEADER_BYTES));
+        channel.read(data, HEADER_BYTES);
+        data.flip();
+
+        int replayed = 0;
+        int goodPosition = 0;
+        summary.beginBatch();
+        try {
+            while (data.remaining() >= RECORD_OVERHEAD) {
+                int length = data.getInt();
+                int checksum = data.getInt();
+                if (length <= 0 || length > data.remaining()) {
+                    break;
+                }
+                ByteBuffer payload = data.slice();
+                payload.limit(length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                data.position(data.position() + length);
+                apply(payload, expenseList, incomeManager, saving, summary);
+                goodPosition = data.position();
+                replayed++;
+            }
+        } finally {
+            summary.endBatch();
+        }
+
+        if (HEADER_BYTES + goodPosition < size) {
+            logger.log(Level.WARNING, "Discarding " + (size - HEADER_BYTES - goodPosition)
+                    + " bytes of incomplete journal data.");
+            channel.truncate(HEADER_BYTES + goodPosition);
+        }
+        committedEnd = channel.size();
+        logger.log(Level.FINE, "Replayed " + replayed + " journal records.");
+        return replayed;
+    }
+
+    /**
+     * Applies a single decoded record to the ledger.
+     */
+    private static void apply(ByteBuffer payload, ExpenseList expenseList, IncomeManager incomeManager,
+                              Saving saving, Summary summary) {
+        byte type = payload.get();
+        try {
+            switch (type) {
+            case ADD_EXPENSE: {
+                double amount = Money.toDollars(payload.getLong());
+                Expense.Category category = Expense.Category.values()[payload.get()];
+                String description = readString(payload);
+                LocalDate date = readDate(payload);
+                summary.addExpense(amount, category, date);
+                expenseList.addExpense(new Expense(amount, description, category, date));
+                break;
+            }
+            case DELETE_EXPENSE: {
+                int index = payload.getInt();
+                double amount = Money.toDollars(expenseList.getStore().getCents(index));
+                Expense.Category category = expenseList.getStore().getCategory(index);
+                LocalDate date = Dates.toDate(expenseList.getStore().getDay(index));
+                expenseList.deleteExpense(index + 1);
+                summary.removeExpense(amount, category, date);
+                break;
+            }
+            case ADD_INCOME: {
+                double amount = Money.toDollars(payload.getLong());
+                String source = readString(payload);
+                Income income = new Income(amount, source, readDate(payload));
+                incomeManager.add(income);
+                summary.addIncome(amount, income.getDate());
+                break;
+            }
+            case DELETE_INCOME: {
+                int index = payload.getInt();
+                Income income = incomeManager.delete(index);
+                summary.removeIncome(income.getAmount(), income.getDate());
+                break;
+            }
+            case ADD_SAVINGS: {
+                double amount = Money.toDollars(payload.getLong());
+                String goal = readString(payload);
+                saving.restoreSavings(amount, goal, readDate(payload));
+                break;
+            }
+            case DELETE_SAVINGS:
+                saving.restoreDeletion(payload.getInt());
+                break;
+            case SET_SAVINGS: {
+                int index = payload.getInt();
+                double amount = Money.toDollars(payload.getLong());
+                saving.restoreRecord(index, amount, readString(payload));
+                break;
+            }
+            case TRANSFER_SAVINGS: {
+                int fromIndex = payload.getInt();
+                int toIndex = payload.getInt();
+                saving.restoreTransfer(fromIndex, toIndex, Money.toDollars(payload.getLong()));
+                break;
+            }
+            default:
+                logger.log(Level.WARNING, "Skipping unknown journal record type: " + type);
+            }
+        } catch (BudgetTrackerException | IndexOutOfBoundsException e) {
+            logger.log(Level.WARNING, "Skipping journal record that no longer applies: " + type, e);
+        }
+    }
+
+    /**
+     * Records that an expense was appended to the expense list.
+     *
+     * @param expense The expense that was added.
+     */
+    public synchronized void appendAddExpense(Expense expense) {
+        beginRecord(ADD_EXPENSE);
+        record.putLong(expense.getAmountCents());
+        record.put((byte) expense.getCategory().ordinal());
+        putString(expense.getDescription());
+        putDate(expense.getDate());
+        endRecord();
+    }
+
+    /**
+     * Records that an expense was removed from the expense list.
+     *
+     * @param zeroBasedIndex Position of the removed expense.
+     */
+    public synchronized void appendDeleteExpense(int zeroBasedIndex) {
+        beginRecord(DELETE_EXPENSE);
+        record.putInt(zeroBasedIndex);
+        endRecord();
+    }
+
+    /**
+     * Records that an income entry was appended to the income list.
+     *
+     * @param income The income entry that was added.
+     */
+    public synchronized void appendAddIncome(Income income) {
+        beginRecord(ADD_INCOME);
+        record.putLong(income.getAmountCents());
+        putString(income.getSource());
+        putDate(income.getDate());
+        endRecord();
+    }
+
+    /**
+     * Records that an income entry was removed from the income list.
+     *
+     * @param zeroBasedIndex Position of the removed income entry.
+     */
+    public synchronized void appendDeleteIncome(int zeroBasedIndex) {
+        beginRecord(DELETE_INCOME);
+        record.putInt(zeroBasedIndex);
+        endRecord();
+    }
+
+    /**
+     * Records that a savings record was appended.
+     *
+     * @param amount The amount saved.
+     * @param goal   The goal of the new savings record.
+     * @param date   The date the savings record was opened.
+     */
+    public synchronized void appendAddSavings(double amount, String goal, LocalDate date) {
+        beginRecord(ADD_SAVINGS);
+        record.putLong(Money.toCents(amount));
+        putString(goal);
+        putDate(date);
+        endRecord();
+    }
+
+    /**
+     * Records that a savings record was removed.
+     *
+     * @param zeroBasedIndex Position of the removed savings record.
+     */
+    public synchronized void appendDeleteSavings(int zeroBasedIndex) {
+        beginRecord(DELETE_SAVINGS);
+        record.putInt(zeroBasedIndex);
+        endRecord();
+    }
+
+    /**
+     * Records the new amount and goal of an existing savings record.
+     *
+     * @param zeroBasedIndex Position of the changed savings record.
+     * @param amount         The record's amount after the change.
+     * @param goal           The record's goal after the change.
+     */
+    public synchronized void appendSetSavings(int zeroBasedIndex, double amount, String goal) {
+        beginRecord(SET_SAVINGS);
+        record.putInt(zeroBasedIndex);
+        record.putLong(Money.toCents(amount));
+        putString(goal);
+        endRecord();
+    }
+
+    /**
+     * Records a transfer between two savings records.
+     *
+     * @param fromIndex Zero-based position of the source record.
+     * @param toIndex   Zero-based position of the destination record.
+     * @param amount    The amount transferred.
+     */
+    public synchronized void appendTransferSavings(int fromIndex, int toIndex, double amount) {
+        beginRecord(TRANSFER_SAVINGS);
+        record.putInt(fromIndex);
+        record.putInt(toIndex);
+        record.putLong(Money.toCents(amount));
+        endRecord();
+    }
+
+    /**
+     * Forces every pending record to disk immediately. If they cannot be written, they stay
+     * pending and are written again by the next commit.
+     *
+     * @throws IOException If the pending records cannot be written.
+     */
+    public synchronized void commit() throws IOException {
+        if (pendingRecords == 0 || closed) {
+            return;
+        }
+        lastCommitNanos = System.nanoTime();
+        // Written at the end of the last good group, so a group cut short by a failure is
+        // written over in full by the retry.
+        ByteBuffer group = pending.duplicate().flip();
+        long position = committedEnd;
+        while (group.hasRemaining()) {
+            position += channel.write(group, position);
+        }
+        channel.force(false);
+        logger.log(Level.FINE, "Group-committed " + pendingRecords + " journal records.");
+        committedEnd = position;
+        pending.clear();
+        pendingRecords = 0;
+        commitFailure = null;
+    }
+
+    /**
+     * Commits the pending records, keeping them and the failure if they cannot be written.
+     */
+    private void commitOrKeep() {
+        try {
+            commit();
+        } catch (IOException e) {
+            if (commitFailure == null) {
+                logger.log(Level.SEVERE, "Failed to commit " + pendingRecords + " journal records, will retry.", e);
+            }
+            commitFailure = e;
+        }
+    }
+
+    /**
+     * Returns why the last group commit failed, and forgets it. The records of that group
+     * are still pending, unless a later commit has since written them.
+     *
+     * @return The failure, or {@code null} if every group so far was written.
+     */
+    public synchronized IOException takeCommitFailure() {
+        IOException failure = commitFailure;
+        commitFailure = null;
+        return failure;
+    }
+
+    /**
+     * Commits the pending records and releases the journal file.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        commitOrKeep();
+        if (pendingRecords > 0) {
+            logger.log(Level.SEVERE, "Closing the journal with " + pendingRecords + " records unwritten.");
+        }
+        closed = true;
+        flusher.shutdownNow();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to close journal file.", e);
+        }
+    }
+
+    private synchronized void commitIfWindowElapsed() {
+        if (pendingRecords > 0 && System.nanoTime() - lastCommitNanos >= windowNanos) {
+            commitOrKeep();
+        }
+    }
+
+    private void beginRecord(byte type) {
+        assert !closed : "Cannot append to a closed journal";
+        record.clear();
+        record.put(type);
+    }
+
+    private void endRecord() {
+        record.flip();
+        crc.reset();
+        crc.update(record.duplicate());
+        int length = record.remaining();
+        pending = ensureCapacity(pending, RECORD_OVERHEAD + length);
+        pending.putInt(length).putInt((int) crc.getValue()).put(record);
+        pendingRecords++;
+        appendedRecords++;
+        if (pendingRecords >= batchSize) {
+            commitOrKeep();
+        }
+    }
+
+    private void putString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        record = ensureCapacity(record, Integer.BYTES + bytes.length);
+        record.putInt(bytes.length).put(bytes);
+    }
+
+    private void putDate(LocalDate date) {
+        record = ensureCapacity(record, Integer.BYTES);
+        record.putInt(Dates.toDay(date));
+    }
+
+    private static LocalDate readDate(ByteBuffer payload) {
+        return Dates.toDate(payload.getInt());
+    }
+
+    private static String readString(ByteBuffer payload) {
+        int length = payload.getInt();
+        String value = new String(payload.array(), payload.arrayOffset() + payload.position(), length,
+                StandardCharsets.UTF_8);
+        payload.position(payload.position() + length);
+        return value;
+    }
+
+    private static ByteBuffer ensureCapacity(ByteBuffer buffer, int extra) {
+        if (buffer.remaining() >= extra) {
+            return buffer;
+        }
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + extra));
+        buffer.flip();
+        return grown.put(buffer);
+    }
+}
@@ -0,0 +1,361 @@
+package storage;
+
+import expenses.Expense;
+import expenses.ExpenseList;
+import expenses.ExpenseStore;
+import income.Income;
+import income.IncomeManager;
+import savings.Saving;
+import savings.SavingsRecord;
+import summary.RollupCube;
+import summary.Summary;
+import util.Dates;
+import util.Money;
+import util.StringDictionary;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fixed-layout binary snapshot of a whole ledger, read back through a memory-mapped file.
+ *
+ * <p>The file starts with a 56-byte header holding the journal generation the snapshot
+ * covers, the three summary totals in cents and the row counts, followed by the expense
+ * total of each category in cents and the cells of the monthly {@link RollupCube}. Next
+ * comes one column per field: the cents columns first, then the string id columns, the
+ * expense, income and savings day numbers, the string table offsets, the expense category
+ * bytes and finally the UTF-8 string data. Each distinct description, source and goal is
+ * stored once in the string table.
+ *
+ * <p>Files of any other version are rejected.
+ *
+ * <p>Opening a snapshot only maps the file and reads the header, so startup time does
+ * not depend on the number of rows. Rows are decoded the first time a list is used.
+ */
+public class LedgerSnapshot {
+    private static final int MAGIC = 0x43534E50; // "CSNP"
+    private static final short VERSION = 4;
+    private static final int HEADER_BYTES = 56;
+    private static final int CATEGORY_COUNT = Expense.Category.values().length;
+
+    private final MappedByteBuffer buffer;
+    private final long journalGeneration;
+    private final long totalIncomeCents;
+    private final long totalExpenseCents;
+    private final long totalSavingsCents;
+    private final long[] categoryExpenseCents;
+    private final int rollupFirstMonth;
+    private final long[] rollupCells;
+    private final int expenseCount;
+    private final int incomeCount;
+    private final int savingsCount;
+    private final int stringCount;
+    private final int expenseCentsOffset;
+    private final int incomeCentsOffset;
+    private final int savingsCentsOffset;
+    private final int expenseDescriptionOffset;
+    private final int incomeSourceOffset;
+    private final int savingsGoalOffset;
+    private final int expenseDayOffset;
+    private final int incomeDayOffset;
+    private final int savingsDayOffset;
+    private final int stringIndexOffset;
+    private final int expenseCategoryOffset;
+    private final int stringDataOffset;
+    private String[] decodedStrings;
+
+    private LedgerSnapshot(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION) {
+            throw new IOException("Unrecognised snapshot file.");
+        }
+        int rollupOffset = HEADER_BYTES + Long.BYTES * CATEGORY_COUNT;
+        if (buffer.capacity() < rollupOffset + 2 * Integer.BYTES) {
+            throw new IOException("Snapshot file is truncated.");
+        }
+        rollupFirstMonth = buffer.getInt(rollupOffset);
+        int cellCount = buffer.getInt(rollupOffset + Integer.BYTES);
+        int cellsOffset = rollupOffset + 2 * Integer.BYTES;
+        if (cellCount < 0 || buffer.capacity() < cellsOffset + (long) Long.BYTES * cellCount) {
+            throw new IOException("Snapshot file is truncated.");
+        }
+        rollupCells = new long[cellCount];
+        for (int i = 0; i < cellCount; i++) {
+            rollupCells[i] = buffer.getLong(cellsOffset + Long.BYTES * i);
+        }
+        int columnsOffset = cellsOffset + Long.BYTES * cellCount;
+        journalGeneration = buffer.getLong(8);
+        totalIncomeCents = buffer.getLong(16);
+        totalExpenseCents = buffer.getLong(24);
+        totalSavingsCents = buffer.getLong(32);
+        expenseCount = buffer.getInt(40);
+        incomeCount = buffer.getInt(44);
+        savingsCount = buffer.getInt(48);
+        stringCount = buffer.getInt(52);
+        categoryExpenseCents = new long[CATEGORY_COUNT];
+        for (int i = 0; i < CATEGORY_COUNT; i++) {
+            categoryExpenseCents[i] = buffer.getLong(HEADER_BYTES + Long.BYTES * i);
+        }
+
+        expenseCentsOffset = columnsOffset;
+        incomeCentsOffset = expenseCentsOffset + Long.BYTES * expenseCount;
+        savingsCentsOffset = incomeCentsOffset + Long.BYTES * incomeCount;
+        expenseDescriptionOffset = savingsCentsOffset + Long.BYTES * savingsCount;
+        incomeSourceOffset = expenseDescriptionOffset + Integer.BYTES * expenseCount;
+        savingsGoalOffset = incomeSourceOffset + Integer.BYTES * incomeCount;
+        expenseDayOffset = savingsGoalOffset + Integer.BYTES * savingsCount;
+        incomeDayOffset = expenseDayOffset + Integer.BYTES * expenseCount;
+        savingsDayOffset = incomeDayOffset + Integer.BYTES * incomeCount;
+        stringIndexOffset = savingsDayOffset + Integer.BYTES * savingsCount;
+        expenseCategoryOffset = stringIndexOffset + Integer.BYTES * (stringCount + 1);
+        stringDataOffset = expenseCategoryOffset + expenseCount;
+        if (stringDataOffset > buffer.capacity()
+                || stringDataOffset + buffer.getInt(stringIndexOffset + Integer.BYTES * stringCount)
+                        != buffer.capacity()) {
+            throw new IOException("Snapshot file is truncated.");
+        }
+    }
+
+    /**
+     * Maps an existing snapshot file. Only the header is read.
+     *
+     * @param path Location of the snapshot file.
+     * @return The mapped snapshot.
+     * @throws IOException If the file cannot be mapped or is not a valid snapshot.
+     */
+    public static LedgerSnapshot map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new LedgerSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Returns the journal generation whose records are already contained in this snapshot.
+     *
+     * @return The covered journal generation.
+     */
+    public long getJournalGeneration() {
+        return journalGeneration;
+    }
+
+    /**
+     * Restores the summary totals immediately and hands the lists a loader that decodes
+     * their rows from the mapped file the first time they are used.
+     *
+     * @param expenseList   The expense list to restore.
+     * @param incomeManager The income entries to restore.
+     * @param saving        The savings manager to restore.
+     * @param summary       The summary whose totals and monthly rollup are restored.
+     */
+    public void restoreInto(ExpenseList expenseList, IncomeManager incomeManager, Saving saving, Summary summary) {
+        summary.restoreTotals(totalIncomeCents, totalExpenseCents, totalSavingsCents);
+        summary.restoreCategoryTotals(categoryExpenseCents);
+        summary.getRollup().restore(rollupFirstMonth, rollupCells);
+        if (expenseCount > 0) {
+            expenseList.loadLazily(this::readExpenses);
+        }
+        if (incomeCount > 0) {
+            incomeManager.deferLoad(this::readIncomes);
+        }
+        if (savingsCount > 0) {
+            saving.loadLazily(this::readSavings);
+        }
+    }
+
+    private void readExpenses(ExpenseStore store) {
+        Expense.Category[] categories = Expense.Category.values();
+        for (int i = 0; i < expenseCount; i++) {
+            long cents = buffer.getLong(expenseCentsOffset + Long.BYTES * i);
+            String description = string(buffer.getInt(expenseDescriptionOffset + Integer.BYTES * i));
+            int day = buffer.getInt(expenseDayOffset + Integer.BYTES * i);
+            store.add(cents, categories[buffer.get(expenseCategoryOffset + i)], description, day);
+        }
+    }
+
+    private List<Income> readIncomes() {
+        List<Income> incomes = new ArrayList<>(incomeCount);
+        for (int i = 0; i < incomeCount; i++) {
+            double amount = Money.toDollars(buffer.getLong(incomeCentsOffset + Long.BYTES * i));
+            LocalDate date = Dates.toDate(buffer.getInt(incomeDayOffset + Integer.BYTES * i));
+            incomes.add(new Income(amount, string(buffer.getInt(incomeSourceOffset + Integer.BYTES * i)), date));
+        }
+        return incomes;
+    }
+
+    private List<SavingsRecord> readSavings() {
+        List<SavingsRecord> records = new ArrayList<>(savingsCount);
+        for (int i = 0; i < savingsCount; i++) {
+            double amount = Money.toDollars(buffer.getLong(savingsCentsOffset + Long.BYTES * i));
+            String goal = string(buffer.getInt(savingsGoalOffset + Integer.BYTES * i));
+            LocalDate date = Dates.toDate(buffer.getInt(savingsDayOffset + Integer.BYTES * i));
+            records.add(new SavingsRecord(amount, goal, date));
+        }
+        return records;
+    }
+
+    private String string(int id) {
+        if (decodedStrings == null) {
+            decodedStrings = new String[stringCount];
+        }
+        String value = decodedStrings[id];
+        if (value == null) {
+            int start = buffer.getInt(stringIndexOffset + Integer.BYTES * id);
+            int end = buffer.getInt(stringIndexOffset + Integer.BYTES * (id + 1));
+            byte[] bytes = new byte[end - start];
+            buffer.get(stringDataOffset + start, bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            decodedStrings[id] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Writes a snapshot of the whole ledger. The file is written next to its final
+     * location and then moved into place, so a crash never leaves a partial snapshot.
+     *
+     * @param path              Location of the snapshot file.
+     * @param expenseList       The expenses to save.
+     * @param incomes           The income entries to save.
+     * @param saving            The savings records to save.
+     * @param summary           The summary whose totals, category totals and monthly rollup are saved.
+     * @param journalGeneration The journal generation folded into this snapshot.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public static void write(Path path, ExpenseList expenseList, List<Income> incomes, Saving saving,
+                             Summary summary, long journalGeneration) throws IOException {
+        ExpenseStore expenses = expenseList.getStore();
+        List<SavingsRecord> records = saving.getSavingsRecords();
+
+        StringDictionary dictionary = expenses.getDictionary();
+        int[] expenseDescriptions = new int[expenses.size()];
+        for (int i = 0; i < expenses.size(); i++) {
+            expenseDescriptions[i] = expenses.getDescriptionId(i);
+        }
+        int[] incomeSources = new int[incomes.size()];
+        for (int i = 0; i < incomes.size(); i++) {
+            incomeSources[i] = dictionaryId(incomes.get(i).getSource(), dictionary);
+        }
+        int[] savingsGoals = new int[records.size()];
+        for (int i = 0; i < records.size(); i++) {
+            savingsGoals[i] = dictionaryId(records.get(i).getGoal(), dictionary);
+        }
+
+        int[] stringIds = new int[dictionary.size()];
+        Arrays.fill(stringIds, -1);
+        List<byte[]> strings = new ArrayList<>();
+        for (int[] column : new int[][] {expenseDescriptions, incomeSources, savingsGoals}) {
+            for (int i = 0; i < column.length; i++) {
+                column[i] = intern(column[i], dictionary, stringIds, strings);
+            }
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    Channels.newOutputStream(channel), 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeShort(0);
+            out.writeLong(journalGeneration);
+            out.writeLong(summary.getTotalIncomeCents());
+            out.writeLong(summary.getTotalExpenseCents());
+            out.writeLong(summary.getTotalSavingsCents());
+            out.writeInt(expenses.size());
+            out.writeInt(incomes.size());
+            out.writeInt(records.size());
+            out.writeInt(strings.size());
+            for (long categoryCents : summary.getCategoryExpenseCents()) {
+                out.writeLong(categoryCents);
+            }
+            RollupCube rollup = summary.getRollup();
+            long[] rollupCells = rollup.getCells();
+            out.writeInt(rollup.getFirstMonth());
+            out.writeInt(rollupCells.length);
+            for (long cell : rollupCells) {
+                out.writeLong(cell);
+            }
+
+            for (int i = 0; i < expenses.size(); i++) {
+                out.writeLong(expenses.getCents(i));
+            }
+            for (Income income : incomes) {
+                out.writeLong(income.getAmountCents());
+            }
+            for (SavingsRecord record : records) {
+                out.writeLong(record.getAmountCents());
+            }
+            writeInts(out, expenseDescriptions);
+            writeInts(out, incomeSources);
+            writeInts(out, savingsGoals);
+            for (int i = 0; i < expenses.size(); i++) {
+                out.writeInt(expenses.getDay(i));
+            }
+            for (Income income : incomes) {
+                out.writeInt(Dates.toDay(income.getDate()));
+            }
+            for (SavingsRecord record : records) {
+                out.writeInt(Dates.toDay(record.getDate()));
+            }
+            int stringOffset = 0;
+            for (byte[] string : strings) {
+                out.writeInt(stringOffset);
+                stringOffset += string.length;
+            }
+            out.writeInt(stringOffset);
+            for (int i = 0; i < expenses.size(); i++) {
+                out.writeByte(expenses.getCategory(i).ordinal());
+            }
+            for (byte[] string : strings) {
+                out.write(string);
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Returns the id of a string in the ledger's dictionary. The entries of a ledger hold the
+     * dictionary's own copies, whose hash codes are cached and which compare equal by identity;
+     * a string from elsewhere is added.
+     */
+    private static int dictionaryId(String value, StringDictionary dictionary) {
+        int id = dictionary.idOf(value);
+        return id != StringDictionary.NO_STRING ? id : dictionary.intern(value);
+    }
+
+    /**
+     * Returns the id in the snapshot's string table of a string from the ledger's dictionary,
+     * encoding the string the first time it is written.
+     */
+    private static int intern(int dictionaryId, StringDictionary dictionary, int[] stringIds,
+                              List<byte[]> strings) {
+        int id = stringIds[dictionaryId];
+        if (id < 0) {
+            id = strings.size();
+            stringIds[dictionaryId] = id;
+            strings.add(dictionary.get(dictionaryId).getBytes(StandardCharsets.UTF_8));
+        }
+        return id;
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package storage;
+
+import expenses.ExpenseList;
+import income.IncomeManager;
+import savings.Saving;
+import summary.Summary;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps a ledger on disk as a memory-mapped snapshot plus the journal of changes made since.
+ * A new snapshot is taken once enough records have been journaled and when the ledger is
+ * closed, after which the journal starts over, so startup never replays a long history.
+ */
+public class LedgerStorage implements AutoCloseable {
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 10_000;
+
+    private static final Logger logger = Logger.getLogger(LedgerStorage.class.getName());
+    private static final String SNAPSHOT_FILE = "ledger.snapshot";
+    private static final String JOURNAL_FILE = "ledger.journal";
+
+    private final Path snapshotPath;
+    private final LedgerJournal journal;
+    private final ExpenseList expenseList;
+    private final IncomeManager incomeManager;
+    private final Saving saving;
+    private final Summary summary;
+    private final int snapshotInterval;
+
+    private LedgerStorage(Path snapshotPath, LedgerJournal journal, ExpenseList expenseList,
+                          IncomeManager incomeManager, Saving saving, Summary summary, int snapshotInterval) {
+        this.snapshotPath = snapshotPath;
+        this.journal = journal;
+        this.expenseList = expenseList;
+        this.incomeManager = incomeManager;
+        this.saving = saving;
+        this.summary = summary;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Restores the ledger saved in the given directory and starts journaling every later change.
+     *
+     * @param directory     Directory holding the snapshot and journal files.
+     * @param expenseList   The expense list to restore.
+     * @param incomeManager The income entries to restore.
+     * @param saving        The savings manager to restore.
+     * @param summary       The summary to restore.
+     * @return The storage, attached to the ledger.
+     * @throws IOException If the saved ledger cannot be read.
+     */
+    public static LedgerStorage open(Path directory, ExpenseList expenseList, IncomeManager incomeManager,
+                                     Saving saving, Summary summary) throws IOException {
+        return open(directory, expenseList, incomeManager, saving, summary, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * Restores the ledger saved in the given directory and starts journaling every later change.
+     *
+     * @param directory        Directory holding the snapshot and journal files.
+     * @param expenseList      The expense list to restore.
+     * @param incomeManager    The income entries to restore.
+     * @param saving           The savings manager to restore.
+     * @param summary          The summary to restore.
+     * @param snapshotInterval Number of journaled records after which a new snapshot is taken.
+     * @return The storage, attached to the ledger.
+     * @throws IOException If the saved ledger cannot be read.
+     */
+    public static LedgerStorage open(Path directory, ExpenseList expenseList, IncomeManager incomeManager,
+                                     Saving saving, Summary summary, int snapshotInterval) throws IOException {
+        return open(directory, expenseList, incomeManager, saving, summary, snapshotInterval,
+                LedgerJournal.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Restores the ledger saved in the given directory and starts journaling every later change.
+     *
+     * @param directory        Directory holding the snapshot and journal files.
+     * @param expenseList      The expense list to restore.
+     * @param incomeManager    The income entries to restore.
+     * @param saving           The savings manager to restore.
+     * @param summary          The summary to restore.
+     * @param snapshotInterval Number of journaled records after which a new snapshot is taken.
+     * @param journalBatchSize Number of pending journal records that forces a group commit.
+     * @return The storage, attached to the ledger.
+     * @throws IOException If the saved ledger cannot be read.
+     */
+    public static LedgerStorage open(Path directory, ExpenseList expenseList, IncomeManager incomeManager,
+                                     Saving saving, Summary summary, int snapshotInterval, int journalBatchSize)
+            throws IOException {
+        Path snapshotPath = directory.resolve(SNAPSHOT_FILE);
+        long snapshotGeneration = 0;
+        if (Files.exists(snapshotPath)) {
+            LedgerSnapshot snapshot = LedgerSnapshot.map(snapshotPath);
+            snapshot.restoreInto(expenseList, incomeManager, saving, summary);
+            snapshotGeneration = snapshot.getJournalGeneration();
+        }
+
+        LedgerJournal journal = LedgerJournal.open(directory.resolve(JOURNAL_FILE), journalBatchSize,
+                LedgerJournal.DEFAULT_WINDOW_MILLIS);
+        try {
+            if (journal.getGeneration() <= snapshotGeneration) {
+                // The snapshot was taken but the journal was not emptied before the last exit.
+                journal.reset(snapshotGeneration + 1);
+            } else {
+                journal.replay(expenseList, incomeManager, saving, summary);
+            }
+        } catch (IOException e) {
+            journal.close();
+            throw e;
+        }
+
+        expenseList.setJournal(journal);
+        incomeManager.useJournal(journal);
+        saving.setJournal(journal);
+        return new LedgerStorage(snapshotPath, journal, expenseList, incomeManager, saving, summary,
+                snapshotInterval);
+    }
+
+    /**
+     * Takes a new snapshot if enough changes have been journaled since the last one.
+     */
+    public void checkpointIfDue() {
+        if (journal.getAppendedRecords() >= snapshotInterval) {
+            checkpoint();
+        }
+    }
+
+    /**
+     * Writes a snapshot of the current ledger and empties the journal. If the snapshot
+     * cannot be written the journal is kept, so no change is lost.
+     */
+    public void checkpoint() {
+        try {
+            try {
+                journal.commit();
+            } catch (IOException e) {
+                // The snapshot holds the pending records too, so it stands in for them.
+                logger.log(Level.WARNING, "Failed to commit the journal, writing a snapshot instead.", e);
+            }
+            long generation = journal.getGeneration();
+            LedgerSnapshot.write(snapshotPath, expenseList, incomeManager.entries(), saving, summary, generation);
+            journal.reset(generation + 1);
+            logger.log(Level.FINE, "Ledger snapshot written for journal generation " + generation);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to write ledger snapshot, keeping the journal instead.", e);
+        }
+    }
+
+    /**
+     * Returns why changes could not be written to the journal since this was last called,
+     * and forgets it. The changes are kept and written again with the next group.
+     *
+     * @return The failure, or {@code null} if every change so far was written.
+     */
+    public IOException takeWriteFailure() {
+        return journal.takeCommitFailure();
+    }
+
+    /**
+     * Takes a final snapshot if anything changed and releases the journal.
+     */
+    @Override
+    public void close() {
+        if (journal.getAppendedRecords() > 0) {
+            checkpoint();
+        }
+        expenseList.setJournal(null);
+        incomeManager.useJournal(null);
+        saving.setJournal(null);
+        journal.close();
+    }
+}
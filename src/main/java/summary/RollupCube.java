@@ -0,0 +1,207 @@
+package summary;
+
+import expenses.Expense;
+import expenses.ExpenseStore;
+import income.Income;
+import savings.SavingsRecord;
+import util.Dates;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Monthly totals in cents, kept for every (month, kind, category) cell so that reports
+ * never scan the expense, income or savings lists. Expenses have one cell per
+ * {@link Expense.Category}; income and savings have a single cell each per month.
+ *
+ * <p>The cells of each month sit next to each other in one flat {@code long[]}, covering
+ * a window of consecutive months that grows as dates outside it are recorded. Recording
+ * an amount is O(1), apart from the occasional copy when the window grows.
+ */
+public class RollupCube {
+    /** What an amount in the cube counts. */
+    public enum Kind {
+        INCOME, EXPENSE, SAVINGS
+    }
+
+    private static final Expense.Category[] CATEGORIES = Expense.Category.values();
+    /** Cells per month: one per expense category, then income, then savings. */
+    static final int CELLS_PER_MONTH = CATEGORIES.length + 2;
+    private static final int INCOME_CELL = CATEGORIES.length;
+    private static final int SAVINGS_CELL = CATEGORIES.length + 1;
+    private static final int INITIAL_MONTHS = 24;
+
+    private long[] cells = new long[0];
+    private int firstMonth;
+
+    /**
+     * Returns the month number of a date, counting months from year 0.
+     *
+     * @param date The date.
+     * @return {@code year * 12 + month - 1}.
+     */
+    public static int monthOf(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    /**
+     * Adds an amount to a cell. A negative amount takes it away again.
+     *
+     * @param kind     What the amount counts.
+     * @param category The category of an expense; ignored for income and savings.
+     * @param date     The date the amount belongs to.
+     * @param cents    The amount in cents.
+     */
+    public void add(Kind kind, Expense.Category category, LocalDate date, long cents) {
+        assert kind != Kind.EXPENSE || category != null : "Expenses are counted per category";
+        int month = monthOf(date);
+        cover(month);
+        cells[(month - firstMonth) * CELLS_PER_MONTH + cell(kind, category)] += cents;
+    }
+
+    /**
+     * Returns the total of a cell.
+     *
+     * @param month    The month number, as given by {@link #monthOf(LocalDate)}.
+     * @param kind     What the total counts.
+     * @param category The category of expenses; ignored for income and savings.
+     * @return The total in cents, 0 for months never recorded.
+     */
+    public long get(int month, Kind kind, Expense.Category category) {
+        int offset = month - firstMonth;
+        if (offset < 0 || offset >= monthCount()) {
+            return 0;
+        }
+        return cells[offset * CELLS_PER_MONTH + cell(kind, category)];
+    }
+
+    /**
+     * Returns the total expenses of a month across every category.
+     *
+     * @param month The month number.
+     * @return The total in cents.
+     */
+    public long getExpenses(int month) {
+        long total = 0;
+        for (Expense.Category category : CATEGORIES) {
+            total += get(month, Kind.EXPENSE, category);
+        }
+        return total;
+    }
+
+    /**
+     * Returns whether any cell of a month is not zero.
+     *
+     * @param month The month number.
+     * @return True if the month has something to report.
+     */
+    public boolean hasData(int month) {
+        int offset = month - firstMonth;
+        if (offset < 0 || offset >= monthCount()) {
+            return false;
+        }
+        for (int i = 0; i < CELLS_PER_MONTH; i++) {
+            if (cells[offset * CELLS_PER_MONTH + i] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the first month of the window of recorded months.
+     *
+     * @return The month number.
+     */
+    public int getFirstMonth() {
+        return firstMonth;
+    }
+
+    /**
+     * Returns the number of months in the window, some of which may hold nothing.
+     *
+     * @return The number of months.
+     */
+    public int monthCount() {
+        return cells.length / CELLS_PER_MONTH;
+    }
+
+    /**
+     * Recomputes every cell from scratch from the entries of the ledger.
+     *
+     * @param expenses The expenses.
+     * @param incomes  The income entries.
+     * @param savings  The savings records.
+     */
+    public void rebuild(ExpenseStore expenses, List<Income> incomes, List<SavingsRecord> savings) {
+        cells = new long[0];
+        for (int i = 0; i < expenses.size(); i++) {
+            add(Kind.EXPENSE, expenses.getCategory(i), Dates.toDate(expenses.getDay(i)), expenses.getCents(i));
+        }
+        for (Income income : incomes) {
+            add(Kind.INCOME, null, income.getDate(), income.getAmountCents());
+        }
+        for (SavingsRecord record : savings) {
+            add(Kind.SAVINGS, null, record.getDate(), record.getAmountCents());
+        }
+    }
+
+    /**
+     * Replaces every cell with saved ones.
+     *
+     * @param firstMonth The month number of the first saved month.
+     * @param cells      The saved cells, {@value #CELLS_PER_MONTH} per month.
+     */
+    public void restore(int firstMonth, long[] cells) {
+        assert cells.length % CELLS_PER_MONTH == 0 : "Cells come in whole months";
+        this.firstMonth = firstMonth;
+        this.cells = cells.clone();
+    }
+
+    /**
+     * Returns a copy of every cell, {@value #CELLS_PER_MONTH} per month from {@link #getFirstMonth()}.
+     *
+     * @return The cells.
+     */
+    public long[] getCells() {
+        return cells.clone();
+    }
+
+    private static int cell(Kind kind, Expense.Category category) {
+        switch (kind) {
+        case EXPENSE:
+            return category.ordinal();
+        case INCOME:
+            return INCOME_CELL;
+        case SAVINGS:
+            return SAVINGS_CELL;
+        default:
+            throw new AssertionError("Unknown kind: " + kind);
+        }
+    }
+
+    /**
+     * Widens the window of months to include the given month.
+     */
+    private void cover(int month) {
+        int months = monthCount();
+        if (months == 0) {
+            firstMonth = month - INITIAL_MONTHS + 1;
+            cells = new long[INITIAL_MONTHS * CELLS_PER_MONTH];
+            return;
+        }
+        if (month >= firstMonth && month < firstMonth + months) {
+            return;
+        }
+        int newFirstMonth = Math.min(firstMonth, month);
+        int needed = Math.max(firstMonth + months, month + 1) - newFirstMonth;
+        int newMonths = Math.max(needed, months * 2);
+        if (month < firstMonth) {
+            newFirstMonth = firstMonth + months - newMonths;
+        }
+        long[] grown = new long[newMonths * CELLS_PER_MONTH];
+        System.arraycopy(cells, 0, grown, (firstMonth - newFirstMonth) * CELLS_PER_MONTH, cells.length);
+        cells = grown;
+        firstMonth = newFirstMonth;
+    }
+}
@@ -2,6 +2,9 @@ package summary;
 
 import exceptions.BudgetTrackerException;
 import alerts.FinancialObserver;
+import expenses.Expense;
+import util.Money;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
@@ -10,26 +13,66 @@ import java.util.logging.Logger;
 /**
  * Represents a financial summary, storing total income, expenses, and savings.
  * Provides methods for adding and removing income, expenses, and savings.
+ * Totals are kept as exact {@code long} cents; amounts passed in dollars are rounded to the nearest cent.
+ * Expenses added with a category are also totalled per {@link Expense.Category}, so a breakdown
+ * by category never needs to scan the expense list. Changes given with a date are also
+ * added to a {@link RollupCube} of monthly totals for reports.
  */
 public class Summary {
     private static final Logger logger = Logger.getLogger(Summary.class.getName());
-    private double totalIncome;
-    private double totalExpense;
-    private double totalSavings;
+    private static final Expense.Category[] CATEGORIES = Expense.Category.values();
+    private long totalIncomeCents;
+    private long totalExpenseCents;
+    private long totalSavingsCents;
+    private final long[] categoryExpenseCents = new long[CATEGORIES.length];
+    private final long[] categoryChangesInBatch = new long[CATEGORIES.length];
+    private final RollupCube rollup = new RollupCube();
     private List<FinancialObserver> observers = new ArrayList<>();
+    private int batchDepth;
+    private boolean changedInBatch;
+    private long version;
 
     /**
      * Constructs a new Summary object with all values initialized to 0.
      */
     public Summary() {
-        totalIncome = 0;
-        totalExpense = 0;
-        totalSavings = 0;
+        totalIncomeCents = 0;
+        totalExpenseCents = 0;
+        totalSavingsCents = 0;
         logger.log(Level.INFO, "Summary object initialized.");
 
-        assert this.totalIncome == 0.0 : "Initial income should be zero";
-        assert this.totalExpense == 0.0 : "Initial expense should be zero";
-        assert this.totalSavings == 0.0 : "Initial savings should be zero";
+        assert this.totalIncomeCents == 0 : "Initial income should be zero";
+        assert this.totalExpenseCents == 0 : "Initial expense should be zero";
+        assert this.totalSavingsCents == 0 : "Initial savings should be zero";
+    }
+
+    /**
+     * Restores the totals saved by an earlier session. Observers are not notified,
+     * as nothing changed from the user's point of view.
+     *
+     * @param incomeCents  The saved total income in cents.
+     * @param expenseCents The saved total expenses in cents.
+     * @param savingsCents The saved total savings in cents.
+     */
+    public void restoreTotals(long incomeCents, long expenseCents, long savingsCents) {
+        assert incomeCents >= 0 && expenseCents >= 0 && savingsCents >= 0 : "Saved totals should never be negative";
+        this.totalIncomeCents = incomeCents;
+        this.totalExpenseCents = expenseCents;
+        this.totalSavingsCents = savingsCents;
+        version++;
+        logger.log(Level.INFO, "Summary totals restored from snapshot.");
+    }
+
+    /**
+     * Restores the per-category expense totals saved by an earlier session. Like
+     * {@link #restoreTotals(long, long, long)}, observers are not notified.
+     *
+     * @param cents The saved total of each category in cents, indexed by category ordinal.
+     */
+    public void restoreCategoryTotals(long[] cents) {
+        assert cents.length == CATEGORIES.length : "One total is saved per category";
+        System.arraycopy(cents, 0, categoryExpenseCents, 0, CATEGORIES.length);
+        version++;
     }
 
     /**
@@ -58,16 +101,124 @@ public class Summary {
     }
 
     /**
-     * Notifies all registered observers about changes in financial data.
+     * Starts a batch of changes. Observers are not notified of the changes made while the
+     * batch is open; when the outermost batch is ended they get exactly one update with
+     * the final totals, provided anything changed, preceded by one category update for each
+     * category whose total changed overall. Batches may be nested, and each must be ended
+     * by {@link #endBatch()}, even if a change fails.
+     *
+     * <pre>
+     * summary.beginBatch();
+     * try {
+     *     summary.addExpense(12.5);
+     *     summary.addExpense(3.0);
+     * } finally {
+     *     summary.endBatch();
+     * }
+     * </pre>
+     */
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * Ends the innermost open batch, notifying observers once if this was the outermost
+     * batch and anything changed.
+     */
+    public void endBatch() {
+        assert batchDepth > 0 : "Batch ended more often than it was begun";
+        batchDepth--;
+        if (batchDepth == 0 && changedInBatch) {
+            changedInBatch = false;
+            for (Expense.Category category : CATEGORIES) {
+                long change = categoryChangesInBatch[category.ordinal()];
+                if (change != 0) {
+                    categoryChangesInBatch[category.ordinal()] = 0;
+                    notifyCategoryObservers(category, change);
+                }
+            }
+            notifyObservers();
+        }
+    }
+
+    /**
+     * Runs the given changes as one batch, notifying observers once at the end.
+     *
+     * @param changes The changes to make.
+     * @see #beginBatch()
+     */
+    public void batch(Runnable changes) {
+        beginBatch();
+        try {
+            changes.run();
+        } finally {
+            endBatch();
+        }
+    }
+
+    /**
+     * Returns the modification version of the totals. It increases with every change, so it
+     * can key a cache of anything rendered from this summary.
+     *
+     * @return The current version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Records that a total changed: moves to a new version and notifies the observers.
+     */
+    private void changed() {
+        version++;
+        notifyObservers();
+    }
+
+    /**
+     * Records that the expense total of a category changed, then that the totals changed.
+     */
+    private void changed(Expense.Category category, long changeCents) {
+        version++;
+        if (batchDepth > 0) {
+            categoryChangesInBatch[category.ordinal()] += changeCents;
+        } else {
+            notifyCategoryObservers(category, changeCents);
+        }
+        notifyObservers();
+    }
+
+    private void notifyCategoryObservers(Expense.Category category, long changeCents) {
+        double change = Money.toDollars(changeCents);
+        double categoryTotal = Money.toDollars(categoryExpenseCents[category.ordinal()]);
+        for (FinancialObserver observer : observers) {
+            try {
+                observer.updateCategory(category, change, categoryTotal);
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, "Exception occurred while notifying observer: "
+                        + observer.getClass().getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Notifies all registered observers about changes in financial data, or, inside a
+     * batch, remembers that they need notifying when the batch ends.
      */
     private void notifyObservers() {
+        if (batchDepth > 0) {
+            changedInBatch = true;
+            return;
+        }
         if (observers.isEmpty()) {
             logger.log(Level.WARNING, "notifyObservers called but no observers are registered.");
             return;
         }
         logger.log(Level.FINE, "Notifying " + observers.size() + " observers.");
-        assert getAvailableFunds() >= 0 : "Available funds cannot be negative";
+        assert getAvailableFundsCents() >= 0 : "Available funds cannot be negative";
         double availableFunds = getAvailableFunds();
+        double totalIncome = getTotalIncome();
+        double totalExpense = getTotalExpense();
+        double totalSavings = getTotalSavings();
         for (FinancialObserver observer : observers) {
             try {
                 observer.update(availableFunds, totalIncome, totalExpense, totalSavings);
@@ -79,14 +230,32 @@ public class Summary {
         }
     }
 
+    /**
+     * Returns the monthly totals of income, expenses by category and savings.
+     *
+     * @return The rollup cube kept alongside the totals.
+     */
+    public RollupCube getRollup() {
+        return rollup;
+    }
+
     /**
      * Gets the total income.
      *
      * @return The total income.
      */
     public double getTotalIncome() {
-        assert this.totalIncome >= 0 : "Total income should never be negative";
-        return totalIncome;
+        return Money.toDollars(getTotalIncomeCents());
+    }
+
+    /**
+     * Gets the total income in cents.
+     *
+     * @return The total income in cents.
+     */
+    public long getTotalIncomeCents() {
+        assert this.totalIncomeCents >= 0 : "Total income should never be negative";
+        return totalIncomeCents;
     }
 
     /**
@@ -95,8 +264,37 @@ public class Summary {
      * @return The total expenses.
      */
     public double getTotalExpense() {
-        assert this.totalExpense >= 0 : "Total expense should never be negative";
-        return totalExpense;
+        return Money.toDollars(getTotalExpenseCents());
+    }
+
+    /**
+     * Gets the total expenses in cents.
+     *
+     * @return The total expenses in cents.
+     */
+    public long getTotalExpenseCents() {
+        assert this.totalExpenseCents >= 0 : "Total expense should never be negative";
+        return totalExpenseCents;
+    }
+
+    /**
+     * Gets the total expenses of one category in cents.
+     *
+     * @param category The category.
+     * @return The total of the expenses added with that category, in cents.
+     */
+    public long getCategoryExpenseCents(Expense.Category category) {
+        assert categoryExpenseCents[category.ordinal()] >= 0 : "Category total should never be negative";
+        return categoryExpenseCents[category.ordinal()];
+    }
+
+    /**
+     * Gets the total expenses of every category in cents.
+     *
+     * @return A copy of the totals, indexed by category ordinal.
+     */
+    public long[] getCategoryExpenseCents() {
+        return categoryExpenseCents.clone();
     }
 
     /**
@@ -106,8 +304,17 @@ public class Summary {
      * @return The available funds.
      */
     public double getAvailableFunds() {
-        assert this.totalIncome - this.totalExpense >= 0 : "Calculated available funds are negative";
-        return totalIncome - totalExpense;
+        return Money.toDollars(getAvailableFundsCents());
+    }
+
+    /**
+     * Gets the available funds in cents.
+     *
+     * @return The available funds in cents.
+     */
+    public long getAvailableFundsCents() {
+        assert this.totalIncomeCents - this.totalExpenseCents >= 0 : "Calculated available funds are negative";
+        return totalIncomeCents - totalExpenseCents;
     }
 
     /**
@@ -116,168 +323,314 @@ public class Summary {
      * @return The total savings.
      */
     public double getTotalSavings() {
-        assert this.totalSavings >= 0 : "Total savings should never be negative";
-        return totalSavings;
+        return Money.toDollars(getTotalSavingsCents());
     }
 
     /**
-     * Adds income to the total income.
+     * Gets the total savings in cents.
+     *
+     * @return The total savings in cents.
+     */
+    public long getTotalSavingsCents() {
+        assert this.totalSavingsCents >= 0 : "Total savings should never be negative";
+        return totalSavingsCents;
+    }
+
+    /**
+     * Adds income to the total income without recording when it was received.
      *
      * @param income The amount of income to add.
      * @throws BudgetTrackerException If the income is non-positive.
      */
     public void addIncome(double income) throws BudgetTrackerException {
-        if (income <= 0) {
+        addIncome(income, null);
+    }
+
+    /**
+     * Adds income to the total income and to the month it was received in.
+     *
+     * @param income The amount of income to add.
+     * @param date   The date the income was received, or {@code null} to leave the monthly totals alone.
+     * @throws BudgetTrackerException If the income is non-positive.
+     */
+    public void addIncome(double income, LocalDate date) throws BudgetTrackerException {
+        long incomeCents = Money.toCents(income);
+        if (incomeCents <= 0) {
             logger.log(Level.WARNING, "Attempted to add non-positive income: " + income);
             throw new BudgetTrackerException("Income must be positive.");
         }
-        double oldIncome = this.totalIncome;
-        this.totalIncome += income;
-        logger.log(Level.INFO, "Total income updated to: " + totalIncome);
+        long oldIncome = this.totalIncomeCents;
+        this.totalIncomeCents = Money.add(totalIncomeCents, incomeCents);
+        logger.log(Level.INFO, () -> "Total income updated to: " + Money.format(totalIncomeCents));
 
-        assert this.totalIncome == oldIncome + income : "Income was not added correctly";
-        
-        notifyObservers();
+        assert this.totalIncomeCents == oldIncome + incomeCents : "Income was not added correctly";
+
+        if (date != null) {
+            rollup.add(RollupCube.Kind.INCOME, null, date, incomeCents);
+        }
+        changed();
     }
 
     /**
-     * Removes income from the total income.
+     * Removes income from the total income without recording when it was received.
      *
      * @param income The amount of income to remove.
      * @throws BudgetTrackerException If the income is negative or greater than the current total income.
      */
     public void removeIncome(double income) throws BudgetTrackerException {
-        if (income < 0) {
+        removeIncome(income, null);
+    }
+
+    /**
+     * Removes income from the total income and from the month it was received in.
+     *
+     * @param income The amount of income to remove.
+     * @param date   The date the income was received, or {@code null} to leave the monthly totals alone.
+     * @throws BudgetTrackerException If the income is negative or greater than the current total income.
+     */
+    public void removeIncome(double income, LocalDate date) throws BudgetTrackerException {
+        long incomeCents = Money.toCents(income);
+        if (incomeCents < 0) {
             logger.log(Level.WARNING, "Attempted to remove negative income: " + income);
             throw new BudgetTrackerException("Income must be positive.");
         }
-        if (income > this.totalIncome) {
+        if (incomeCents > this.totalIncomeCents) {
             logger.log(Level.WARNING, "Attempted to remove more income (" + income + ") " +
-                    "than available (" + this.totalIncome + ").");
+                    "than available (" + Money.format(totalIncomeCents) + ").");
             throw new BudgetTrackerException("Cannot remove more income than the current total income.");
         }
 
-        double availableBalance = getAvailableFunds();
-        if (availableBalance - income < 0) {
+        long availableBalance = getAvailableFundsCents();
+        if (availableBalance - incomeCents < 0) {
             logger.log(Level.WARNING, "Attempted to remove more income (" + income + ") " +
-                    "than available (" + availableBalance + ").");
+                    "than available (" + Money.format(availableBalance) + ").");
             throw new BudgetTrackerException("Cannot remove this income "
                     + "as it would result in negative available funds. "
-                    + "Current expenses: " + totalExpense + ", Available balance after removal would be: " 
-                    + (availableBalance - income));
+                    + "Current expenses: " + Money.format(totalExpenseCents)
+                    + ", Available balance after removal would be: "
+                    + Money.format(availableBalance - incomeCents));
         }
         
-        double oldIncome = this.totalIncome;
-        this.totalIncome -= income;
-        logger.log(Level.INFO, "Total income updated to: " + totalIncome);
-        
-        assert this.totalIncome == oldIncome - income : "Income was not removed correctly";
-        assert this.totalIncome >= 0 : "Total income should never be negative after removal";
+        long oldIncome = this.totalIncomeCents;
+        this.totalIncomeCents -= incomeCents;
+        logger.log(Level.INFO, () -> "Total income updated to: " + Money.format(totalIncomeCents));
         
-        notifyObservers();
+        assert this.totalIncomeCents == oldIncome - incomeCents : "Income was not removed correctly";
+        assert this.totalIncomeCents >= 0 : "Total income should never be negative after removal";
+
+        if (date != null) {
+            rollup.add(RollupCube.Kind.INCOME, null, date, -incomeCents);
+        }
+        changed();
     }
 
     /**
-     * Adds an expense to the total expenses.
+     * Adds an expense to the total expenses without attributing it to a category.
      *
      * @param expense The amount of the expense to add.
      * @throws BudgetTrackerException If the expense is negative or would result in a negative balance.
      */
     public void addExpense(double expense) throws BudgetTrackerException {
-        if (expense <= 0) {
+        addExpense(expense, null);
+    }
+
+    /**
+     * Adds an expense to the total expenses and to the total of its category.
+     *
+     * @param expense  The amount of the expense to add.
+     * @param category The category of the expense, or {@code null} to leave the category totals alone.
+     * @throws BudgetTrackerException If the expense is negative or would result in a negative balance.
+     */
+    public void addExpense(double expense, Expense.Category category) throws BudgetTrackerException {
+        addExpense(expense, category, null);
+    }
+
+    /**
+     * Adds an expense to the total expenses, to the total of its category and to the month it was made in.
+     *
+     * @param expense  The amount of the expense to add.
+     * @param category The category of the expense, or {@code null} to leave the category totals alone.
+     * @param date     The date of the expense, or {@code null} to leave the monthly totals alone.
+     * @throws BudgetTrackerException If the expense is negative or would result in a negative balance.
+     */
+    public void addExpense(double expense, Expense.Category category, LocalDate date)
+            throws BudgetTrackerException {
+        assert date == null || category != null : "Monthly expense totals are kept per category";
+        long expenseCents = Money.toCents(expense);
+        if (expenseCents <= 0) {
             logger.log(Level.WARNING, "Attempted to add non-positive expense: " + expense);
             throw new BudgetTrackerException("Expense must be positive.");
         }
         
         // Check if adding this expense would result in a negative balance
-        double availableBalance = getAvailableFunds();
-        if (expense > availableBalance) {
+        long availableBalance = getAvailableFundsCents();
+        if (expenseCents > availableBalance) {
             logger.log(Level.WARNING, "Attempted to add expense (" + expense + ") " +
-                    "that exceeds available funds (" + availableBalance + ").");
+                    "that exceeds available funds (" + Money.format(availableBalance) + ").");
             throw new BudgetTrackerException("Cannot add this expense as it would exceed your available funds. "
-                    + "Available balance: " + availableBalance);
+                    + "Available balance: " + Money.format(availableBalance));
         }
-        double oldExpense = this.totalExpense;
-        this.totalExpense += expense;
-        logger.log(Level.INFO, "Total expenses updated to: " + totalExpense);
+        long oldExpense = this.totalExpenseCents;
+        this.totalExpenseCents += expenseCents;
+        logger.log(Level.INFO, () -> "Total expenses updated to: " + Money.format(totalExpenseCents));
 
-        assert this.totalExpense == oldExpense + expense : "Expense was not added correctly";
-        assert this.totalExpense >= 0 : "Total expense should remain non-negative after addition";
-        
-        notifyObservers();
+        assert this.totalExpenseCents == oldExpense + expenseCents : "Expense was not added correctly";
+        assert this.totalExpenseCents >= 0 : "Total expense should remain non-negative after addition";
+
+        if (category == null) {
+            changed();
+        } else {
+            categoryExpenseCents[category.ordinal()] += expenseCents;
+            if (date != null) {
+                rollup.add(RollupCube.Kind.EXPENSE, category, date, expenseCents);
+            }
+            changed(category, expenseCents);
+        }
     }
 
     /**
-     * Removes an expense from the total expenses.
+     * Removes an expense from the total expenses without attributing it to a category.
      *
      * @param expense The amount of the expense to remove.
      * @throws BudgetTrackerException If the expense is negative or greater than the current total expenses.
      */
     public void removeExpense(double expense) throws BudgetTrackerException {
-        if (expense <= 0) {
+        removeExpense(expense, null);
+    }
+
+    /**
+     * Removes an expense from the total expenses and from the total of its category.
+     *
+     * @param expense  The amount of the expense to remove.
+     * @param category The category of the expense, or {@code null} to leave the category totals alone.
+     * @throws BudgetTrackerException If the expense is negative or greater than the current total expenses
+     *                                or the total of its category.
+     */
+    public void removeExpense(double expense, Expense.Category category) throws BudgetTrackerException {
+        removeExpense(expense, category, null);
+    }
+
+    /**
+     * Removes an expense from the total expenses, from the total of its category and from the month
+     * it was made in.
+     *
+     * @param expense  The amount of the expense to remove.
+     * @param category The category of the expense, or {@code null} to leave the category totals alone.
+     * @param date     The date of the expense, or {@code null} to leave the monthly totals alone.
+     * @throws BudgetTrackerException If the expense is negative or greater than the current total expenses
+     *                                or the total of its category.
+     */
+    public void removeExpense(double expense, Expense.Category category, LocalDate date)
+            throws BudgetTrackerException {
+        assert date == null || category != null : "Monthly expense totals are kept per category";
+        long expenseCents = Money.toCents(expense);
+        if (expenseCents <= 0) {
             logger.log(Level.WARNING, "Attempted to remove non-positive expense: " + expense);
             throw new BudgetTrackerException("Expense must be positive.");
         }
-        if (expense > this.totalExpense) {
+        if (expenseCents > this.totalExpenseCents) {
             logger.log(Level.WARNING, "Attempted to remove more expense (" + expense + ") " +
-                    "than available (" + this.totalExpense + ").");
+                    "than available (" + Money.format(totalExpenseCents) + ").");
             throw new BudgetTrackerException("Cannot remove more expense than the current total expenses.");
         }
-        double oldExpense = this.totalExpense;
-        this.totalExpense -= expense;
-        logger.log(Level.INFO, "Total expenses updated to: " + totalExpense);
+        if (category != null && expenseCents > categoryExpenseCents[category.ordinal()]) {
+            logger.log(Level.WARNING, "Attempted to remove more expense (" + expense + ") than the "
+                    + category + " total (" + Money.format(categoryExpenseCents[category.ordinal()]) + ").");
+            throw new BudgetTrackerException("Cannot remove more expense than the current " + category + " total.");
+        }
+        long oldExpense = this.totalExpenseCents;
+        this.totalExpenseCents -= expenseCents;
+        logger.log(Level.INFO, () -> "Total expenses updated to: " + Money.format(totalExpenseCents));
 
-        assert this.totalExpense == oldExpense - expense : "Expense was not removed correctly";
-        assert this.totalExpense >= 0 : "Total expense should never be negative after removal";
-        
-        notifyObservers();
+        assert this.totalExpenseCents == oldExpense - expenseCents : "Expense was not removed correctly";
+        assert this.totalExpenseCents >= 0 : "Total expense should never be negative after removal";
+
+        if (category == null) {
+            changed();
+        } else {
+            categoryExpenseCents[category.ordinal()] -= expenseCents;
+            if (date != null) {
+                rollup.add(RollupCube.Kind.EXPENSE, category, date, -expenseCents);
+            }
+            changed(category, -expenseCents);
+        }
     }
 
     /**
-     * Adds savings to the total savings.
+     * Adds savings to the total savings without recording which month they belong to.
      *
      * @param savings The amount of savings to add.
      * @throws BudgetTrackerException If the savings are negative.
      */
     public void addSavings(double savings) throws BudgetTrackerException {
-        if (savings <= 0) {
+        addSavings(savings, null);
+    }
+
+    /**
+     * Adds savings to the total savings and to the month of the savings record they are kept in.
+     *
+     * @param savings The amount of savings to add.
+     * @param date    The date the savings record was opened, or {@code null} to leave the monthly totals alone.
+     * @throws BudgetTrackerException If the savings are negative.
+     */
+    public void addSavings(double savings, LocalDate date) throws BudgetTrackerException {
+        long savingsCents = Money.toCents(savings);
+        if (savingsCents <= 0) {
             logger.log(Level.WARNING, "Attempted to add non-positive savings: " + savings);
             throw new BudgetTrackerException("Savings must be positive.");
         }
 
-        double oldSavings = this.totalSavings;
-        this.totalSavings += savings;
-        logger.log(Level.INFO, "Total savings updated to: " + totalSavings);
+        long oldSavings = this.totalSavingsCents;
+        this.totalSavingsCents = Money.add(totalSavingsCents, savingsCents);
+        logger.log(Level.INFO, () -> "Total savings updated to: " + Money.format(totalSavingsCents));
  
-        assert this.totalSavings == oldSavings + savings : "Savings were not added correctly";
-        assert this.totalSavings >= 0 : "Total savings should remain non-negative after addition";
-  
-        notifyObservers();
+        assert this.totalSavingsCents == oldSavings + savingsCents : "Savings were not added correctly";
+        assert this.totalSavingsCents >= 0 : "Total savings should remain non-negative after addition";
+
+        if (date != null) {
+            rollup.add(RollupCube.Kind.SAVINGS, null, date, savingsCents);
+        }
+        changed();
     }
 
     /**
-     * Removes savings from the total savings.
+     * Removes savings from the total savings without recording which month they belong to.
      *
      * @param savings The amount of savings to remove.
      * @throws BudgetTrackerException If the savings are negative or greater than the current total savings.
      */
     public void removeSavings(double savings) throws BudgetTrackerException {
-        if (savings <= 0) {
+        removeSavings(savings, null);
+    }
+
+    /**
+     * Removes savings from the total savings and from the month of the savings record they were kept in.
+     *
+     * @param savings The amount of savings to remove.
+     * @param date    The date the savings record was opened, or {@code null} to leave the monthly totals alone.
+     * @throws BudgetTrackerException If the savings are negative or greater than the current total savings.
+     */
+    public void removeSavings(double savings, LocalDate date) throws BudgetTrackerException {
+        long savingsCents = Money.toCents(savings);
+        if (savingsCents <= 0) {
             logger.log(Level.WARNING, "Attempted to remove non-positive savings: " + savings);
             throw new BudgetTrackerException("Savings must be positive.");
         }
-        if (savings > this.totalSavings) {
+        if (savingsCents > this.totalSavingsCents) {
             logger.log(Level.WARNING, "Attempted to remove more savings (" + savings + ") " +
-                    "than available (" + this.totalSavings + ").");
+                    "than available (" + Money.format(totalSavingsCents) + ").");
             throw new BudgetTrackerException("Cannot remove more savings than the current total savings.");
         }
-        double oldSavings = this.totalSavings;
-        this.totalSavings -= savings;
-        logger.log(Level.INFO, "Total savings updated to: " + totalSavings);
-        
-        assert this.totalSavings == oldSavings - savings : "Savings was not removed correctly";
-        assert this.totalSavings >= 0 : "Total savings should never be negative after removal";
+        long oldSavings = this.totalSavingsCents;
+        this.totalSavingsCents -= savingsCents;
+        logger.log(Level.INFO, () -> "Total savings updated to: " + Money.format(totalSavingsCents));
         
-        notifyObservers();
+        assert this.totalSavingsCents == oldSavings - savingsCents : "Savings was not removed correctly";
+        assert this.totalSavingsCents >= 0 : "Total savings should never be negative after removal";
+
+        if (date != null) {
+            rollup.add(RollupCube.Kind.SAVINGS, null, date, -savingsCents);
+        }
+        changed();
     }
 }
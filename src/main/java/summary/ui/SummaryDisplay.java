@@ -1,6 +1,11 @@
 package summary.ui;
 
+import expenses.Expense;
+import expenses.Ui;
+import summary.RollupCube;
 import summary.Summary;
+import util.Money;
+import util.RenderCache;
 
 /**
  * Class responsible for formatting and displaying the summary information.
@@ -12,7 +17,14 @@ public class SummaryDisplay {
     private static final String EXPENSES_LABEL = "Total Expenses:";
     private static final String BALANCE_LABEL = "Available Balance:";
     private static final String SAVINGS_LABEL = "Total Savings:";
+    private static final String CATEGORY_HEADER = "===== EXPENSES BY CATEGORY =====";
+    private static final String CATEGORY_FOOTER = "=================================";
+    private static final String REPORT_HEADER = "===== MONTHLY REPORT =====";
+    private static final String REPORT_FOOTER = "==========================";
+    private static final String NOTHING_TO_REPORT = "Nothing has been recorded yet.";
     private final Summary summary;
+    private final RenderCache rendered = new RenderCache();
+    private final RenderCache renderedByCategory = new RenderCache();
 
     /**
      * Constructs a new SummaryDisplay object with summary to be printed.
@@ -23,8 +35,15 @@ public class SummaryDisplay {
     }
     /**
      * Displays the summary data (income, expenses, balance, savings) to the console.
+     * The text is only formatted again once the summary has changed since the last call.
      */
     public String displaySummary() {
+        String summaryText = rendered.get(summary.getVersion(), this::renderSummary);
+        Ui.out().println(summaryText);
+        return summaryText;
+    }
+
+    private String renderSummary() {
         StringBuilder sb = new StringBuilder(); // Use StringBuilder for efficiency
         sb.append(SUMMARY_HEADER).append("\n");
         sb.append(String.format("%-20s $%.2f%n", INCOME_LABEL, summary.getTotalIncome()));
@@ -32,9 +51,69 @@ public class SummaryDisplay {
         sb.append(String.format("%-20s $%.2f%n", BALANCE_LABEL, summary.getAvailableFunds()));
         sb.append(String.format("%-20s $%.2f%n", SAVINGS_LABEL, summary.getTotalSavings()));
         sb.append(SUMMARY_FOOTER);
-        
-        String summaryText = sb.toString();
-        System.out.println(summaryText);
-        return summaryText;
+        return sb.toString();
+    }
+
+    /**
+     * Displays the total expenses of each category, with its share of all expenses, to the console.
+     * The totals are kept by the summary, so no expenses are read.
+     */
+    public String displayCategorySummary() {
+        String categoryText = renderedByCategory.get(summary.getVersion(), this::renderCategorySummary);
+        Ui.out().println(categoryText);
+        return categoryText;
+    }
+
+    private String renderCategorySummary() {
+        long totalCents = summary.getTotalExpenseCents();
+        StringBuilder sb = new StringBuilder();
+        sb.append(CATEGORY_HEADER).append("\n");
+        for (Expense.Category category : Expense.Category.values()) {
+            long categoryCents = summary.getCategoryExpenseCents(category);
+            double share = totalCents == 0 ? 0 : 100.0 * categoryCents / totalCents;
+            sb.append(String.format("%-20s $%.2f (%.1f%%)%n", category + ":", Money.toDollars(categoryCents), share));
+        }
+        sb.append(String.format("%-20s $%.2f%n", EXPENSES_LABEL, summary.getTotalExpense()));
+        sb.append(CATEGORY_FOOTER);
+        return sb.toString();
+    }
+
+    /**
+     * Displays the income, expenses by category and savings of every month that has any, oldest first.
+     * The totals are read from the summary's rollup cube.
+     */
+    public String displayMonthlyReport() {
+        RollupCube rollup = summary.getRollup();
+        StringBuilder sb = new StringBuilder();
+        sb.append(REPORT_HEADER).append("\n");
+        boolean reported = false;
+        int lastMonth = rollup.getFirstMonth() + rollup.monthCount();
+        for (int month = rollup.getFirstMonth(); month < lastMonth; month++) {
+            if (!rollup.hasData(month)) {
+                continue;
+            }
+            reported = true;
+            sb.append(String.format("%04d-%02d%n", month / 12, month % 12 + 1));
+            appendReportLine(sb, "  Income:", rollup.get(month, RollupCube.Kind.INCOME, null));
+            appendReportLine(sb, "  Expenses:", rollup.getExpenses(month));
+            for (Expense.Category category : Expense.Category.values()) {
+                long cents = rollup.get(month, RollupCube.Kind.EXPENSE, category);
+                if (cents != 0) {
+                    appendReportLine(sb, "    " + category + ":", cents);
+                }
+            }
+            appendReportLine(sb, "  Savings:", rollup.get(month, RollupCube.Kind.SAVINGS, null));
+        }
+        if (!reported) {
+            sb.append(NOTHING_TO_REPORT).append("\n");
+        }
+        sb.append(REPORT_FOOTER);
+        String reportText = sb.toString();
+        Ui.out().println(reportText);
+        return reportText;
+    }
+
+    private static void appendReportLine(StringBuilder sb, String label, long cents) {
+        sb.append(String.format("%-20s $%.2f%n", label, Money.toDollars(cents)));
     }
 }
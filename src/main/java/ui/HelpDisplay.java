@@ -1,5 +1,7 @@
 package ui;
 
+import expenses.Ui;
+
 /**
  * Displays concise help information, categorized and with customizable headings.
  */
@@ -36,12 +38,19 @@ public class HelpDisplay {
         addCategory(INCOME_HEADING);
         addCommandHelp("add income <AMOUNT> / <SOURCE>", "Adds an income record.");
         addCommandHelp("delete income <INDEX>", "Deletes an income record by index.");
-        addCommandHelp("view income", "Lists all income records.");
+        addCommandHelp("view income [page <N>] [size <M>]", "Lists all income records, or one page of them.");
+        addCommandHelp("find income <KEYWORDS>", "Lists the income records whose source contains every keyword.");
 
         addCategory(EXPENSE_HEADING);
-        addCommandHelp("add expense <AMOUNT> / <DESCRIPTION> / <CATEGORY>", "Adds an expense record.");
+        addCommandHelp("add expense <AMOUNT> / <DESCRIPTION> / <CATEGORY>",
+                "Adds an expense record. Append / d:<YYYY-MM-DD> to date it.");
         addCommandHelp("delete expense <INDEX>", "Deletes an expense record by index.");
-        addCommandHelp("view expense", "Lists all expense records.");
+        addCommandHelp("view expense [page <N>] [size <M>]", "Lists all expense records, or one page of them.");
+        addCommandHelp("view expense from <YYYY-MM-DD> to <YYYY-MM-DD>",
+                "Shows the total expenses of each category between two dates.");
+        addCommandHelp("view expense top <K> [<CATEGORY>]", "Lists the K largest expenses, or those of one category.");
+        addCommandHelp("view expense stats", "Shows the median, 90th and 99th percentile expense of each category.");
+        addCommandHelp("find expense <KEYWORDS>", "Lists the expenses whose description contains every keyword.");
 
         addCategory(SAVINGS_HEADING);
         addCommandHelp("add savings <AMOUNT> / <SAVINGS GOAL>", "Adds a savings record with savings goal.");
@@ -52,6 +61,9 @@ public class HelpDisplay {
 
         addCategory(SUMMARY_HEADING);
         addCommandHelp("view summary", "Lists all income, expense and saving records.");
+        addCommandHelp("view summary category", "Shows the total expenses of each category.");
+        addCommandHelp("report monthly", "Shows the income, expenses and savings of each month.");
+        addCommandHelp("report rebuild", "Recomputes the monthly totals from every record.");
 
         addCategory(GOALS_HEADING);
         addCommandHelp("savings goal set <AMOUNT> / <DESCRIPTION>", "Sets a new savings goal.");
@@ -64,6 +76,7 @@ public class HelpDisplay {
 
         addCategory(GENERAL_HEADING);
         addCommandHelp("help", "Displays this help message.");
+        addCommandHelp("stats memory", "Shows how much memory sharing repeated descriptions saves.");
 
         helpText.append(HELP_FOOTER);
     }
@@ -111,6 +124,6 @@ public class HelpDisplay {
      * Displays the help text to the console.
      */
     public void display() {
-        System.out.println(helpText);
+        Ui.out().println(helpText);
     }
 }
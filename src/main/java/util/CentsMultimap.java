@@ -0,0 +1,172 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Hash multimap from an amount in cents to the ids of the entries holding that amount,
+ * built on primitive arrays so that neither keys nor ids are boxed. Keys are kept in an
+ * open-addressing table with linear probing; the ids under each key are kept sorted, so
+ * the smallest id, which belongs to the earliest entry, is always first.
+ *
+ * <p>Finding, adding and removing are O(1) on average, plus O(k) for the k ids that
+ * share the amount, however many amounts are stored.
+ */
+public class CentsMultimap {
+    /** Returned by {@link #first(long)} when no entry holds the amount. */
+    public static final int NONE = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int[][] ids = new int[INITIAL_CAPACITY][];
+    private int[] counts = new int[INITIAL_CAPACITY];
+    private int keyCount;
+
+    /**
+     * Records that the entry with the given id holds the given amount.
+     *
+     * @param cents The amount in cents.
+     * @param id    The id of the entry, not already recorded under this amount.
+     */
+    public void put(long cents, int id) {
+        int bucket = find(cents);
+        if (ids[bucket] == null) {
+            if (2 * (keyCount + 1) > keys.length) {
+                grow();
+                bucket = find(cents);
+            }
+            keys[bucket] = cents;
+            ids[bucket] = new int[2];
+            keyCount++;
+        }
+        int[] bucketIds = ids[bucket];
+        int count = counts[bucket];
+        if (count == bucketIds.length) {
+            bucketIds = Arrays.copyOf(bucketIds, count * 2);
+            ids[bucket] = bucketIds;
+        }
+        int at = count;
+        while (at > 0 && bucketIds[at - 1] > id) {
+            bucketIds[at] = bucketIds[at - 1];
+            at--;
+        }
+        assert at == 0 || bucketIds[at - 1] != id : "An id is recorded under an amount once";
+        bucketIds[at] = id;
+        counts[bucket] = count + 1;
+    }
+
+    /**
+     * Records that the entry with the given id no longer holds the given amount.
+     *
+     * @param cents The amount in cents.
+     * @param id    The id of the entry.
+     * @return True if the id was recorded under the amount.
+     */
+    public boolean remove(long cents, int id) {
+        int bucket = find(cents);
+        if (ids[bucket] == null) {
+            return false;
+        }
+        int[] bucketIds = ids[bucket];
+        int count = counts[bucket];
+        int at = 0;
+        while (at < count && bucketIds[at] != id) {
+            at++;
+        }
+        if (at == count) {
+            return false;
+        }
+        System.arraycopy(bucketIds, at + 1, bucketIds, at, count - at - 1);
+        counts[bucket] = count - 1;
+        if (count == 1) {
+            deleteBucket(bucket);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the smallest id recorded under an amount.
+     *
+     * @param cents The amount in cents.
+     * @return The smallest id, or {@link #NONE} if no entry holds the amount.
+     */
+    public int first(long cents) {
+        int bucket = find(cents);
+        return ids[bucket] == null ? NONE : ids[bucket][0];
+    }
+
+    /**
+     * Returns the number of distinct amounts recorded.
+     *
+     * @return The number of amounts.
+     */
+    public int size() {
+        return keyCount;
+    }
+
+    /**
+     * Removes every amount.
+     */
+    public void clear() {
+        Arrays.fill(ids, null);
+        Arrays.fill(counts, 0);
+        keyCount = 0;
+    }
+
+    /**
+     * Returns the bucket holding the amount, or the empty bucket where it would go.
+     */
+    private int find(long cents) {
+        int mask = keys.length - 1;
+        int bucket = hash(cents) & mask;
+        while (ids[bucket] != null && keys[bucket] != cents) {
+            bucket = (bucket + 1) & mask;
+        }
+        return bucket;
+    }
+
+    /**
+     * Empties a bucket and moves later buckets of the same probe run back into the gap,
+     * so that every remaining key can still be found without tombstones.
+     */
+    private void deleteBucket(int bucket) {
+        int mask = keys.length - 1;
+        ids[bucket] = null;
+        counts[bucket] = 0;
+        keyCount--;
+        int gap = bucket;
+        for (int next = (gap + 1) & mask; ids[next] != null; next = (next + 1) & mask) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                ids[gap] = ids[next];
+                counts[gap] = counts[next];
+                ids[next] = null;
+                counts[next] = 0;
+                gap = next;
+            }
+        }
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[][] oldIds = ids;
+        int[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        ids = new int[oldKeys.length * 2][];
+        counts = new int[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldIds[i] != null) {
+                int bucket = find(oldKeys[i]);
+                keys[bucket] = oldKeys[i];
+                ids[bucket] = oldIds[i];
+                counts[bucket] = oldCounts[i];
+            }
+        }
+    }
+
+    private static int hash(long cents) {
+        long mixed = cents * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+}
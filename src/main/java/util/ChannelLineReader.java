@@ -0,0 +1,117 @@
+package util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a UTF-8 text file line by line through a {@link FileChannel}, decoding large
+ * blocks at a time into a reused buffer. Lines end at {@code \n}, and a {@code \r}
+ * before it is dropped. Bytes that are not valid UTF-8 are replaced rather than
+ * rejected, so one bad line in an exported file does not stop the whole file.
+ */
+public class ChannelLineReader implements AutoCloseable {
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer bytes;
+    private final CharBuffer chars;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final StringBuilder line = new StringBuilder();
+    private boolean endOfInput;
+    private boolean drained;
+
+    private ChannelLineReader(FileChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.bytes = ByteBuffer.allocateDirect(bufferSize);
+        this.chars = CharBuffer.allocate(bufferSize);
+        chars.flip();
+    }
+
+    /**
+     * Opens the file with the default buffer size.
+     *
+     * @param path The file to read.
+     * @return A reader positioned at the first line.
+     * @throws IOException If the file cannot be opened.
+     */
+    public static ChannelLineReader open(Path path) throws IOException {
+        return open(path, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Opens the file with the given buffer size.
+     *
+     * @param path       The file to read.
+     * @param bufferSize Number of bytes read from the file at a time, at least 4.
+     * @return A reader positioned at the first line.
+     * @throws IOException If the file cannot be opened.
+     */
+    public static ChannelLineReader open(Path path, int bufferSize) throws IOException {
+        assert bufferSize >= 4 : "Buffer must hold at least one encoded character";
+        return new ChannelLineReader(FileChannel.open(path, StandardOpenOption.READ), bufferSize);
+    }
+
+    /**
+     * Reads the next line.
+     *
+     * @return The line without its line terminator, or {@code null} at the end of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    public String readLine() throws IOException {
+        line.setLength(0);
+        while (true) {
+            while (chars.hasRemaining()) {
+                char c = chars.get();
+                if (c == '\n') {
+                    return finishLine();
+                }
+                line.append(c);
+            }
+            if (!fill()) {
+                return line.length() > 0 ? finishLine() : null;
+            }
+        }
+    }
+
+    private String finishLine() {
+        int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+            line.setLength(length - 1);
+        }
+        return line.toString();
+    }
+
+    private boolean fill() throws IOException {
+        chars.clear();
+        while (chars.position() == 0 && !drained) {
+            if (channel.read(bytes) < 0) {
+                endOfInput = true;
+            }
+            bytes.flip();
+            CoderResult result = decoder.decode(bytes, chars, endOfInput);
+            assert !result.isError() : "Malformed input is replaced, not reported";
+            bytes.compact();
+            if (endOfInput) {
+                decoder.flush(chars);
+                drained = true;
+            }
+        }
+        chars.flip();
+        return chars.hasRemaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,274 @@
+package util;
+
+/**
+ * Cursor over a command line that reads keywords, separators and values in place,
+ * using offsets into the line rather than splitting it into substrings.
+ *
+ * <p>Values are read from the cursor up to a given end offset, with surrounding
+ * whitespace ignored, and the cursor then moves to that offset. Amounts are parsed
+ * straight to cents and numbers straight to {@code int}; only text that is kept,
+ * such as a description, becomes a {@code String}.
+ */
+public class CommandTokenizer {
+    private final CharSequence line;
+    private int position;
+
+    /**
+     * Creates a tokenizer positioned at the start of the line.
+     *
+     * @param line The command line to read.
+     */
+    public CommandTokenizer(CharSequence line) {
+        assert line != null : "Command line cannot be null";
+        this.line = line;
+    }
+
+    /**
+     * Returns the offset of the cursor.
+     *
+     * @return The current offset.
+     */
+    public int position() {
+        return position;
+    }
+
+    /**
+     * Returns the length of the line.
+     *
+     * @return The offset just after the last character of the line.
+     */
+    public int length() {
+        return line.length();
+    }
+
+    /**
+     * Moves the cursor to the given offset.
+     *
+     * @param offset The new offset.
+     */
+    public void moveTo(int offset) {
+        assert offset >= 0 && offset <= line.length() : "Offset outside the command line";
+        position = offset;
+    }
+
+    /**
+     * Skips whitespace and then the given word, if the line continues with that word
+     * followed by whitespace or the end of the line.
+     *
+     * @param word       The word to skip.
+     * @param ignoreCase Whether letter case may differ.
+     * @return True if the word was skipped; otherwise the cursor does not move.
+     */
+    public boolean skipWord(String word, boolean ignoreCase) {
+        int start = skipWhitespace(position, line.length());
+        int end = start + word.length();
+        if (end > line.length() || !regionMatches(start, word, ignoreCase)
+                || (end < line.length() && !isWhitespace(line.charAt(end)))) {
+            return false;
+        }
+        position = end;
+        return true;
+    }
+
+    /**
+     * Skips the given text if the line continues with it exactly at the cursor.
+     *
+     * @param text The text to skip.
+     * @return True if the text was skipped; otherwise the cursor does not move.
+     */
+    public boolean skipText(String text) {
+        if (position + text.length() > line.length() || !regionMatches(position, text, false)) {
+            return false;
+        }
+        position += text.length();
+        return true;
+    }
+
+    /**
+     * Finds the next occurrence of the given text at or after the cursor.
+     *
+     * @param text The text to look for, such as a {@code " / "} separator.
+     * @return Its offset, or -1 if it does not occur.
+     */
+    public int indexOf(String text) {
+        for (int i = position; i + text.length() <= line.length(); i++) {
+            if (regionMatches(i, text, false)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Skips whitespace and returns the offset just after the word that follows.
+     *
+     * @return The end of the next word, which equals the cursor if no word is left.
+     */
+    public int nextWordEnd() {
+        position = skipWhitespace(position, line.length());
+        int end = position;
+        while (end < line.length() && !isWhitespace(line.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Counts the whitespace-separated words from the cursor to the end of the line.
+     *
+     * @return The number of words left.
+     */
+    public int remainingWords() {
+        return remainingWords(line.length());
+    }
+
+    /**
+     * Counts the whitespace-separated words between the cursor and the given offset.
+     *
+     * @param end The offset to count up to.
+     * @return The number of words before {@code end}.
+     */
+    public int remainingWords(int end) {
+        int words = 0;
+        int i = position;
+        while (true) {
+            i = skipWhitespace(i, end);
+            if (i == end) {
+                return words;
+            }
+            words++;
+            while (i < end && !isWhitespace(line.charAt(i))) {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Returns whether only whitespace lies between the cursor and the given offset.
+     *
+     * @param end The offset to look up to.
+     * @return True if nothing but whitespace is left before {@code end}.
+     */
+    public boolean isBlank(int end) {
+        return skipWhitespace(position, end) == end;
+    }
+
+    /**
+     * Returns whether only whitespace is left on the line.
+     *
+     * @return True if nothing but whitespace is left.
+     */
+    public boolean isBlank() {
+        return isBlank(line.length());
+    }
+
+    /**
+     * Reads an amount of money from the cursor up to the given offset.
+     *
+     * @param end The offset just after the amount.
+     * @return The amount in cents.
+     * @throws NumberFormatException If the range is not a plain decimal amount.
+     */
+    public long readCents(int end) {
+        long cents = Money.parse(line, position, end);
+        position = end;
+        return cents;
+    }
+
+    /**
+     * Reads a whole number from the cursor up to the given offset, accepting the same
+     * input as {@link Integer#parseInt(String)} once surrounding whitespace is removed.
+     *
+     * @param end The offset just after the number.
+     * @return The number.
+     * @throws NumberFormatException If the range is not a whole number that fits in an {@code int}.
+     */
+    public int readInt(int end) {
+        int start = skipWhitespace(position, end);
+        int last = trimEnd(start, end);
+        int i = start;
+        boolean negative = false;
+        if (i < last && (line.charAt(i) == '-' || line.charAt(i) == '+')) {
+            negative = line.charAt(i) == '-';
+            i++;
+        }
+        if (i == last) {
+            throw new NumberFormatException("Not a whole number: \"" + line.subSequence(start, last) + "\"");
+        }
+        long value = 0;
+        for (; i < last; i++) {
+            char c = line.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new NumberFormatException("Not a whole number: \"" + line.subSequence(start, last) + "\"");
+            }
+            value = value * 10 + (c - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw new NumberFormatException("Number too large: \"" + line.subSequence(start, last) + "\"");
+            }
+        }
+        if (negative) {
+            value = -value;
+        }
+        if (value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Number too large: \"" + line.subSequence(start, last) + "\"");
+        }
+        position = end;
+        return (int) value;
+    }
+
+    /**
+     * Reads a single-character code, such as a category letter, from the cursor up to the given offset.
+     *
+     * @param end The offset just after the code.
+     * @return The character, or {@code 0} if the range does not hold exactly one non-whitespace character.
+     */
+    public char readCode(int end) {
+        int start = skipWhitespace(position, end);
+        int last = trimEnd(start, end);
+        position = end;
+        return last - start == 1 ? line.charAt(start) : 0;
+    }
+
+    /**
+     * Reads text from the cursor up to the given offset, without surrounding whitespace.
+     *
+     * @param end The offset just after the text.
+     * @return The text.
+     */
+    public String readText(int end) {
+        int start = skipWhitespace(position, end);
+        int last = trimEnd(start, end);
+        position = end;
+        return line.subSequence(start, last).toString();
+    }
+
+    private boolean regionMatches(int offset, String text, boolean ignoreCase) {
+        for (int i = 0; i < text.length(); i++) {
+            char actual = line.charAt(offset + i);
+            char expected = text.charAt(i);
+            if (actual != expected && !(ignoreCase
+                    && Character.toLowerCase(actual) == Character.toLowerCase(expected))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int skipWhitespace(int from, int end) {
+        while (from < end && isWhitespace(line.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    private int trimEnd(int start, int end) {
+        while (end > start && isWhitespace(line.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c <= ' ';
+    }
+}
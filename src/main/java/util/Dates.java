@@ -0,0 +1,70 @@
+package util;
+
+import exceptions.BudgetTrackerException;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Converts the dates of entries to and from the day numbers they are stored as. A day
+ * number is the number of days since 1970-01-01, as given by {@link LocalDate#toEpochDay()}.
+ */
+public final class Dates {
+    /** Earliest year a date may be entered for. */
+    public static final int MIN_YEAR = 1900;
+    /** Latest year a date may be entered for. */
+    public static final int MAX_YEAR = 2199;
+
+    private Dates() {}
+
+    /**
+     * Returns today's day number.
+     *
+     * @return The day number of the current date.
+     */
+    public static int today() {
+        return toDay(LocalDate.now());
+    }
+
+    /**
+     * Returns the day number of a date.
+     *
+     * @param date The date.
+     * @return The number of days since 1970-01-01.
+     */
+    public static int toDay(LocalDate date) {
+        return (int) date.toEpochDay();
+    }
+
+    /**
+     * Returns the date of a day number.
+     *
+     * @param day The number of days since 1970-01-01.
+     * @return The date.
+     */
+    public static LocalDate toDate(int day) {
+        return LocalDate.ofEpochDay(day);
+    }
+
+    /**
+     * Parses a date entered as {@code YYYY-MM-DD}.
+     *
+     * @param text The date as entered.
+     * @return The day number of the date.
+     * @throws BudgetTrackerException If the text is not a valid date between {@value #MIN_YEAR}
+     *                                and {@value #MAX_YEAR}.
+     */
+    public static int parse(String text) throws BudgetTrackerException {
+        LocalDate date;
+        try {
+            date = LocalDate.parse(text);
+        } catch (DateTimeException e) {
+            throw new BudgetTrackerException("Invalid date: " + text + ". Please use the format YYYY-MM-DD.");
+        }
+        if (date.getYear() < MIN_YEAR || date.getYear() > MAX_YEAR) {
+            throw new BudgetTrackerException("Dates must lie between the years " + MIN_YEAR + " and "
+                    + MAX_YEAR + ".");
+        }
+        return toDay(date);
+    }
+}
@@ -0,0 +1,100 @@
+package util;
+
+/**
+ * Running amounts in cents per day, held in a Fenwick (binary indexed) tree so that both
+ * recording an amount and summing any range of days take O(log d), where d is the number
+ * of days between the earliest and latest day recorded. The cost does not depend on how
+ * many amounts were recorded.
+ *
+ * <p>The tree covers a window of consecutive days that doubles whenever an amount falls
+ * outside it; the window is rebuilt in linear time, so growing is cheap over many updates.
+ */
+public class DayTotals {
+    private static final int INITIAL_DAYS = 512;
+
+    private long[] tree = new long[INITIAL_DAYS + 1];
+    private int firstDay;
+    private boolean used;
+
+    /**
+     * Adds an amount to the total of a day. A negative amount removes it again.
+     *
+     * @param day   The day number.
+     * @param cents The amount in cents.
+     */
+    public void add(int day, long cents) {
+        cover(day);
+        for (int i = day - firstDay + 1; i < tree.length; i += i & -i) {
+            tree[i] += cents;
+        }
+    }
+
+    /**
+     * Returns the sum of the amounts recorded for the days in a range.
+     *
+     * @param fromDay The first day of the range.
+     * @param toDay   The last day of the range, inclusive.
+     * @return The total in cents, or 0 if the range is empty.
+     */
+    public long sum(int fromDay, int toDay) {
+        if (!used || fromDay > toDay) {
+            return 0;
+        }
+        return prefix(toDay) - prefix(fromDay - 1);
+    }
+
+    /**
+     * Returns the sum of the amounts recorded up to and including a day.
+     */
+    private long prefix(int day) {
+        long total = 0;
+        int i = (int) Math.min((long) day - firstDay + 1, tree.length - 1);
+        for (; i > 0; i -= i & -i) {
+            total += tree[i];
+        }
+        return total;
+    }
+
+    /**
+     * Makes sure the window includes the given day, moving or widening it as needed.
+     */
+    private void cover(int day) {
+        int days = tree.length - 1;
+        if (!used) {
+            firstDay = day - days / 2;
+            used = true;
+            return;
+        }
+        if (day >= firstDay && day - firstDay < days) {
+            return;
+        }
+        int newFirstDay = Math.min(firstDay, day);
+        long span = (long) Math.max(firstDay + days - 1, day) - newFirstDay + 1;
+        int newDays = days;
+        while (newDays < span) {
+            newDays *= 2;
+        }
+        // Leave room on the side the window grew towards, so a run of earlier dates does not rebuild every time.
+        if (day < firstDay) {
+            newFirstDay = (int) Math.max(Integer.MIN_VALUE, (long) firstDay + days - newDays);
+        }
+
+        long[] values = tree;
+        for (int i = values.length - 1; i > 0; i--) {
+            int parent = i + (i & -i);
+            if (parent < values.length) {
+                values[parent] -= values[i];
+            }
+        }
+        long[] grown = new long[newDays + 1];
+        System.arraycopy(values, 1, grown, firstDay - newFirstDay + 1, days);
+        for (int i = 1; i < grown.length; i++) {
+            int parent = i + (i & -i);
+            if (parent < grown.length) {
+                grown[parent] += grown[i];
+            }
+        }
+        tree = grown;
+        firstDay = newFirstDay;
+    }
+}
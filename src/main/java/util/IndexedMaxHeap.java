@@ -0,0 +1,236 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Binary max-heap of slots keyed by amount, with the heap position of every slot kept so
+ * that any slot can be removed in O(log n), not only the largest. Equal amounts are
+ * ordered by slot, so the earlier entry comes first.
+ *
+ * <p>The heap is never popped to answer a query. {@link #top(int, IndexedMaxHeap...)}
+ * walks it best-first instead, which finds the K largest entries of one or more heaps in
+ * O(K log K) without changing them.
+ */
+public class IndexedMaxHeap {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int[] slots = new int[INITIAL_CAPACITY];
+    private int size;
+    /** One more than the heap position of each slot, or 0 if the slot is not in the heap. */
+    private int[] positions = new int[INITIAL_CAPACITY];
+
+    /**
+     * Adds a slot with the given amount.
+     *
+     * @param slot The slot, not already in the heap.
+     * @param key  The amount to order it by.
+     */
+    public void add(int slot, long key) {
+        if (slot >= positions.length) {
+            positions = Arrays.copyOf(positions, Math.max(slot + 1, positions.length * 2));
+        }
+        assert positions[slot] == 0 : "A slot is added to the heap once";
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            slots = Arrays.copyOf(slots, size * 2);
+        }
+        keys[size] = key;
+        slots[size] = slot;
+        positions[slot] = size + 1;
+        siftUp(size++);
+    }
+
+    /**
+     * Removes a slot from the heap.
+     *
+     * @param slot The slot to remove.
+     * @return True if the slot was in the heap.
+     */
+    public boolean remove(int slot) {
+        if (slot >= positions.length || positions[slot] == 0) {
+            return false;
+        }
+        int at = positions[slot] - 1;
+        positions[slot] = 0;
+        size--;
+        if (at < size) {
+            keys[at] = keys[size];
+            slots[at] = slots[size];
+            positions[slots[at]] = at + 1;
+            siftUp(at);
+            siftDown(positions[slots[at]] - 1);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of slots in the heap.
+     *
+     * @return The number of slots.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Replaces every slot with the slot at that index of the given mapping, after the owner
+     * has packed its arrays. The mapping must keep the slots in order, so the heap stays
+     * valid without being rebuilt.
+     *
+     * @param newSlots The new slot of each old slot.
+     */
+    public void renumber(int[] newSlots) {
+        Arrays.fill(positions, 0);
+        for (int i = 0; i < size; i++) {
+            slots[i] = newSlots[slots[i]];
+            positions[slots[i]] = i + 1;
+        }
+    }
+
+    /**
+     * Removes every slot.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[slots[i]] = 0;
+        }
+        size = 0;
+    }
+
+    /**
+     * Returns the slots with the largest amounts across the given heaps, largest first. Only
+     * the entries that could be among the largest are visited: starting from the root of each
+     * heap, a small frontier heap holds the candidates, and taking one makes its two children
+     * candidates.
+     *
+     * @param k     The number of slots wanted.
+     * @param heaps The heaps to take them from.
+     * @return Up to {@code k} slots, ordered by amount and then by slot.
+     */
+    public static int[] top(int k, IndexedMaxHeap... heaps) {
+        assert k >= 0 : "Cannot take a negative number of entries";
+        int available = 0;
+        for (IndexedMaxHeap heap : heaps) {
+            available += heap.size;
+        }
+        int[] found = new int[Math.min(k, available)];
+        int capacity = heaps.length + 2 * found.length;
+        int[] frontierHeaps = new int[capacity];
+        int[] frontierPositions = new int[capacity];
+        int frontierSize = 0;
+        for (int h = 0; h < heaps.length; h++) {
+            if (heaps[h].size > 0) {
+                frontierSize = push(heaps, frontierHeaps, frontierPositions, frontierSize, h, 0);
+            }
+        }
+        for (int i = 0; i < found.length; i++) {
+            int heapIndex = frontierHeaps[0];
+            IndexedMaxHeap heap = heaps[heapIndex];
+            int position = frontierPositions[0];
+            found[i] = heap.slots[position];
+
+            frontierSize--;
+            frontierHeaps[0] = frontierHeaps[frontierSize];
+            frontierPositions[0] = frontierPositions[frontierSize];
+            siftDownFrontier(heaps, frontierHeaps, frontierPositions, frontierSize);
+            for (int child = 2 * position + 1; child <= 2 * position + 2 && child < heap.size; child++) {
+                frontierSize = push(heaps, frontierHeaps, frontierPositions, frontierSize, heapIndex, child);
+            }
+        }
+        return found;
+    }
+
+    private static int push(IndexedMaxHeap[] heaps, int[] frontierHeaps, int[] frontierPositions,
+                            int frontierSize, int heapIndex, int position) {
+        int at = frontierSize;
+        while (at > 0) {
+            int parent = (at - 1) / 2;
+            if (!above(heaps[heapIndex], position, heaps[frontierHeaps[parent]], frontierPositions[parent])) {
+                break;
+            }
+            frontierHeaps[at] = frontierHeaps[parent];
+            frontierPositions[at] = frontierPositions[parent];
+            at = parent;
+        }
+        frontierHeaps[at] = heapIndex;
+        frontierPositions[at] = position;
+        return frontierSize + 1;
+    }
+
+    private static void siftDownFrontier(IndexedMaxHeap[] heaps, int[] frontierHeaps, int[] frontierPositions,
+                                         int frontierSize) {
+        int at = 0;
+        while (true) {
+            int best = at;
+            for (int child = 2 * at + 1; child <= 2 * at + 2 && child < frontierSize; child++) {
+                if (above(heaps[frontierHeaps[child]], frontierPositions[child],
+                        heaps[frontierHeaps[best]], frontierPositions[best])) {
+                    best = child;
+                }
+            }
+            if (best == at) {
+                return;
+            }
+            int heapIndex = frontierHeaps[at];
+            int position = frontierPositions[at];
+            frontierHeaps[at] = frontierHeaps[best];
+            frontierPositions[at] = frontierPositions[best];
+            frontierHeaps[best] = heapIndex;
+            frontierPositions[best] = position;
+            at = best;
+        }
+    }
+
+    /**
+     * Returns whether the entry at position {@code i} of heap {@code a} comes before the
+     * entry at position {@code j} of heap {@code b}.
+     */
+    private static boolean above(IndexedMaxHeap a, int i, IndexedMaxHeap b, int j) {
+        return a.keys[i] > b.keys[j] || (a.keys[i] == b.keys[j] && a.slots[i] < b.slots[j]);
+    }
+
+    private void siftUp(int at) {
+        long key = keys[at];
+        int slot = slots[at];
+        while (at > 0) {
+            int parent = (at - 1) / 2;
+            if (keys[parent] > key || (keys[parent] == key && slots[parent] < slot)) {
+                break;
+            }
+            move(parent, at);
+            at = parent;
+        }
+        keys[at] = key;
+        slots[at] = slot;
+        positions[slot] = at + 1;
+    }
+
+    private void siftDown(int at) {
+        long key = keys[at];
+        int slot = slots[at];
+        while (true) {
+            int child = 2 * at + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && above(this, child + 1, this, child)) {
+                child++;
+            }
+            if (key > keys[child] || (key == keys[child] && slot < slots[child])) {
+                break;
+            }
+            move(child, at);
+            at = child;
+        }
+        keys[at] = key;
+        slots[at] = slot;
+        positions[slot] = at + 1;
+    }
+
+    private void move(int from, int to) {
+        keys[to] = keys[from];
+        slots[to] = slots[from];
+        positions[slots[to]] = to + 1;
+    }
+}
@@ -0,0 +1,126 @@
+package util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * List that supports appending at the end and O(log n) access, replacement and removal
+ * by position, for lists the user numbers from 1 and deletes from by that number.
+ * Inserting in the middle is not supported. Iterating is linear. Every change increases
+ * the list's {@linkplain #getVersion() version}.
+ *
+ * @param <E> The type of the elements, which may not be {@code null}.
+ */
+public class IndexedSequence<E> extends AbstractList<E> {
+    private final RankIndex index = new RankIndex();
+    private Object[] slots = new Object[16];
+    private long version;
+
+    @Override
+    public boolean add(E element) {
+        assert element != null : "Elements of an indexed sequence cannot be null";
+        int slot = index.append();
+        if (slot == slots.length) {
+            slots = Arrays.copyOf(slots, slots.length * 2);
+        }
+        slots[slot] = element;
+        modCount++;
+        version++;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int position) {
+        return (E) slots[index.slotOf(position)];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int position, E element) {
+        assert element != null : "Elements of an indexed sequence cannot be null";
+        int slot = index.slotOf(position);
+        E previous = (E) slots[slot];
+        slots[slot] = element;
+        version++;
+        return previous;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int position) {
+        int slot = index.remove(position);
+        E removed = (E) slots[slot];
+        slots[slot] = null;
+        modCount++;
+        version++;
+        if (index.needsCompaction()) {
+            compact();
+        }
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(slots, 0, index.slotCount(), null);
+        index.clear();
+        modCount++;
+        version++;
+    }
+
+    /**
+     * Returns the modification version of the list, which changes whenever an element
+     * is added, replaced or removed.
+     *
+     * @return The current version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int nextSlot = index.nextLive(0);
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return nextSlot >= 0;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (nextSlot < 0) {
+                    throw new NoSuchElementException();
+                }
+                E element = (E) slots[nextSlot];
+                nextSlot = index.nextLive(nextSlot + 1);
+                return element;
+            }
+        };
+    }
+
+    private void compact() {
+        int packed = 0;
+        for (int slot = 0; slot < index.slotCount(); slot++) {
+            if (slots[slot] != null) {
+                slots[packed++] = slots[slot];
+            }
+        }
+        Arrays.fill(slots, packed, index.slotCount(), null);
+        index.reset(packed);
+    }
+}
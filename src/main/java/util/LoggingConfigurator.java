@@ -43,6 +43,14 @@ public class LoggingConfigurator {
         }
     }
 
+    /**
+     * Keeps only warnings and errors from the Summary class, for batch runs where
+     * logging every change to the totals would cost more than making it.
+     */
+    public static void quietSummaryLogging() {
+        Logger.getLogger(Summary.class.getName()).setLevel(Level.WARNING);
+    }
+
     /**
      * Configures logging to redirect logs specifically from the alerts package 
      * to a file named alerts.log within the logs directory.
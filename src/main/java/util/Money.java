@@ -0,0 +1,212 @@
+package util;
+
+import exceptions.BudgetTrackerException;
+
+/**
+ * Utility class for amounts of money held as a primitive {@code long} number of cents.
+ * Sums of cents are exact, so totals never drift the way repeated {@code double}
+ * additions do, and parsing and formatting work on the digits directly without
+ * creating intermediate objects.
+ */
+public class Money {
+    private static final long MAX_WHOLE_DOLLARS = Long.MAX_VALUE / 100;
+
+    private Money() {}
+
+    /**
+     * Converts an amount in dollars to cents, rounding to the nearest cent.
+     *
+     * @param amount The amount in dollars.
+     * @return The amount in cents.
+     */
+    public static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    /**
+     * Converts an amount in cents to dollars.
+     *
+     * @param cents The amount in cents.
+     * @return The amount in dollars.
+     */
+    public static double toDollars(long cents) {
+        return cents / 100.0;
+    }
+
+    /**
+     * Adds two amounts of cents.
+     *
+     * @param cents      The first amount.
+     * @param otherCents The amount to add.
+     * @return The sum in cents.
+     * @throws BudgetTrackerException If the sum does not fit in a {@code long}.
+     */
+    public static long add(long cents, long otherCents) throws BudgetTrackerException {
+        long sum = cents + otherCents;
+        if (((cents ^ sum) & (otherCents ^ sum)) < 0) {
+            throw new BudgetTrackerException("Amount is too large to be recorded.");
+        }
+        return sum;
+    }
+
+    /**
+     * Subtracts one amount of cents from another.
+     *
+     * @param cents      The amount to subtract from.
+     * @param otherCents The amount to subtract.
+     * @return The difference in cents.
+     * @throws BudgetTrackerException If the difference does not fit in a {@code long}.
+     */
+    public static long subtract(long cents, long otherCents) throws BudgetTrackerException {
+        long difference = cents - otherCents;
+        if (((cents ^ otherCents) & (cents ^ difference)) < 0) {
+            throw new BudgetTrackerException("Amount is too large to be recorded.");
+        }
+        return difference;
+    }
+
+    /**
+     * Parses a plain decimal amount such as {@code 12}, {@code -3.5} or {@code 120.75} into cents.
+     * Surrounding whitespace is ignored and digits after the second decimal place are rounded
+     * half up. Exponents, {@code NaN} and {@code Infinity} are not accepted.
+     *
+     * @param text The amount in dollars.
+     * @return The amount in cents.
+     * @throws NumberFormatException If the text is not a plain decimal amount or is too large.
+     */
+    public static long parse(CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * Parses the plain decimal amount between two offsets of a larger text into cents,
+     * in the same way as {@link #parse(CharSequence)}.
+     *
+     * @param text  The text containing the amount.
+     * @param start The offset of the first character of the amount.
+     * @param end   The offset just after the last character of the amount.
+     * @return The amount in cents.
+     * @throws NumberFormatException If the range is not a plain decimal amount or is too large.
+     */
+    public static long parse(CharSequence text, int start, int end) {
+        int length = end;
+        while (length > start && text.charAt(length - 1) <= ' ') {
+            length--;
+        }
+        int i = start;
+        while (i < length && text.charAt(i) <= ' ') {
+            i++;
+        }
+        boolean negative = false;
+        if (i < length && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+
+        long dollars = 0;
+        int digits = 0;
+        while (i < length && isDigit(text.charAt(i))) {
+            if (dollars > (MAX_WHOLE_DOLLARS - 9) / 10) {
+                throw new NumberFormatException("Amount is too large: " + text.subSequence(start, end));
+            }
+            dollars = dollars * 10 + (text.charAt(i) - '0');
+            digits++;
+            i++;
+        }
+        if (dollars >= MAX_WHOLE_DOLLARS) {
+            throw new NumberFormatException("Amount is too large: " + text.subSequence(start, end));
+        }
+
+        long fraction = 0;
+        if (i < length && text.charAt(i) == '.') {
+            i++;
+            int fractionDigits = 0;
+            while (i < length && isDigit(text.charAt(i))) {
+                int digit = text.charAt(i) - '0';
+                if (fractionDigits < 2) {
+                    fraction = fraction * 10 + digit;
+                } else if (fractionDigits == 2 && digit >= 5) {
+                    fraction++;
+                }
+                fractionDigits++;
+                digits++;
+                i++;
+            }
+            if (fractionDigits == 1) {
+                fraction *= 10;
+            }
+        }
+
+        if (digits == 0 || i != length) {
+            throw new NumberFormatException("Not a plain decimal amount: " + text.subSequence(start, end));
+        }
+        long cents = dollars * 100 + fraction;
+        return negative ? -cents : cents;
+    }
+
+    /**
+     * Appends an amount in the same form {@link Double#toString(double)} gives ordinary
+     * amounts of dollars: {@code 100.0}, {@code 120.7} or {@code 120.75}.
+     *
+     * @param out   The builder to append to.
+     * @param cents The amount in cents.
+     * @return The builder.
+     */
+    public static StringBuilder append(StringBuilder out, long cents) {
+        appendDollars(out, cents);
+        long remainder = Math.abs(cents % 100);
+        if (remainder % 10 == 0) {
+            return out.append((char) ('0' + remainder / 10));
+        }
+        return appendTwoDigits(out, remainder);
+    }
+
+    /**
+     * Appends an amount with exactly two decimal places, as {@code %.2f} would.
+     *
+     * @param out   The builder to append to.
+     * @param cents The amount in cents.
+     * @return The builder.
+     */
+    public static StringBuilder appendFixed(StringBuilder out, long cents) {
+        appendDollars(out, cents);
+        return appendTwoDigits(out, Math.abs(cents % 100));
+    }
+
+    /**
+     * Formats an amount in the same form {@link #append(StringBuilder, long)} does.
+     *
+     * @param cents The amount in cents.
+     * @return The formatted amount.
+     */
+    public static String format(long cents) {
+        return append(new StringBuilder(24), cents).toString();
+    }
+
+    /**
+     * Formats an amount with exactly two decimal places.
+     *
+     * @param cents The amount in cents.
+     * @return The formatted amount.
+     */
+    public static String formatFixed(long cents) {
+        return appendFixed(new StringBuilder(24), cents).toString();
+    }
+
+    private static void appendDollars(StringBuilder out, long cents) {
+        long dollars = cents / 100;
+        if (cents < 0) {
+            out.append('-');
+            dollars = -dollars;
+        }
+        out.append(dollars).append('.');
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder out, long value) {
+        return out.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
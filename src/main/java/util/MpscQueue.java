@@ -0,0 +1,101 @@
+package util;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Unbounded queue that many threads may add to but only one thread takes from, without
+ * locks. This is Vyukov's intrusive MPSC queue: a producer swaps its node in as the new
+ * tail with one atomic exchange and then links the old tail to it, so producers never
+ * wait for each other, and elements leave in the order their exchanges happened.
+ *
+ * <p>The consumer can {@linkplain #await() sleep} while the queue is empty; the producer
+ * that adds the next element wakes it.
+ *
+ * @param <E> The type of the elements.
+ */
+public class MpscQueue<E> {
+    private final AtomicReference<Node<E>> tail;
+    private final AtomicReference<Thread> sleeper = new AtomicReference<>();
+    private Node<E> head;
+
+    /**
+     * Creates an empty queue.
+     */
+    public MpscQueue() {
+        Node<E> stub = new Node<>(null);
+        head = stub;
+        tail = new AtomicReference<>(stub);
+    }
+
+    /**
+     * Adds an element at the end of the queue. May be called from any thread.
+     *
+     * @param element The element, not {@code null}.
+     */
+    public void offer(E element) {
+        assert element != null : "Cannot queue a null element";
+        Node<E> node = new Node<>(element);
+        Node<E> previous = tail.getAndSet(node);
+        previous.next = node;
+        Thread waiting = sleeper.get();
+        if (waiting != null && sleeper.compareAndSet(waiting, null)) {
+            LockSupport.unpark(waiting);
+        }
+    }
+
+    /**
+     * Removes the element at the front of the queue. Only the consumer thread may call this.
+     *
+     * @return The element, or {@code null} if the queue is empty.
+     */
+    public E poll() {
+        Node<E> next = head.next;
+        if (next == null) {
+            if (tail.get() == head) {
+                return null;
+            }
+            // A producer has taken the tail but not yet linked it; it is about to.
+            do {
+                Thread.onSpinWait();
+                next = head.next;
+            } while (next == null);
+        }
+        E element = next.element;
+        next.element = null;
+        head = next;
+        return element;
+    }
+
+    /**
+     * Returns whether the queue is empty. Only the consumer thread may call this.
+     *
+     * @return True if no element has been added that was not yet removed.
+     */
+    public boolean isEmpty() {
+        return tail.get() == head;
+    }
+
+    /**
+     * Parks the consumer thread until an element is added or the thread is unparked for
+     * some other reason, such as a request to stop. Returns at once if the queue is not
+     * empty, and may return early, so callers check again in a loop.
+     */
+    public void await() {
+        Thread consumer = Thread.currentThread();
+        sleeper.set(consumer);
+        if (isEmpty()) {
+            LockSupport.park(this);
+        }
+        sleeper.compareAndSet(consumer, null);
+    }
+
+    private static final class Node<E> {
+        private E element;
+        private volatile Node<E> next;
+
+        private Node(E element) {
+            this.element = element;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package util;
+
+import exceptions.BudgetTrackerException;
+
+/**
+ * One page of a numbered listing, as requested with {@code [page <N>] [size <M>]}
+ * after a view command. Pages are numbered from 1.
+ */
+public class Page {
+    public static final int DEFAULT_SIZE = 20;
+
+    private final int number;
+    private final int size;
+
+    /**
+     * Creates a page request.
+     *
+     * @param number The page number, from 1.
+     * @param size   The number of rows per page, at least 1.
+     */
+    public Page(int number, int size) {
+        assert number >= 1 : "Page numbers start at 1";
+        assert size >= 1 : "A page holds at least one row";
+        this.number = number;
+        this.size = size;
+    }
+
+    /**
+     * Reads an optional {@code page <N>} followed by an optional {@code size <M>} from the rest of the line.
+     *
+     * @param tokens The user input, positioned after the view command.
+     * @param usage  The message to report if the options are malformed.
+     * @return The requested page, or {@code null} if nothing follows the command, meaning every row.
+     * @throws BudgetTrackerException If the options are malformed or not positive.
+     */
+    public static Page parse(CommandTokenizer tokens, String usage) throws BudgetTrackerException {
+        if (tokens.isBlank()) {
+            return null;
+        }
+        int number = 1;
+        int size = DEFAULT_SIZE;
+        try {
+            if (tokens.skipWord("page", true)) {
+                number = tokens.readInt(tokens.nextWordEnd());
+            }
+            if (tokens.skipWord("size", true)) {
+                size = tokens.readInt(tokens.nextWordEnd());
+            }
+        } catch (NumberFormatException e) {
+            throw new BudgetTrackerException(usage);
+        }
+        if (!tokens.isBlank() || number < 1 || size < 1) {
+            throw new BudgetTrackerException(usage);
+        }
+        return new Page(number, size);
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of pages needed to show the given number of rows.
+     *
+     * @param total The number of rows.
+     * @return The number of pages, at least 1.
+     */
+    public int pageCount(int total) {
+        return (int) Math.max(1, ((long) total + size - 1) / size);
+    }
+
+    /**
+     * Returns the position of the first row on this page.
+     *
+     * @param total The number of rows.
+     * @return The zero-based position of the first row.
+     * @throws BudgetTrackerException If the listing does not have this many pages.
+     */
+    public int start(int total) throws BudgetTrackerException {
+        int pages = pageCount(total);
+        if (number > pages) {
+            throw new BudgetTrackerException("Page " + number + " does not exist. There "
+                    + (pages == 1 ? "is 1 page." : "are " + pages + " pages."));
+        }
+        return (number - 1) * size;
+    }
+
+    /**
+     * Returns the position just after the last row on this page.
+     *
+     * @param total The number of rows.
+     * @return The zero-based position after the last row.
+     */
+    public int end(int total) {
+        return (int) Math.min(total, (long) number * size);
+    }
+
+    /**
+     * Describes where this page lies in the listing, e.g. {@code Page 2 of 5 (93 expenses)}.
+     *
+     * @param total The number of rows.
+     * @param rows  The name of the rows, in plural.
+     * @return The description.
+     */
+    public String describe(int total, String rows) {
+        return "Page " + number + " of " + pageCount(total) + " (" + total + " " + rows + ")";
+    }
+}
@@ -0,0 +1,257 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Sorted list of entry ids, compressed for a {@link TextIndex}. Ids are kept in blocks of
+ * up to {@value #BLOCK_SIZE}; each block stores its first id and the gaps to the following
+ * ids as variable-length integers, so an id that is close to the previous one takes a
+ * single byte. The last id of every block is kept uncompressed, which lets a search skip
+ * whole blocks and lets a removal re-encode only the one block it touches.
+ */
+class PostingList {
+    static final int BLOCK_SIZE = 128;
+    private static final int MIN_BLOCK_BYTES = 8;
+
+    private int[] firstIds = new int[1];
+    private int[] lastIds = new int[1];
+    private int[] counts = new int[1];
+    private byte[][] blocks = new byte[1][];
+    private int[] lengths = new int[1];
+    private int blockCount;
+    private int size;
+
+    /**
+     * Appends an id, which must be greater than every id already in the list.
+     *
+     * @param id The id to append.
+     */
+    void add(int id) {
+        assert size == 0 || id > lastIds[blockCount - 1] : "Ids must be appended in increasing order";
+        if (blockCount == 0 || counts[blockCount - 1] == BLOCK_SIZE) {
+            if (blockCount == firstIds.length) {
+                grow();
+            }
+            firstIds[blockCount] = id;
+            lastIds[blockCount] = id;
+            counts[blockCount] = 1;
+            blocks[blockCount] = new byte[MIN_BLOCK_BYTES];
+            lengths[blockCount] = 0;
+            blockCount++;
+        } else {
+            int last = blockCount - 1;
+            int gap = id - lastIds[last];
+            if (lengths[last] + varIntLength(gap) > blocks[last].length) {
+                blocks[last] = Arrays.copyOf(blocks[last], blocks[last].length * 2);
+            }
+            lengths[last] = writeVarInt(blocks[last], lengths[last], gap);
+            lastIds[last] = id;
+            counts[last]++;
+        }
+        size++;
+    }
+
+    /**
+     * Removes an id if it is in the list.
+     *
+     * @param id The id to remove.
+     * @return True if the id was found and removed.
+     */
+    boolean remove(int id) {
+        int block = blockAtLeast(id, 0);
+        if (block == blockCount || firstIds[block] > id) {
+            return false;
+        }
+        int[] ids = new int[counts[block]];
+        decode(block, ids);
+        int at = Arrays.binarySearch(ids, id);
+        if (at < 0) {
+            return false;
+        }
+        size--;
+        if (ids.length == 1) {
+            int moved = blockCount - block - 1;
+            System.arraycopy(firstIds, block + 1, firstIds, block, moved);
+            System.arraycopy(lastIds, block + 1, lastIds, block, moved);
+            System.arraycopy(counts, block + 1, counts, block, moved);
+            System.arraycopy(blocks, block + 1, blocks, block, moved);
+            System.arraycopy(lengths, block + 1, lengths, block, moved);
+            blocks[--blockCount] = null;
+            return true;
+        }
+        System.arraycopy(ids, at + 1, ids, at, ids.length - at - 1);
+        encode(block, ids, ids.length - 1);
+        return true;
+    }
+
+    /**
+     * Returns the number of ids in the list.
+     *
+     * @return The number of ids.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns every id in the list, in increasing order.
+     *
+     * @return The ids.
+     */
+    int[] toArray() {
+        int[] all = new int[size];
+        int[] ids = new int[BLOCK_SIZE];
+        int filled = 0;
+        for (int block = 0; block < blockCount; block++) {
+            decode(block, ids);
+            System.arraycopy(ids, 0, all, filled, counts[block]);
+            filled += counts[block];
+        }
+        return all;
+    }
+
+    /**
+     * Replaces every id with the id at that index of the given mapping. The mapping must
+     * keep the ids in order and be defined for every id in the list.
+     *
+     * @param newIds The new id of each old id.
+     */
+    void renumber(int[] newIds) {
+        int[] ids = new int[BLOCK_SIZE];
+        for (int block = 0; block < blockCount; block++) {
+            decode(block, ids);
+            for (int i = 0; i < counts[block]; i++) {
+                ids[i] = newIds[ids[i]];
+            }
+            encode(block, ids, counts[block]);
+        }
+    }
+
+    /**
+     * Returns a cursor that walks the ids in increasing order.
+     *
+     * @return A cursor before the first id.
+     */
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Walks the ids of the list in increasing order. It skips the blocks that cannot hold
+     * the id asked for and decodes the gaps of a block only as far as it needs to.
+     */
+    class Cursor {
+        private int block = -1;
+        private int position;
+        private int id;
+
+        /**
+         * Moves to the first id at or after the target.
+         *
+         * @param target The smallest id wanted.
+         * @return That id, or {@link Integer#MAX_VALUE} if every id is smaller.
+         */
+        int advance(int target) {
+            if (block < 0 || block >= blockCount || lastIds[block] < target) {
+                block = blockAtLeast(target, Math.max(block, 0));
+                if (block == blockCount) {
+                    return Integer.MAX_VALUE;
+                }
+                position = 0;
+                id = firstIds[block];
+            }
+            byte[] data = blocks[block];
+            while (id < target) {
+                int gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[position++];
+                    gap |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                id += gap;
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Returns the first block at or after {@code from} whose last id is at least the target.
+     */
+    private int blockAtLeast(int target, int from) {
+        int low = from;
+        int high = blockCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (lastIds[middle] < target) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void decode(int block, int[] ids) {
+        byte[] data = blocks[block];
+        int id = firstIds[block];
+        ids[0] = id;
+        int position = 0;
+        for (int i = 1; i < counts[block]; i++) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            id += gap;
+            ids[i] = id;
+        }
+    }
+
+    private void encode(int block, int[] ids, int count) {
+        int length = 0;
+        for (int i = 1; i < count; i++) {
+            length += varIntLength(ids[i] - ids[i - 1]);
+        }
+        byte[] data = new byte[Math.max(length, MIN_BLOCK_BYTES)];
+        int position = 0;
+        for (int i = 1; i < count; i++) {
+            position = writeVarInt(data, position, ids[i] - ids[i - 1]);
+        }
+        blocks[block] = data;
+        lengths[block] = length;
+        firstIds[block] = ids[0];
+        lastIds[block] = ids[count - 1];
+        counts[block] = count;
+    }
+
+    private void grow() {
+        int capacity = firstIds.length * 2;
+        firstIds = Arrays.copyOf(firstIds, capacity);
+        lastIds = Arrays.copyOf(lastIds, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+        blocks = Arrays.copyOf(blocks, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+    }
+
+    private static int varIntLength(int value) {
+        int length = 1;
+        while ((value >>>= 7) != 0) {
+            length++;
+        }
+        return length;
+    }
+
+    private static int writeVarInt(byte[] data, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            data[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[position++] = (byte) value;
+        return position;
+    }
+}
@@ -0,0 +1,172 @@
+package util;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Order-statistic index over append-only slots. Entries are appended to the next free
+ * slot and removed by marking their slot dead, so nothing is shifted on removal. A
+ * Fenwick tree counts the live slots, which turns a user-visible position into a slot,
+ * and back, in O(log n).
+ *
+ * <p>Owners keep their data in arrays indexed by slot. Once dead slots outnumber live
+ * ones, {@link #needsCompaction()} reports it so the owner can pack its arrays and call
+ * {@link #reset(int)}; the linear cost of that is spread over the removals that caused it.
+ */
+public class RankIndex {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MIN_COMPACTION_SLOTS = 64;
+
+    private final BitSet live = new BitSet();
+    private int[] tree = new int[INITIAL_CAPACITY + 1];
+    private int slotCount;
+    private int liveCount;
+
+    /**
+     * Claims the next slot and marks it live.
+     *
+     * @return The claimed slot.
+     */
+    public int append() {
+        if (slotCount == tree.length - 1) {
+            tree = new int[tree.length * 2 - 1];
+            rebuild();
+        }
+        int slot = slotCount++;
+        live.set(slot);
+        liveCount++;
+        for (int i = slot + 1; i < tree.length; i += i & -i) {
+            tree[i]++;
+        }
+        return slot;
+    }
+
+    /**
+     * Marks the slot holding the entry at the given position as dead.
+     *
+     * @param position The zero-based position of the entry among live entries.
+     * @return The slot that was freed.
+     */
+    public int remove(int position) {
+        int slot = slotOf(position);
+        live.clear(slot);
+        liveCount--;
+        for (int i = slot + 1; i < tree.length; i += i & -i) {
+            tree[i]--;
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the slot of the entry at the given position.
+     *
+     * @param position The zero-based position of the entry among live entries.
+     * @return The slot holding that entry.
+     */
+    public int slotOf(int position) {
+        if (position < 0 || position >= liveCount) {
+            throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + liveCount);
+        }
+        int slot = 0;
+        int remaining = position + 1;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            int next = slot + step;
+            if (next < tree.length && tree[next] < remaining) {
+                slot = next;
+                remaining -= tree[next];
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the position of the entry in the given live slot.
+     *
+     * @param slot A live slot.
+     * @return The zero-based position of its entry among live entries.
+     */
+    public int positionOf(int slot) {
+        assert slot >= 0 && slot < slotCount && live.get(slot) : "Only live slots have a position";
+        int position = 0;
+        for (int i = slot; i > 0; i -= i & -i) {
+            position += tree[i];
+        }
+        return position;
+    }
+
+    /**
+     * Returns the first live slot at or after the given slot, for walking entries in order.
+     *
+     * @param slot The slot to start from.
+     * @return The next live slot, or -1 if there is none.
+     */
+    public int nextLive(int slot) {
+        int next = live.nextSetBit(slot);
+        return next < slotCount ? next : -1;
+    }
+
+    /**
+     * Returns the number of live entries.
+     *
+     * @return The number of live entries.
+     */
+    public int size() {
+        return liveCount;
+    }
+
+    /**
+     * Returns the number of slots claimed so far, live or dead.
+     *
+     * @return The number of claimed slots.
+     */
+    public int slotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Returns whether dead slots have come to outnumber live ones.
+     *
+     * @return {@code true} if the owner should compact its arrays.
+     */
+    public boolean needsCompaction() {
+        return slotCount >= MIN_COMPACTION_SLOTS && slotCount - liveCount > liveCount;
+    }
+
+    /**
+     * Resets the index after its owner has packed the given number of live entries
+     * into the first slots, in order.
+     *
+     * @param packedCount The number of entries now held in slots {@code 0} to {@code packedCount - 1}.
+     */
+    public void reset(int packedCount) {
+        assert packedCount == liveCount : "All live entries must be kept when compacting.";
+        live.clear();
+        live.set(0, packedCount);
+        slotCount = packedCount;
+        liveCount = packedCount;
+        rebuild();
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void clear() {
+        live.clear();
+        slotCount = 0;
+        liveCount = 0;
+        Arrays.fill(tree, 0);
+    }
+
+    private void rebuild() {
+        Arrays.fill(tree, 0);
+        for (int i = 1; i < tree.length; i++) {
+            if (i <= slotCount && live.get(i - 1)) {
+                tree[i]++;
+            }
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+}
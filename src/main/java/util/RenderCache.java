@@ -0,0 +1,51 @@
+package util;
+
+import java.util.function.Supplier;
+
+/**
+ * Keeps the last text rendered from some data, together with the modification versions
+ * of that data, so the text is only rendered again once a version has changed. Versions
+ * are counted by each object on its own, so a cache must only ever be given the versions
+ * of the same objects.
+ */
+public class RenderCache {
+    private long version;
+    private long otherVersion;
+    private String text;
+
+    /**
+     * Returns the cached text if it was rendered at the given version, or renders and caches it.
+     *
+     * @param version  The current version of the data shown.
+     * @param renderer Renders the text from the current data.
+     * @return The text for the current version.
+     */
+    public String get(long version, Supplier<String> renderer) {
+        return get(version, 0, renderer);
+    }
+
+    /**
+     * Returns the cached text if it was rendered at the given versions of two sources,
+     * or renders and caches it.
+     *
+     * @param version      The current version of the first source of the data shown.
+     * @param otherVersion The current version of the second source.
+     * @param renderer     Renders the text from the current data.
+     * @return The text for the current versions.
+     */
+    public synchronized String get(long version, long otherVersion, Supplier<String> renderer) {
+        if (text == null || version != this.version || otherVersion != this.otherVersion) {
+            text = renderer.get();
+            this.version = version;
+            this.otherVersion = otherVersion;
+        }
+        return text;
+    }
+
+    /**
+     * Drops the cached text.
+     */
+    public synchronized void clear() {
+        text = null;
+    }
+}
@@ -0,0 +1,167 @@
+package util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Table of the distinct descriptions, income sources and savings goals of one ledger.
+ * Each distinct string is stored once and given an int id; entries keep the id, or the
+ * dictionary's own copy of the text, so a description repeated across thousands of entries
+ * costs one {@code String} in total.
+ *
+ * <p>Each ledger creates its own dictionary and passes it to the lists that hold its entries,
+ * so ledgers do not share a lock and a dictionary is freed with its ledger. Strings are never
+ * removed while the ledger lives, since any number of entries may share one. The dictionary
+ * counts how often {@link #intern(String)} found a string already present, and how many
+ * bytes of duplicate strings that avoided keeping, for {@code stats memory}.
+ *
+ * <p>Interning is synchronized. Looking up an id is not, and sees every string interned
+ * before the id was handed to the reading thread.
+ */
+public class StringDictionary {
+    /** The id of {@code null}, for optional strings. */
+    public static final int NO_STRING = -1;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private volatile String[] strings = new String[64];
+    private long hits;
+    private long misses;
+    private long savedBytes;
+    private long storedBytes;
+
+    /**
+     * Returns the id of a string, adding the string if it is not in the dictionary yet.
+     *
+     * @param value The string, or {@code null}.
+     * @return Its id, or {@link #NO_STRING} for {@code null}.
+     */
+    public synchronized int intern(String value) {
+        if (value == null) {
+            return NO_STRING;
+        }
+        Integer id = ids.get(value);
+        if (id != null) {
+            hits++;
+            savedBytes += estimatedBytes(value);
+            return id;
+        }
+        misses++;
+        storedBytes += estimatedBytes(value);
+        int newId = ids.size();
+        String[] table = strings;
+        if (newId == table.length) {
+            table = Arrays.copyOf(table, newId * 2);
+        }
+        table[newId] = value;
+        strings = table;
+        ids.put(value, newId);
+        return newId;
+    }
+
+    /**
+     * Returns the dictionary's copy of a string, adding the string if it is not in the
+     * dictionary yet. Keeping the returned copy instead of the argument shares its memory.
+     *
+     * @param value The string, or {@code null}.
+     * @return The equal string held by the dictionary, or {@code null}.
+     */
+    public String canonical(String value) {
+        return get(intern(value));
+    }
+
+    /**
+     * Returns the id of a string already in the dictionary, without counting a lookup.
+     *
+     * @param value The string, or {@code null}.
+     * @return Its id, or {@link #NO_STRING} for {@code null} or a string not in the dictionary.
+     */
+    public synchronized int idOf(String value) {
+        Integer id = value == null ? null : ids.get(value);
+        return id == null ? NO_STRING : id;
+    }
+
+    /**
+     * Returns the string with the given id.
+     *
+     * @param id An id returned by {@link #intern(String)}.
+     * @return The string, or {@code null} for {@link #NO_STRING}.
+     */
+    public String get(int id) {
+        return id == NO_STRING ? null : strings[id];
+    }
+
+    /**
+     * Returns the number of distinct strings.
+     *
+     * @return The number of strings.
+     */
+    public synchronized int size() {
+        return ids.size();
+    }
+
+    /**
+     * Returns the number of lookups that found their string already present.
+     *
+     * @return The number of hits.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that added a new string.
+     *
+     * @return The number of misses.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the share of lookups that found their string already present.
+     *
+     * @return The hit rate, from 0 to 1; 0 before the first lookup.
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * Returns the estimated heap bytes of the duplicate strings that hits avoided keeping.
+     *
+     * @return The bytes saved.
+     */
+    public synchronized long getSavedBytes() {
+        return savedBytes;
+    }
+
+    /**
+     * Returns the estimated heap bytes of the distinct strings in the dictionary.
+     *
+     * @return The bytes stored.
+     */
+    public synchronized long getStoredBytes() {
+        return storedBytes;
+    }
+
+    /**
+     * Estimates the heap size of a string: the {@code String} object and its backing array,
+     * one byte per character if every character is Latin-1 and two otherwise, each rounded
+     * up to 8 bytes.
+     *
+     * @param value The string.
+     * @return The estimated bytes.
+     */
+    static long estimatedBytes(String value) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return 24 + ((16L + (long) bytesPerChar * value.length() + 7) & ~7L);
+    }
+}
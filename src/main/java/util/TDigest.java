@@ -0,0 +1,237 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Streaming sketch of a distribution that answers quantile queries, such as the median,
+ * from a bounded number of centroids however many values were added. This is the merging
+ * t-digest of Dunning and Ertl: values are buffered, and each full buffer is sorted and
+ * merged into the centroids. The scale function lets a centroid hold many values near the
+ * median but only a few near either tail, so the extreme quantiles stay accurate.
+ *
+ * <p>Digests are mergeable: {@link #add(TDigest)} folds the centroids of another digest in,
+ * which describes the union of both sets of values. The smallest and largest values are
+ * kept exactly.
+ */
+public class TDigest {
+    /** The default compression; about 2x this many centroids are kept at most. */
+    public static final double DEFAULT_COMPRESSION = 100;
+
+    private final double compression;
+    private double[] means;
+    private double[] weights;
+    private int centroidCount;
+    private final double[] bufferMeans;
+    private final double[] bufferWeights;
+    private int bufferCount;
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Creates an empty digest with the {@linkplain #DEFAULT_COMPRESSION default compression}.
+     */
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Creates an empty digest.
+     *
+     * @param compression How many centroids to allow; more is more accurate and larger.
+     */
+    public TDigest(double compression) {
+        assert compression >= 10 : "Compression too small to be useful";
+        this.compression = compression;
+        int capacity = (int) Math.ceil(2 * compression) + 10;
+        means = new double[capacity];
+        weights = new double[capacity];
+        bufferMeans = new double[5 * capacity];
+        bufferWeights = new double[5 * capacity];
+    }
+
+    /**
+     * Adds one value.
+     *
+     * @param value The value to add.
+     */
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    /**
+     * Adds every value of another digest, so that this digest describes both.
+     *
+     * @param other The digest to fold in; it is not changed.
+     */
+    public void add(TDigest other) {
+        other.flush();
+        for (int i = 0; i < other.centroidCount; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    private void add(double mean, double weight) {
+        if (bufferCount == bufferMeans.length) {
+            flush();
+        }
+        bufferMeans[bufferCount] = mean;
+        bufferWeights[bufferCount] = weight;
+        bufferCount++;
+        totalWeight += weight;
+        min = Math.min(min, mean);
+        max = Math.max(max, mean);
+    }
+
+    /**
+     * Returns the number of values added.
+     *
+     * @return The total weight of the digest.
+     */
+    public long size() {
+        return Math.round(totalWeight);
+    }
+
+    /**
+     * Returns the number of centroids, after merging any buffered values.
+     *
+     * @return The number of centroids.
+     */
+    public int centroidCount() {
+        flush();
+        return centroidCount;
+    }
+
+    /**
+     * Removes every value.
+     */
+    public void clear() {
+        centroidCount = 0;
+        bufferCount = 0;
+        totalWeight = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Estimates the value below which the given share of the values lie, interpolating
+     * between the centres of neighbouring centroids.
+     *
+     * @param q The share, from 0 to 1.
+     * @return The estimated quantile, or {@code NaN} if the digest is empty.
+     */
+    public double quantile(double q) {
+        assert q >= 0 && q <= 1 : "Quantiles lie between 0 and 1";
+        flush();
+        if (centroidCount == 0) {
+            return Double.NaN;
+        }
+        if (centroidCount == 1) {
+            return means[0];
+        }
+        double index = q * totalWeight;
+        double firstHalf = weights[0] / 2;
+        if (index < firstHalf) {
+            return min + (means[0] - min) * index / firstHalf;
+        }
+        double cumulative = firstHalf;
+        for (int i = 0; i < centroidCount - 1; i++) {
+            double gap = (weights[i] + weights[i + 1]) / 2;
+            if (cumulative + gap > index) {
+                return means[i] + (means[i + 1] - means[i]) * (index - cumulative) / gap;
+            }
+            cumulative += gap;
+        }
+        int last = centroidCount - 1;
+        double lastHalf = weights[last] / 2;
+        return Math.min(max, means[last] + (max - means[last]) * (index - cumulative) / lastHalf);
+    }
+
+    /**
+     * Sorts the buffered values and merges them with the centroids in one pass. A centroid
+     * takes in its neighbour only while the quantiles it spans stay within one unit of the
+     * scale function.
+     */
+    private void flush() {
+        if (bufferCount == 0) {
+            return;
+        }
+        sortBuffer();
+        int total = centroidCount + bufferCount;
+        double[] mergedMeans = new double[total];
+        double[] mergedWeights = new double[total];
+        int c = 0;
+        int b = 0;
+        for (int i = 0; i < total; i++) {
+            if (b == bufferCount || (c < centroidCount && means[c] <= bufferMeans[b])) {
+                mergedMeans[i] = means[c];
+                mergedWeights[i] = weights[c++];
+            } else {
+                mergedMeans[i] = bufferMeans[b];
+                mergedWeights[i] = bufferWeights[b++];
+            }
+        }
+        bufferCount = 0;
+
+        centroidCount = 0;
+        double soFar = 0;
+        double mean = mergedMeans[0];
+        double weight = mergedWeights[0];
+        for (int i = 1; i < total; i++) {
+            double proposed = weight + mergedWeights[i];
+            if (scale((soFar + proposed) / totalWeight) - scale(soFar / totalWeight) <= 1) {
+                mean += (mergedMeans[i] - mean) * mergedWeights[i] / proposed;
+                weight = proposed;
+            } else {
+                append(mean, weight);
+                soFar += weight;
+                mean = mergedMeans[i];
+                weight = mergedWeights[i];
+            }
+        }
+        append(mean, weight);
+    }
+
+    private void append(double mean, double weight) {
+        if (centroidCount == means.length) {
+            means = Arrays.copyOf(means, centroidCount * 2);
+            weights = Arrays.copyOf(weights, centroidCount * 2);
+        }
+        means[centroidCount] = mean;
+        weights[centroidCount] = weight;
+        centroidCount++;
+    }
+
+    /**
+     * The k1 scale function, which changes fastest near the tails.
+     */
+    private double scale(double q) {
+        return compression / (2 * Math.PI) * Math.asin(2 * Math.min(1, q) - 1);
+    }
+
+    /**
+     * Shell sort of the buffered values by mean, keeping each weight with its mean.
+     */
+    private void sortBuffer() {
+        int gap = 1;
+        while (gap < bufferCount / 3) {
+            gap = 3 * gap + 1;
+        }
+        for (; gap > 0; gap /= 3) {
+            for (int i = gap; i < bufferCount; i++) {
+                double mean = bufferMeans[i];
+                double weight = bufferWeights[i];
+                int j = i;
+                while (j >= gap && bufferMeans[j - gap] > mean) {
+                    bufferMeans[j] = bufferMeans[j - gap];
+                    bufferWeights[j] = bufferWeights[j - gap];
+                    j -= gap;
+                }
+                bufferMeans[j] = mean;
+                bufferWeights[j] = weight;
+            }
+        }
+    }
+}
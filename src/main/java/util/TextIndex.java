@@ -0,0 +1,177 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index over the text of a numbered list, for finding the entries whose text
+ * contains every word of a query. Each lowercase word maps to a {@link PostingList} of
+ * the ids of the entries that contain it.
+ *
+ * <p>Entries are appended and removed by position, mirroring the list they index. Each
+ * entry gets the next id when it is appended, so ids grow in list order and the ids in
+ * every posting list stay sorted. A {@link RankIndex} turns positions into ids and back.
+ * Once removed ids outnumber live ones, the posting lists are renumbered so the ids stay
+ * dense.
+ */
+public class TextIndex {
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final RankIndex entries = new RankIndex();
+
+    /**
+     * Splits text into its distinct lowercase words. A word is a run of letters and digits.
+     *
+     * @param text The text to split.
+     * @return The distinct words, in the order they first appear.
+     */
+    public static Set<String> tokens(String text) {
+        Set<String> words = new LinkedHashSet<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (word.length() > 0) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Appends an entry after every entry already indexed.
+     *
+     * @param text The text of the entry.
+     */
+    public void add(String text) {
+        int id = entries.append();
+        for (String word : tokens(text)) {
+            postings.computeIfAbsent(word, key -> new PostingList()).add(id);
+        }
+    }
+
+    /**
+     * Removes the entry at the given position. Later entries move up by one position.
+     *
+     * @param position The zero-based position of the entry.
+     * @param text     The text the entry was indexed with.
+     */
+    public void remove(int position, String text) {
+        int id = entries.remove(position);
+        for (String word : tokens(text)) {
+            PostingList list = postings.get(word);
+            boolean removed = list != null && list.remove(id);
+            assert removed : "Removed entries must have been indexed with the same text";
+            if (list != null && list.size() == 0) {
+                postings.remove(word);
+            }
+        }
+        if (entries.needsCompaction()) {
+            compact();
+        }
+    }
+
+    /**
+     * Returns the positions of the entries whose text contains every word of the query.
+     * The shortest posting list leads, and the others skip ahead to each of its ids.
+     *
+     * @param query The words to look for, in any case.
+     * @return The zero-based positions of the matching entries, in increasing order;
+     *         empty if the query has no words.
+     */
+    public int[] find(String query) {
+        List<PostingList> lists = new ArrayList<>();
+        for (String word : tokens(query)) {
+            PostingList list = postings.get(word);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        if (lists.isEmpty()) {
+            return new int[0];
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+
+        int[] ids;
+        if (lists.size() == 1) {
+            ids = lists.get(0).toArray();
+        } else {
+            ids = intersect(lists);
+        }
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = entries.positionOf(ids[i]);
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the number of indexed entries.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of distinct words indexed.
+     *
+     * @return The number of words.
+     */
+    public int wordCount() {
+        return postings.size();
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void clear() {
+        postings.clear();
+        entries.clear();
+    }
+
+    private static int[] intersect(List<PostingList> lists) {
+        PostingList.Cursor[] cursors = new PostingList.Cursor[lists.size()];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = lists.get(i).cursor();
+        }
+        int[] found = new int[lists.get(0).size()];
+        int count = 0;
+        int candidate = cursors[0].advance(0);
+        while (candidate != Integer.MAX_VALUE) {
+            int next = candidate;
+            for (int i = 1; i < cursors.length && next == candidate; i++) {
+                next = cursors[i].advance(candidate);
+            }
+            if (next == candidate) {
+                found[count++] = candidate;
+                next = candidate + 1;
+            }
+            candidate = next == Integer.MAX_VALUE ? next : cursors[0].advance(next);
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    /**
+     * Renumbers the live ids from 0 in order and drops the dead ones.
+     */
+    private void compact() {
+        int[] newIds = new int[entries.slotCount()];
+        int packed = 0;
+        for (int slot = entries.nextLive(0); slot >= 0; slot = entries.nextLive(slot + 1)) {
+            newIds[slot] = packed++;
+        }
+        for (PostingList list : postings.values()) {
+            list.renumber(newIds);
+        }
+        entries.reset(packed);
+    }
+}
@@ -0,0 +1,66 @@
+package util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Starts one thread per task, on a virtual thread where the runtime has them. Virtual
+ * threads arrived in Java 21; the executor is looked up by name so the program still builds
+ * and runs on older runtimes, where each task gets a daemon platform thread with a small
+ * stack instead.
+ */
+public final class VirtualThreads {
+    private static final Logger logger = Logger.getLogger(VirtualThreads.class.getName());
+    private static final long FALLBACK_STACK_BYTES = 256 * 1024;
+    private static final MethodHandle NEW_EXECUTOR = findExecutorFactory();
+
+    private VirtualThreads() {}
+
+    /**
+     * Returns whether tasks will run on virtual threads.
+     *
+     * @return True on Java 21 or later.
+     */
+    public static boolean isAvailable() {
+        return NEW_EXECUTOR != null;
+    }
+
+    /**
+     * Returns an executor that starts a new thread for every task it is given.
+     *
+     * @param name The name of the platform threads used where virtual threads are missing.
+     * @return The executor; shutting it down stops it taking new tasks.
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String name) {
+        if (NEW_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_EXECUTOR.invoke();
+            } catch (Throwable e) {
+                logger.log(Level.WARNING, "Could not create a virtual thread executor", e);
+            }
+        }
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = task -> {
+            Thread thread = new Thread(null, task, name + "-" + count.incrementAndGet(), FALLBACK_STACK_BYTES);
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newCachedThreadPool(factory);
+    }
+
+    private static MethodHandle findExecutorFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
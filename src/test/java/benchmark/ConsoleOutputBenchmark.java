@@ -0,0 +1,59 @@
+package benchmark;
+
+import commands.ListIncomeCommand;
+import exceptions.BudgetTrackerException;
+import expenses.Expense;
+import expenses.ExpenseList;
+import expenses.Ui;
+import income.Income;
+import income.IncomeManager;
+import summary.Summary;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+
+/**
+ * Times listing 100,000 income and expense rows to standard output, comparing one
+ * autoflushing {@code println} per row, as the listings used to print, against the
+ * buffered {@link Ui} sink flushed once at the prompt.
+ *
+ * <p>Redirect or pipe standard output when running it, since timings go to standard error:
+ * {@code ./gradlew benchmark -Pbench=ConsoleOutputBenchmark | cat > /dev/null}.
+ */
+public class ConsoleOutputBenchmark {
+    private static final int ROWS = 100_000;
+
+    public static void main(String[] args) throws BudgetTrackerException {
+        System.setOut(new PrintStream(new FileOutputStream(FileDescriptor.out), true));
+        Summary summary = new Summary();
+        ExpenseList expenseList = new ExpenseList();
+        for (int i = 0; i < ROWS; i++) {
+            IncomeManager.addIncome(new Income(100 + i % 50, "Job " + i));
+            expenseList.addExpense(new Expense(1 + i % 20, "item " + i, Expense.Category.FOOD));
+        }
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            int number = 1;
+            for (Income income : IncomeManager.getInstance().entries()) {
+                System.out.println(number++ + ". $" + income.getAmount() + " from " + income.getSource());
+            }
+            for (Expense expense : expenseList.getExpenses()) {
+                System.out.println(expense);
+            }
+            long perRowNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Ui.setFlushOnPrompt(true);
+            new ListIncomeCommand(summary).execute();
+            expenseList.showExpenses();
+            Ui.flush();
+            Ui.setFlushOnPrompt(false);
+            long sinkNanos = System.nanoTime() - start;
+
+            System.err.printf("round %d: println per row %8.1f ms, Ui sink %8.1f ms%n",
+                    round + 1, perRowNanos / 1e6, sinkNanos / 1e6);
+        }
+    }
+}
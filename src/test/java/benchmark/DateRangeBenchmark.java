@@ -0,0 +1,75 @@
+package benchmark;
+
+import expenses.Expense;
+import expenses.ExpenseStore;
+import util.Dates;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Answers 10,000 date-range totals over a 2,000,000-entry ledger spread across ten years,
+ * comparing a scan of the expense columns against the per-category date index of
+ * {@link ExpenseStore}.
+ *
+ * <p>Run with {@code ./gradlew benchmark -Pbench=DateRangeBenchmark}.
+ */
+public class DateRangeBenchmark {
+    private static final int ROWS = 2_000_000;
+    private static final int QUERIES = 10_000;
+    private static final int DAYS = 3653;
+
+    public static void main(String[] args) {
+        int firstDay = Dates.toDay(LocalDate.of(2015, 1, 1));
+        Expense.Category[] categories = Expense.Category.values();
+        Random random = new Random(15);
+        ExpenseStore store = new ExpenseStore();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            store.add(1 + random.nextInt(10_000), categories[i % categories.length], "item",
+                    firstDay + random.nextInt(DAYS));
+        }
+        long loadNanos = System.nanoTime() - start;
+
+        int[] from = new int[QUERIES];
+        int[] to = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            from[i] = firstDay + random.nextInt(DAYS);
+            to[i] = from[i] + random.nextInt(firstDay + DAYS - from[i]);
+        }
+
+        int scanned = QUERIES / 100;
+        long scanTotal = 0;
+        start = System.nanoTime();
+        for (int q = 0; q < scanned; q++) {
+            for (int i = 0; i < store.size(); i++) {
+                int day = store.getDay(i);
+                if (day >= from[q] && day <= to[q] && store.getCategory(i) == Expense.Category.FOOD) {
+                    scanTotal += store.getCents(i);
+                }
+            }
+        }
+        long scanNanos = System.nanoTime() - start;
+
+        long indexTotal = 0;
+        long checkTotal = 0;
+        start = System.nanoTime();
+        for (int q = 0; q < QUERIES; q++) {
+            long cents = store.totalCents(Expense.Category.FOOD, from[q], to[q]);
+            indexTotal += cents;
+            if (q < scanned) {
+                checkTotal += cents;
+            }
+        }
+        long indexNanos = System.nanoTime() - start;
+
+        if (checkTotal != scanTotal) {
+            throw new IllegalStateException("Index and scan disagree: " + checkTotal + " != " + scanTotal);
+        }
+
+        System.out.printf("%,d entries over %,d days, loaded in %.1f ms (checksum %d)%n",
+                ROWS, DAYS, loadNanos / 1e6, indexTotal);
+        System.out.printf("column scan: %10.3f ms per query%n", scanNanos / 1e6 / scanned);
+        System.out.printf("date index:  %10.3f ms per query%n", indexNanos / 1e6 / QUERIES);
+    }
+}
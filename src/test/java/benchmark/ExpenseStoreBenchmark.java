@@ -0,0 +1,74 @@
+package benchmark;
+
+import expenses.Expense;
+import expenses.ExpenseStore;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the heap footprint and full-scan time of one {@link Expense} object per entry
+ * against the column-oriented {@link ExpenseStore}.
+ *
+ * <p>Run with {@code ./gradlew benchmark -Pbench=ExpenseStoreBenchmark}.
+ */
+public class ExpenseStoreBenchmark {
+    private static final int ROWS = 1_000_000;
+    private static final int SCAN_ROUNDS = 20;
+    private static final String[] DESCRIPTIONS = {"lunch", "bus", "groceries", "rent", "coffee", "movie"};
+
+    public static void main(String[] args) {
+        Expense.Category[] categories = Expense.Category.values();
+
+        long before = usedHeap();
+        List<Expense> objects = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            objects.add(new Expense((i % 10_000) / 100.0, DESCRIPTIONS[i % DESCRIPTIONS.length],
+                    categories[i % categories.length]));
+        }
+        long objectHeap = usedHeap() - before;
+
+        before = usedHeap();
+        ExpenseStore store = new ExpenseStore();
+        for (int i = 0; i < ROWS; i++) {
+            store.add(i % 10_000, categories[i % categories.length], DESCRIPTIONS[i % DESCRIPTIONS.length]);
+        }
+        long storeHeap = usedHeap() - before;
+
+        double objectTotal = 0;
+        long objectNanos = Long.MAX_VALUE;
+        for (int round = 0; round < SCAN_ROUNDS; round++) {
+            long start = System.nanoTime();
+            double total = 0;
+            for (Expense expense : objects) {
+                total += expense.getAmount();
+            }
+            objectNanos = Math.min(objectNanos, System.nanoTime() - start);
+            objectTotal = total;
+        }
+
+        long storeTotal = 0;
+        long storeNanos = Long.MAX_VALUE;
+        for (int round = 0; round < SCAN_ROUNDS; round++) {
+            long start = System.nanoTime();
+            storeTotal = store.totalCents();
+            storeNanos = Math.min(storeNanos, System.nanoTime() - start);
+        }
+
+        System.out.printf("rows: %,d%n", ROWS);
+        System.out.printf("ArrayList<Expense>: heap %,d bytes, best scan %.2f ms (total %.2f)%n",
+                objectHeap, objectNanos / 1e6, objectTotal);
+        System.out.printf("ExpenseStore:       heap %,d bytes, best scan %.2f ms (total %.2f)%n",
+                storeHeap, storeNanos / 1e6, storeTotal / 100.0);
+        System.out.printf("heap ratio %.1fx, scan ratio %.1fx%n",
+                (double) objectHeap / storeHeap, (double) objectNanos / storeNanos);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,66 @@
+package benchmark;
+
+import expenses.Expense;
+import expenses.ExpenseStore;
+import util.IndexedSequence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deletes 100,000 entries at random positions from a 1,000,000-entry ledger, comparing
+ * {@link ArrayList}, which shifts every later entry, against {@link IndexedSequence} and
+ * the expense columns of {@link ExpenseStore}.
+ *
+ * <p>Run with {@code ./gradlew benchmark -Pbench=IndexedDeleteBenchmark}.
+ */
+public class IndexedDeleteBenchmark {
+    private static final int ROWS = 1_000_000;
+    private static final int DELETES = 100_000;
+
+    public static void main(String[] args) {
+        int[] positions = new int[DELETES];
+        Random random = new Random(7);
+        for (int i = 0; i < DELETES; i++) {
+            positions[i] = random.nextInt(ROWS - i);
+        }
+
+        List<Integer> arrayList = new ArrayList<>();
+        IndexedSequence<Integer> sequence = new IndexedSequence<>();
+        ExpenseStore store = new ExpenseStore();
+        for (int i = 0; i < ROWS; i++) {
+            arrayList.add(i);
+            sequence.add(i);
+            store.add(i, Expense.Category.FOOD, "item");
+        }
+
+        long start = System.nanoTime();
+        for (int position : positions) {
+            arrayList.remove(position);
+        }
+        long arrayListNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int position : positions) {
+            sequence.remove(position);
+        }
+        long sequenceNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int position : positions) {
+            store.remove(position);
+        }
+        long storeNanos = System.nanoTime() - start;
+
+        if (!arrayList.equals(new ArrayList<>(sequence)) || store.getCents(ROWS - DELETES - 1) != arrayList
+                .get(ROWS - DELETES - 1)) {
+            throw new IllegalStateException("Structures disagree after deleting.");
+        }
+
+        System.out.printf("deleted %,d of %,d entries%n", DELETES, ROWS);
+        System.out.printf("ArrayList:       %8.1f ms%n", arrayListNanos / 1e6);
+        System.out.printf("IndexedSequence: %8.1f ms%n", sequenceNanos / 1e6);
+        System.out.printf("ExpenseStore:    %8.1f ms%n", storeNanos / 1e6);
+    }
+}
@@ -0,0 +1,96 @@
+package benchmark;
+
+import expenses.Expense;
+import expenses.ExpenseList;
+import expenses.ExpenseParser;
+import exceptions.BudgetTrackerException;
+import summary.Summary;
+import util.CommandTokenizer;
+import util.Money;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the bytes allocated per parse of an {@code add expense} line, comparing the
+ * field extraction the parsers used to do with {@code String.split}, {@code trim} and
+ * {@link Double#parseDouble(String)} against {@link CommandTokenizer}, and reporting
+ * the whole of {@link ExpenseParser#parse} for reference.
+ *
+ * <p>Allocation is read from the per-thread counter of the HotSpot thread bean, after a
+ * warm-up long enough for the JIT to compile the loops.
+ * Run with {@code ./gradlew benchmark -Pbench=ParserAllocationBenchmark}.
+ */
+public class ParserAllocationBenchmark {
+    private static final int WARMUP = 2_000_000;
+    private static final int PARSES = 1_000_000;
+    private static final String[] LINES = {
+        "add expense 12.50 / lunch with team / F",
+        "add expense 3 / bus / t",
+        "add expense 120.75 / groceries / O",
+        "add expense 89.9 / electricity bill / B",
+    };
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static long sink;
+
+    public static void main(String[] args) throws BudgetTrackerException {
+        Summary summary = new Summary();
+        ExpenseList expenseList = new ExpenseList();
+
+        for (int i = 0; i < WARMUP; i++) {
+            sink += splitFields(LINES[i & 3]) + tokenizeFields(LINES[i & 3]);
+            sink += ExpenseParser.parse(LINES[i & 3], summary, expenseList).hashCode();
+        }
+
+        long before = allocatedBytes();
+        for (int i = 0; i < PARSES; i++) {
+            sink += splitFields(LINES[i & 3]);
+        }
+        long splitBytes = allocatedBytes() - before;
+
+        before = allocatedBytes();
+        for (int i = 0; i < PARSES; i++) {
+            sink += tokenizeFields(LINES[i & 3]);
+        }
+        long tokenizerBytes = allocatedBytes() - before;
+
+        before = allocatedBytes();
+        for (int i = 0; i < PARSES; i++) {
+            sink += ExpenseParser.parse(LINES[i & 3], summary, expenseList).hashCode();
+        }
+        long parserBytes = allocatedBytes() - before;
+
+        System.out.printf("parsed %,d add expense lines%n", PARSES);
+        System.out.printf("split + parseDouble fields: %6.1f bytes/parse%n", (double) splitBytes / PARSES);
+        System.out.printf("CommandTokenizer fields:    %6.1f bytes/parse%n", (double) tokenizerBytes / PARSES);
+        System.out.printf("ExpenseParser.parse:        %6.1f bytes/parse%n", (double) parserBytes / PARSES);
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static long splitFields(String line) throws BudgetTrackerException {
+        String[] parts = line.substring("add expense ".length()).split(" / ");
+        long cents = Money.toCents(Double.parseDouble(parts[0].trim()));
+        String description = parts[1].trim();
+        Expense.Category category = Expense.getCategoryFromInput(parts[2].trim());
+        return cents + description.length() + category.ordinal();
+    }
+
+    private static long tokenizeFields(String line) throws BudgetTrackerException {
+        CommandTokenizer tokens = new CommandTokenizer(line);
+        tokens.skipText("add expense ");
+        int amountEnd = tokens.indexOf(" / ");
+        long cents = tokens.readCents(amountEnd);
+        tokens.moveTo(amountEnd + 3);
+        int descriptionEnd = tokens.indexOf(" / ");
+        String description = tokens.readText(descriptionEnd);
+        tokens.moveTo(descriptionEnd + 3);
+        Expense.Category category = Expense.getCategoryFromCode(tokens.readCode(tokens.length()));
+        return cents + description.length() + category.ordinal();
+    }
+}
@@ -0,0 +1,149 @@
+package benchmark;
+
+import seedu.duke.LedgerServer;
+import util.LoggingConfigurator;
+import util.VirtualThreads;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connects 10,000 clients to a {@link LedgerServer} at once and has each send the same
+ * 20 commands, mixing additions with listings and summaries, then reports the latency
+ * percentiles of the commands. Every client connects and reads its welcome before any
+ * sends a command, so all 10,000 connections are open throughout.
+ *
+ * <p>The number of clients and of commands per client may be given as arguments. The
+ * server and its clients share one process, so 10,000 clients need about 20,000 file
+ * descriptors. A client that cannot connect or gets no reply within a minute is counted
+ * as failed.
+ *
+ * <p>Run with {@code ./gradlew benchmark -Pbench=ServerLoadBenchmark}.
+ */
+public class ServerLoadBenchmark {
+    private static final int DEFAULT_CLIENTS = 10_000;
+    private static final int DEFAULT_COMMANDS = 20;
+    private static final int TIMEOUT_MILLIS = 60_000;
+    private static final String[] SCRIPT = {
+        "add income 2000 / Salary",
+        "add expense 12.50 / lunch / F",
+        "add expense 3.20 / bus fare / T",
+        "view summary",
+        "add savings 100",
+        "view expense",
+        "add income 35 / Tutoring",
+        "view summary category",
+        "view expense top 2",
+        "view income",
+    };
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CLIENTS;
+        int commands = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_COMMANDS;
+        long[] latencies = new long[clients * commands];
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch connected = new CountDownLatch(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        LoggingConfigurator.quietSummaryLogging();
+
+        try (LedgerServer server = LedgerServer.open(0)) {
+            Thread acceptor = new Thread(server::serve, "ledger-acceptor");
+            acceptor.start();
+            ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("load-client");
+
+            long connectStart = System.nanoTime();
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                executor.execute(() -> {
+                    try {
+                        runClient(server.getPort(), commands, latencies, client * commands, connected, start);
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    }
+                });
+            }
+            connected.await();
+            long connectNanos = System.nanoTime() - connectStart;
+
+            long runStart = System.nanoTime();
+            start.countDown();
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.MINUTES);
+            long runNanos = System.nanoTime() - runStart;
+
+            long[] sorted = Arrays.stream(latencies).filter(latency -> latency > 0).sorted().toArray();
+            int completed = sorted.length;
+            System.out.printf("%,d clients on %s threads, %,d connected in %.2f s, %,d failed%n",
+                    clients, VirtualThreads.isAvailable() ? "virtual" : "platform",
+                    clients - failures.get(), connectNanos / 1e9, failures.get());
+            System.out.printf("%,d commands in %.2f s (%,.0f commands/s)%n",
+                    completed, runNanos / 1e9, completed / (runNanos / 1e9));
+            for (double q : new double[] {0.50, 0.90, 0.99, 0.999}) {
+                System.out.printf("p%-5s %10.3f ms%n", trim(q * 100), percentile(sorted, q) / 1e6);
+            }
+            System.out.printf("max    %10.3f ms%n", sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        }
+    }
+
+    private static void runClient(int port, int commands, long[] latencies, int offset,
+                                  CountDownLatch connected, CountDownLatch start)
+            throws IOException, InterruptedException {
+        boolean isConnecting = true;
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), TIMEOUT_MILLIS);
+            socket.setSoTimeout(TIMEOUT_MILLIS);
+            socket.setTcpNoDelay(true);
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter writer = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            readReply(reader);
+            isConnecting = false;
+            connected.countDown();
+            start.await();
+            for (int i = 0; i < commands; i++) {
+                long sent = System.nanoTime();
+                writer.println(SCRIPT[i % SCRIPT.length]);
+                readReply(reader);
+                latencies[offset + i] = Math.max(1, System.nanoTime() - sent);
+            }
+            writer.println("bye");
+            readReply(reader);
+        } finally {
+            if (isConnecting) {
+                connected.countDown();
+            }
+        }
+    }
+
+    private static void readReply(BufferedReader reader) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.equals(LedgerServer.END_OF_REPLY)) {
+                return;
+            }
+        }
+        throw new IOException("Connection closed mid-reply");
+    }
+
+    private static long percentile(long[] sorted, double q) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(q * sorted.length) - 1)];
+    }
+
+    private static String trim(double percent) {
+        return percent == Math.floor(percent) ? String.valueOf((int) percent) : String.valueOf(percent);
+    }
+}
@@ -0,0 +1,58 @@
+package benchmark;
+
+import income.Income;
+import income.IncomeManager;
+import util.StringDictionary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps 1,000,000 income entries whose sources are parsed from input, so each one starts
+ * as its own {@code String}, drawn from 50 distinct names. Reports the heap the parsed
+ * sources take when every entry keeps its own copy, the heap of the entries themselves
+ * once an income list has replaced each source with its dictionary's copy, and the
+ * dictionary's own estimate.
+ *
+ * <p>Run with {@code ./gradlew benchmark -Pbench=StringDictionaryBenchmark}.
+ */
+public class StringDictionaryBenchmark {
+    private static final int ENTRIES = 1_000_000;
+    private static final int SOURCES = 50;
+
+    public static void main(String[] args) {
+        long baseline = usedHeap();
+        List<String> parsed = new ArrayList<>(ENTRIES);
+        for (int i = 0; i < ENTRIES; i++) {
+            parsed.add(new StringBuilder("part-time job ").append(i % SOURCES).toString());
+        }
+        long separateBytes = usedHeap() - baseline;
+        parsed = null;
+
+        baseline = usedHeap();
+        IncomeManager incomes = new IncomeManager();
+        for (int i = 0; i < ENTRIES; i++) {
+            incomes.add(new Income(10, new StringBuilder("part-time job ").append(i % SOURCES).toString()));
+        }
+        long entryBytes = usedHeap() - baseline;
+
+        StringDictionary dictionary = incomes.getDictionary();
+        System.out.printf("%,d entries, %d distinct sources, hit rate %.4f%n",
+                ENTRIES, dictionary.size(), dictionary.getHitRate());
+        System.out.printf("a source copy per entry:      %8.1f MB%n", separateBytes / 1e6);
+        System.out.printf("whole entries, sources shared:%8.1f MB%n", entryBytes / 1e6);
+        System.out.printf("dictionary strings stored:    %8.1f KB%n", dictionary.getStoredBytes() / 1e3);
+        System.out.printf("dictionary estimate of saved: %8.1f MB%n", dictionary.getSavedBytes() / 1e6);
+        if (incomes.size() != ENTRIES) {
+            throw new IllegalStateException("Entries were lost");
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
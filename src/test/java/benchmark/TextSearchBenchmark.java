@@ -0,0 +1,85 @@
+package benchmark;
+
+import expenses.Expense;
+import expenses.ExpenseStore;
+import util.TextIndex;
+
+import java.util.Random;
+
+/**
+ * Answers 10,000 two-word searches over a 1,000,000-entry ledger whose descriptions are
+ * drawn from a 5,000-word vocabulary, comparing a scan of the descriptions against the
+ * word index of {@link ExpenseStore}, then times deletes that keep the index up to date.
+ *
+ * <p>Run with {@code ./gradlew benchmark -Pbench=TextSearchBenchmark}.
+ */
+public class TextSearchBenchmark {
+    private static final int ROWS = 1_000_000;
+    private static final int WORDS = 5_000;
+    private static final int QUERIES = 10_000;
+    private static final int DELETES = 10_000;
+
+    public static void main(String[] args) {
+        Random random = new Random(17);
+        String[] vocabulary = new String[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            vocabulary[i] = "w" + Integer.toString(i, 36);
+        }
+        Expense.Category[] categories = Expense.Category.values();
+        ExpenseStore store = new ExpenseStore();
+        for (int i = 0; i < ROWS; i++) {
+            String description = vocabulary[random.nextInt(WORDS)] + " " + vocabulary[random.nextInt(WORDS)]
+                    + " " + vocabulary[random.nextInt(100)];
+            store.add(1 + random.nextInt(10_000), categories[i % categories.length], description);
+        }
+
+        long start = System.nanoTime();
+        store.find(vocabulary[0]);
+        long buildNanos = System.nanoTime() - start;
+
+        String[] queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = vocabulary[random.nextInt(100)] + " " + vocabulary[random.nextInt(WORDS)];
+        }
+
+        int scanned = QUERIES / 1000;
+        long scanMatches = 0;
+        start = System.nanoTime();
+        for (int q = 0; q < scanned; q++) {
+            for (int i = 0; i < store.size(); i++) {
+                if (TextIndex.tokens(store.getDescription(i)).containsAll(TextIndex.tokens(queries[q]))) {
+                    scanMatches++;
+                }
+            }
+        }
+        long scanNanos = System.nanoTime() - start;
+
+        long indexMatches = 0;
+        long checkMatches = 0;
+        start = System.nanoTime();
+        for (int q = 0; q < QUERIES; q++) {
+            int found = store.find(queries[q]).length;
+            indexMatches += found;
+            if (q < scanned) {
+                checkMatches += found;
+            }
+        }
+        long indexNanos = System.nanoTime() - start;
+
+        if (checkMatches != scanMatches) {
+            throw new IllegalStateException("Index and scan disagree: " + checkMatches + " != " + scanMatches);
+        }
+
+        start = System.nanoTime();
+        for (int i = 0; i < DELETES; i++) {
+            store.remove(random.nextInt(store.size()));
+        }
+        long deleteNanos = System.nanoTime() - start;
+
+        System.out.printf("%,d entries, index built in %.1f ms (%,d matches)%n",
+                ROWS, buildNanos / 1e6, indexMatches);
+        System.out.printf("description scan: %10.1f us per query%n", scanNanos / 1e3 / scanned);
+        System.out.printf("word index:       %10.1f us per query%n", indexNanos / 1e3 / QUERIES);
+        System.out.printf("indexed delete:   %10.1f us per delete%n", deleteNanos / 1e3 / DELETES);
+    }
+}
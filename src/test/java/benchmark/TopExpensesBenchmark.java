@@ -0,0 +1,72 @@
+package benchmark;
+
+import expenses.Expense;
+import expenses.ExpenseStore;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Asks a 1,000,000-entry ledger for its 10 largest expenses 10,000 times, comparing a sort
+ * of the amounts against the per-category heaps of {@link ExpenseStore}, then times deletes
+ * that keep the heaps up to date.
+ *
+ * <p>Run with {@code ./gradlew benchmark -Pbench=TopExpensesBenchmark}.
+ */
+public class TopExpensesBenchmark {
+    private static final int ROWS = 1_000_000;
+    private static final int K = 10;
+    private static final int QUERIES = 10_000;
+    private static final int DELETES = 10_000;
+
+    public static void main(String[] args) {
+        Random random = new Random(20);
+        Expense.Category[] categories = Expense.Category.values();
+        ExpenseStore store = new ExpenseStore();
+        for (int i = 0; i < ROWS; i++) {
+            store.add(1 + random.nextInt(1_000_000), categories[i % categories.length], "expense");
+        }
+
+        long start = System.nanoTime();
+        store.top(K, null);
+        long buildNanos = System.nanoTime() - start;
+
+        int sorted = 10;
+        long sortChecksum = 0;
+        start = System.nanoTime();
+        for (int q = 0; q < sorted; q++) {
+            long[] amounts = new long[store.size()];
+            for (int i = 0; i < amounts.length; i++) {
+                amounts[i] = store.getCents(i);
+            }
+            Arrays.sort(amounts);
+            sortChecksum += amounts[amounts.length - K];
+        }
+        long sortNanos = System.nanoTime() - start;
+
+        long heapChecksum = 0;
+        start = System.nanoTime();
+        for (int q = 0; q < QUERIES; q++) {
+            int[] top = store.top(K, categories[q % categories.length]);
+            heapChecksum += top.length;
+        }
+        int[] overall = store.top(K, null);
+        long heapNanos = System.nanoTime() - start;
+
+        if (store.getCents(overall[K - 1]) * sorted != sortChecksum) {
+            throw new IllegalStateException("Heaps and sort disagree on the " + K + "th largest amount");
+        }
+
+        start = System.nanoTime();
+        for (int i = 0; i < DELETES; i++) {
+            store.remove(random.nextInt(store.size()));
+        }
+        long deleteNanos = System.nanoTime() - start;
+
+        System.out.printf("%,d entries, heaps built in %.1f ms (%,d rows listed)%n",
+                ROWS, buildNanos / 1e6, heapChecksum);
+        System.out.printf("sort amounts:   %10.1f us per query%n", sortNanos / 1e3 / sorted);
+        System.out.printf("amount heaps:   %10.1f us per query%n", heapNanos / 1e3 / (QUERIES + 1));
+        System.out.printf("indexed delete: %10.1f us per delete%n", deleteNanos / 1e3 / DELETES);
+    }
+}
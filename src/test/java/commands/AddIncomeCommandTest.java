@@ -29,9 +29,9 @@ public class AddIncomeCommandTest {
         command.incomeExecute(incomeManager, ui);
 
         assertEquals(100.0, summary.getTotalIncome());
-        assertFalse(IncomeManager.getIncomeList().isEmpty());
-        assertEquals(100.0, IncomeManager.getIncomeList().get(0).getAmount());
-        assertEquals("Salary", IncomeManager.getIncomeList().get(0).getSource());
+        assertFalse(IncomeManager.getInstance().entries().isEmpty());
+        assertEquals(100.0, IncomeManager.getInstance().entries().get(0).getAmount());
+        assertEquals("Salary", IncomeManager.getInstance().entries().get(0).getSource());
     }
 
     @Test
@@ -64,7 +64,7 @@ public class AddIncomeCommandTest {
         command.incomeExecute(incomeManager, ui);
 
         assertEquals(123.45, summary.getTotalIncome());
-        assertEquals("Freelance", IncomeManager.getIncomeList().get(0).getSource());
+        assertEquals("Freelance", IncomeManager.getInstance().entries().get(0).getSource());
     }
 
     @Test
@@ -75,7 +75,7 @@ public class AddIncomeCommandTest {
         command1.incomeExecute(incomeManager, ui);
         command2.incomeExecute(incomeManager, ui);
 
-        assertEquals(2, IncomeManager.getIncomeList().size());
+        assertEquals(2, IncomeManager.getInstance().entries().size());
         assertEquals(300.0, summary.getTotalIncome());
     }
 
@@ -102,7 +102,7 @@ public class AddIncomeCommandTest {
         command.incomeExecute(incomeManager, ui);
 
         assertEquals(250.0, summary.getTotalIncome());
-        assertEquals(longSource, IncomeManager.getIncomeList().get(0).getSource());
+        assertEquals(longSource, IncomeManager.getInstance().entries().get(0).getSource());
     }
 
     @Test
@@ -110,7 +110,7 @@ public class AddIncomeCommandTest {
         AddIncomeCommand command = new AddIncomeCommand(90.0, "  Bonus  ", summary);
         command.incomeExecute(incomeManager, ui);
 
-        assertEquals("  Bonus  ", IncomeManager.getIncomeList().get(0).getSource());
+        assertEquals("  Bonus  ", IncomeManager.getInstance().entries().get(0).getSource());
     }
 
     @Test
@@ -0,0 +1,56 @@
+package commands;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CommandRegistryTest {
+    private final CommandHandler addIncome = line -> false;
+    private final CommandHandler savings = line -> false;
+    private final CommandHandler goalUpdate = line -> false;
+    private final CommandHandler viewSummary = line -> false;
+    private CommandRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new CommandRegistry();
+        registry.register("add income", addIncome);
+        registry.register("savings", savings);
+        registry.register("savings goal update", goalUpdate);
+        registry.registerExact("view summary", viewSummary);
+    }
+
+    @Test
+    void resolve_prefixKeywords_returnsHandler() {
+        assertSame(addIncome, registry.resolve("add income 1000 / salary"));
+        assertSame(addIncome, registry.resolve("  add   income 5 / job"));
+    }
+
+    @Test
+    void resolve_overlappingKeywords_longestMatchWins() {
+        assertSame(goalUpdate, registry.resolve("savings goal update 1 50 / trip"));
+        assertSame(savings, registry.resolve("savings goal set 50 / trip"));
+        assertSame(savings, registry.resolve("savings"));
+    }
+
+    @Test
+    void resolve_exactKeywords_onlyMatchWholeLine() {
+        assertSame(viewSummary, registry.resolve("view summary  "));
+        assertNull(registry.resolve("view summary now"));
+    }
+
+    @Test
+    void resolve_unknownOrPartialWord_returnsNull() {
+        assertNull(registry.resolve("add incomes 5 / job"));
+        assertNull(registry.resolve("add"));
+        assertNull(registry.resolve(""));
+    }
+
+    @Test
+    void register_duplicateKeywords_throwsIllegalStateException() {
+        assertThrows(IllegalStateException.class, () -> registry.register("add  income", line -> true));
+    }
+}
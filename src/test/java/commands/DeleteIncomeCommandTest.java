@@ -36,8 +36,8 @@ public class DeleteIncomeCommandTest {
         command.incomeExecute(IncomeManager.getInstance(), ui);
 
         // Validate that the income list has the correct size and values after deletion
-        assertEquals(1, IncomeManager.getIncomeList().size());
-        assertEquals(50.0, IncomeManager.getIncomeList().get(0).getAmount());
+        assertEquals(1, IncomeManager.getInstance().entries().size());
+        assertEquals(50.0, IncomeManager.getInstance().entries().get(0).getAmount());
         assertEquals(50.0, summary.getTotalIncome());
     }
 
@@ -64,8 +64,8 @@ public class DeleteIncomeCommandTest {
         DeleteIncomeCommand command1 = new DeleteIncomeCommand(2, summary);
         command1.incomeExecute(IncomeManager.getInstance(), ui);
 
-        assertEquals(1, IncomeManager.getIncomeList().size());
-        assertEquals("Freelance", IncomeManager.getIncomeList().get(0).getSource());
+        assertEquals(1, IncomeManager.getInstance().entries().size());
+        assertEquals("Freelance", IncomeManager.getInstance().entries().get(0).getSource());
         assertEquals(200.0, summary.getTotalIncome());
     }
 
@@ -101,7 +101,7 @@ public class DeleteIncomeCommandTest {
         command.incomeExecute(IncomeManager.getInstance(), ui);
 
         // Income not deleted, list still has 2 entries
-        assertEquals(2, IncomeManager.getIncomeList().size());
+        assertEquals(2, IncomeManager.getInstance().entries().size());
         assertEquals(250.0, summary.getTotalIncome());
     }
 
@@ -110,12 +110,12 @@ public class DeleteIncomeCommandTest {
         // First delete
         DeleteIncomeCommand command1 = new DeleteIncomeCommand(1, summary);
         command1.incomeExecute(IncomeManager.getInstance(), ui);
-        assertEquals(1, IncomeManager.getIncomeList().size());
+        assertEquals(1, IncomeManager.getInstance().entries().size());
 
         // Second delete
         DeleteIncomeCommand command2 = new DeleteIncomeCommand(1, summary);
         command2.incomeExecute(IncomeManager.getInstance(), ui);
-        assertEquals(0, IncomeManager.getIncomeList().size());
+        assertEquals(0, IncomeManager.getInstance().entries().size());
 
         // Total income should now be 0
         assertEquals(0.0, summary.getTotalIncome());
@@ -130,8 +130,8 @@ public class DeleteIncomeCommandTest {
         DeleteIncomeCommand command = new DeleteIncomeCommand(2, summary);
         command.incomeExecute(IncomeManager.getInstance(), ui);
 
-        assertEquals(2, IncomeManager.getIncomeList().size());
-        assertEquals("Allowance", IncomeManager.getIncomeList().get(1).getSource());
+        assertEquals(2, IncomeManager.getInstance().entries().size());
+        assertEquals("Allowance", IncomeManager.getInstance().entries().get(1).getSource());
     }
 
     @Test
@@ -0,0 +1,61 @@
+package commands;
+
+import exceptions.BudgetTrackerException;
+import expenses.ExpenseList;
+import expenses.ExpenseParser;
+import expenses.Ui;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import summary.Summary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FindExpenseCommandTest {
+    private ExpenseList expenseList;
+    private Summary summary;
+    private Ui ui;
+
+    @BeforeEach
+    void setUp() throws BudgetTrackerException {
+        expenseList = new ExpenseList();
+        summary = new Summary();
+        summary.addIncome(1000.0);
+        ui = new Ui();
+    }
+
+    private String run(String line) throws BudgetTrackerException {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+        try {
+            ExpenseParser.parse(line, summary, expenseList).execute(expenseList, ui);
+        } finally {
+            System.setOut(originalOut);
+        }
+        return output.toString().replace("\r\n", "\n");
+    }
+
+    @Test
+    public void findExpense_afterDelete_numbersMatchesAsInList() throws BudgetTrackerException {
+        run("add expense 12.50 / Lunch with team / F");
+        run("add expense 3 / bus / T");
+        run("add expense 20 / team dinner / F");
+        run("find expense team");
+        run("delete expense 1");
+
+        assertEquals("===== MATCHING EXPENSES =====\n"
+                + "2. [FOOD] $20.0 for team dinner\n"
+                + "=============================\n"
+                + "1 matching expense.\n", run("find expense TEAM"));
+        assertEquals("No expenses match \"lunch\".\n", run("find expense lunch"));
+    }
+
+    @Test
+    public void findExpense_noKeywords_throwsUsage() {
+        assertThrows(BudgetTrackerException.class, () -> run("find expense  - "));
+    }
+}
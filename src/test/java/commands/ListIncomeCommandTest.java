@@ -6,6 +6,7 @@ import income.IncomeManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import summary.Summary;
+import util.Page;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
@@ -131,7 +132,7 @@ class ListIncomeCommandTest {
         summary.addIncome(100.0);
 
         // Simulate deletion of first income
-        IncomeManager.getIncomeList().remove(0);
+        IncomeManager.deleteIncome(0);
         summary.removeIncome(40.0);
 
         ListIncomeCommand command = new ListIncomeCommand(summary);
@@ -142,4 +143,55 @@ class ListIncomeCommandTest {
         assertFalse(output.contains("Old Job"));
         assertTrue(output.contains("Total Income: $100.0"));
     }
+
+    @Test
+    void testListIncomePageShowsOnlyThatPage() throws BudgetTrackerException {
+        for (int i = 1; i <= 5; i++) {
+            IncomeManager.addIncome(new Income(10.0 * i, "Job " + i));
+            summary.addIncome(10.0 * i);
+        }
+
+        new ListIncomeCommand(summary, new Page(2, 2)).execute();
+
+        String output = outputStream.toString().trim();
+        assertFalse(output.contains("from Job 2"));
+        assertTrue(output.contains("3. $30.0 from Job 3"));
+        assertTrue(output.contains("4. $40.0 from Job 4"));
+        assertFalse(output.contains("from Job 5"));
+        assertTrue(output.contains("Total Income: $150.0"));
+        assertTrue(output.endsWith("Page 2 of 3 (5 income entries)"));
+    }
+
+    @Test
+    void testListIncomePagePastEnd() throws BudgetTrackerException {
+        IncomeManager.addIncome(new Income(10.0, "Job"));
+        summary.addIncome(10.0);
+
+        new ListIncomeCommand(summary, new Page(2, 20)).execute();
+
+        assertEquals("Page 2 does not exist. There is 1 page.", outputStream.toString().trim());
+    }
+
+    @Test
+    void testListIncomeOfSeparateManagersKeepsTheirOwnRows() throws BudgetTrackerException {
+        IncomeManager first = new IncomeManager();
+        IncomeManager second = new IncomeManager();
+        first.add(new Income(10.0, "Tutoring"));
+        second.add(new Income(20.0, "Refund"));
+        second.add(new Income(30.0, "Gift"));
+
+        new ListIncomeCommand(summary, null, first).execute();
+        new ListIncomeCommand(summary, null, second).execute();
+        new ListIncomeCommand(summary, new Page(2, 1), second).execute();
+
+        String[] listings = outputStream.toString().split("===== INCOME RECORDS =====");
+        assertEquals(4, listings.length);
+        assertTrue(listings[1].contains("1. $10.0 from Tutoring"));
+        assertFalse(listings[1].contains("Refund"));
+        assertTrue(listings[2].contains("1. $20.0 from Refund"));
+        assertTrue(listings[2].contains("2. $30.0 from Gift"));
+        assertFalse(listings[3].contains("Refund"));
+        assertTrue(listings[3].contains("2. $30.0 from Gift"));
+        assertTrue(listings[3].contains("Page 2 of 2 (2 income entries)"));
+    }
 }
@@ -9,8 +9,15 @@ import income.IncomeManager;
 import summary.Summary;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
+import util.Page;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ViewExpenseCommandTest {
     private ExpenseList expenseList;
@@ -60,4 +67,39 @@ public class ViewExpenseCommandTest {
         assertEquals(description, expenseList.getExpenses().get(0).getDescription(), "Description should match.");
         assertEquals(category, expenseList.getExpenses().get(0).getCategory(), "Category should match.");
     }
+
+    @Test
+    public void viewExpense_page_showsOnlyThatPageWithListNumbers() throws BudgetTrackerException {
+        summary.addIncome(1000.0);
+        for (int i = 1; i <= 25; i++) {
+            new AddExpenseCommand(i, "item " + i, Category.FOOD, summary).execute(expenseList, ui);
+        }
+
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+        try {
+            new ViewExpenseCommand(expenseList, new Page(2, 10)).execute(expenseList, ui);
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        String text = output.toString();
+        assertFalse(text.contains("for item 10" + System.lineSeparator()));
+        assertTrue(text.contains("11. [FOOD] $11.0 for item 11"));
+        assertTrue(text.contains("20. [FOOD] $20.0 for item 20"));
+        assertFalse(text.contains("for item 21"));
+        assertTrue(text.trim().endsWith("Page 2 of 3 (25 expenses)"));
+    }
+
+    @Test
+    public void viewExpense_pagePastEnd_throwsException() throws BudgetTrackerException {
+        summary.addIncome(100.0);
+        new AddExpenseCommand(5.0, "Snack", Category.FOOD, summary).execute(expenseList, ui);
+
+        ViewExpenseCommand viewCommand = new ViewExpenseCommand(expenseList, new Page(3, 1));
+        BudgetTrackerException e = assertThrows(BudgetTrackerException.class,
+                () -> viewCommand.execute(expenseList, ui));
+        assertEquals("Page 3 does not exist. There is 1 page.", e.getMessage());
+    }
 }
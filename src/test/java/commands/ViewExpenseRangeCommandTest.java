@@ -0,0 +1,83 @@
+package commands;
+
+import exceptions.BudgetTrackerException;
+import expenses.Expense.Category;
+import expenses.ExpenseList;
+import expenses.ExpenseParser;
+import expenses.Ui;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import summary.Summary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ViewExpenseRangeCommandTest {
+    private ExpenseList expenseList;
+    private Summary summary;
+    private Ui ui;
+
+    @BeforeEach
+    void setUp() throws BudgetTrackerException {
+        expenseList = new ExpenseList();
+        summary = new Summary();
+        summary.addIncome(1000.0);
+        ui = new Ui();
+    }
+
+    private String run(String line) throws BudgetTrackerException {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+        try {
+            ExpenseParser.parse(line, summary, expenseList).execute(expenseList, ui);
+        } finally {
+            System.setOut(originalOut);
+        }
+        return output.toString().replace("\r\n", "\n");
+    }
+
+    @Test
+    public void addExpense_withDate_isDatedOnThatDay() throws BudgetTrackerException {
+        run("add expense 12.50 / lunch / F / d:2025-03-14");
+        run("add expense 3 / bus / T");
+
+        assertEquals(LocalDate.of(2025, 3, 14), expenseList.getExpenses().get(0).getDate());
+        assertEquals(LocalDate.now(), expenseList.getExpenses().get(1).getDate());
+        assertEquals(Category.TRANSPORT, expenseList.getExpenses().get(1).getCategory());
+    }
+
+    @Test
+    public void viewRange_totalsOnlyExpensesWithinDates() throws BudgetTrackerException {
+        run("add expense 10 / february / F / d:2025-02-28");
+        run("add expense 20 / march / F / d:2025-03-01");
+        run("add expense 30 / may / B / d:2025-05-31");
+        run("add expense 40 / june / F / d:2025-06-01");
+        run("delete expense 2");
+
+        String expected = "===== EXPENSES FROM 2025-03-01 TO 2025-05-31 =====\n"
+                + "FOOD:                $0.00\n"
+                + "TRANSPORT:           $0.00\n"
+                + "BILLS:               $30.00\n"
+                + "OTHERS:              $0.00\n"
+                + "Total Expenses:      $30.00\n"
+                + "==================================================\n";
+        assertEquals(expected, run("view expense from 2025-03-01 to 2025-05-31"));
+        assertTrue(run("view expense from 2025-01-01 to 2025-12-31").contains("FOOD:                $50.00"));
+    }
+
+    @Test
+    public void parse_malformedDatesOrRange_throws() {
+        assertThrows(BudgetTrackerException.class, () -> run("add expense 5 / tea / F / 2025-03-01"));
+        assertThrows(BudgetTrackerException.class, () -> run("add expense 5 / tea / F / d:2025-02-30"));
+        assertThrows(BudgetTrackerException.class, () -> run("add expense 5 / tea / F / d:1850-01-01"));
+        assertThrows(BudgetTrackerException.class, () -> run("view expense from 2025-03-01"));
+        assertThrows(BudgetTrackerException.class, () -> run("view expense from 2025-03-01 until 2025-04-01"));
+        assertThrows(BudgetTrackerException.class, () -> run("view expense from 2025-05-01 to 2025-04-01"));
+    }
+}
@@ -0,0 +1,83 @@
+package commands;
+
+import exceptions.BudgetTrackerException;
+import expenses.Expense;
+import expenses.ExpenseList;
+import expenses.ExpenseParser;
+import expenses.ExpenseStore;
+import expenses.Ui;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import summary.Summary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ViewExpenseStatsCommandTest {
+    private ExpenseList expenseList;
+    private Summary summary;
+    private Ui ui;
+
+    @BeforeEach
+    void setUp() throws BudgetTrackerException {
+        expenseList = new ExpenseList();
+        summary = new Summary();
+        summary.addIncome(1000.0);
+        ui = new Ui();
+    }
+
+    private String run(String line) throws BudgetTrackerException {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+        try {
+            ExpenseParser.parse(line, summary, expenseList).execute(expenseList, ui);
+        } finally {
+            System.setOut(originalOut);
+        }
+        return output.toString().replace("\r\n", "\n");
+    }
+
+    @Test
+    public void viewExpenseStats_afterDelete_showsPercentilesOfRemainingExpenses() throws BudgetTrackerException {
+        run("add expense 10 / lunch / F");
+        run("add expense 4 / bus / T");
+        run("view expense stats");
+        run("add expense 30 / dinner / F");
+        run("delete expense 2");
+
+        assertEquals("===== EXPENSE PERCENTILES =====\n"
+                + "Category      Count         p50         p90         p99\n"
+                + "FOOD              2      $20.00      $30.00      $30.00\n"
+                + "TRANSPORT         0           -           -           -\n"
+                + "BILLS             0           -           -           -\n"
+                + "OTHERS            0           -           -           -\n"
+                + "All               2      $20.00      $30.00      $30.00\n"
+                + "===============================\n", run("view expense stats"));
+    }
+
+    @Test
+    public void viewExpenseStats_extraArgument_throwsUsage() {
+        assertThrows(BudgetTrackerException.class, () -> run("view expense stats F"));
+    }
+
+    @Test
+    public void amountDigest_manyDeletes_rebuiltWithoutDeletedAmounts() {
+        ExpenseStore store = expenseList.getStore();
+        for (int i = 0; i < 1000; i++) {
+            store.add(i < 500 ? 100 : 10_000, Expense.Category.BILLS, "bill");
+        }
+        assertEquals(1000, store.amountDigest(Expense.Category.BILLS).size());
+        for (int i = 0; i < 500; i++) {
+            store.remove(0);
+        }
+
+        assertEquals(500, store.count(Expense.Category.BILLS));
+        assertTrue(store.amountDigest(Expense.Category.BILLS).size() <= 500 + 500 / 20);
+        assertEquals(10_000, store.amountDigest(Expense.Category.BILLS).quantile(0.5), 0);
+    }
+}
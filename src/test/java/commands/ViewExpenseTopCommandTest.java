@@ -0,0 +1,70 @@
+package commands;
+
+import exceptions.BudgetTrackerException;
+import expenses.ExpenseList;
+import expenses.ExpenseParser;
+import expenses.Ui;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import summary.Summary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ViewExpenseTopCommandTest {
+    private ExpenseList expenseList;
+    private Summary summary;
+    private Ui ui;
+
+    @BeforeEach
+    void setUp() throws BudgetTrackerException {
+        expenseList = new ExpenseList();
+        summary = new Summary();
+        summary.addIncome(1000.0);
+        ui = new Ui();
+    }
+
+    private String run(String line) throws BudgetTrackerException {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+        try {
+            ExpenseParser.parse(line, summary, expenseList).execute(expenseList, ui);
+        } finally {
+            System.setOut(originalOut);
+        }
+        return output.toString().replace("\r\n", "\n");
+    }
+
+    @Test
+    public void viewExpenseTop_afterDelete_listsLargestFirstWithListNumbers() throws BudgetTrackerException {
+        run("add expense 12.50 / lunch / F");
+        run("add expense 30 / taxi / T");
+        run("add expense 20 / dinner / F");
+        run("add expense 20 / snacks / F");
+        run("view expense top 1");
+        run("delete expense 2");
+
+        assertEquals("===== TOP 3 EXPENSES =====\n"
+                + "2. [FOOD] $20.0 for dinner\n"
+                + "3. [FOOD] $20.0 for snacks\n"
+                + "1. [FOOD] $12.5 for lunch\n"
+                + "==========================\n", run("view expense top 5"));
+        assertEquals("===== TOP 1 FOOD EXPENSES =====\n"
+                + "2. [FOOD] $20.0 for dinner\n"
+                + "===============================\n", run("view expense top 1 f"));
+        assertEquals("No TRANSPORT expenses recorded.\n", run("view expense top 2 T"));
+    }
+
+    @Test
+    public void viewExpenseTop_invalidArguments_throwsException() {
+        assertThrows(BudgetTrackerException.class, () -> run("view expense top"));
+        assertThrows(BudgetTrackerException.class, () -> run("view expense top 0"));
+        assertThrows(BudgetTrackerException.class, () -> run("view expense top two"));
+        assertThrows(BudgetTrackerException.class, () -> run("view expense top 2 X"));
+        assertThrows(BudgetTrackerException.class, () -> run("view expense top 2 F extra"));
+    }
+}
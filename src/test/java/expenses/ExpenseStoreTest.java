@@ -0,0 +1,102 @@
+package expenses;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ExpenseStoreTest {
+
+    @Test
+    public void add_rowsBeyondInitialCapacity_allColumnsKept() {
+        ExpenseStore store = new ExpenseStore();
+        for (int i = 0; i < 100; i++) {
+            store.add(i * 100L, Expense.Category.values()[i % Expense.Category.values().length], "item " + (i % 3));
+        }
+
+        assertEquals(100, store.size());
+        assertEquals(4200L, store.getCents(42));
+        assertEquals(Expense.Category.values()[42 % Expense.Category.values().length], store.getCategory(42));
+        assertEquals("item 0", store.getDescription(42));
+        assertSame(store.getDescription(0), store.getDescription(3));
+        assertEquals(495000L, store.totalCents());
+    }
+
+    @Test
+    public void remove_middleRow_laterRowsShiftUp() {
+        ExpenseStore store = new ExpenseStore();
+        store.add(100, Expense.Category.FOOD, "lunch");
+        store.add(250, Expense.Category.TRANSPORT, "bus");
+        store.add(1275, Expense.Category.FOOD, "groceries");
+
+        store.remove(1);
+
+        assertEquals(2, store.size());
+        assertEquals(1275L, store.getCents(1));
+        assertEquals("groceries", store.getDescription(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.getCents(2));
+    }
+
+    @Test
+    public void appendRow_matchesExpenseToString() {
+        ExpenseStore store = new ExpenseStore();
+        store.add(12075, Expense.Category.FOOD, "groceries");
+
+        StringBuilder row = new StringBuilder();
+        store.appendRow(0, row);
+
+        assertEquals("1. " + new Expense(120.75, "groceries", Expense.Category.FOOD), row.toString());
+    }
+
+    @Test
+    public void top_randomAddsAndRemoves_matchSortedList() {
+        Random random = new Random(20);
+        Expense.Category[] categories = Expense.Category.values();
+        ExpenseStore store = new ExpenseStore();
+        List<long[]> rows = new ArrayList<>(); // {cents, category ordinal, order added}
+        for (int step = 0; step < 4000; step++) {
+            if (rows.isEmpty() || random.nextInt(5) < 3) {
+                long cents = 1 + random.nextInt(50);
+                int category = random.nextInt(categories.length);
+                rows.add(new long[] {cents, category, step});
+                store.add(cents, categories[category], "row " + step);
+            } else {
+                int position = random.nextInt(rows.size());
+                rows.remove(position);
+                store.remove(position);
+            }
+
+            if (step % 100 == 0) {
+                int k = 1 + random.nextInt(20);
+                assertArrayEquals(sortedTop(rows, k, -1), store.top(k, null));
+                int category = random.nextInt(categories.length);
+                assertArrayEquals(sortedTop(rows, k, category), store.top(k, categories[category]),
+                        "category " + categories[category]);
+            }
+        }
+        while (rows.size() > 5) {
+            rows.remove(0);
+            store.remove(0);
+        }
+        assertArrayEquals(sortedTop(rows, 10, -1), store.top(10, null));
+    }
+
+    private static int[] sortedTop(List<long[]> rows, int k, int category) {
+        List<Integer> positions = IntStream.range(0, rows.size())
+                .filter(i -> category < 0 || rows.get(i)[1] == category)
+                .boxed()
+                .sorted(Comparator.comparingLong((Integer i) -> -rows.get(i)[0]).thenComparingInt(i -> i))
+                .limit(k)
+                .collect(Collectors.toList());
+        return positions.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -3,11 +3,18 @@ package income;
 import exceptions.BudgetTrackerException;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class IncomeManagerTest {
     @Test
@@ -15,8 +22,8 @@ public class IncomeManagerTest {
         Income income = new Income(300.0, "Part-time Job");
         IncomeManager.clearIncomeList();
         IncomeManager.addIncome(income);
-        assertEquals(1, IncomeManager.getIncomeList().size());
-        assertEquals("Part-time Job", IncomeManager.getIncomeList().get(0).getSource());
+        assertEquals(1, IncomeManager.getInstance().entries().size());
+        assertEquals("Part-time Job", IncomeManager.getInstance().entries().get(0).getSource());
     }
 
     @Test
@@ -24,7 +31,7 @@ public class IncomeManagerTest {
         IncomeManager.clearIncomeList();
         IncomeManager.addIncome(new Income(100.0, "Allowance"));
         IncomeManager.deleteIncome(0);
-        assertTrue(IncomeManager.getIncomeList().isEmpty());
+        assertTrue(IncomeManager.getInstance().entries().isEmpty());
     }
 
     @Test
@@ -51,14 +58,137 @@ public class IncomeManagerTest {
     void testClearIncomeList() {
         IncomeManager.addIncome(new Income(50.0, "Gift"));
         IncomeManager.clearIncomeList();
-        assertEquals(0, IncomeManager.getIncomeList().size());
+        assertEquals(0, IncomeManager.getInstance().entries().size());
     }
 
     @Test
-    void testGetIncomeListReturnsCorrectList() {
+    void testEntriesReturnsCorrectList() {
         IncomeManager.clearIncomeList();
         IncomeManager.addIncome(new Income(100.0, "Tutoring"));
-        List<Income> list = IncomeManager.getIncomeList();
+        List<Income> list = IncomeManager.getInstance().entries();
         assertEquals(1, list.size());
     }
+
+    @Test
+    void testFindIncomeFollowsAddsAndDeletes() throws BudgetTrackerException {
+        IncomeManager.clearIncomeList();
+        IncomeManager.addIncome(new Income(100.0, "Tutoring job"));
+        IncomeManager.addIncome(new Income(50.0, "Gift"));
+        assertArrayEquals(new int[] {0}, IncomeManager.findIncome("JOB"));
+
+        IncomeManager.addIncome(new Income(80.0, "Part-time job"));
+        IncomeManager.deleteIncome(0);
+        assertArrayEquals(new int[] {1}, IncomeManager.findIncome("job"));
+
+        IncomeManager.addIncome(new Income(10.0, "Odd job"));
+        assertArrayEquals(new int[] {1, 2}, IncomeManager.findIncome("job"));
+        assertArrayEquals(new int[0], IncomeManager.findIncome("tutoring"));
+    }
+
+    @Test
+    void testInstancesKeepSeparateEntries() throws BudgetTrackerException {
+        IncomeManager.clearIncomeList();
+        IncomeManager first = new IncomeManager();
+        IncomeManager second = new IncomeManager();
+        assertNotSame(IncomeManager.getInstance(), first);
+
+        first.add(new Income(100.0, "Salary"));
+        first.add(new Income(20.0, "Gift"));
+        second.add(new Income(5.0, "Refund"));
+        assertEquals(2, first.size());
+        assertEquals(1, second.size());
+        assertTrue(IncomeManager.getInstance().entries().isEmpty());
+
+        assertEquals("Salary", first.delete(0).getSource());
+        assertArrayEquals(new int[] {0}, first.find("gift"));
+        assertArrayEquals(new int[0], second.find("gift"));
+        assertEquals("Refund", second.entries().get(0).getSource());
+    }
+
+    @Test
+    void testEntriesShareTheirLedgersSourceStrings() {
+        IncomeManager first = new IncomeManager();
+        IncomeManager second = new IncomeManager();
+        first.add(new Income(100.0, new String("Salary")));
+        first.add(new Income(200.0, new String("Salary")));
+        second.add(new Income(300.0, new String("Salary")));
+
+        assertSame(first.get(0).getSource(), first.get(1).getSource());
+        assertEquals(1, first.getDictionary().size());
+        assertEquals(1, first.getDictionary().getHits());
+        assertEquals(0, second.getDictionary().getHits());
+    }
+
+    @Test
+    void testConcurrentWritersAndReadersSeeWholeChanges() throws Exception {
+        IncomeManager incomeManager = new IncomeManager();
+        int writers = 4;
+        int rounds = 2_000;
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            String source = "Job " + w;
+            threads.add(new Thread(() -> run(start, failures, () -> {
+                for (int i = 0; i < rounds; i++) {
+                    incomeManager.add(new Income(1.0, source));
+                }
+            })));
+        }
+        Thread reader = new Thread(() -> run(start, failures, () -> {
+            int lastSize = 0;
+            while (writing.get()) {
+                List<Income> entries = incomeManager.entries();
+                assertTrue(entries.size() >= lastSize, "Entries are never lost while only adding");
+                assertTrue(incomeManager.find("job").length >= entries.size());
+                lastSize = entries.size();
+            }
+        }));
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        reader.start();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        writing.set(false);
+        reader.join();
+
+        assertTrue(failures.isEmpty(), "Failed: " + failures.peek());
+        assertEquals(writers * rounds, incomeManager.size());
+        assertEquals(rounds, incomeManager.find("job 3").length);
+
+        threads.clear();
+        for (int w = 0; w < writers; w++) {
+            threads.add(new Thread(() -> run(start, failures, () -> {
+                for (int i = 0; i < rounds; i++) {
+                    incomeManager.delete(0);
+                }
+            })));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(failures.isEmpty(), "Failed: " + failures.peek());
+        assertEquals(0, incomeManager.size());
+        assertEquals(0, incomeManager.find("job").length);
+    }
+
+    private interface Body {
+        void run() throws Exception;
+    }
+
+    private static void run(CountDownLatch start, ConcurrentLinkedQueue<Throwable> failures, Body body) {
+        try {
+            start.await();
+            body.run();
+        } catch (Throwable e) {
+            failures.add(e);
+        }
+    }
 }
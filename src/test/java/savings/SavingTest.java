@@ -214,4 +214,48 @@ class SavingTest {
         commandHandler.processSavingCommand("savings goal update 1 100 / vacation");
         assertEquals(100, saving.getSavingsRecords().get(0).getAmount());
     }
+
+    @Test
+    void setSavingsGoal_afterTransferAndDelete_expectEarliestRecordWithAmountChanged()
+            throws BudgetTrackerException {
+        saving.addSavings(100, "first");
+        saving.addSavings(300, "second");
+        saving.addSavings(200, "third");
+        saving.transferSavings(2, 3, 100);
+        saving.deleteSavings(1);
+        saving.setSavingsGoal(300, "moved");
+        saving.setSavingsGoal(100, "stale");
+        assertEquals("second", saving.getSavingsRecords().get(0).getGoal());
+        assertEquals("moved", saving.getSavingsRecords().get(1).getGoal());
+        saving.setSavingsGoal(200, "kept");
+        assertEquals("kept", saving.getSavingsRecords().get(0).getGoal());
+    }
+
+    @Test
+    void getTotalSavingsCents_afterManyChanges_expectSumOfRecords() throws BudgetTrackerException {
+        for (int i = 1; i <= 200; i++) {
+            saving.addSavings(i, "goal " + i);
+        }
+        for (int i = 0; i < 150; i++) {
+            saving.deleteSavings(1);
+        }
+        saving.updateSavingsGoal(0, 1000, "bigger");
+        saving.transferSavings(1, 2, 500);
+        long expected = 0;
+        for (SavingsRecord record : saving.getSavingsRecords()) {
+            expected += record.getAmountCents();
+        }
+        assertEquals(expected, saving.getTotalSavingsCents());
+        saving.setSavingsGoal(500, "half");
+        assertEquals("half", saving.getSavingsRecords().get(0).getGoal());
+    }
+
+    @Test
+    void getSavingsRecords_changedFromOutside_expectUnsupportedOperationException() throws BudgetTrackerException {
+        saving.addSavings(100, "laptop");
+        assertThrows(UnsupportedOperationException.class, () -> saving.getSavingsRecords().remove(0));
+        assertThrows(UnsupportedOperationException.class,
+                () -> saving.getSavingsRecords().add(new SavingsRecord(50, "trip")));
+        assertEquals(10000, saving.getTotalSavingsCents());
+    }
 }
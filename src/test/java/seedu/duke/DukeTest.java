@@ -1,12 +1,109 @@
 package seedu.duke;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import alerts.FinancialObserver;
+import expenses.Expense;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
 class DukeTest {
     @Test
     public void sampleTest() {
         assertTrue(true);
     }
+
+    @Test
+    public void executeBatch_failingLineInTheMiddle_isReportedAndTheRestRuns() throws Exception {
+        Path directory = Files.createTempDirectory("batch-test");
+        Path input = directory.resolve("commands.txt");
+        Path output = directory.resolve("output.txt");
+        Files.write(input, List.of("add income 100 / Salary", "explode", "add income 50 / Gift"));
+        Duke duke = Duke.newSession();
+        duke.registerCommand("explode", line -> {
+            throw new IllegalStateException("boom");
+        });
+
+        PrintStream console = System.out;
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(printed));
+        try {
+            duke.executeBatch(input, output);
+        } finally {
+            System.setOut(console);
+        }
+
+        String written = Files.readString(output);
+        assertTrue(written.contains("Added income: $100.0 from Salary"), written);
+        assertTrue(written.contains("An error occurred while running this command: "
+                + "java.lang.IllegalStateException: boom"), written);
+        assertTrue(written.contains("Added income: $50.0 from Gift"), written);
+        String report = printed.toString();
+        assertTrue(report.contains("Ran 3 commands"), report);
+        assertTrue(report.contains("1 with errors."), report);
+        assertTrue(report.contains("Total Income:        $150.00"), report);
+    }
+
+    @Test
+    public void executeBatch_manyChanges_notifiesObserversOnceAtTheEnd() throws Exception {
+        Path directory = Files.createTempDirectory("batch-test");
+        Path input = directory.resolve("commands.txt");
+        Path output = directory.resolve("output.txt");
+        List<String> lines = new ArrayList<>();
+        lines.add("add income 100 / Allowance");
+        for (int i = 0; i < 50; i++) {
+            lines.add("add expense 1.95 / snack / F");
+        }
+        Files.write(input, lines);
+        Duke duke = Duke.newSession();
+        List<Double> availableFunds = new ArrayList<>();
+        List<Double> categoryChanges = new ArrayList<>();
+        duke.registerObserver(new FinancialObserver() {
+            @Override
+            public void update(double available, double totalIncome, double totalExpense, double totalSavings) {
+                availableFunds.add(available);
+            }
+
+            @Override
+            public void updateCategory(Expense.Category category, double change, double categoryTotal) {
+                categoryChanges.add(change);
+            }
+        });
+
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        try {
+            duke.executeBatch(input, output);
+        } finally {
+            System.setOut(console);
+        }
+
+        assertEquals(List.of(2.5), availableFunds);
+        assertEquals(List.of(97.5), categoryChanges);
+        String written = Files.readString(output);
+        assertEquals(written.indexOf("====== ALERT ======"), written.lastIndexOf("====== ALERT ======"), written);
+        assertTrue(written.contains("====== ALERT ======"), written);
+    }
+
+    @Test
+    public void runLine_commandWordsAnywhereButTheStart_areNotRecognised() {
+        try (LedgerActor ledger = LedgerActor.start(Duke.newSession())) {
+            String text = ledger.submit("show savings").join().getText();
+            assertTrue(text.contains("Oops! I don't recognize that command."), text);
+
+            LedgerActor.Reply byebye = ledger.submit("byebye").join();
+            assertFalse(byebye.isExit());
+            assertTrue(byebye.getText().contains("Oops! I don't recognize that command."), byebye.getText());
+
+            assertTrue(ledger.submit("bye now").join().isExit());
+        }
+    }
 }
@@ -0,0 +1,178 @@
+package seedu.duke;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LedgerActorTest {
+
+    @Test
+    public void submit_withoutWaiting_runsLinesInArrivalOrder() {
+        try (LedgerActor ledger = LedgerActor.start(Duke.newSession())) {
+            CompletableFuture<LedgerActor.Reply> income = ledger.submit("add income 100 / Salary");
+            ledger.submit("add expense 30 / lunch / F");
+            CompletableFuture<LedgerActor.Reply> summary = ledger.submit("view summary");
+            ledger.submit("delete expense 1");
+
+            assertTrue(income.join().getText().contains("Added income"));
+            String text = summary.join().getText();
+            assertTrue(text.contains("Total Expenses:      $30.00"), text);
+            assertTrue(text.contains("Available Balance:   $70.00"), text);
+        }
+    }
+
+    @Test
+    public void reads_onceCaughtUp_areServedFromThePublishedView() {
+        try (LedgerActor ledger = LedgerActor.start(Duke.newSession())) {
+            ledger.submit("add income 50 / Gift").join();
+            long applied = ledger.getView().getAppliedCount();
+            assertEquals(1, applied);
+
+            CompletableFuture<LedgerActor.Reply> summary = ledger.submit("view summary");
+            assertTrue(summary.isDone());
+            assertTrue(summary.join().getText().contains("Total Income:        $50.00"));
+            assertEquals(applied, ledger.getView().getAppliedCount());
+
+            ledger.submit("add expense 5 / bus / T").join();
+            String first = ledger.submit("view expense").join().getText();
+            long afterFirstRead = ledger.getView().getAppliedCount();
+            assertEquals(3, afterFirstRead, "The first listing after a change runs on the writer");
+            assertEquals(first, ledger.submit("view expense").join().getText());
+            assertEquals(afterFirstRead, ledger.getView().getAppliedCount());
+            assertTrue(first.contains("bus"), first);
+        }
+    }
+
+    @Test
+    public void submit_manyThreads_noLineIsLost() throws Exception {
+        int threads = 8;
+        int linesPerThread = 250;
+        try (LedgerActor ledger = LedgerActor.start(Duke.newSession())) {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> submitters = new ArrayList<>();
+            List<CompletableFuture<LedgerActor.Reply>> replies = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Thread thread = new Thread(() -> {
+                    List<CompletableFuture<LedgerActor.Reply>> own = new ArrayList<>();
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < linesPerThread; i++) {
+                        own.add(ledger.submit("add income 1 / Tips"));
+                        own.add(ledger.submit("view summary"));
+                    }
+                    synchronized (replies) {
+                        replies.addAll(own);
+                    }
+                });
+                thread.start();
+                submitters.add(thread);
+            }
+            start.countDown();
+            for (Thread thread : submitters) {
+                thread.join();
+            }
+            for (CompletableFuture<LedgerActor.Reply> reply : replies) {
+                reply.get();
+            }
+
+            String text = ledger.submit("view summary").join().getText();
+            assertTrue(text.contains("Total Income:        $2000.00"), text);
+        }
+    }
+
+    @Test
+    public void linesAfterBye_areCancelled() {
+        try (LedgerActor ledger = LedgerActor.start(Duke.newSession())) {
+            CompletableFuture<LedgerActor.Reply> bye = ledger.submit("bye");
+            CompletableFuture<LedgerActor.Reply> after = ledger.submit("add income 5 / Late");
+
+            assertTrue(bye.join().isExit());
+            assertThrows(CancellationException.class, after::join);
+            assertTrue(after.isCancelled());
+        }
+    }
+
+    @Test
+    public void close_whileThreadsSubmit_completesEveryReply() throws Exception {
+        int threads = 4;
+        LedgerActor ledger = LedgerActor.start(Duke.newSession());
+        CountDownLatch start = new CountDownLatch(threads);
+        List<Thread> submitters = new ArrayList<>();
+        List<CompletableFuture<LedgerActor.Reply>> replies = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread thread = new Thread(() -> {
+                List<CompletableFuture<LedgerActor.Reply>> own = new ArrayList<>();
+                start.countDown();
+                for (int i = 0; i < 2_000; i++) {
+                    own.add(ledger.submit("add income 1 / Tips"));
+                }
+                synchronized (replies) {
+                    replies.addAll(own);
+                }
+            });
+            thread.start();
+            submitters.add(thread);
+        }
+        start.await();
+        ledger.close();
+        for (Thread thread : submitters) {
+            thread.join();
+        }
+
+        for (CompletableFuture<LedgerActor.Reply> reply : replies) {
+            assertTrue(reply.isDone());
+        }
+    }
+
+    @Test
+    public void close_interrupted_rejectsLinesNotYetRun() throws Exception {
+        Duke session = Duke.newSession();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        session.registerCommand("block", line -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        });
+        LedgerActor ledger = LedgerActor.start(session);
+        CompletableFuture<LedgerActor.Reply> blocked = ledger.submit("block");
+        CompletableFuture<LedgerActor.Reply> queued = ledger.submit("add income 5 / Late");
+        entered.await();
+
+        Thread closer = Thread.currentThread();
+        Thread releaser = new Thread(() -> {
+            // Only the second wait in close() blocks, because the closer is already interrupted.
+            while (closer.getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+        });
+        releaser.start();
+        closer.interrupt();
+        ledger.close();
+        assertTrue(Thread.interrupted());
+        releaser.join();
+
+        assertTrue(blocked.isDone());
+        assertTrue(queued.isDone());
+        CompletionException failure = assertThrows(CompletionException.class, queued::join);
+        assertTrue(failure.getCause() instanceof RejectedExecutionException);
+    }
+}
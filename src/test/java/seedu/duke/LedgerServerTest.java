@@ -0,0 +1,107 @@
+package seedu.duke;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LedgerServerTest {
+    private LedgerServer server;
+    private Thread acceptor;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = LedgerServer.open(0);
+        acceptor = new Thread(server::serve);
+        acceptor.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        server.close();
+        acceptor.join();
+    }
+
+    @Test
+    public void eachConnection_hasItsOwnLedger() throws IOException {
+        try (Client alice = new Client(server.getPort()); Client bob = new Client(server.getPort())) {
+            assertTrue(alice.welcome.contains("Welcome to Common Cents!"));
+
+            assertTrue(alice.send("add income 100 / Salary").contains("Added income"));
+            assertTrue(bob.send("add income 40 / Gift").contains("Added income"));
+            assertTrue(alice.send("add expense 12.50 / lunch / F").contains("Added expense"));
+
+            String aliceSummary = alice.send("view summary");
+            String bobSummary = bob.send("view summary");
+            assertTrue(aliceSummary.contains("Total Income:        $100.00"), aliceSummary);
+            assertTrue(aliceSummary.contains("Available Balance:   $87.50"), aliceSummary);
+            assertTrue(bobSummary.contains("Total Income:        $40.00"), bobSummary);
+            assertTrue(bobSummary.contains("Total Expenses:      $0.00"), bobSummary);
+
+            String bobIncome = bob.send("view income");
+            assertTrue(bobIncome.contains("Gift") && !bobIncome.contains("Salary"), bobIncome);
+        }
+    }
+
+    @Test
+    public void bye_endsTheConnection() throws IOException {
+        try (Client client = new Client(server.getPort())) {
+            assertTrue(client.send("frobnicate").contains("I don't recognize that command"));
+            assertTrue(client.send("bye").contains("Goodbye!"));
+            assertNull(client.reader.readLine());
+        }
+    }
+
+    @Test
+    public void close_disconnectsOpenClients() throws IOException {
+        try (Client client = new Client(server.getPort())) {
+            server.close();
+            assertNull(client.reader.readLine());
+        }
+    }
+
+    private static final class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader reader;
+        private final PrintWriter writer;
+        private final String welcome;
+
+        Client(int port) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            writer = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            welcome = readReply();
+        }
+
+        String send(String command) throws IOException {
+            writer.println(command);
+            return readReply();
+        }
+
+        private String readReply() throws IOException {
+            StringBuilder reply = new StringBuilder();
+            String line;
+            while ((line = reader.readLine()) != null && !line.equals(LedgerServer.END_OF_REPLY)) {
+                reply.append(line).append('\n');
+            }
+            assertEquals(LedgerServer.END_OF_REPLY, line, "Reply ended early: " + reply);
+            return reply.toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
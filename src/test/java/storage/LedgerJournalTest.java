@@ -0,0 +1,249 @@
+package storage;
+
+import exceptions.BudgetTrackerException;
+import expenses.Expense;
+import expenses.ExpenseList;
+import income.Income;
+import income.IncomeManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import savings.Saving;
+import summary.Summary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LedgerJournalTest {
+    private Path journalPath;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        journalPath = Files.createTempDirectory("journal-test").resolve("ledger.journal");
+        IncomeManager.clearIncomeList();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        IncomeManager.setJournal(null);
+        IncomeManager.clearIncomeList();
+        Files.deleteIfExists(journalPath);
+        Files.deleteIfExists(journalPath.getParent());
+    }
+
+    @Test
+    void replay_afterMutations_rebuildsListsAndSummary() throws IOException, BudgetTrackerException {
+        Summary summary = new Summary();
+        ExpenseList expenseList = new ExpenseList();
+        Saving saving = new Saving(summary);
+        try (LedgerJournal journal = LedgerJournal.open(journalPath)) {
+            expenseList.setJournal(journal);
+            IncomeManager.setJournal(journal);
+            saving.setJournal(journal);
+
+            IncomeManager.addIncome(new Income(500.0, "salary"));
+            summary.addIncome(500.0);
+            IncomeManager.addIncome(new Income(20.0, "gift"));
+            summary.addIncome(20.0);
+            summary.addExpense(12.5);
+            expenseList.addExpense(new Expense(12.5, "lunch", Expense.Category.FOOD));
+            summary.addExpense(40.0);
+            expenseList.addExpense(new Expense(40.0, "bus pass", Expense.Category.TRANSPORT));
+            expenseList.deleteExpense(1);
+            summary.removeExpense(12.5);
+            saving.addSavings(100, "laptop");
+            saving.addSavings(50, "trip");
+            saving.transferSavings(1, 2, 30);
+            saving.updateSavingsGoal(0, 90, "new laptop");
+        }
+        IncomeManager.setJournal(null);
+        IncomeManager.clearIncomeList();
+
+        Summary restoredSummary = new Summary();
+        ExpenseList restoredExpenses = new ExpenseList();
+        Saving restoredSaving = new Saving(restoredSummary);
+        try (LedgerJournal journal = LedgerJournal.open(journalPath)) {
+            assertEquals(9, journal.replay(restoredExpenses, IncomeManager.getInstance(),
+                    restoredSaving, restoredSummary));
+        }
+
+        assertEquals(1, restoredExpenses.getExpenses().size());
+        assertEquals("bus pass", restoredExpenses.getExpenses().get(0).getDescription());
+        assertEquals(Expense.Category.TRANSPORT, restoredExpenses.getExpenses().get(0).getCategory());
+        assertEquals(2, IncomeManager.getInstance().entries().size());
+        assertEquals(2, restoredSaving.getSavingsRecords().size());
+        assertEquals("new laptop", restoredSaving.getSavingsRecords().get(0).getGoal());
+        assertEquals(90.0, restoredSaving.getSavingsRecords().get(0).getAmount(), 0.001);
+        assertEquals(80.0, restoredSaving.getSavingsRecords().get(1).getAmount(), 0.001);
+        assertEquals(520.0, restoredSummary.getTotalIncome(), 0.001);
+        assertEquals(40.0, restoredSummary.getTotalExpense(), 0.001);
+        assertEquals(170.0, restoredSummary.getTotalSavings(), 0.001);
+    }
+
+    @Test
+    void replay_tornTail_keepsIntactRecordsOnly() throws IOException {
+        Summary summary = new Summary();
+        ExpenseList expenseList = new ExpenseList();
+        try (LedgerJournal journal = LedgerJournal.open(journalPath)) {
+            IncomeManager.setJournal(journal);
+            IncomeManager.addIncome(new Income(75.0, "tutoring"));
+            IncomeManager.addIncome(new Income(25.0, "allowance"));
+        }
+        IncomeManager.setJournal(null);
+        IncomeManager.clearIncomeList();
+
+        try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (LedgerJournal journal = LedgerJournal.open(journalPath)) {
+            assertEquals(1, journal.replay(expenseList, IncomeManager.getInstance(),
+                    new Saving(summary), summary));
+        }
+        assertEquals(1, IncomeManager.getInstance().entries().size());
+        assertEquals("tutoring", IncomeManager.getInstance().entries().get(0).getSource());
+        assertEquals(75.0, summary.getTotalIncome(), 0.001);
+    }
+
+    @Test
+    void commit_failedWrite_keepsRecordsAndRetriesThem() throws IOException {
+        FailingChannel channel = new FailingChannel(FileChannel.open(journalPath, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE));
+        try (LedgerJournal journal = LedgerJournal.open(channel, 2, 60_000)) {
+            journal.appendAddIncome(new Income(10.0, "first"));
+            channel.isFailing = true;
+            journal.appendAddIncome(new Income(20.0, "second"));
+            assertNotNull(journal.takeCommitFailure());
+            assertNull(journal.takeCommitFailure());
+
+            channel.isFailing = false;
+            journal.appendAddIncome(new Income(30.0, "third"));
+            assertNull(journal.takeCommitFailure());
+        }
+
+        Summary summary = new Summary();
+        try (LedgerJournal journal = LedgerJournal.open(journalPath)) {
+            assertEquals(3, journal.replay(new ExpenseList(), IncomeManager.getInstance(),
+                    new Saving(summary), summary));
+        }
+        assertEquals("second", IncomeManager.getInstance().entries().get(1).getSource());
+        assertEquals(60.0, summary.getTotalIncome(), 0.001);
+    }
+
+    /**
+     * A journal file whose positional writes can be made to fail part way through.
+     */
+    private static class FailingChannel extends FileChannel {
+        private final FileChannel file;
+        private boolean isFailing;
+
+        FailingChannel(FileChannel file) {
+            this.file = file;
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            if (!isFailing) {
+                return file.write(src, position);
+            }
+            ByteBuffer half = src.duplicate();
+            half.limit(half.position() + half.remaining() / 2);
+            file.write(half, position);
+            throw new IOException("Disk full");
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return file.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return file.read(dsts, offset, length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return file.write(src);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return file.write(srcs, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return file.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            file.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return file.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            file.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            file.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return file.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return file.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return file.read(dst, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return file.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return file.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return file.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            file.close();
+        }
+    }
+}
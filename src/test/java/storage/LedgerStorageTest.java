@@ -0,0 +1,252 @@
+package storage;
+
+import commands.AddExpenseCommand;
+import commands.DeleteExpenseCommand;
+import exceptions.BudgetTrackerException;
+import expenses.Expense;
+import expenses.ExpenseList;
+import expenses.Ui;
+import income.Income;
+import income.IncomeManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import savings.Saving;
+import summary.RollupCube;
+import summary.Summary;
+import util.Dates;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LedgerStorageTest {
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("storage-test");
+        IncomeManager.clearIncomeList();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        IncomeManager.setJournal(null);
+        IncomeManager.clearIncomeList();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    void open_afterSnapshotAndJournal_restoresWholeLedger() throws IOException, BudgetTrackerException {
+        Summary summary = new Summary();
+        ExpenseList expenseList = new ExpenseList();
+        Saving saving = new Saving(summary);
+        try (LedgerStorage storage = LedgerStorage.open(directory, expenseList, IncomeManager.getInstance(),
+                saving, summary, 3)) {
+            IncomeManager.addIncome(new Income(300.0, "salary"));
+            summary.addIncome(300.0);
+            summary.addExpense(45.5);
+            expenseList.addExpense(new Expense(45.5, "groceries", Expense.Category.FOOD));
+            saving.addSavings(60, "holiday");
+            storage.checkpointIfDue();
+            assertTrue(Files.exists(directory.resolve("ledger.snapshot")));
+
+            summary.addExpense(10.0);
+            expenseList.addExpense(new Expense(10.0, "groceries", Expense.Category.FOOD));
+        }
+        IncomeManager.clearIncomeList();
+
+        Summary restoredSummary = new Summary();
+        ExpenseList restoredExpenses = new ExpenseList();
+        Saving restoredSaving = new Saving(restoredSummary);
+        try (LedgerStorage storage = LedgerStorage.open(directory, restoredExpenses, IncomeManager.getInstance(),
+                restoredSaving, restoredSummary)) {
+            assertEquals(300.0, restoredSummary.getTotalIncome(), 0.001);
+            assertEquals(55.5, restoredSummary.getTotalExpense(), 0.001);
+            assertEquals(60.0, restoredSummary.getTotalSavings(), 0.001);
+            assertEquals(2, restoredExpenses.getExpenses().size());
+            assertEquals("groceries", restoredExpenses.getExpenses().get(1).getDescription());
+            assertEquals(1, IncomeManager.getInstance().entries().size());
+            assertEquals("holiday", restoredSaving.getSavingsRecords().get(0).getGoal());
+        }
+    }
+
+    @Test
+    void open_afterSnapshotAndJournal_restoresCategoryTotals() throws IOException, BudgetTrackerException {
+        Summary summary = new Summary();
+        ExpenseList expenseList = new ExpenseList();
+        Saving saving = new Saving(summary);
+        try (LedgerStorage storage = LedgerStorage.open(directory, expenseList, IncomeManager.getInstance(),
+                saving, summary, 2)) {
+            IncomeManager.addIncome(new Income(300.0, "salary"));
+            summary.addIncome(300.0);
+            new AddExpenseCommand(45.5, "groceries", Expense.Category.FOOD, summary).execute(expenseList, new Ui());
+            storage.checkpointIfDue();
+            assertTrue(Files.exists(directory.resolve("ledger.snapshot")));
+
+            new AddExpenseCommand(20.0, "bus", Expense.Category.TRANSPORT, summary).execute(expenseList, new Ui());
+            new AddExpenseCommand(4.5, "snack", Expense.Category.FOOD, summary).execute(expenseList, new Ui());
+            new DeleteExpenseCommand(2, summary).execute(expenseList, new Ui());
+        }
+        IncomeManager.clearIncomeList();
+
+        Summary restoredSummary = new Summary();
+        try (LedgerStorage storage = LedgerStorage.open(directory, new ExpenseList(), IncomeManager.getInstance(),
+                new Saving(restoredSummary), restoredSummary)) {
+            assertEquals(5000, restoredSummary.getCategoryExpenseCents(Expense.Category.FOOD));
+            assertEquals(0, restoredSummary.getCategoryExpenseCents(Expense.Category.TRANSPORT));
+            assertEquals(5000, restoredSummary.getTotalExpenseCents());
+        }
+    }
+
+    @Test
+    void open_afterSnapshotAndJournal_restoresDates() throws IOException, BudgetTrackerException {
+        LocalDate march = LocalDate.of(2025, 3, 14);
+        LocalDate may = LocalDate.of(2025, 5, 2);
+        Summary summary = new Summary();
+        ExpenseList expenseList = new ExpenseList();
+        try (LedgerStorage storage = LedgerStorage.open(directory, expenseList, IncomeManager.getInstance(),
+                new Saving(summary), summary, 2)) {
+            IncomeManager.addIncome(new Income(300.0, "salary", march));
+            summary.addIncome(300.0);
+            new AddExpenseCommand(45.5, "groceries", Expense.Category.FOOD, march, summary)
+                    .execute(expenseList, new Ui());
+            storage.checkpointIfDue();
+            assertTrue(Files.exists(directory.resolve("ledger.snapshot")));
+
+            new AddExpenseCommand(20.0, "bus", Expense.Category.TRANSPORT, may, summary)
+                    .execute(expenseList, new Ui());
+        }
+        IncomeManager.clearIncomeList();
+
+        Summary restoredSummary = new Summary();
+        ExpenseList restoredExpenses = new ExpenseList();
+        try (LedgerStorage storage = LedgerStorage.open(directory, restoredExpenses, IncomeManager.getInstance(),
+                new Saving(restoredSummary), restoredSummary)) {
+            assertEquals(march, IncomeManager.getInstance().entries().get(0).getDate());
+            assertEquals(march, restoredExpenses.getExpenses().get(0).getDate());
+            assertEquals(may, restoredExpenses.getExpenses().get(1).getDate());
+            assertEquals(2000, restoredExpenses.getStore().totalCents(Expense.Category.TRANSPORT,
+                    Dates.toDay(may), Dates.toDay(may)));
+        }
+    }
+
+    @Test
+    void open_afterSnapshotAndJournal_restoresMonthlyRollup() throws IOException, BudgetTrackerException {
+        LocalDate march = LocalDate.of(2025, 3, 14);
+        LocalDate may = LocalDate.of(2025, 5, 2);
+        Summary summary = new Summary();
+        ExpenseList expenseList = new ExpenseList();
+        try (LedgerStorage storage = LedgerStorage.open(directory, expenseList, IncomeManager.getInstance(),
+                new Saving(summary), summary, 1)) {
+            summary.addIncome(300.0);
+            new AddExpenseCommand(45.5, "groceries", Expense.Category.FOOD, march, summary)
+                    .execute(expenseList, new Ui());
+            storage.checkpointIfDue();
+            assertTrue(Files.exists(directory.resolve("ledger.snapshot")));
+
+            new AddExpenseCommand(20.0, "bus", Expense.Category.TRANSPORT, may, summary)
+                    .execute(expenseList, new Ui());
+        }
+
+        Summary restoredSummary = new Summary();
+        try (LedgerStorage storage = LedgerStorage.open(directory, new ExpenseList(), IncomeManager.getInstance(),
+                new Saving(restoredSummary), restoredSummary)) {
+            RollupCube rollup = restoredSummary.getRollup();
+            assertEquals(4550, rollup.get(RollupCube.monthOf(march), RollupCube.Kind.EXPENSE, Expense.Category.FOOD));
+            assertEquals(2000, rollup.get(RollupCube.monthOf(may), RollupCube.Kind.EXPENSE,
+                    Expense.Category.TRANSPORT));
+            assertEquals(0, rollup.getExpenses(RollupCube.monthOf(march) + 1));
+        }
+    }
+
+    @Test
+    void open_journalAlreadyInSnapshot_doesNotApplyItTwice() throws IOException, BudgetTrackerException {
+        Summary summary = new Summary();
+        ExpenseList expenseList = new ExpenseList();
+        Saving saving = new Saving(summary);
+        try (LedgerJournal journal = LedgerJournal.open(directory.resolve("ledger.journal"))) {
+            IncomeManager.setJournal(journal);
+            IncomeManager.addIncome(new Income(80.0, "tutoring"));
+            summary.addIncome(80.0);
+            journal.commit();
+            // Simulate a crash after the snapshot was written but before the journal was emptied.
+            LedgerSnapshot.write(directory.resolve("ledger.snapshot"), expenseList,
+                    IncomeManager.getInstance().entries(), saving, summary, journal.getGeneration());
+        }
+        IncomeManager.setJournal(null);
+        IncomeManager.clearIncomeList();
+
+        Summary restoredSummary = new Summary();
+        try (LedgerStorage storage = LedgerStorage.open(directory, new ExpenseList(), IncomeManager.getInstance(),
+                new Saving(restoredSummary), restoredSummary)) {
+            assertEquals(80.0, restoredSummary.getTotalIncome(), 0.001);
+            assertEquals(1, IncomeManager.getInstance().entries().size());
+        }
+    }
+
+    @Test
+    void open_ledgerWithItsOwnIncomeManager_leavesTheDefaultOneAlone() throws IOException, BudgetTrackerException {
+        Summary summary = new Summary();
+        IncomeManager incomeManager = new IncomeManager();
+        ExpenseList expenseList = new ExpenseList(incomeManager.getDictionary());
+        try (LedgerStorage storage = LedgerStorage.open(directory, expenseList, incomeManager,
+                new Saving(summary), summary, 2)) {
+            incomeManager.add(new Income(300.0, "salary"));
+            summary.addIncome(300.0);
+            incomeManager.add(new Income(40.0, "gift"));
+            summary.addIncome(40.0);
+            storage.checkpointIfDue();
+            assertTrue(Files.exists(directory.resolve("ledger.snapshot")));
+
+            incomeManager.add(new Income(25.0, "tutoring"));
+            summary.addIncome(25.0);
+            incomeManager.delete(1);
+            summary.removeIncome(40.0);
+        }
+        assertEquals(0, IncomeManager.getInstance().size());
+
+        Summary restoredSummary = new Summary();
+        IncomeManager restoredIncomes = new IncomeManager();
+        try (LedgerStorage storage = LedgerStorage.open(directory,
+                new ExpenseList(restoredIncomes.getDictionary()), restoredIncomes, new Saving(restoredSummary),
+                restoredSummary)) {
+            assertEquals(2, restoredIncomes.size());
+            assertEquals("salary", restoredIncomes.get(0).getSource());
+            assertEquals("tutoring", restoredIncomes.get(1).getSource());
+            assertEquals(325.0, restoredSummary.getTotalIncome(), 0.001);
+            assertEquals(0, IncomeManager.getInstance().size());
+        }
+    }
+
+    @Test
+    void map_snapshotOfAnotherVersion_isRejected() throws IOException {
+        Path snapshot = directory.resolve("ledger.snapshot");
+        Summary summary = new Summary();
+        LedgerSnapshot.write(snapshot, new ExpenseList(), IncomeManager.getInstance().entries(), new Saving(summary),
+                summary, 1);
+        LedgerSnapshot.map(snapshot);
+
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer version = ByteBuffer.allocate(Short.BYTES);
+            channel.read(version, 4);
+            version.putShort(0, (short) (version.getShort(0) - 1)).rewind();
+            channel.write(version, 4);
+        }
+        assertThrows(IOException.class, () -> LedgerSnapshot.map(snapshot));
+    }
+}
@@ -0,0 +1,90 @@
+package summary;
+
+import exceptions.BudgetTrackerException;
+import expenses.Expense;
+import expenses.ExpenseStore;
+import income.Income;
+import org.junit.jupiter.api.Test;
+import savings.SavingsRecord;
+import util.Dates;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RollupCubeTest {
+    private static final LocalDate MARCH = LocalDate.of(2025, 3, 14);
+
+    @Test
+    void add_sameMonth_accumulatesPerCell() {
+        RollupCube rollup = new RollupCube();
+        rollup.add(RollupCube.Kind.EXPENSE, Expense.Category.FOOD, MARCH, 1000);
+        rollup.add(RollupCube.Kind.EXPENSE, Expense.Category.FOOD, MARCH.plusDays(3), 250);
+        rollup.add(RollupCube.Kind.EXPENSE, Expense.Category.BILLS, MARCH, 400);
+        rollup.add(RollupCube.Kind.INCOME, null, MARCH, 9000);
+        rollup.add(RollupCube.Kind.EXPENSE, Expense.Category.FOOD, MARCH, -250);
+
+        int month = RollupCube.monthOf(MARCH);
+        assertEquals(1000, rollup.get(month, RollupCube.Kind.EXPENSE, Expense.Category.FOOD));
+        assertEquals(400, rollup.get(month, RollupCube.Kind.EXPENSE, Expense.Category.BILLS));
+        assertEquals(1400, rollup.getExpenses(month));
+        assertEquals(9000, rollup.get(month, RollupCube.Kind.INCOME, null));
+        assertEquals(0, rollup.get(month, RollupCube.Kind.SAVINGS, null));
+        assertTrue(rollup.hasData(month));
+        assertFalse(rollup.hasData(month + 1));
+    }
+
+    @Test
+    void add_monthsFarApart_growsWindowAndKeepsCells() {
+        RollupCube rollup = new RollupCube();
+        LocalDate early = LocalDate.of(1990, 1, 1);
+        LocalDate late = LocalDate.of(2150, 12, 31);
+        rollup.add(RollupCube.Kind.SAVINGS, null, MARCH, 500);
+        rollup.add(RollupCube.Kind.SAVINGS, null, late, 700);
+        rollup.add(RollupCube.Kind.SAVINGS, null, early, 300);
+
+        assertEquals(500, rollup.get(RollupCube.monthOf(MARCH), RollupCube.Kind.SAVINGS, null));
+        assertEquals(700, rollup.get(RollupCube.monthOf(late), RollupCube.Kind.SAVINGS, null));
+        assertEquals(300, rollup.get(RollupCube.monthOf(early), RollupCube.Kind.SAVINGS, null));
+        assertTrue(rollup.getFirstMonth() <= RollupCube.monthOf(early));
+        assertTrue(rollup.getFirstMonth() + rollup.monthCount() > RollupCube.monthOf(late));
+    }
+
+    @Test
+    void rebuild_wrongCube_matchesEntries() {
+        ExpenseStore expenses = new ExpenseStore();
+        expenses.add(1200, Expense.Category.TRANSPORT, "bus", Dates.toDay(MARCH));
+        expenses.add(800, Expense.Category.TRANSPORT, "train", Dates.toDay(MARCH.plusMonths(1)));
+        List<Income> incomes = List.of(new Income(50.0, "gift", MARCH));
+        List<SavingsRecord> savings = List.of(new SavingsRecord(20.0, "holiday", MARCH));
+
+        RollupCube rollup = new RollupCube();
+        rollup.add(RollupCube.Kind.INCOME, null, MARCH, 123);
+        rollup.rebuild(expenses, incomes, savings);
+
+        int month = RollupCube.monthOf(MARCH);
+        assertEquals(1200, rollup.get(month, RollupCube.Kind.EXPENSE, Expense.Category.TRANSPORT));
+        assertEquals(800, rollup.get(month + 1, RollupCube.Kind.EXPENSE, Expense.Category.TRANSPORT));
+        assertEquals(5000, rollup.get(month, RollupCube.Kind.INCOME, null));
+        assertEquals(2000, rollup.get(month, RollupCube.Kind.SAVINGS, null));
+    }
+
+    @Test
+    void summary_datedChanges_updateRollup() throws BudgetTrackerException {
+        Summary summary = new Summary();
+        summary.addIncome(100.0, MARCH);
+        summary.addExpense(30.0, Expense.Category.FOOD, MARCH);
+        summary.addSavings(20.0, MARCH);
+        summary.removeExpense(10.0, Expense.Category.FOOD, MARCH);
+        summary.addIncome(5.0);
+
+        int month = RollupCube.monthOf(MARCH);
+        RollupCube rollup = summary.getRollup();
+        assertEquals(10000, rollup.get(month, RollupCube.Kind.INCOME, null));
+        assertEquals(2000, rollup.get(month, RollupCube.Kind.EXPENSE, Expense.Category.FOOD));
+        assertEquals(2000, rollup.get(month, RollupCube.Kind.SAVINGS, null));
+    }
+}
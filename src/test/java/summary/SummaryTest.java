@@ -1,8 +1,12 @@
 package summary;
 
 import exceptions.BudgetTrackerException;
+import expenses.Expense;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -291,16 +295,117 @@ class SummaryTest {
         assertEquals(625.0, summary.getAvailableFunds(), 0.001);
     }
 
+    @Test
+    void beginBatch_manyChanges_singleUpdateWithFinalTotals() throws BudgetTrackerException {
+        Summary summary = new Summary();
+        TestObserver observer = new TestObserver();
+        summary.registerObserver(observer);
+
+        summary.beginBatch();
+        try {
+            summary.addIncome(500);
+            for (int i = 0; i < 50; i++) {
+                summary.addExpense(2);
+            }
+            assertFalse(observer.wasNotified());
+        } finally {
+            summary.endBatch();
+        }
+
+        assertEquals(1, observer.getUpdateCount());
+        assertEquals(500.0, observer.getLastIncome(), 0.001);
+        assertEquals(100.0, observer.getLastExpense(), 0.001);
+    }
+
+    @Test
+    void batch_nestedAndUnchanged_notifiesOnlyWhenOutermostChangedBatchEnds() throws BudgetTrackerException {
+        Summary summary = new Summary();
+        TestObserver observer = new TestObserver();
+        summary.registerObserver(observer);
+
+        summary.batch(() -> { });
+        assertEquals(0, observer.getUpdateCount());
+
+        summary.beginBatch();
+        try {
+            summary.batch(() -> {
+                try {
+                    summary.addIncome(10);
+                } catch (BudgetTrackerException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            assertEquals(0, observer.getUpdateCount());
+        } finally {
+            summary.endBatch();
+        }
+        assertEquals(1, observer.getUpdateCount());
+    }
+
+    @Test
+    void addExpense_withCategory_updatesCategoryTotal() throws BudgetTrackerException {
+        Summary summary = new Summary();
+        summary.addIncome(500);
+        summary.addExpense(120.75, Expense.Category.FOOD);
+        summary.addExpense(50, Expense.Category.TRANSPORT);
+        summary.addExpense(75.25, Expense.Category.FOOD);
+        summary.removeExpense(50, Expense.Category.TRANSPORT);
+
+        assertEquals(19600, summary.getCategoryExpenseCents(Expense.Category.FOOD));
+        assertEquals(0, summary.getCategoryExpenseCents(Expense.Category.TRANSPORT));
+        assertEquals(summary.getTotalExpenseCents(), summary.getCategoryExpenseCents()[0]);
+    }
+
+    @Test
+    void removeExpense_moreThanCategoryTotal_throwsAndKeepsTotals() throws BudgetTrackerException {
+        Summary summary = new Summary();
+        summary.addIncome(500);
+        summary.addExpense(100, Expense.Category.FOOD);
+        summary.addExpense(20, Expense.Category.BILLS);
+
+        assertThrows(BudgetTrackerException.class, () -> summary.removeExpense(50, Expense.Category.BILLS));
+        assertEquals(12000, summary.getTotalExpenseCents());
+        assertEquals(2000, summary.getCategoryExpenseCents(Expense.Category.BILLS));
+    }
+
+    @Test
+    void categoryObserver_batch_receivesNetChangePerCategory() throws BudgetTrackerException {
+        Summary summary = new Summary();
+        summary.addIncome(500);
+        List<String> changes = new ArrayList<>();
+        summary.registerObserver(new TestObserver() {
+            @Override
+            public void updateCategory(Expense.Category category, double change, double categoryTotal) {
+                changes.add(category + " " + change + " " + categoryTotal);
+            }
+        });
+
+        summary.addExpense(10, Expense.Category.OTHERS);
+        summary.beginBatch();
+        try {
+            summary.addExpense(5, Expense.Category.FOOD);
+            summary.addExpense(2.5, Expense.Category.FOOD);
+            summary.addExpense(1, Expense.Category.OTHERS);
+            summary.removeExpense(1, Expense.Category.OTHERS);
+        } finally {
+            summary.endBatch();
+        }
+
+        assertEquals(List.of("OTHERS 10.0 10.0", "FOOD 7.5 7.5"), changes);
+    }
+
     private static class TestObserver implements alerts.FinancialObserver {
         private boolean notified = false;
         private double lastAvailableFunds = 0;
         private double lastIncome = 0;
         private double lastExpense = 0;
         private double lastSavings = 0;
+        private int updateCount = 0;
 
         @Override
         public void update(double availableFunds, double income, double expense, double savings) {
             notified = true;
+            updateCount++;
             this.lastAvailableFunds = availableFunds;
             this.lastIncome = income;
             this.lastExpense = expense;
@@ -319,6 +424,10 @@ class SummaryTest {
             return lastExpense;
         }
 
+        public int getUpdateCount() {
+            return updateCount;
+        }
+
         public void reset() {
             notified = false;
         }
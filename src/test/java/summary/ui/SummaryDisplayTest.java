@@ -1,10 +1,13 @@
 package summary.ui;
 
 import exceptions.BudgetTrackerException;
+import expenses.Expense;
 import org.junit.jupiter.api.Test;
 import summary.Summary;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class SummaryDisplayTest {
 
@@ -32,6 +35,42 @@ class SummaryDisplayTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void displaySummary_unchangedSummary_reusesRenderedText() throws BudgetTrackerException {
+        Summary summary = new Summary();
+        summary.addIncome(500);
+        SummaryDisplay display = new SummaryDisplay(summary);
+
+        String first = display.displaySummary();
+        assertSame(first, display.displaySummary());
+
+        summary.addExpense(20);
+        String changed = display.displaySummary();
+        assertNotSame(first, changed);
+        assertEquals(normalizeLineEndingsAndTrim(changed),
+                normalizeLineEndingsAndTrim(new SummaryDisplay(summary).displaySummary()));
+    }
+
+    @Test
+    void displayCategorySummary_expensesInTwoCategories_showsTotalsAndShares() throws BudgetTrackerException {
+        Summary summary = new Summary();
+        summary.addIncome(1000);
+        summary.addExpense(150, Expense.Category.FOOD);
+        summary.addExpense(50, Expense.Category.BILLS);
+
+        String expectedOutput =
+                "===== EXPENSES BY CATEGORY =====\n" +
+                        "FOOD:                $150.00 (75.0%)\n" +
+                        "TRANSPORT:           $0.00 (0.0%)\n" +
+                        "BILLS:               $50.00 (25.0%)\n" +
+                        "OTHERS:              $0.00 (0.0%)\n" +
+                        "Total Expenses:      $200.00\n" +
+                        "=================================\n";
+
+        assertEquals(normalizeLineEndingsAndTrim(expectedOutput),
+                normalizeLineEndingsAndTrim(new SummaryDisplay(summary).displayCategorySummary()));
+    }
+
     @Test
     void displaySummary_emptySummary_correctOutput() {
         Summary summary = new Summary();
@@ -0,0 +1,70 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CentsMultimapTest {
+
+    @Test
+    public void first_severalIdsUnderOneAmount_returnsSmallest() {
+        CentsMultimap map = new CentsMultimap();
+        map.put(500, 7);
+        map.put(500, 2);
+        map.put(500, 4);
+        map.put(-500, 1);
+
+        assertEquals(2, map.first(500));
+        assertTrue(map.remove(500, 2));
+        assertEquals(4, map.first(500));
+        assertEquals(1, map.first(-500));
+        assertEquals(CentsMultimap.NONE, map.first(400));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void remove_missingIdOrAmount_returnsFalse() {
+        CentsMultimap map = new CentsMultimap();
+        map.put(100, 1);
+
+        assertFalse(map.remove(100, 2));
+        assertFalse(map.remove(200, 1));
+        assertTrue(map.remove(100, 1));
+        assertEquals(CentsMultimap.NONE, map.first(100));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void randomPutsAndRemoves_matchTreeSets() {
+        Random random = new Random(19);
+        CentsMultimap map = new CentsMultimap();
+        Map<Long, TreeSet<Integer>> expected = new HashMap<>();
+        for (int step = 0; step < 20_000; step++) {
+            long cents = random.nextInt(300) * 1024L;
+            int id = random.nextInt(50);
+            TreeSet<Integer> ids = expected.computeIfAbsent(cents, key -> new TreeSet<>());
+            if (random.nextBoolean()) {
+                if (ids.add(id)) {
+                    map.put(cents, id);
+                }
+            } else {
+                assertEquals(ids.remove(id), map.remove(cents, id));
+            }
+            if (ids.isEmpty()) {
+                expected.remove(cents);
+            }
+        }
+        for (long cents = 0; cents < 300 * 1024L; cents += 1024) {
+            TreeSet<Integer> ids = expected.get(cents);
+            assertEquals(ids == null ? CentsMultimap.NONE : ids.first(), map.first(cents));
+        }
+        assertEquals(expected.size(), map.size());
+    }
+}
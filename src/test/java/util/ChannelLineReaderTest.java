@@ -0,0 +1,58 @@
+package util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ChannelLineReaderTest {
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("batch", ".txt");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void readLine_mixedLineEndings_stripsTerminators() throws IOException {
+        Files.write(file, "add income 5 / Job\r\n\nview summary\nbye".getBytes(StandardCharsets.UTF_8));
+        try (ChannelLineReader reader = ChannelLineReader.open(file)) {
+            assertEquals("add income 5 / Job", reader.readLine());
+            assertEquals("", reader.readLine());
+            assertEquals("view summary", reader.readLine());
+            assertEquals("bye", reader.readLine());
+            assertNull(reader.readLine());
+            assertNull(reader.readLine());
+        }
+    }
+
+    @Test
+    void readLine_smallBuffer_keepsLinesAndCharactersWhole() throws IOException {
+        String text = "add expense 4.50 / caf\u00e9 au lait / F\nadd expense 12 / \u5348\u9910 / F\n";
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+        try (ChannelLineReader reader = ChannelLineReader.open(file, 5)) {
+            assertEquals("add expense 4.50 / caf\u00e9 au lait / F", reader.readLine());
+            assertEquals("add expense 12 / \u5348\u9910 / F", reader.readLine());
+            assertNull(reader.readLine());
+        }
+    }
+
+    @Test
+    void readLine_emptyFile_returnsNull() throws IOException {
+        try (ChannelLineReader reader = ChannelLineReader.open(file)) {
+            assertNull(reader.readLine());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CommandTokenizerTest {
+
+    @Test
+    public void skipWord_requiresWordBoundary() {
+        CommandTokenizer tokens = new CommandTokenizer("  Add expenses");
+        assertFalse(tokens.skipWord("added", true));
+        assertTrue(tokens.skipWord("add", true));
+        assertEquals(5, tokens.position());
+        assertFalse(tokens.skipWord("expense", true));
+        assertEquals(5, tokens.position());
+    }
+
+    @Test
+    public void skipWord_caseSensitive_rejectsOtherCase() {
+        CommandTokenizer tokens = new CommandTokenizer("ADD income");
+        assertFalse(tokens.skipWord("add", false));
+        assertTrue(tokens.skipWord("ADD", false));
+    }
+
+    @Test
+    public void skipText_matchesOnlyAtCursor() {
+        CommandTokenizer tokens = new CommandTokenizer("delete  expense 1");
+        assertTrue(tokens.skipWord("delete", false));
+        assertFalse(tokens.skipText(" expense "));
+        assertTrue(tokens.skipText("  expense "));
+    }
+
+    @Test
+    public void readFields_separatedBySlashes() {
+        CommandTokenizer tokens = new CommandTokenizer("add expense 12.50 / lunch with team / f");
+        tokens.skipWord("add", true);
+        tokens.skipWord("expense", true);
+        int amountEnd = tokens.indexOf(" / ");
+        assertEquals(1250L, tokens.readCents(amountEnd));
+        tokens.moveTo(amountEnd + 3);
+        int descriptionEnd = tokens.indexOf(" / ");
+        assertEquals("lunch with team", tokens.readText(descriptionEnd));
+        tokens.moveTo(descriptionEnd + 3);
+        assertEquals('f', tokens.readCode(tokens.length()));
+        assertTrue(tokens.isBlank());
+    }
+
+    @Test
+    public void readCode_moreThanOneCharacter_returnsZero() {
+        assertEquals(0, new CommandTokenizer(" fo ").readCode(4));
+        assertEquals(0, new CommandTokenizer("   ").readCode(3));
+    }
+
+    @Test
+    public void readInt_acceptsWhatIntegerParseIntAccepts() {
+        assertEquals(42, new CommandTokenizer(" 42 ").readInt(4));
+        assertEquals(-7, new CommandTokenizer("-7").readInt(2));
+        assertEquals(Integer.MIN_VALUE, new CommandTokenizer("-2147483648").readInt(11));
+        assertThrows(NumberFormatException.class, () -> new CommandTokenizer("2147483648").readInt(10));
+        assertThrows(NumberFormatException.class, () -> new CommandTokenizer("1.5").readInt(3));
+        assertThrows(NumberFormatException.class, () -> new CommandTokenizer("-").readInt(1));
+        assertThrows(NumberFormatException.class, () -> new CommandTokenizer("").readInt(0));
+    }
+
+    @Test
+    public void nextWordEnd_walksWords() {
+        CommandTokenizer tokens = new CommandTokenizer("transfer savings 1  2 30");
+        tokens.skipText("transfer savings");
+        assertEquals(1, tokens.readInt(tokens.nextWordEnd()));
+        assertEquals(2, tokens.readInt(tokens.nextWordEnd()));
+        assertEquals(3000L, tokens.readCents(tokens.nextWordEnd()));
+        assertEquals(tokens.length(), tokens.nextWordEnd());
+    }
+
+    @Test
+    public void remainingWords_countsUpToOffset() {
+        CommandTokenizer tokens = new CommandTokenizer("  delete income  2 ");
+        assertEquals(3, tokens.remainingWords());
+        assertEquals(2, tokens.remainingWords(15));
+        assertEquals(0, new CommandTokenizer("   ").remainingWords());
+    }
+}
@@ -0,0 +1,65 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DayTotalsTest {
+
+    @Test
+    public void sum_emptyTotals_isZero() {
+        assertEquals(0, new DayTotals().sum(-1000, 1000));
+    }
+
+    @Test
+    public void sum_singleDays_includesBothEnds() {
+        DayTotals totals = new DayTotals();
+        totals.add(20000, 150);
+        totals.add(20001, 250);
+        totals.add(20003, 1000);
+
+        assertEquals(150, totals.sum(20000, 20000));
+        assertEquals(400, totals.sum(20000, 20001));
+        assertEquals(1250, totals.sum(20001, 20003));
+        assertEquals(0, totals.sum(20004, 30000));
+        assertEquals(0, totals.sum(20003, 20002));
+    }
+
+    @Test
+    public void add_daysFarOnEitherSide_growsAndKeepsTotals() {
+        DayTotals totals = new DayTotals();
+        totals.add(20000, 100);
+        totals.add(20000 + 5000, 200);
+        totals.add(20000 - 40000, 300);
+        totals.add(20000, -40);
+
+        assertEquals(300, totals.sum(-20000, -20000));
+        assertEquals(60, totals.sum(19999, 20001));
+        assertEquals(560, totals.sum(Integer.MIN_VALUE / 2, Integer.MAX_VALUE / 2));
+    }
+
+    @Test
+    public void randomUpdates_matchRangeSumsOfPlainArray() {
+        Random random = new Random(15);
+        int firstDay = Dates.toDay(LocalDate.of(2000, 1, 1));
+        long[] expected = new long[3000];
+        DayTotals totals = new DayTotals();
+        for (int step = 0; step < 5000; step++) {
+            int day = random.nextInt(expected.length);
+            long cents = random.nextInt(10_000) - 2_000;
+            expected[day] += cents;
+            totals.add(firstDay + day, cents);
+
+            int from = random.nextInt(expected.length);
+            int to = from + random.nextInt(expected.length - from);
+            long sum = 0;
+            for (int i = from; i <= to; i++) {
+                sum += expected[i];
+            }
+            assertEquals(sum, totals.sum(firstDay + from, firstDay + to));
+        }
+    }
+}
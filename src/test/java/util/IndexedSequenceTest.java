@@ -0,0 +1,91 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IndexedSequenceTest {
+
+    @Test
+    public void remove_byPosition_laterElementsRenumbered() {
+        IndexedSequence<String> sequence = new IndexedSequence<>();
+        sequence.add("a");
+        sequence.add("b");
+        sequence.add("c");
+
+        assertEquals("b", sequence.remove(1));
+
+        assertEquals(List.of("a", "c"), new ArrayList<>(sequence));
+        assertEquals("c", sequence.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> sequence.get(2));
+    }
+
+    @Test
+    public void randomOperations_matchArrayList() {
+        IndexedSequence<Integer> sequence = new IndexedSequence<>();
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int step = 0; step < 20_000; step++) {
+            int choice = random.nextInt(10);
+            if (choice < 5 || expected.isEmpty()) {
+                sequence.add(step);
+                expected.add(step);
+            } else if (choice < 9) {
+                int position = random.nextInt(expected.size());
+                assertEquals(expected.remove(position), sequence.remove(position));
+            } else {
+                int position = random.nextInt(expected.size());
+                assertEquals(expected.set(position, -step), sequence.set(position, -step));
+            }
+        }
+
+        assertEquals(expected.size(), sequence.size());
+        assertEquals(expected, new ArrayList<>(sequence));
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), sequence.get(i));
+        }
+    }
+
+    @Test
+    public void removeMostElements_compactsAndKeepsOrder() {
+        IndexedSequence<Integer> sequence = new IndexedSequence<>();
+        for (int i = 0; i < 1000; i++) {
+            sequence.add(i);
+        }
+        for (int i = 0; i < 900; i++) {
+            sequence.remove(0);
+        }
+
+        assertEquals(100, sequence.size());
+        assertEquals(900, (int) sequence.get(0));
+        assertEquals(999, (int) sequence.get(99));
+        sequence.clear();
+        assertEquals(0, sequence.size());
+    }
+
+    @Test
+    public void modifications_advanceVersion() {
+        IndexedSequence<Integer> sequence = new IndexedSequence<>();
+        long version = sequence.getVersion();
+        sequence.add(1);
+        assertTrue(sequence.getVersion() > version);
+
+        version = sequence.getVersion();
+        sequence.get(0);
+        sequence.size();
+        assertEquals(version, sequence.getVersion());
+
+        sequence.set(0, 2);
+        assertTrue(sequence.getVersion() > version);
+        version = sequence.getVersion();
+        sequence.remove(0);
+        assertTrue(sequence.getVersion() > version);
+    }
+}
@@ -0,0 +1,58 @@
+package util;
+
+import exceptions.BudgetTrackerException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MoneyTest {
+
+    @Test
+    public void parse_plainDecimals_returnsCents() {
+        assertEquals(12000L, Money.parse("120"));
+        assertEquals(12070L, Money.parse("120.7"));
+        assertEquals(12075L, Money.parse(" 120.75 "));
+        assertEquals(-350L, Money.parse("-3.5"));
+        assertEquals(50L, Money.parse(".5"));
+    }
+
+    @Test
+    public void parse_extraDecimalPlaces_roundsHalfUp() {
+        assertEquals(1056L, Money.parse("10.555"));
+        assertEquals(1055L, Money.parse("10.554"));
+        assertEquals(1100L, Money.parse("10.995"));
+    }
+
+    @Test
+    public void parse_notPlainDecimal_throwsNumberFormatException() {
+        assertThrows(NumberFormatException.class, () -> Money.parse("abc"));
+        assertThrows(NumberFormatException.class, () -> Money.parse(""));
+        assertThrows(NumberFormatException.class, () -> Money.parse("1e3"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("NaN"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("99999999999999999999"));
+    }
+
+    @Test
+    public void format_matchesDoubleToStringForOrdinaryAmounts() {
+        long[] samples = {0, 5, 50, 100, 12070, 12075, 24600, -4550, 999_999_999};
+        for (long cents : samples) {
+            assertEquals(Double.toString(cents / 100.0), Money.format(cents));
+        }
+    }
+
+    @Test
+    public void formatFixed_alwaysTwoDecimalPlaces() {
+        assertEquals("120.70", Money.formatFixed(12070));
+        assertEquals("0.05", Money.formatFixed(5));
+        assertEquals("-45.50", Money.formatFixed(-4550));
+    }
+
+    @Test
+    public void add_overflow_throwsBudgetTrackerException() throws BudgetTrackerException {
+        assertEquals(300L, Money.add(100, 200));
+        assertEquals(-100L, Money.subtract(100, 200));
+        assertThrows(BudgetTrackerException.class, () -> Money.add(Long.MAX_VALUE, 1));
+        assertThrows(BudgetTrackerException.class, () -> Money.subtract(Long.MIN_VALUE, 1));
+    }
+}
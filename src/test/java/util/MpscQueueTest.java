@@ -0,0 +1,77 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MpscQueueTest {
+
+    @Test
+    public void poll_singleThread_returnsElementsInOrder() {
+        MpscQueue<String> queue = new MpscQueue<>();
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+
+        queue.offer("a");
+        queue.offer("b");
+        assertFalse(queue.isEmpty());
+        assertEquals("a", queue.poll());
+        queue.offer("c");
+        assertEquals("b", queue.poll());
+        assertEquals("c", queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void offer_manyProducers_consumerGetsEveryElementInEachProducersOrder() throws Exception {
+        MpscQueue<long[]> queue = new MpscQueue<>();
+        int producers = 4;
+        int perProducer = 50_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (long i = 0; i < perProducer; i++) {
+                    queue.offer(new long[] {producer, i});
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        long[] next = new long[producers];
+        start.countDown();
+        for (int taken = 0; taken < producers * perProducer; ) {
+            long[] element = queue.poll();
+            if (element == null) {
+                queue.await();
+                continue;
+            }
+            int producer = (int) element[0];
+            assertEquals(next[producer], element[1], "Elements of one producer leave in order");
+            next[producer]++;
+            taken++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(queue.isEmpty());
+        for (long count : next) {
+            assertEquals(perProducer, count);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package util;
+
+import exceptions.BudgetTrackerException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PageTest {
+    private static final String USAGE = "usage";
+
+    private static Page parseAfterCommand(String line) throws BudgetTrackerException {
+        CommandTokenizer tokens = new CommandTokenizer(line);
+        tokens.skipWord("view", true);
+        tokens.skipWord("expense", true);
+        return Page.parse(tokens, USAGE);
+    }
+
+    @Test
+    public void parse_nothingAfterCommand_returnsNull() throws BudgetTrackerException {
+        assertNull(parseAfterCommand("view expense"));
+        assertNull(parseAfterCommand("view expense   "));
+    }
+
+    @Test
+    public void parse_pageAndSize_readsBoth() throws BudgetTrackerException {
+        Page page = parseAfterCommand("view expense page 3 size 50");
+        assertEquals(3, page.getNumber());
+        assertEquals(50, page.getSize());
+
+        Page sizeOnly = parseAfterCommand("view expense size 5");
+        assertEquals(1, sizeOnly.getNumber());
+        assertEquals(5, sizeOnly.getSize());
+
+        assertEquals(Page.DEFAULT_SIZE, parseAfterCommand("view expense PAGE 2").getSize());
+    }
+
+    @Test
+    public void parse_malformedOptions_throwsUsage() {
+        String[] lines = {"view expense page", "view expense page x", "view expense page 0",
+            "view expense size -1", "view expense size 5 page 2", "view expense all"};
+        for (String line : lines) {
+            BudgetTrackerException e = assertThrows(BudgetTrackerException.class, () -> parseAfterCommand(line));
+            assertEquals(USAGE, e.getMessage());
+        }
+    }
+
+    @Test
+    public void bounds_lastPartialPage() throws BudgetTrackerException {
+        Page page = new Page(3, 10);
+        assertEquals(3, page.pageCount(25));
+        assertEquals(20, page.start(25));
+        assertEquals(25, page.end(25));
+        assertEquals("Page 3 of 3 (25 expenses)", page.describe(25, "expenses"));
+        assertThrows(BudgetTrackerException.class, () -> page.start(20));
+    }
+}
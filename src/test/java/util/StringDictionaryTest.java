@@ -0,0 +1,64 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class StringDictionaryTest {
+
+    @Test
+    public void intern_equalStrings_shareOneIdAndInstance() {
+        StringDictionary dictionary = new StringDictionary();
+        String first = "groceries";
+        int id = dictionary.intern(first);
+
+        assertEquals(id, dictionary.intern(new String("groceries")));
+        assertSame(first, dictionary.get(id));
+        assertEquals(1, dictionary.size());
+    }
+
+    @Test
+    public void intern_null_hasNoStringId() {
+        StringDictionary dictionary = new StringDictionary();
+
+        assertEquals(StringDictionary.NO_STRING, dictionary.intern(null));
+        assertNull(dictionary.get(StringDictionary.NO_STRING));
+        assertEquals(0, dictionary.size());
+    }
+
+    @Test
+    public void intern_manyStrings_growsAndKeepsIds() {
+        StringDictionary dictionary = new StringDictionary();
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, dictionary.intern("item " + i));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("item " + i, dictionary.get(i));
+        }
+    }
+
+    @Test
+    public void stats_countHitsAndSavedBytes() {
+        StringDictionary dictionary = new StringDictionary();
+        dictionary.intern("salary");
+        dictionary.intern("salary");
+        dictionary.intern("salary");
+        dictionary.intern("gift");
+
+        assertEquals(2, dictionary.getHits());
+        assertEquals(2, dictionary.getMisses());
+        assertEquals(0.5, dictionary.getHitRate(), 1e-9);
+        assertEquals(2 * StringDictionary.estimatedBytes("salary"), dictionary.getSavedBytes());
+        assertEquals(StringDictionary.estimatedBytes("salary") + StringDictionary.estimatedBytes("gift"),
+                dictionary.getStoredBytes());
+    }
+
+    @Test
+    public void estimatedBytes_wideCharacters_takeTwoBytesEach() {
+        assertEquals(24 + 16, StringDictionary.estimatedBytes(""));
+        assertEquals(24 + 24, StringDictionary.estimatedBytes("abcdefgh"));
+        assertEquals(24 + 32, StringDictionary.estimatedBytes("\u20ac\u20ac\u20ac\u20ac\u20ac\u20ac\u20ac\u20ac"));
+    }
+}
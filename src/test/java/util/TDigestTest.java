@@ -0,0 +1,78 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TDigestTest {
+    private static final double[] QUANTILES = {0.01, 0.1, 0.5, 0.9, 0.99};
+
+    @Test
+    public void quantile_emptyAndSingleValue() {
+        TDigest digest = new TDigest();
+        assertTrue(Double.isNaN(digest.quantile(0.5)));
+
+        digest.add(1250);
+        assertEquals(1250, digest.quantile(0), 0);
+        assertEquals(1250, digest.quantile(0.99), 0);
+        assertEquals(1, digest.size());
+    }
+
+    @Test
+    public void quantile_manySkewedValues_closeInRankWithBoundedCentroids() {
+        Random random = new Random(21);
+        double[] values = new double[200_000];
+        TDigest digest = new TDigest();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.round(Math.exp(random.nextGaussian() * 1.5 + 7));
+            digest.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        assertTrue(digest.centroidCount() <= 2 * TDigest.DEFAULT_COMPRESSION, "centroids: " + digest.centroidCount());
+        assertEquals(values[0], digest.quantile(0), 0);
+        assertEquals(values[values.length - 1], digest.quantile(1), 0);
+        for (double q : QUANTILES) {
+            double rank = rankOf(values, digest.quantile(q));
+            assertEquals(q, rank, 0.005, "quantile " + q);
+        }
+    }
+
+    @Test
+    public void add_digest_describesUnionOfBoth() {
+        Random random = new Random(22);
+        TDigest low = new TDigest();
+        TDigest high = new TDigest();
+        double[] values = new double[20_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(10_000) + (i % 2 == 0 ? 0 : 5_000);
+            (i % 2 == 0 ? low : high).add(values[i]);
+        }
+        Arrays.sort(values);
+
+        TDigest merged = new TDigest();
+        merged.add(low);
+        merged.add(high);
+
+        assertEquals(values.length, merged.size());
+        for (double q : QUANTILES) {
+            assertEquals(q, rankOf(values, merged.quantile(q)), 0.01, "quantile " + q);
+        }
+    }
+
+    private static double rankOf(double[] sorted, double value) {
+        int below = 0;
+        while (below < sorted.length && sorted[below] < value) {
+            below++;
+        }
+        int atOrBelow = below;
+        while (atOrBelow < sorted.length && sorted[atOrBelow] <= value) {
+            atOrBelow++;
+        }
+        return (below + atOrBelow) / 2.0 / sorted.length;
+    }
+}
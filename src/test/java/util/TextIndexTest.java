@@ -0,0 +1,87 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TextIndexTest {
+
+    @Test
+    public void tokens_mixedCaseAndPunctuation_splitsIntoDistinctLowercaseWords() {
+        assertEquals(List.of("part", "time", "job", "2"),
+                new ArrayList<>(TextIndex.tokens("Part-time JOB, part time #2")));
+    }
+
+    @Test
+    public void find_everyWordMustMatch_ignoringCase() {
+        TextIndex index = new TextIndex();
+        index.add("lunch with team");
+        index.add("Team dinner");
+        index.add("bus to work");
+        index.add("dinner");
+
+        assertArrayEquals(new int[] {1, 3}, index.find("DINNER"));
+        assertArrayEquals(new int[] {1}, index.find("dinner team"));
+        assertArrayEquals(new int[] {0, 1}, index.find("team"));
+        assertArrayEquals(new int[0], index.find("team bus"));
+        assertArrayEquals(new int[0], index.find("taxi"));
+        assertArrayEquals(new int[0], index.find("  ,  "));
+    }
+
+    @Test
+    public void remove_shiftsLaterPositions() {
+        TextIndex index = new TextIndex();
+        index.add("coffee");
+        index.add("tea");
+        index.add("coffee beans");
+
+        index.remove(0, "coffee");
+
+        assertArrayEquals(new int[] {1}, index.find("coffee"));
+        assertArrayEquals(new int[] {0}, index.find("tea"));
+        assertEquals(2, index.size());
+        assertEquals(3, index.wordCount());
+    }
+
+    @Test
+    public void randomAddsAndRemoves_matchLinearScan() {
+        Random random = new Random(17);
+        String[] words = {"food", "bus", "rent", "gift", "coffee", "book"};
+        TextIndex index = new TextIndex();
+        List<String> texts = new ArrayList<>();
+        for (int step = 0; step < 6000; step++) {
+            if (texts.isEmpty() || random.nextInt(5) < 3) {
+                String text = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+                texts.add(text);
+                index.add(text);
+            } else {
+                int position = random.nextInt(texts.size());
+                index.remove(position, texts.remove(position));
+            }
+
+            if (step % 200 == 0) {
+                String query = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+                assertArrayEquals(scan(texts, query), index.find(query), "query: " + query);
+            }
+        }
+        while (texts.size() > 10) {
+            index.remove(0, texts.remove(0));
+        }
+        assertArrayEquals(scan(texts, "food"), index.find("food"));
+    }
+
+    private static int[] scan(List<String> texts, String query) {
+        List<Integer> found = new ArrayList<>();
+        for (int i = 0; i < texts.size(); i++) {
+            if (TextIndex.tokens(texts.get(i)).containsAll(TextIndex.tokens(query))) {
+                found.add(i);
+            }
+        }
+        return found.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
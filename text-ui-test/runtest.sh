@@ -8,6 +8,9 @@ cd ..
 
 cd text-ui-test
 
+# start from an empty ledger so earlier runs do not leak into the output
+rm -rf data
+
 java  -jar $(find ../build/libs/ -mindepth 1 -print -quit) < input.txt > ACTUAL.TXT
 
 cp EXPECTED.TXT EXPECTED-UNIX.TXT